@@ -241,7 +241,7 @@ SqlShowDatabases SqlShowDatabases() :
         )
         <QUOTED_STRING>
         {
-            String likeCondition = SqlParserUtil.parseString(token.image);
+            String likeCondition = SqlParserUtil.parseString(token.image());
             likeLiteral = SqlLiteral.createCharString(likeCondition, getPos());
         }
     ]
@@ -285,7 +285,7 @@ SqlCreate SqlCreateDatabase(Span s, boolean replace) :
     databaseName = CompoundIdentifier()
     [ <COMMENT> <QUOTED_STRING>
         {
-            String p = SqlParserUtil.parseString(token.image);
+            String p = SqlParserUtil.parseString(token.image());
             comment = SqlLiteral.createCharString(p, getPos());
         }
     ]
@@ -374,7 +374,7 @@ SqlCreate SqlCreateFunction(Span s, boolean replace, boolean isTemporary) :
         <SYSTEM>
         {
             if (!isTemporary){
-                throw SqlUtil.newContextException(getPos(),
+                throw ParserResource.newContextException(getPos(),
                     ParserResource.RESOURCE.createSystemFunctionOnlySupportTemporary());
             }
         }
@@ -389,8 +389,7 @@ SqlCreate SqlCreateFunction(Span s, boolean replace, boolean isTemporary) :
     )
 
     <AS> <QUOTED_STRING> {
-        String p = SqlParserUtil.parseString(token.image);
-        functionClassName = SqlLiteral.createCharString(p, getPos());
+        functionClassName = SqlLazyCharStringLiteral.create(token.image(), getPos());
     }
     [
         <LANGUAGE>
@@ -419,7 +418,7 @@ SqlCreate SqlCreateFunction(Span s, boolean replace, boolean isTemporary) :
     [
         <USING> {
             if ("SQL".equals(functionLanguage) || "PYTHON".equals(functionLanguage)) {
-                throw SqlUtil.newContextException(
+                throw ParserResource.newContextException(
                     functionLanguagePos,
                     ParserResource.RESOURCE.createFunctionUsingJar(functionLanguage));
             }
@@ -459,7 +458,7 @@ SqlResource SqlResourceInfo() :
 }
 {
     <JAR> <QUOTED_STRING> {
-        resourcePath = SqlParserUtil.parseString(token.image);
+        resourcePath = SqlParserUtil.parseString(token.image());
         return new SqlResource(
                     getPos(),
                     SqlResourceType.JAR.symbol(getPos()),
@@ -511,8 +510,7 @@ SqlAlterFunction SqlAlterFunction() :
     functionIdentifier = CompoundIdentifier()
 
     <AS> <QUOTED_STRING> {
-        String p = SqlParserUtil.parseString(token.image);
-        functionClassName = SqlLiteral.createCharString(p, getPos());
+        functionClassName = SqlLazyCharStringLiteral.create(token.image(), getPos());
     }
 
     [<LANGUAGE>
@@ -576,7 +574,7 @@ SqlShowFunctions SqlShowFunctions() :
         )
         <QUOTED_STRING>
         {
-            String likeCondition = SqlParserUtil.parseString(token.image);
+            String likeCondition = SqlParserUtil.parseString(token.image());
             likeLiteral = SqlLiteral.createCharString(likeCondition, getPos());
         }
     ]
@@ -616,7 +614,7 @@ SqlShowProcedures SqlShowProcedures() :
         ( <LIKE> { likeType = "LIKE"; }  | <ILIKE> { likeType = "ILIKE"; } )
         <QUOTED_STRING>
         {
-            String likeCondition = SqlParserUtil.parseString(token.image);
+            String likeCondition = SqlParserUtil.parseString(token.image());
             likeLiteral = SqlLiteral.createCharString(likeCondition, getPos());
         }
     ]
@@ -668,7 +666,7 @@ SqlShowTables SqlShowTables() :
         ]
         <LIKE>  <QUOTED_STRING>
         {
-            String likeCondition = SqlParserUtil.parseString(token.image);
+            String likeCondition = SqlParserUtil.parseString(token.image());
             likeLiteral = SqlLiteral.createCharString(likeCondition, getPos());
         }
     ]
@@ -701,7 +699,7 @@ SqlShowColumns SqlShowColumns() :
         ]
         <LIKE>  <QUOTED_STRING>
         {
-            String likeCondition = SqlParserUtil.parseString(token.image);
+            String likeCondition = SqlParserUtil.parseString(token.image());
             likeLiteral = SqlLiteral.createCharString(likeCondition, getPos());
         }
     ]
@@ -800,13 +798,11 @@ SqlAlterTable SqlAlterTable() :
     SqlNodeList propertyKeyList = SqlNodeList.EMPTY;
     SqlNodeList partitionSpec = null;
     SqlDistribution distribution = null;
-    SqlIdentifier constraintName;
-    SqlTableConstraint constraint;
     SqlIdentifier originColumnIdentifier;
     SqlIdentifier newColumnIdentifier;
+    SqlAlterTable alterTable;
     AlterTableContext ctx = new AlterTableContext();
     AlterTableAddPartitionContext addPartitionCtx = new AlterTableAddPartitionContext();
-    AlterTableDropPartitionsContext dropPartitionsCtx = new AlterTableDropPartitionsContext();
 }
 {
     <ALTER> <TABLE> { startPos = getPos(); }
@@ -869,16 +865,7 @@ SqlAlterTable SqlAlterTable() :
                         addPartitionCtx.partProps);
             }
         |
-        (
-            AlterTableAddOrModify(ctx)
-        |
-            <LPAREN>
-            AlterTableAddOrModify(ctx)
-            (
-                <COMMA> AlterTableAddOrModify(ctx)
-            )*
-            <RPAREN>
-        )
+        AlterTableAddOrModifyList(ctx)
         {
             return new SqlAlterTableAdd(
                         startPos.plus(getPos()),
@@ -892,16 +879,7 @@ SqlAlterTable SqlAlterTable() :
         )
     |
         <MODIFY>
-        (
-            AlterTableAddOrModify(ctx)
-        |
-            <LPAREN>
-            AlterTableAddOrModify(ctx)
-            (
-                <COMMA> AlterTableAddOrModify(ctx)
-            )*
-            <RPAREN>
-        )
+        AlterTableAddOrModifyList(ctx)
         {
             return new SqlAlterTableModify(
                         startPos.plus(getPos()),
@@ -914,68 +892,10 @@ SqlAlterTable SqlAlterTable() :
         }
 
     |
-     <DROP>
-        (
-            LOOKAHEAD(2)
-            AlterTableDropPartitions(dropPartitionsCtx) {
-                return new SqlDropPartitions(
-                        startPos.plus(getPos()),
-                        tableIdentifier,
-                        dropPartitionsCtx.ifExists,
-                        dropPartitionsCtx.partSpecs);
-            }
-       |
-       (
-            { SqlIdentifier columnName = null; }
-            columnName = CompoundIdentifier() {
-                return new SqlAlterTableDropColumn(
-                            startPos.plus(getPos()),
-                            tableIdentifier,
-                            new SqlNodeList(
-                                Collections.singletonList(columnName),
-                                getPos()),
-                            ifExists);
-            }
-        |
-            { Pair<SqlNodeList, SqlNodeList> columnWithTypePair = null; }
-            columnWithTypePair = ParenthesizedCompoundIdentifierList() {
-                return new SqlAlterTableDropColumn(
-                            startPos.plus(getPos()),
-                            tableIdentifier,
-                            columnWithTypePair.getKey(),
-                            ifExists);
-            }
-        |
-            <PRIMARY> <KEY> {
-                return new SqlAlterTableDropPrimaryKey(
-                        startPos.plus(getPos()),
-                        tableIdentifier,
-                        ifExists);
-            }
-        |
-            <CONSTRAINT> constraintName = SimpleIdentifier() {
-                return new SqlAlterTableDropConstraint(
-                            startPos.plus(getPos()),
-                            tableIdentifier,
-                            constraintName,
-                            ifExists);
-            }
-        |
-            <DISTRIBUTION> {
-                return new SqlAlterTableDropDistribution(
-                            startPos.plus(getPos()),
-                            tableIdentifier,
-                            ifExists);
-            }
-        |
-            <WATERMARK> {
-                return new SqlAlterTableDropWatermark(
-                            startPos.plus(getPos()),
-                            tableIdentifier,
-                            ifExists);
-            }
-         )
-        )
+        <DROP>
+        alterTable = SqlAlterTableDrop(startPos, tableIdentifier, ifExists) {
+            return alterTable;
+        }
     |
         [
             <PARTITION>
@@ -990,6 +910,100 @@ SqlAlterTable SqlAlterTable() :
     )
 }
 
+/**
+ * Parses the part of {@code ALTER TABLE table_name DROP ...} after the DROP keyword.
+ *
+ * <p>This is a production of its own, and so is {@link #AlterTableAddOrModifyList}, because the
+ * lookahead switches over the tokens that can start an identifier are large, and a single method
+ * for all ALTER TABLE statements would exceed the size limit of methods that HotSpot compiles.
+ */
+SqlAlterTable SqlAlterTableDrop(SqlParserPos startPos, SqlIdentifier tableIdentifier,
+        boolean ifExists) :
+{
+    SqlIdentifier constraintName;
+    AlterTableDropPartitionsContext dropPartitionsCtx = new AlterTableDropPartitionsContext();
+}
+{
+    (
+        LOOKAHEAD(2)
+        AlterTableDropPartitions(dropPartitionsCtx) {
+            return new SqlDropPartitions(
+                    startPos.plus(getPos()),
+                    tableIdentifier,
+                    dropPartitionsCtx.ifExists,
+                    dropPartitionsCtx.partSpecs);
+        }
+    |
+    (
+        { SqlIdentifier columnName = null; }
+        columnName = CompoundIdentifier() {
+            return new SqlAlterTableDropColumn(
+                        startPos.plus(getPos()),
+                        tableIdentifier,
+                        new SqlNodeList(
+                            Collections.singletonList(columnName),
+                            getPos()),
+                        ifExists);
+        }
+    |
+        { Pair<SqlNodeList, SqlNodeList> columnWithTypePair = null; }
+        columnWithTypePair = ParenthesizedCompoundIdentifierList() {
+            return new SqlAlterTableDropColumn(
+                        startPos.plus(getPos()),
+                        tableIdentifier,
+                        columnWithTypePair.getKey(),
+                        ifExists);
+        }
+    |
+        <PRIMARY> <KEY> {
+            return new SqlAlterTableDropPrimaryKey(
+                    startPos.plus(getPos()),
+                    tableIdentifier,
+                    ifExists);
+        }
+    |
+        <CONSTRAINT> constraintName = SimpleIdentifier() {
+            return new SqlAlterTableDropConstraint(
+                        startPos.plus(getPos()),
+                        tableIdentifier,
+                        constraintName,
+                        ifExists);
+        }
+    |
+        <DISTRIBUTION> {
+            return new SqlAlterTableDropDistribution(
+                        startPos.plus(getPos()),
+                        tableIdentifier,
+                        ifExists);
+        }
+    |
+        <WATERMARK> {
+            return new SqlAlterTableDropWatermark(
+                        startPos.plus(getPos()),
+                        tableIdentifier,
+                        ifExists);
+        }
+    )
+    )
+}
+
+/** Parses one column, constraint or watermark of ALTER TABLE ADD/MODIFY, or a list of them. */
+void AlterTableAddOrModifyList(AlterTableContext ctx) :
+{
+}
+{
+    (
+        AlterTableAddOrModify(ctx)
+    |
+        <LPAREN>
+        AlterTableAddOrModify(ctx)
+        (
+            <COMMA> AlterTableAddOrModify(ctx)
+        )*
+        <RPAREN>
+    )
+}
+
 /** Parse a table option key list. */
 SqlNodeList PropertyKeys():
 {
@@ -1025,7 +1039,11 @@ void TableColumn(TableCreationContext context) :
         TypedColumn(context)
     |
         constraint = TableConstraint() {
-            context.constraints.add(constraint);
+            if (context.listener != null) {
+                context.listener.onConstraint(constraint);
+            } else {
+                context.constraints.add(constraint);
+            }
         }
     |
         ComputedColumn(context)
@@ -1045,9 +1063,12 @@ void Watermark(TableCreationContext context) :
     eventTimeColumnName = CompoundIdentifier()
     <AS>
     watermarkStrategy = Expression(ExprContext.ACCEPT_NON_QUERY) {
-        if (context.watermark != null) {
-            throw SqlUtil.newContextException(pos,
+        if (context.watermark != null || context.hasWatermark) {
+            throw ParserResource.newContextException(pos,
                 ParserResource.RESOURCE.multipleWatermarksUnsupported());
+        } else if (context.listener != null) {
+            context.hasWatermark = true;
+            context.listener.onWatermark(eventTimeColumnName, watermarkStrategy);
         } else {
             context.watermark = new SqlWatermark(pos, eventTimeColumnName, watermarkStrategy);
         }
@@ -1092,6 +1113,10 @@ SqlTableColumn ComputedColumn(TableCreationContext context) :
         comment = StringLiteral()
     ]
     {
+        if (context.listener != null) {
+            context.listener.onColumn(TableSchemaListener.Column.computed(name, expr, comment));
+            return null;
+        }
         SqlTableColumn computedColumn = new SqlTableColumn.SqlComputedColumn(
             getPos(),
             name,
@@ -1125,6 +1150,11 @@ SqlTableColumn MetadataColumn(TableCreationContext context, SqlIdentifier name,
         comment = StringLiteral()
     ]
     {
+        if (context.listener != null) {
+            context.listener.onColumn(
+                TableSchemaListener.Column.metadata(name, type, metadataAlias, isVirtual, comment));
+            return null;
+        }
         SqlTableColumn metadataColumn = new SqlTableColumn.SqlMetadataColumn(
             getPos(),
             name,
@@ -1152,6 +1182,13 @@ SqlTableColumn RegularColumn(TableCreationContext context, SqlIdentifier name, S
         comment = StringLiteral()
     ]
     {
+        if (context.listener != null) {
+            context.listener.onColumn(TableSchemaListener.Column.physical(name, type, comment));
+            if (constraint != null) {
+                context.listener.onConstraint(constraint);
+            }
+            return null;
+        }
         SqlTableColumn regularColumn = new SqlTableColumn.SqlRegularColumn(
             getPos(),
             name,
@@ -1296,16 +1333,29 @@ void  AlterTableDropPartitions(AlterTableDropPartitionsContext context) :
 */
 SqlDataTypeSpec ExtendedDataType() :
 {
-    SqlTypeNameSpec typeName;
-    final Span s;
-    boolean elementNullable = true;
-    boolean nullable = true;
+    final SqlTypeNameSpec typeName;
+    final SqlDataTypeSpec dataType;
 }
 {
     <#-- #DataType does not take care of the nullable attribute. -->
-    typeName = TypeName() {
-        s = span();
+    typeName = TypeName()
+    dataType = ExtendedDataTypeSuffix(typeName)
+    {
+        return dataType;
     }
+}
+
+/**
+* Parses the collection type and [ NULL | NOT NULL ] suffixes of a data type whose type name has
+* just been parsed.
+*/
+SqlDataTypeSpec ExtendedDataTypeSuffix(SqlTypeNameSpec typeName) :
+{
+    final Span s = span();
+    boolean elementNullable = true;
+    boolean nullable = true;
+}
+{
     (
         LOOKAHEAD(3)
         elementNullable = NullableOptDefaultTrue()
@@ -1313,7 +1363,23 @@ SqlDataTypeSpec ExtendedDataType() :
     )*
     nullable = NullableOptDefaultTrue()
     {
-        return new SqlDataTypeSpec(typeName, s.end(this)).withNullable(nullable);
+        return internDataType(
+            new SqlDataTypeSpec(typeName, s.end(this)).withNullable(nullable));
+    }
+}
+
+/**
+* Parses a standalone data type string such as ROW&lt;a INT, b ARRAY&lt;STRING&gt;&gt;,
+* the whole input must be consumed.
+*/
+SqlDataTypeSpec ExtendedDataTypeEof() :
+{
+    final SqlDataTypeSpec dataType;
+}
+{
+    dataType = ExtendedDataType() <EOF>
+    {
+        return dataType;
     }
 }
 
@@ -1422,9 +1488,34 @@ SqlNode TableOption() :
 {
     key = StringLiteral()
     { pos = getPos(); }
-    <EQ> value = StringLiteral()
+    <EQ> value = LazyStringLiteral()
     {
-        return new SqlTableOption(key, value, getPos());
+        return intern(new SqlTableOption(key, value, getPos()));
+    }
+}
+
+/**
+* Parses a string literal that may be large, such as an option value. A single quoted string is
+* kept as SqlLazyCharStringLiteral and only unescaped when its value is requested, all other
+* string literals are parsed by StringLiteral().
+*/
+SqlNode LazyStringLiteral() :
+{
+    final SqlNode literal;
+}
+{
+    (
+        LOOKAHEAD({ getToken(1).kind == QUOTED_STRING
+            && getToken(2).kind != QUOTED_STRING
+            && getToken(2).kind != UESCAPE })
+        <QUOTED_STRING> {
+            literal = SqlLazyCharStringLiteral.create(token.image(), getPos());
+        }
+    |
+        literal = StringLiteral()
+    )
+    {
+        return literal;
     }
 }
 
@@ -1460,7 +1551,7 @@ SqlNumericLiteral IntoBuckets(SqlParserPos startPos) :
 {
     <INTO> { bucketCount = UnsignedNumericLiteral();
         if (!bucketCount.isInteger()) {
-            throw SqlUtil.newContextException(getPos(),
+            throw ParserResource.newContextException(getPos(),
                 ParserResource.RESOURCE.bucketCountMustBePositiveInteger());
         }
     } <BUCKETS>
@@ -1494,6 +1585,129 @@ SqlDistribution SqlDistribution(SqlParserPos startPos) :
     }
 }
 
+/**
+* Parses only the header of a CREATE TABLE statement, that is the table name and the COMMENT,
+* DISTRIBUTED BY, PARTITIONED BY and WITH clauses. The column list, including computed columns,
+* constraints and the watermark, and a trailing LIKE or AS clause are skipped at the token level.
+*/
+CreateTableHeader CreateTableHeaderEof() :
+{
+    boolean replace = false;
+    boolean isTemporary = false;
+    boolean ifNotExists;
+    SqlIdentifier tableName;
+    SqlCharStringLiteral comment = null;
+    SqlDistribution distribution = null;
+    SqlNodeList partitionColumns = SqlNodeList.EMPTY;
+    SqlNodeList propertyList = SqlNodeList.EMPTY;
+}
+{
+    <CREATE>
+    [ <OR> <REPLACE> { replace = true; } ]
+    [ <TEMPORARY> { isTemporary = true; } ]
+    <TABLE>
+    ifNotExists = IfNotExistsOpt()
+    tableName = CompoundIdentifier()
+    [
+        LOOKAHEAD(<LPAREN>)
+        SkipParenthesized()
+    ]
+    [ <COMMENT> <QUOTED_STRING> {
+        String p = SqlParserUtil.parseString(token.image());
+        comment = SqlLiteral.createCharString(p, getPos());
+    }]
+    [
+        <DISTRIBUTED>
+        distribution = SqlDistribution(getPos())
+    ]
+    [
+        <PARTITIONED> <BY>
+        partitionColumns = ParenthesizedSimpleIdentifierList()
+    ]
+    [
+        <WITH>
+        propertyList = Properties()
+    ]
+    [
+        ( <LIKE> | <AS> )
+        { SkipToStatementEnd(); }
+    ]
+    [ <SEMICOLON> ]
+    <EOF>
+    {
+        return new CreateTableHeader(tableName, comment, distribution, partitionColumns,
+            propertyList, replace, isTemporary, ifNotExists);
+    }
+}
+
+/**
+* Parses a CREATE TABLE statement and reports its parts to the given listener instead of building
+* a {@link SqlCreateTable}, see {@link TableSchemaListener}. A trailing LIKE or AS clause is skipped
+* at the token level.
+*/
+void CreateTableEventsEof(TableSchemaListener listener) :
+{
+    SqlIdentifier tableName;
+    SqlIdentifier partitionKey;
+    SqlDistribution distribution;
+    SqlNode option;
+    final TableCreationContext ctx = new TableCreationContext();
+}
+{
+    <CREATE>
+    [ <OR> <REPLACE> ]
+    [ <TEMPORARY> ]
+    <TABLE>
+    IfNotExistsOpt()
+    tableName = CompoundIdentifier() { listener.onTable(tableName); ctx.listener = listener; }
+    [
+        <LPAREN>
+        TableColumn(ctx)
+        (
+            <COMMA> TableColumn(ctx)
+        )*
+        <RPAREN>
+    ]
+    [ <COMMENT> <QUOTED_STRING> {
+        listener.onComment(SqlParserUtil.parseString(token.image()));
+    }]
+    [
+        <DISTRIBUTED>
+        distribution = SqlDistribution(getPos()) { listener.onDistribution(distribution); }
+    ]
+    [
+        <PARTITIONED> <BY> <LPAREN>
+        partitionKey = SimpleIdentifier() { listener.onPartitionKey(partitionKey.getSimple()); }
+        (
+            <COMMA>
+            partitionKey = SimpleIdentifier() { listener.onPartitionKey(partitionKey.getSimple()); }
+        )*
+        <RPAREN>
+    ]
+    [
+        <WITH> <LPAREN>
+        [
+            option = TableOption() {
+                listener.onOption(((SqlTableOption) option).getKeyString(),
+                    ((SqlTableOption) option).getValueString());
+            }
+            (
+                <COMMA> option = TableOption() {
+                    listener.onOption(((SqlTableOption) option).getKeyString(),
+                        ((SqlTableOption) option).getValueString());
+                }
+            )*
+        ]
+        <RPAREN>
+    ]
+    [
+        ( <LIKE> | <AS> )
+        { SkipToStatementEnd(); }
+    ]
+    [ <SEMICOLON> ]
+    <EOF>
+}
+
 SqlCreate SqlCreateTable(Span s, boolean replace, boolean isTemporary) :
 {
     final SqlParserPos startPos = s.pos();
@@ -1531,7 +1745,7 @@ SqlCreate SqlCreateTable(Span s, boolean replace, boolean isTemporary) :
         <RPAREN>
     ]
     [ <COMMENT> <QUOTED_STRING> {
-        String p = SqlParserUtil.parseString(token.image);
+        String p = SqlParserUtil.parseString(token.image());
         comment = SqlLiteral.createCharString(p, getPos());
     }]
     [
@@ -1566,7 +1780,7 @@ SqlCreate SqlCreateTable(Span s, boolean replace, boolean isTemporary) :
         }
     |
         <AS>
-        asQuery = OrderedQueryOrExpr(ExprContext.ACCEPT_QUERY)
+        asQuery = AsQuery()
         {
             if (replace) {
                 return new SqlReplaceTableAs(startPos.plus(getPos()),
@@ -1736,7 +1950,7 @@ SqlNode SqlReplaceTable() :
         <RPAREN>
     ]
     [ <COMMENT> <QUOTED_STRING> {
-        String p = SqlParserUtil.parseString(token.image);
+        String p = SqlParserUtil.parseString(token.image());
         comment = SqlLiteral.createCharString(p, getPos());
     }]
     [
@@ -1752,7 +1966,7 @@ SqlNode SqlReplaceTable() :
         propertyList = Properties()
     ]
     <AS>
-    asQuery = OrderedQueryOrExpr(ExprContext.ACCEPT_QUERY)
+    asQuery = AsQuery()
     {
         return new SqlReplaceTableAs(getPos(),
             tableName,
@@ -1789,12 +2003,12 @@ SqlCreate SqlCreateMaterializedTable(Span s, boolean replace, boolean isTemporar
     <MATERIALIZED>
     {
         if (isTemporary) {
-           throw SqlUtil.newContextException(
+           throw ParserResource.newContextException(
                 getPos(),
                 ParserResource.RESOURCE.createTemporaryMaterializedTableUnsupported());
         }
         if (replace) {
-           throw SqlUtil.newContextException(
+           throw ParserResource.newContextException(
                 getPos(),
                 ParserResource.RESOURCE.replaceMaterializedTableUnsupported());
         }
@@ -1809,7 +2023,7 @@ SqlCreate SqlCreateMaterializedTable(Span s, boolean replace, boolean isTemporar
     [
         <COMMENT> <QUOTED_STRING>
         {
-            String p = SqlParserUtil.parseString(token.image);
+            String p = SqlParserUtil.parseString(token.image());
             comment = SqlLiteral.createCharString(p, getPos());
         }
     ]
@@ -1826,7 +2040,7 @@ SqlCreate SqlCreateMaterializedTable(Span s, boolean replace, boolean isTemporar
     {
         if (!(freshness instanceof SqlIntervalLiteral))
         {
-            throw SqlUtil.newContextException(
+            throw ParserResource.newContextException(
             getPos(),
             ParserResource.RESOURCE.unsupportedFreshnessType());
         }
@@ -1846,7 +2060,7 @@ SqlCreate SqlCreateMaterializedTable(Span s, boolean replace, boolean isTemporar
         )
     ]
     <AS>
-    asQuery = OrderedQueryOrExpr(ExprContext.ACCEPT_QUERY)
+    asQuery = AsQuery()
     {
         return new SqlCreateMaterializedTable(
             startPos.plus(getPos()),
@@ -1873,7 +2087,7 @@ SqlDrop SqlDropMaterializedTable(Span s, boolean replace, boolean isTemporary) :
     <MATERIALIZED>
      {
          if (isTemporary) {
-             throw SqlUtil.newContextException(
+             throw ParserResource.newContextException(
                  getPos(),
                  ParserResource.RESOURCE.dropTemporaryMaterializedTableUnsupported());
          }
@@ -1936,7 +2150,7 @@ SqlAlterMaterializedTable SqlAlterMaterializedTable() :
         (
             <FRESHNESS> <EQ> freshness = Expression(ExprContext.ACCEPT_NON_QUERY) {
                 if (!(freshness instanceof SqlIntervalLiteral)) {
-                    throw SqlUtil.newContextException(
+                    throw ParserResource.newContextException(
                         getPos(),
                         ParserResource.RESOURCE.unsupportedFreshnessType());
                 }
@@ -1996,6 +2210,7 @@ SqlNode RichSqlInsert() :
     SqlNode tableRef;
     final SqlNodeList extendList;
     SqlNode source;
+    final CompactValues values;
     final SqlNodeList partitionList = new SqlNodeList(getPos());
     SqlNodeList columnList = null;
     final Span s;
@@ -2012,7 +2227,7 @@ SqlNode RichSqlInsert() :
     |
         <OVERWRITE> {
             if (RichSqlInsert.isUpsert(keywords)) {
-                throw SqlUtil.newContextException(getPos(),
+                throw ParserResource.newContextException(getPos(),
                     ParserResource.RESOURCE.overwriteIsOnlyUsedWithInsert());
             }
             extendedKeywords.add(RichSqlInsertKeyword.OVERWRITE.symbol(getPos()));
@@ -2046,12 +2261,68 @@ SqlNode RichSqlInsert() :
         }
         |   { columnList = null; }
     )
-    source = OrderedQueryOrExpr(ExprContext.ACCEPT_QUERY) {
-        return new RichSqlInsert(s.end(source), keywordList, extendedKeywordList, tableRef, source,
-            columnList, partitionList);
+    (
+        LOOKAHEAD(<VALUES>)
+        values = CompactTableConstructor()
+        (
+            LOOKAHEAD({ getToken(1).kind != EOF && getToken(1).kind != SEMICOLON })
+            source = OrderedQueryTail(values.toSqlNode()) {
+                return new RichSqlInsert(s.end(source), keywordList, extendedKeywordList,
+                    tableRef, source, columnList, partitionList);
+            }
+        |
+            {
+                return new RichSqlInsert(s.add(values.getParserPosition()).pos(), keywordList,
+                    extendedKeywordList, tableRef, values, columnList, partitionList);
+            }
+        )
+    |
+        source = OrderedQueryOrExpr(ExprContext.ACCEPT_QUERY) {
+            return new RichSqlInsert(s.end(source), keywordList, extendedKeywordList, tableRef,
+                source, columnList, partitionList);
+        }
+    )
+}
+
+/**
+* Parses a VALUES leaf query expression like {@code TableConstructor}, the rows are
+* stored in a {@link CompactValues} while they are parsed.
+*/
+CompactValues CompactTableConstructor() :
+{
+    final CompactValues.Builder builder = CompactValues.builder();
+    SqlNode row;
+    final Span s;
+}
+{
+    <VALUES> { s = span(); }
+    row = RowConstructor() { builder.addRow(row); }
+    (
+        LOOKAHEAD(2)
+        <COMMA> row = RowConstructor() { builder.addRow(row); }
+    )*
+    {
+        return builder.build(s.end(this));
     }
 }
 
+/**
+* Parses the set operators, ORDER BY, LIMIT, OFFSET and FETCH clauses that follow
+* the given leaf query, as {@code OrderedQueryOrExpr} does.
+*/
+SqlNode OrderedQueryTail(SqlNode leaf) :
+{
+    final List<Object> list = new ArrayList<Object>();
+    SqlNode e;
+}
+{
+    { list.add(leaf); }
+    ( AddSetOpQuery(list, ExprContext.ACCEPT_QUERY) )*
+    { e = SqlParserUtil.toTree(list); }
+    e = OrderByLimitOpt(e)
+    { return e; }
+}
+
 /**
 * Parses a partition specifications statement,
 * e.g. insert into tbl1 partition(col1='val1', col2='val2') select col3 from tbl.
@@ -2078,6 +2349,125 @@ void PartitionSpecCommaList(SqlNodeList list) :
     <RPAREN>
 }
 
+/**
+* Parses the query after the AS keyword of CREATE TABLE ... AS, CREATE VIEW ... AS and similar
+* statements. If the parser defers AS queries, the tokens of the query are only skipped and a
+* SqlDeferredQuery is returned.
+*/
+SqlNode AsQuery() :
+{
+    final SqlNode query;
+}
+{
+    (
+        LOOKAHEAD({ deferAsQueries
+            && originalSql != null
+            && getToken(1).kind != EOF
+            && getToken(1).kind != SEMICOLON })
+        query = DeferredAsQuery()
+    |
+        query = OrderedQueryOrExpr(ExprContext.ACCEPT_QUERY)
+    )
+    {
+        return query;
+    }
+}
+
+/**
+* Returns a SqlDeferredQuery for the tokens up to the end of the statement. If there are no such
+* tokens, e.g. the query starts with a closing parenthesis, the query is parsed right away so that
+* the usual parse error is reported.
+*/
+JAVACODE SqlNode DeferredAsQuery()
+{
+    final Token first = getToken(1);
+    final Token last = SkipToStatementEnd();
+    if (last == null) {
+        return OrderedQueryOrExpr(ExprContext.ACCEPT_QUERY);
+    }
+    if (deferredQueryScript == null) {
+        deferredQueryScript = new SqlDeferredQuery.Script(originalSql,
+            jj_input_stream.getTabSize(0), quotedCasing, unquotedCasing,
+            identifierMaxLength, timeUnitCodes, conformance, lexicalState,
+            currentFeatures());
+    }
+    return deferredQueryScript.defer(new SqlParserPos(first.beginLine,
+        first.beginColumn, last.endLine, last.endColumn));
+}
+
+/**
+* Skips the tokens up to the end of the statement, that is up to a semicolon or a closing
+* parenthesis outside of parentheses or the end of the input. Returns the last skipped token, or
+* null if there was none.
+*/
+JAVACODE Token SkipToStatementEnd()
+{
+    Token last = null;
+    int depth = 0;
+    while (true) {
+        final int kind = getToken(1).kind;
+        if (kind == EOF || depth == 0 && (kind == SEMICOLON || kind == RPAREN)) {
+            return last;
+        }
+        if (kind == LPAREN) {
+            depth++;
+        } else if (kind == RPAREN) {
+            depth--;
+        }
+        last = getNextToken();
+    }
+}
+
+/**
+* Skips a parenthesized token sequence, including nested parentheses.
+*
+* <p>If the original SQL is known, the closing parenthesis is searched in the text directly and the
+* lexer continues from there, so that the tokens in between are not even scanned.
+*/
+JAVACODE void SkipParenthesized()
+{
+    final Token open = jj_consume_token(LPAREN);
+    if (originalSql != null
+        && jj_input_stream.getTabSize(0) == 1
+        && (lexicalState == SqlAbstractParserImpl.LexicalState.BTID
+            || lexicalState == SqlAbstractParserImpl.LexicalState.DQID)
+        && open.next == null) {
+        final int openOffset =
+            SqlSourceUtils.offsetOf(originalSql, open.beginLine, open.beginColumn);
+        final int closeOffset =
+            SqlSourceUtils.findClosingParenthesis(originalSql, openOffset);
+        if (closeOffset >= 0) {
+            final java.io.StringReader reader = new java.io.StringReader(originalSql);
+            try {
+                reader.skip(closeOffset);
+            } catch (java.io.IOException e) {
+                throw new AssertionError(e);
+            }
+            jj_input_stream.ReInit(reader,
+                SqlSourceUtils.lineOf(originalSql, openOffset, open.beginLine, closeOffset),
+                SqlSourceUtils.columnOf(originalSql, closeOffset));
+            token_source.ReInit(jj_input_stream);
+            switchTo(lexicalState);
+            jj_ntk = -1;
+            jj_consume_token(RPAREN);
+            return;
+        }
+    }
+    int depth = 1;
+    while (depth > 0 && getToken(1).kind != EOF) {
+        final int kind = getNextToken().kind;
+        if (kind == LPAREN) {
+            depth++;
+        } else if (kind == RPAREN) {
+            depth--;
+        }
+    }
+    if (depth > 0) {
+        // reports the missing parenthesis at the end of the input
+        jj_consume_token(RPAREN);
+    }
+}
+
 /**
 * Parses a create view or temporary view statement.
 *   CREATE [OR REPLACE] [TEMPORARY] VIEW [IF NOT EXISTS] view_name [ (field1, field2 ...) ]
@@ -2102,12 +2492,12 @@ SqlCreate SqlCreateView(Span s, boolean replace, boolean isTemporary) : {
         fieldList = ParenthesizedSimpleIdentifierList()
     ]
     [ <COMMENT> <QUOTED_STRING> {
-            String p = SqlParserUtil.parseString(token.image);
+            String p = SqlParserUtil.parseString(token.image());
             comment = SqlLiteral.createCharString(p, getPos());
         }
     ]
     <AS>
-    query = OrderedQueryOrExpr(ExprContext.ACCEPT_QUERY)
+    query = AsQuery()
     {
         return new SqlCreateView(s.pos(), viewName, fieldList, query, replace, isTemporary, ifNotExists, comment, null);
     }
@@ -2147,7 +2537,7 @@ SqlAlterView SqlAlterView() :
       }
   |
       <AS>
-      newQuery = OrderedQueryOrExpr(ExprContext.ACCEPT_QUERY)
+      newQuery = AsQuery()
       {
         return new SqlAlterViewAs(startPos.plus(getPos()), viewName, newQuery);
       }
@@ -2173,19 +2563,19 @@ SqlTypeNameSpec ExtendedSqlBasicTypeName() :
     (
         <STRING> {
             typeName = SqlTypeName.VARCHAR;
-            typeAlias = token.image;
+            typeAlias = token.image();
             precision = Integer.MAX_VALUE;
         }
     |
         <BYTES> {
             typeName = SqlTypeName.VARBINARY;
-            typeAlias = token.image;
+            typeAlias = token.image();
             precision = Integer.MAX_VALUE;
         }
     |
        <TIMESTAMP_LTZ>
        {
-           typeAlias = token.image;
+           typeAlias = token.image();
        }
        precision = PrecisionOpt()
        {
@@ -2198,37 +2588,152 @@ SqlTypeNameSpec ExtendedSqlBasicTypeName() :
     }
 }
 
-/*
-* Parses collection type name that does not belong to standard SQL, i.e. ARRAY&lt;INT NOT NULL&gt;.
+/**
+* Parses the ROW, MAP and collection types that do not belong to standard SQL, i.e.
+* ARRAY&lt;INT NOT NULL&gt;, MULTISET&lt;STRING&gt;, MAP&lt;INT NOT NULL, VARCHAR NULL&gt;,
+* ROW&lt;name1 type1, name2 type2&gt; and ROW(name1 type1, name2 type2).
+*
+* <p>The element types of collections, the key and value types of maps and the field types of
+* rows can have a suffix of `NULL` or `NOT NULL` to indicate if they are nullable, the default is
+* nullable. Every field of a row can have a comment, i.e. ROW(f0 int not null 'comment'). Rows
+* can be empty, e.g. ROW() or ROW&lt;&gt;; the standard syntax ROW(...) is also unparsed as such.
+*
+* <p>The types nested in such a type are parsed with the {@link NestedTypeStack} of the parser
+* instead of recursively, so that their depth is not limited by the thread stack.
 */
-SqlTypeNameSpec CustomizedCollectionsTypeName() :
+SqlTypeNameSpec ExtendedNestedTypeName() :
 {
-    final SqlTypeName collectionTypeName;
-    final SqlTypeNameSpec elementTypeName;
-    boolean elementNullable = true;
 }
 {
     (
-        <ARRAY> {
-            collectionTypeName = SqlTypeName.ARRAY;
+        LOOKAHEAD(2)
+        <ROW> <NE> {
+            return new ExtendedSqlRowTypeNameSpec(
+                getPos(),
+                new ArrayList<SqlIdentifier>(),
+                new ArrayList<SqlDataTypeSpec>(),
+                new ArrayList<SqlCharStringLiteral>(),
+                false);
         }
     |
-        <MULTISET> {
-            collectionTypeName = SqlTypeName.MULTISET;
+        { nestedTypes.clear(); }
+        NestedTypeStart()
+        (
+            LOOKAHEAD({ nestedTypes.isOpen() })
+            NestedTypeStep()
+        )*
+        {
+            return nestedTypes.takeTypeName();
         }
     )
-    <LT>
-    elementTypeName = TypeName()
-    elementNullable = NullableOptDefaultTrue()
-    <GT>
-    {
-        return new ExtendedSqlCollectionTypeNameSpec(
-            elementTypeName,
-            elementNullable,
-            collectionTypeName,
-            false,
-            getPos());
-    }
+}
+
+/**
+* Parses the ROW&lt;, ROW(, MAP&lt;, ARRAY&lt; or MULTISET&lt; start of a nested type, and the name
+* of the first field of a row.
+*/
+void NestedTypeStart() :
+{
+    SqlIdentifier fieldName;
+}
+{
+    (
+        <ROW>
+        (
+            <LT> { nestedTypes.pushRow(false); }
+        |
+            <LPAREN> { nestedTypes.pushRow(true); }
+        )
+        [
+            // the name of the first field, the type of a row field follows its name
+            LOOKAHEAD(1)
+            fieldName = SimpleIdentifier() { nestedTypes.pushField(fieldName); }
+        ]
+    |
+        <MAP> <LT> { nestedTypes.pushMap(); }
+    |
+        <ARRAY> <LT> { nestedTypes.pushCollection(SqlTypeName.ARRAY); }
+    |
+        <MULTISET> <LT> { nestedTypes.pushCollection(SqlTypeName.MULTISET); }
+    )
+}
+
+/**
+* Parses the next part of the nested type on the stack: the start of a nested type or a type name
+* where a type is expected, otherwise the separator or the end of the row or map on top.
+*/
+void NestedTypeStep() :
+{
+    SqlTypeNameSpec typeName;
+    SqlIdentifier fieldName;
+}
+{
+    (
+        LOOKAHEAD({ nestedTypes.expectsType() })
+        (
+            LOOKAHEAD(2)
+            NestedTypeStart()
+        |
+            typeName = TypeName() { nestedTypes.setTypeName(typeName); }
+            NestedTypeEnd()
+        )
+    |
+        LOOKAHEAD({ nestedTypes.isRow() })
+        (
+            <COMMA> fieldName = SimpleIdentifier() { nestedTypes.pushField(fieldName); }
+        |
+            (
+                LOOKAHEAD({ nestedTypes.isParenthesizedRow() })
+                <RPAREN>
+            |
+                <GT>
+            )
+            { nestedTypes.closeRow(getPos()); }
+            NestedTypeEnd()
+        )
+    |
+        LOOKAHEAD({ nestedTypes.isMap() })
+        (
+            LOOKAHEAD({ nestedTypes.expectsMapValueType() })
+            <COMMA> { nestedTypes.pushMapValueType(); }
+        |
+            <GT> { nestedTypes.closeMap(getPos()); }
+            NestedTypeEnd()
+        )
+    )
+}
+
+/**
+* Ends the collection types and the data type of the stack that the type name parsed last
+* completes, with the comment of a row field.
+*/
+void NestedTypeEnd() :
+{
+    boolean elementNullable;
+    SqlDataTypeSpec dataType;
+}
+{
+    (
+        LOOKAHEAD({ nestedTypes.isCollection() })
+        elementNullable = NullableOptDefaultTrue()
+        <GT>
+        { nestedTypes.closeCollection(elementNullable, getPos()); }
+    )*
+    (
+        LOOKAHEAD({ nestedTypes.isDataType() })
+        dataType = ExtendedDataTypeSuffix(nestedTypes.getTypeName())
+        { nestedTypes.closeDataType(dataType); }
+        [
+            LOOKAHEAD(1, { nestedTypes.isRow() })
+            <QUOTED_STRING> {
+                String p = SqlParserUtil.parseString(token.image());
+                nestedTypes.setComment(SqlLiteral.createCharString(p, getPos()));
+            }
+        ]
+    |
+        // the outermost type has ended
+        {}
+    )
 }
 
 /**
@@ -2258,24 +2763,6 @@ SqlTypeNameSpec ExtendedCollectionsTypeName(
     }
 }
 
-/** Parses a SQL map type, e.g. MAP&lt;INT NOT NULL, VARCHAR NULL&gt;. */
-SqlTypeNameSpec SqlMapTypeName() :
-{
-    SqlDataTypeSpec keyType;
-    SqlDataTypeSpec valType;
-}
-{
-    <MAP>
-    <LT>
-    keyType = ExtendedDataType()
-    <COMMA>
-    valType = ExtendedDataType()
-    <GT>
-    {
-        return new SqlMapTypeNameSpec(keyType, valType, getPos());
-    }
-}
-
 /** Parses a SQL raw type such as {@code RAW('org.my.Class', 'sW3Djsds...')}. */
 SqlTypeNameSpec SqlRawTypeName() :
 {
@@ -2287,104 +2774,13 @@ SqlTypeNameSpec SqlRawTypeName() :
     <LPAREN>
     className = StringLiteral()
     <COMMA>
-    serializerString = StringLiteral()
+    serializerString = LazyStringLiteral()
     <RPAREN>
     {
         return new SqlRawTypeNameSpec(className, serializerString, getPos());
     }
 }
 
-/**
-* Parse a "name1 type1 [ NULL | NOT NULL] [ comment ]
-* [, name2 type2 [ NULL | NOT NULL] [ comment ] ]* ..." list.
-* The comment and NULL syntax doest not belong to standard SQL.
-*/
-void ExtendedFieldNameTypeCommaList(
-        List<SqlIdentifier> fieldNames,
-        List<SqlDataTypeSpec> fieldTypes,
-        List<SqlCharStringLiteral> comments) :
-{
-    SqlIdentifier fName;
-    SqlDataTypeSpec fType;
-    boolean nullable;
-}
-{
-    [
-        fName = SimpleIdentifier()
-        fType = ExtendedDataType()
-        {
-            fieldNames.add(fName);
-            fieldTypes.add(fType);
-        }
-        (
-            <QUOTED_STRING> {
-                String p = SqlParserUtil.parseString(token.image);
-                comments.add(SqlLiteral.createCharString(p, getPos()));
-            }
-        |
-            { comments.add(null); }
-        )
-    ]
-    (
-        <COMMA>
-        fName = SimpleIdentifier()
-        fType = ExtendedDataType()
-        {
-            fieldNames.add(fName);
-            fieldTypes.add(fType);
-        }
-        (
-            <QUOTED_STRING> {
-                String p = SqlParserUtil.parseString(token.image);
-                comments.add(SqlLiteral.createCharString(p, getPos()));
-            }
-        |
-            { comments.add(null); }
-        )
-    )*
-}
-
-/**
-* Parse Row type, we support both Row(name1 type1, name2 type2)
-* and Row&lt;name1 type1, name2 type2&gt;.
-* Every item type can have a suffix of `NULL` or `NOT NULL` to indicate if this type is nullable.
-* i.e. Row(f0 int not null, f1 varchar null). Default is nullable.
-*
-* <p>The difference with {@link #SqlRowTypeName()}:
-* <ul>
-*   <li>Support comment syntax for every field</li>
-*   <li>Field data type default is nullable</li>
-*   <li>Support ROW type with empty fields, e.g. ROW()</li>
-* </ul>
-*/
-SqlTypeNameSpec ExtendedSqlRowTypeName() :
-{
-    List<SqlIdentifier> fieldNames = new ArrayList<SqlIdentifier>();
-    List<SqlDataTypeSpec> fieldTypes = new ArrayList<SqlDataTypeSpec>();
-    List<SqlCharStringLiteral> comments = new ArrayList<SqlCharStringLiteral>();
-    final boolean unparseAsStandard;
-}
-{
-    <ROW>
-    (
-        <NE> { unparseAsStandard = false; }
-    |
-        <LT> ExtendedFieldNameTypeCommaList(fieldNames, fieldTypes, comments) <GT>
-        { unparseAsStandard = false; }
-    |
-        <LPAREN> ExtendedFieldNameTypeCommaList(fieldNames, fieldTypes, comments) <RPAREN>
-        { unparseAsStandard = true; }
-    )
-    {
-        return new ExtendedSqlRowTypeNameSpec(
-            getPos(),
-            fieldNames,
-            fieldTypes,
-            comments,
-            unparseAsStandard);
-    }
-}
-
 /**
  * Those methods should not be used in SQL. They are good for parsing identifiers
  * in Table API. The difference between those identifiers and CompoundIdentifer is
@@ -2425,32 +2821,32 @@ void TableApiIdentifierSegment(List<String> names, List<SqlParserPos> positions)
 {
     (
         <QUOTED_IDENTIFIER> {
-            id = SqlParserUtil.strip(getToken(0).image, DQ, DQ, DQDQ,
+            id = SqlParserUtil.strip(getToken(0).image(), DQ, DQ, DQDQ,
                 quotedCasing);
             pos = getPos().withQuoting(true);
         }
     |
         <BACK_QUOTED_IDENTIFIER> {
-            id = SqlParserUtil.strip(getToken(0).image, "`", "`", "``",
+            id = SqlParserUtil.strip(getToken(0).image(), "`", "`", "``",
                 quotedCasing);
             pos = getPos().withQuoting(true);
         }
     |
         <BRACKET_QUOTED_IDENTIFIER> {
-            id = SqlParserUtil.strip(getToken(0).image, "[", "]", "]]",
+            id = SqlParserUtil.strip(getToken(0).image(), "[", "]", "]]",
                 quotedCasing);
             pos = getPos().withQuoting(true);
         }
     |
         <UNICODE_QUOTED_IDENTIFIER> {
             span = span();
-            String image = getToken(0).image;
+            String image = getToken(0).image();
             image = image.substring(image.indexOf('"'));
             image = SqlParserUtil.strip(image, DQ, DQ, DQDQ, quotedCasing);
         }
         [
             <UESCAPE> <QUOTED_STRING> {
-                String s = SqlParserUtil.parseString(token.image);
+                String s = SqlParserUtil.parseString(token.image());
                 unicodeEscapeChar = SqlParserUtil.checkUnicodeEscapeChar(s);
             }
         ]
@@ -2463,7 +2859,7 @@ void TableApiIdentifierSegment(List<String> names, List<SqlParserPos> positions)
     |
         {
 
-            id = getNextToken().image;
+            id = getNextToken().image();
             pos = getPos();
         }
     )
@@ -2839,12 +3235,12 @@ void ParseExplainDetail(Set<String> explainDetails):
         <PLAN_ADVICE>
     )
     {
-        if (explainDetails.contains(token.image.toUpperCase())) {
-            throw SqlUtil.newContextException(
+        if (explainDetails.contains(token.image().toUpperCase())) {
+            throw ParserResource.newContextException(
                 getPos(),
                 ParserResource.RESOURCE.explainDetailIsDuplicate());
         } else {
-            explainDetails.add(token.image.toUpperCase());
+            explainDetails.add(token.image().toUpperCase());
         }
     }
 }
@@ -2859,7 +3255,7 @@ SqlAddJar SqlAddJar() :
 {
     <ADD> <JAR> <QUOTED_STRING>
     {
-        String path = SqlParserUtil.parseString(token.image);
+        String path = SqlParserUtil.parseString(token.image());
         jarPath = SqlLiteral.createCharString(path, getPos());
     }
     {
@@ -2878,7 +3274,7 @@ SqlRemoveJar SqlRemoveJar() :
 {
     <REMOVE> <JAR> <QUOTED_STRING>
     {
-        String path = SqlParserUtil.parseString(token.image);
+        String path = SqlParserUtil.parseString(token.image());
         jarPath = SqlLiteral.createCharString(path, getPos());
     }
     {
@@ -2915,7 +3311,7 @@ SqlNode SqlSet() :
     [
         key = StringLiteral()
         <EQ>
-        value = StringLiteral()
+        value = LazyStringLiteral()
     ]
     {
         if (key == null && value == null) {
@@ -3091,7 +3487,7 @@ SqlDescribeJob SqlDescribeJob() :
 {
     ( <DESCRIBE> | <DESC> ) <JOB>  <QUOTED_STRING>
     {
-        String id = SqlParserUtil.parseString(token.image);
+        String id = SqlParserUtil.parseString(token.image());
         jobId = SqlLiteral.createCharString(id, getPos());
         return new SqlDescribeJob(getPos(), jobId);
     }
@@ -3111,7 +3507,7 @@ SqlStopJob SqlStopJob() :
 {
     <STOP> <JOB> <QUOTED_STRING>
     {
-        String id = SqlParserUtil.parseString(token.image);
+        String id = SqlParserUtil.parseString(token.image());
         jobId = SqlLiteral.createCharString(id, getPos());
     }
     [
@@ -3131,7 +3527,7 @@ SqlStopJob SqlStopJob() :
         {
             span.end(this);
             if (!isWithSavepoint) {
-                throw SqlUtil.newContextException(span.pos(),
+                throw ParserResource.newContextException(span.pos(),
                     ParserResource.RESOURCE.withDrainOnlyUsedWithSavepoint());
             }
             isWithDrain = true;
@@ -3185,7 +3581,7 @@ SqlShowModels SqlShowModels() :
         ]
         <LIKE>  <QUOTED_STRING>
         {
-            String likeCondition = SqlParserUtil.parseString(token.image);
+            String likeCondition = SqlParserUtil.parseString(token.image());
             likeLiteral = SqlLiteral.createCharString(likeCondition, getPos());
         }
     ]
@@ -3306,7 +3702,7 @@ SqlCreate SqlCreateModel(Span s, boolean isTemporary) :
     ]
     [ <COMMENT> <QUOTED_STRING>
         {
-            String p = SqlParserUtil.parseString(token.image);
+            String p = SqlParserUtil.parseString(token.image());
             comment = SqlLiteral.createCharString(p, getPos());
         }
     ]
@@ -3316,7 +3712,7 @@ SqlCreate SqlCreateModel(Span s, boolean isTemporary) :
     ]
     [
         <AS>
-        asQuery = OrderedQueryOrExpr(ExprContext.ACCEPT_QUERY)
+        asQuery = AsQuery()
         {
             return new SqlCreateModelAs(startPos.plus(getPos()),
                 modelIdentifier,
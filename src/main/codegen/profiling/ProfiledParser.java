@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+<@pp.dropOutputFile />
+<#--
+  Rewrites the parser that JavaCC generated with DEBUG_PARSER in place:
+  the trace methods that print every production and token to System.out
+  report to a GrammarProfiler.Recorder instead, and the syntactic lookaheads
+  (jj_2_<n>) and the tokens they visit are reported as well.
+
+  The rewrites are idempotent, as the parser is not regenerated if it is
+  up to date.
+-->
+<#assign recorder = "org.apache.flink.sql.parser.GrammarProfiler">
+<#assign path = parser.package?replace(".", "/") + "/" + parser.class + ".java">
+<#assign source = pp.loadData("text", "../../generated-sources/" + path)>
+<#if !source?contains("final private void trace_call(String s)")>
+  <#stop "${path} was not generated with DEBUG_PARSER">
+</#if>
+<#assign source = source
+    ?replace(r"\n  private int trace_indent = 0;\n(?:  private final [^\n]*\n[^\n]*newRecorder\(\);\n)?",
+        "\n  private int trace_indent = 0;\n  private final ${recorder}.Recorder jj_profiler =\n      ${recorder}.getInstance().newRecorder();\n",
+        "r")
+    ?replace(r"(final private void trace_call\(String s\) \{\n).*?\n  \}\n",
+        "$1    jj_profiler.enter(s);\n  }\n", "rs")
+    ?replace(r"(final private void trace_return\(String s\) \{\n).*?\n  \}\n",
+        "$1    jj_profiler.exit();\n  }\n", "rs")
+    ?replace(r"(final private void trace_token\(Token t, String where\) \{\n).*?\n  \}\n",
+        "$1    jj_profiler.consume();\n  }\n", "rs")
+    ?replace(r"(final private boolean jj_2_(\d+)\(int xla\) \{\n    jj_la = xla; jj_lastpos = jj_scanpos = token;\n)(?:    jj_profiler[^\n]*\n)?    try \{ return [^\n]*\n    catch\(LookaheadSuccess ls\) \{ return [^\n]*\n    finally \{ (?:jj_profiler\.endScan\(\); )?",
+        "$1    jj_profiler.startScan($2, xla);\n    try { return jj_profiler.scanned(!jj_3_$2()); }\n    catch(LookaheadSuccess ls) { return jj_profiler.scanned(true); }\n    finally { jj_profiler.endScan(); ",
+        "r")
+    ?replace(r"(final private boolean jj_scan_token\(int kind\) \{\n)(?:    jj_profiler\.scanToken\(\);\n)?",
+        "$1    jj_profiler.scanToken();\n", "r")>
+<#list ["enter(s)", "exit()", "consume()", "startScan(", "scanToken()"] as call>
+  <#if !source?contains("jj_profiler." + call)>
+    <#stop "Could not instrument ${path}: jj_profiler.${call} is missing">
+  </#if>
+</#list>
+<@pp.changeOutputFile name=path />
+${source}
\ No newline at end of file
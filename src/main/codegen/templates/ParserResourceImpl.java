@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+<@pp.dropOutputFile />
+
+<@pp.changeOutputFile name="org/apache/flink/sql/parser/utils/ParserResourceImpl.java" />
+
+package org.apache.flink.sql.parser.utils;
+
+import org.apache.flink.sql.parser.impl.ParseException;
+
+import java.text.MessageFormat;
+import java.util.Locale;
+
+/**
+ * Implementation of {@link ParserResource}, generated from ParserResource.properties.
+ *
+ * <p>The messages are compiled to {@link MessageFormat}s when the first error is reported.
+ */
+final class ParserResourceImpl implements ParserResource {
+<#list parserResource?keys?sort as key>
+<#assign message = parserResource[key]>
+
+    private static final MessageFormat ${key?replace("([a-z0-9])([A-Z])", "$1_$2", "r")?upper_case} =
+            new MessageFormat("${message?j_string}", Locale.ROOT);
+</#list>
+<#list parserResource?keys?sort as key>
+<#assign message = parserResource[key]>
+<#assign argCount = 0>
+<#list message?matches(r"\{(\d+)") as placeholder>
+  <#if (placeholder?groups[1]?number >= argCount)>
+    <#assign argCount = placeholder?groups[1]?number + 1>
+  </#if>
+</#list>
+
+    @Override
+    public ParseException ${key}(<#list 0..<argCount as i><#if message?contains("{" + i + ",number")>int<#else>String</#if> a${i}<#sep>, </#sep></#list>) {
+        return new ParseException(
+                format(${key?replace("([a-z0-9])([A-Z])", "$1_$2", "r")?upper_case}<#list 0..<argCount as i>, a${i}</#list>));
+    }
+</#list>
+
+    private static String format(MessageFormat format, Object... args) {
+        // a MessageFormat must not be used by several threads at the same time
+        return ((MessageFormat) format.clone()).format(args);
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.sql.parser;
+
+import org.apache.flink.sql.parser.ddl.TableSchemaListener;
+import org.apache.flink.sql.parser.impl.FlinkSqlParserImpl;
+
+import org.apache.calcite.sql.parser.SqlAbstractParserImpl;
+import org.apache.calcite.sql.parser.SqlParseException;
+import org.apache.calcite.sql.parser.SqlParser;
+import org.apache.calcite.util.SourceStringReader;
+
+/**
+ * Parses CREATE TABLE statements with the {@code CreateTableEventsEof} production of {@link
+ * FlinkSqlParserImpl} and reports their columns, constraints, watermark, partition keys and options
+ * to a {@link TableSchemaListener} as they are parsed.
+ *
+ * <p>Unlike {@link SqlParser}, no {@link org.apache.flink.sql.parser.ddl.SqlCreateTable} and no
+ * column or option lists are built, so the memory used by the parser does not grow with the number
+ * of columns. Data types, expressions and constraints are still parsed into nodes, one column at a
+ * time. A trailing LIKE or AS clause is skipped token by token without being checked.
+ *
+ * <p>This class is thread-safe.
+ */
+public final class CreateTableEventParser {
+
+    private final SqlParser.Config config;
+
+    public CreateTableEventParser(SqlParser.Config config) {
+        this.config = config;
+    }
+
+    /** Parses the given CREATE TABLE statement and reports its parts to the listener. */
+    public void parse(String statement, TableSchemaListener listener) throws SqlParseException {
+        final FlinkSqlParserImpl parser =
+                (FlinkSqlParserImpl)
+                        FlinkSqlParserImpl.FACTORY.getParser(new SourceStringReader(statement));
+        parser.setOriginalSql(statement);
+        parser.setTabSize(1);
+        parser.setQuotedCasing(config.quotedCasing());
+        parser.setUnquotedCasing(config.unquotedCasing());
+        parser.setIdentifierMaxLength(config.identifierMaxLength());
+        parser.setConformance(config.conformance());
+        parser.switchTo(SqlAbstractParserImpl.LexicalState.forConfig(config));
+        try {
+            parser.CreateTableEventsEof(listener);
+        } catch (Throwable t) {
+            throw parser.normalizeException(t);
+        }
+    }
+}
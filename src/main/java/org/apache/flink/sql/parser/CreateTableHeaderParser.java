@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.sql.parser;
+
+import org.apache.flink.sql.parser.ddl.CreateTableHeader;
+import org.apache.flink.sql.parser.impl.FlinkSqlParserImpl;
+
+import org.apache.calcite.sql.parser.SqlAbstractParserImpl;
+import org.apache.calcite.sql.parser.SqlParseException;
+import org.apache.calcite.sql.parser.SqlParser;
+import org.apache.calcite.util.SourceStringReader;
+
+/**
+ * Parses the header of CREATE TABLE statements with the {@code CreateTableHeaderEof} production
+ * of {@link FlinkSqlParserImpl}.
+ *
+ * <p>Only the table name and the COMMENT, DISTRIBUTED BY, PARTITIONED BY and WITH clauses are
+ * parsed. The column list with its data types, computed columns, constraints and watermark, as
+ * well as a trailing LIKE or AS clause, are skipped token by token without building any nodes, so
+ * syntax errors in them are not reported. Use {@link SqlParser} to parse and check the full
+ * statement.
+ *
+ * <p>This class is thread-safe.
+ */
+public final class CreateTableHeaderParser {
+
+    private final SqlParser.Config config;
+
+    public CreateTableHeaderParser(SqlParser.Config config) {
+        this.config = config;
+    }
+
+    /** Parses the header of the given CREATE TABLE statement. */
+    public CreateTableHeader parseHeader(String statement) throws SqlParseException {
+        final FlinkSqlParserImpl parser =
+                (FlinkSqlParserImpl)
+                        FlinkSqlParserImpl.FACTORY.getParser(new SourceStringReader(statement));
+        parser.setOriginalSql(statement);
+        parser.setTabSize(1);
+        parser.setQuotedCasing(config.quotedCasing());
+        parser.setUnquotedCasing(config.unquotedCasing());
+        parser.setIdentifierMaxLength(config.identifierMaxLength());
+        parser.setConformance(config.conformance());
+        parser.switchTo(SqlAbstractParserImpl.LexicalState.forConfig(config));
+        try {
+            return parser.CreateTableHeaderEof();
+        } catch (Throwable t) {
+            throw parser.normalizeException(t);
+        }
+    }
+}
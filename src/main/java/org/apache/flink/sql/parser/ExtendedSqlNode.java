@@ -20,6 +20,8 @@ package org.apache.flink.sql.parser;
 
 import org.apache.flink.sql.parser.error.SqlValidateException;
 
+import org.apache.calcite.sql.SqlNode;
+
 /**
  * An remark interface which should be inherited by extended sql nodes which are not supported by
  * Calcite core parser.
@@ -29,4 +31,16 @@ import org.apache.flink.sql.parser.error.SqlValidateException;
  */
 public interface ExtendedSqlNode {
     void validate() throws SqlValidateException;
+
+    /**
+     * Validates this node like {@link #validate()}, but without changing it.
+     *
+     * <p>Returns this node if validation has nothing to change, otherwise a validated copy that
+     * shares all unchanged children with this node. This allows to validate statements which are
+     * cached and shared between threads, see {@link SqlImmutableNodes}.
+     */
+    default SqlNode validateImmutable() throws SqlValidateException {
+        validate();
+        return (SqlNode) this;
+    }
 }
@@ -0,0 +1,32 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.sql.parser;
+
+/**
+ * A Flink node with setters, which can be made immutable. Once frozen, the setters and {@code
+ * setOperand} throw {@link UnsupportedOperationException}, so that the node can be cached and
+ * shared between threads. See {@link SqlImmutableNodes}.
+ */
+public interface FreezableSqlNode {
+
+    /** Makes this node immutable, for good. */
+    void freeze();
+
+    boolean isFrozen();
+}
@@ -0,0 +1,622 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.sql.parser;
+
+import org.apache.flink.sql.parser.impl.FlinkSqlParserImpl;
+import org.apache.flink.sql.parser.validate.FlinkSqlConformance;
+
+import org.apache.calcite.avatica.util.Casing;
+import org.apache.calcite.avatica.util.Quoting;
+import org.apache.calcite.sql.parser.SqlParseException;
+import org.apache.calcite.sql.parser.SqlParser;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Counts the invocations, the time and the speculative lookahead scans of the productions of the
+ * parser, so that changes to the grammar can target the productions that actually cost the most.
+ *
+ * <p>Only a parser that is built with the {@code grammar-profiling} Maven profile reports to the
+ * profiler. The profile generates the parser with the DEBUG_PARSER option of JavaCC, which wraps
+ * every production in calls to trace methods, and rewrites these methods to report to a {@link
+ * Recorder}, see {@code src/main/codegen/profiling}. The syntactic lookaheads, such as {@code
+ * LOOKAHEAD(5)} or {@code LOOKAHEAD(Production())}, which JavaCC implements as speculative scans
+ * of the following tokens, are reported with the production that contains them.
+ *
+ * <pre>{@code
+ * mvn clean package -Pgrammar-profiling -DskipTests
+ * java -cp <class path> org.apache.flink.sql.parser.GrammarProfiler [script ...]
+ * }</pre>
+ *
+ * <p>The main method parses the given SQL scripts as lists of statements, or the statements of the
+ * warm-up corpus without arguments, and prints a report ranked by self time. Times include the
+ * overhead of the instrumentation, two calls of {@link System#nanoTime()} per invocation, so they
+ * are meant to be compared with each other rather than with the times of a regular build.
+ *
+ * <p>This class is thread-safe, but each parser has its own {@link Recorder}.
+ */
+public final class GrammarProfiler {
+
+    private static final GrammarProfiler INSTANCE = new GrammarProfiler(System::nanoTime);
+
+    private static final String NOT_INSTRUMENTED =
+            "The parser is not instrumented, build it with -Pgrammar-profiling.";
+
+    /** The field of an instrumented parser that holds its recorder, null if not instrumented. */
+    @Nullable private static final Field RECORDER_FIELD = recorderField();
+
+    private static final int WARMUP_PASSES = 20;
+    private static final int PASSES = 20;
+
+    private final LongSupplier clock;
+    private final ConcurrentMap<String, ProductionStats> productions = new ConcurrentHashMap<>();
+
+    GrammarProfiler(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    /** Returns the profiler that instrumented parsers report to. */
+    public static GrammarProfiler getInstance() {
+        return INSTANCE;
+    }
+
+    /** Returns whether the parser was built with the {@code grammar-profiling} profile. */
+    public static boolean isInstrumented() {
+        try {
+            FlinkSqlParserImpl.class.getDeclaredField("jj_profiler");
+            return true;
+        } catch (NoSuchFieldException e) {
+            return false;
+        }
+    }
+
+    /** Returns the recorder of the given parser, or null if the parser is not instrumented. */
+    @Nullable
+    static Recorder recorderOf(FlinkSqlParserImpl parser) {
+        if (RECORDER_FIELD == null) {
+            return null;
+        }
+        try {
+            return (Recorder) RECORDER_FIELD.get(parser);
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    @Nullable
+    private static Field recorderField() {
+        try {
+            final Field field = FlinkSqlParserImpl.class.getDeclaredField("jj_profiler");
+            field.setAccessible(true);
+            return field;
+        } catch (NoSuchFieldException | SecurityException e) {
+            return null;
+        }
+    }
+
+    /** Creates the recorder of a new parser. Called by instrumented parsers. */
+    public Recorder newRecorder() {
+        return new Recorder(this);
+    }
+
+    /** Discards everything that has been recorded so far. */
+    public void reset() {
+        // Recorders keep references to the statistics, so they are reset in place.
+        productions.values().forEach(ProductionStats::reset);
+    }
+
+    /** Returns what has been recorded since the last reset. */
+    public Report report() {
+        final List<ProductionProfile> productionProfiles = new ArrayList<>();
+        final List<LookaheadProfile> lookaheadProfiles = new ArrayList<>();
+        for (ProductionStats stats : productions.values()) {
+            if (stats.calls.sum() == 0) {
+                continue;
+            }
+            long scans = 0;
+            long scannedTokens = 0;
+            for (LookaheadStats lookahead : stats.lookaheads.values()) {
+                if (lookahead.scans.sum() == 0) {
+                    continue;
+                }
+                final LookaheadProfile profile =
+                        new LookaheadProfile(
+                                stats.name,
+                                lookahead.index,
+                                lookahead.limit,
+                                lookahead.scans.sum(),
+                                lookahead.matches.sum(),
+                                lookahead.tokens.sum(),
+                                lookahead.nanos.sum());
+                lookaheadProfiles.add(profile);
+                scans += profile.scans;
+                scannedTokens += profile.tokens;
+            }
+            productionProfiles.add(
+                    new ProductionProfile(
+                            stats.name,
+                            stats.calls.sum(),
+                            stats.tokens.sum(),
+                            stats.selfNanos.sum(),
+                            stats.totalNanos.sum(),
+                            scans,
+                            scannedTokens));
+        }
+        productionProfiles.sort(
+                Comparator.comparingLong(ProductionProfile::getSelfNanos)
+                        .reversed()
+                        .thenComparing(ProductionProfile::getName));
+        lookaheadProfiles.sort(
+                Comparator.comparingLong(LookaheadProfile::getNanos)
+                        .reversed()
+                        .thenComparing(LookaheadProfile::getName));
+        return new Report(productionProfiles, lookaheadProfiles);
+    }
+
+    /**
+     * Resets the profiler, parses each script as a list of statements {@code passes} times and
+     * returns the report of these parses. Scripts that do not parse are profiled up to the error.
+     *
+     * @throws IllegalStateException if the parser is not instrumented
+     */
+    public Report profile(SqlParser.Config config, List<String> scripts, int passes) {
+        if (!isInstrumented()) {
+            throw new IllegalStateException(NOT_INSTRUMENTED);
+        }
+        reset();
+        for (int i = 0; i < passes; i++) {
+            for (String script : scripts) {
+                try {
+                    SqlParser.create(script, config).parseStmtList();
+                } catch (SqlParseException e) {
+                    // The productions up to the error have been recorded.
+                }
+            }
+        }
+        return report();
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (!isInstrumented()) {
+            System.err.println(NOT_INSTRUMENTED);
+            System.exit(1);
+        }
+        final List<String> scripts = new ArrayList<>();
+        for (String file : args) {
+            scripts.add(new String(Files.readAllBytes(Paths.get(file)), StandardCharsets.UTF_8));
+        }
+        if (scripts.isEmpty()) {
+            scripts.addAll(ParserWarmup.getCorpus());
+        }
+        final SqlParser.Config config =
+                SqlParser.config()
+                        .withParserFactory(FlinkSqlParserImpl.FACTORY)
+                        .withQuoting(Quoting.BACK_TICK)
+                        .withUnquotedCasing(Casing.UNCHANGED)
+                        .withConformance(FlinkSqlConformance.DEFAULT);
+        INSTANCE.profile(config, scripts, WARMUP_PASSES);
+        final Report report = INSTANCE.profile(config, scripts, PASSES);
+        System.out.printf(
+                Locale.ROOT,
+                "%d scripts, %d passes after %d warm-up passes%n%n",
+                scripts.size(),
+                PASSES,
+                WARMUP_PASSES);
+        System.out.print(report);
+    }
+
+    private ProductionStats production(String name) {
+        return productions.computeIfAbsent(name, ProductionStats::new);
+    }
+
+    // --------------------------------------------------------------------------------------------
+
+    /**
+     * Receives the events of one instrumented parser. The parser calls {@link #enter(String)} and
+     * {@link #exit()} around every production, {@link #consume()} for every token that it
+     * consumes, and {@link #startScan(int, int)}, {@link #scanned(boolean)} and {@link #endScan()}
+     * around every syntactic lookahead, with {@link #scanToken()} for every token that the
+     * lookahead visits.
+     *
+     * <p>Not thread-safe, like the parser itself.
+     */
+    public static final class Recorder {
+        private final GrammarProfiler profiler;
+        private final LongSupplier clock;
+        /** Cache of the statistics of the productions of {@link #profiler}. */
+        private final Map<String, ProductionStats> productions = new HashMap<>();
+
+        private ProductionStats[] stack = new ProductionStats[64];
+        private long[] starts = new long[64];
+        private long[] childNanos = new long[64];
+        private int depth;
+
+        private LookaheadStats scan;
+        private long scanStart;
+        private long scanTokens;
+        private long scans;
+
+        private Recorder(GrammarProfiler profiler) {
+            this.profiler = profiler;
+            this.clock = profiler.clock;
+        }
+
+        public void enter(String production) {
+            ProductionStats stats = productions.get(production);
+            if (stats == null) {
+                stats = profiler.production(production);
+                productions.put(production, stats);
+            }
+            if (depth == stack.length) {
+                stack = Arrays.copyOf(stack, depth * 2);
+                starts = Arrays.copyOf(starts, depth * 2);
+                childNanos = Arrays.copyOf(childNanos, depth * 2);
+            }
+            stats.calls.increment();
+            stack[depth] = stats;
+            childNanos[depth] = 0;
+            starts[depth++] = clock.getAsLong();
+        }
+
+        public void exit() {
+            final long elapsed = clock.getAsLong() - starts[--depth];
+            final ProductionStats stats = stack[depth];
+            stack[depth] = null;
+            stats.selfNanos.add(elapsed - childNanos[depth]);
+            if (depth > 0) {
+                childNanos[depth - 1] += elapsed;
+            }
+            // The time of a recursive call is already part of the outermost call.
+            if (!isActive(stats)) {
+                stats.totalNanos.add(elapsed);
+            }
+        }
+
+        public void consume() {
+            if (depth > 0) {
+                stack[depth - 1].tokens.increment();
+            }
+        }
+
+        public void startScan(int index, int limit) {
+            scans++;
+            if (depth > 0) {
+                scan = stack[depth - 1].lookahead(index, limit);
+                scanTokens = 0;
+                scanStart = clock.getAsLong();
+            }
+        }
+
+        public void scanToken() {
+            scanTokens++;
+        }
+
+        /** Records whether the lookahead matched and returns {@code matched}. */
+        public boolean scanned(boolean matched) {
+            if (matched && scan != null) {
+                scan.matches.increment();
+            }
+            return matched;
+        }
+
+        public void endScan() {
+            if (scan != null) {
+                scan.nanos.add(clock.getAsLong() - scanStart);
+                scan.scans.increment();
+                scan.tokens.add(scanTokens);
+                scan = null;
+            }
+        }
+
+        /** Returns the number of syntactic lookaheads the parser of this recorder has made. */
+        public long getScans() {
+            return scans;
+        }
+
+        private boolean isActive(ProductionStats stats) {
+            for (int i = 0; i < depth; i++) {
+                if (stack[i] == stats) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static final class ProductionStats {
+        final String name;
+        final LongAdder calls = new LongAdder();
+        final LongAdder tokens = new LongAdder();
+        final LongAdder selfNanos = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final ConcurrentMap<Integer, LookaheadStats> lookaheads = new ConcurrentHashMap<>();
+
+        ProductionStats(String name) {
+            this.name = name;
+        }
+
+        LookaheadStats lookahead(int index, int limit) {
+            return lookaheads.computeIfAbsent(index, i -> new LookaheadStats(i, limit));
+        }
+
+        void reset() {
+            calls.reset();
+            tokens.reset();
+            selfNanos.reset();
+            totalNanos.reset();
+            lookaheads.values().forEach(LookaheadStats::reset);
+        }
+    }
+
+    private static final class LookaheadStats {
+        final int index;
+        final int limit;
+        final LongAdder scans = new LongAdder();
+        final LongAdder matches = new LongAdder();
+        final LongAdder tokens = new LongAdder();
+        final LongAdder nanos = new LongAdder();
+
+        LookaheadStats(int index, int limit) {
+            this.index = index;
+            this.limit = limit;
+        }
+
+        void reset() {
+            scans.reset();
+            matches.reset();
+            tokens.reset();
+            nanos.reset();
+        }
+    }
+
+    // --------------------------------------------------------------------------------------------
+
+    /** Profiles of the productions and lookaheads, ranked by self time and time respectively. */
+    public static final class Report {
+        private final List<ProductionProfile> productions;
+        private final List<LookaheadProfile> lookaheads;
+
+        private Report(List<ProductionProfile> productions, List<LookaheadProfile> lookaheads) {
+            this.productions = productions;
+            this.lookaheads = lookaheads;
+        }
+
+        public List<ProductionProfile> getProductions() {
+            return productions;
+        }
+
+        public List<LookaheadProfile> getLookaheads() {
+            return lookaheads;
+        }
+
+        public Optional<ProductionProfile> getProduction(String name) {
+            return productions.stream().filter(p -> p.name.equals(name)).findFirst();
+        }
+
+        @Override
+        public String toString() {
+            final StringBuilder sb = new StringBuilder();
+            int width = "Production".length();
+            for (ProductionProfile p : productions) {
+                width = Math.max(width, p.name.length());
+            }
+            for (LookaheadProfile l : lookaheads) {
+                width = Math.max(width, l.getName().length());
+            }
+            final String name = "%-" + width + "s";
+            sb.append(
+                    String.format(
+                            Locale.ROOT,
+                            name + "%10s%10s%10s%10s%10s%10s%n",
+                            "Production",
+                            "Calls",
+                            "Tokens",
+                            "Self ms",
+                            "Total ms",
+                            "Scans",
+                            "Scanned"));
+            for (ProductionProfile p : productions) {
+                sb.append(
+                        String.format(
+                                Locale.ROOT,
+                                name + "%10d%10d%10.1f%10.1f%10d%10d%n",
+                                p.name,
+                                p.calls,
+                                p.tokens,
+                                millis(p.selfNanos),
+                                millis(p.totalNanos),
+                                p.scans,
+                                p.scannedTokens));
+            }
+            sb.append(
+                    String.format(
+                            Locale.ROOT,
+                            "%n" + name + "%10s%10s%10s%10s%10s%n",
+                            "Lookahead",
+                            "Limit",
+                            "Scans",
+                            "Matches",
+                            "Tokens",
+                            "ms"));
+            for (LookaheadProfile l : lookaheads) {
+                sb.append(
+                        String.format(
+                                Locale.ROOT,
+                                name + "%10s%10d%10d%10d%10.1f%n",
+                                l.getName(),
+                                l.limit == Integer.MAX_VALUE ? "*" : String.valueOf(l.limit),
+                                l.scans,
+                                l.matches,
+                                l.tokens,
+                                millis(l.nanos)));
+            }
+            return sb.toString();
+        }
+
+        private static double millis(long nanos) {
+            return nanos / 1_000_000d;
+        }
+    }
+
+    /** Profile of a production. */
+    public static final class ProductionProfile {
+        private final String name;
+        private final long calls;
+        private final long tokens;
+        private final long selfNanos;
+        private final long totalNanos;
+        private final long scans;
+        private final long scannedTokens;
+
+        private ProductionProfile(
+                String name,
+                long calls,
+                long tokens,
+                long selfNanos,
+                long totalNanos,
+                long scans,
+                long scannedTokens) {
+            this.name = name;
+            this.calls = calls;
+            this.tokens = tokens;
+            this.selfNanos = selfNanos;
+            this.totalNanos = totalNanos;
+            this.scans = scans;
+            this.scannedTokens = scannedTokens;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getCalls() {
+            return calls;
+        }
+
+        /** Returns the number of tokens that the production consumed itself. */
+        public long getTokens() {
+            return tokens;
+        }
+
+        /** Returns the time in the production, without the productions that it called. */
+        public long getSelfNanos() {
+            return selfNanos;
+        }
+
+        /** Returns the time in the production, counting recursive calls once. */
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        /** Returns the number of syntactic lookaheads that the production evaluated. */
+        public long getScans() {
+            return scans;
+        }
+
+        /** Returns the number of tokens that the lookaheads of the production visited. */
+        public long getScannedTokens() {
+            return scannedTokens;
+        }
+    }
+
+    /**
+     * Profile of a syntactic lookahead, identified by its production and its index in the
+     * generated parser, as in {@code jj_2_<index>}.
+     */
+    public static final class LookaheadProfile {
+        private final String production;
+        private final int index;
+        private final int limit;
+        private final long scans;
+        private final long matches;
+        private final long tokens;
+        private final long nanos;
+
+        private LookaheadProfile(
+                String production,
+                int index,
+                int limit,
+                long scans,
+                long matches,
+                long tokens,
+                long nanos) {
+            this.production = production;
+            this.index = index;
+            this.limit = limit;
+            this.scans = scans;
+            this.matches = matches;
+            this.tokens = tokens;
+            this.nanos = nanos;
+        }
+
+        /** Returns the name of the lookahead, such as {@code RichSqlInsert/jj_2_12}. */
+        public String getName() {
+            return production + "/jj_2_" + index;
+        }
+
+        public String getProduction() {
+            return production;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        /** Returns the number of tokens to look ahead, {@link Integer#MAX_VALUE} if unlimited. */
+        public int getLimit() {
+            return limit;
+        }
+
+        public long getScans() {
+            return scans;
+        }
+
+        /** Returns the number of scans that matched, that is, where the production was chosen. */
+        public long getMatches() {
+            return matches;
+        }
+
+        /** Returns the number of tokens that the scans visited. */
+        public long getTokens() {
+            return tokens;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+    }
+}
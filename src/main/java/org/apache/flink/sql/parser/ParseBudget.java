@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.sql.parser;
+
+import org.apache.flink.sql.parser.error.SqlParseBudgetException;
+
+import org.apache.calcite.util.CancelFlag;
+
+import javax.annotation.Nullable;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Limits for a single parse: the number of tokens, the nesting depth and the time, as well as a
+ * {@link CancelFlag} through which another thread can stop the parse. The parsers of {@code
+ * FlinkSqlParserImpl.budgetFactory(ParseBudget)}, and of factories whose {@link ParserFeatures}
+ * have a budget, throw a {@link SqlParseBudgetException} at the token they have reached when a
+ * limit is exceeded or a cancellation is requested.
+ *
+ * <pre>{@code
+ * ParseBudget budget =
+ *         ParseBudget.UNLIMITED
+ *                 .withMaxTokens(100_000)
+ *                 .withMaxDepth(200)
+ *                 .withMaxTime(Duration.ofSeconds(2))
+ *                 .withCancelFlag(cancelFlag);
+ * SqlParser.create(sql, config.withParserFactory(FlinkSqlParserImpl.budgetFactory(budget)))
+ *         .parseStmtList();
+ * }</pre>
+ *
+ * <p>The limits apply to each parser, that is, to all statements of a statement list together,
+ * and are checked whenever the parser reads a token, including the tokens that it reads ahead.
+ * The nesting depth counts parentheses, brackets and braces, CASE expressions, the angle
+ * brackets of ARRAY, MULTISET, MAP and ROW types, and each of the prefix operators NOT, + and -
+ * that follows another one. These are what the recursion of the parser follows, so the depth
+ * limit also keeps deeply nested input from overflowing the stack. Should the stack overflow
+ * nevertheless, the parse fails with a depth limit exception at the last token that was read. The
+ * time is measured from the creation of the parser and checked every 64 tokens.
+ *
+ * <p>Instances are immutable.
+ */
+public final class ParseBudget {
+
+    /** Budget without limits. */
+    public static final ParseBudget UNLIMITED =
+            new ParseBudget(Long.MAX_VALUE, Integer.MAX_VALUE, Long.MAX_VALUE, null);
+
+    private final long maxTokens;
+    private final int maxDepth;
+    private final long maxNanos;
+    @Nullable private final CancelFlag cancelFlag;
+
+    private ParseBudget(
+            long maxTokens, int maxDepth, long maxNanos, @Nullable CancelFlag cancelFlag) {
+        this.maxTokens = maxTokens;
+        this.maxDepth = maxDepth;
+        this.maxNanos = maxNanos;
+        this.cancelFlag = cancelFlag;
+    }
+
+    /** Returns a copy of this budget that allows at most {@code maxTokens} tokens. */
+    public ParseBudget withMaxTokens(long maxTokens) {
+        if (maxTokens <= 0) {
+            throw new IllegalArgumentException(
+                    "Maximum number of tokens should be positive, but was " + maxTokens);
+        }
+        return new ParseBudget(maxTokens, maxDepth, maxNanos, cancelFlag);
+    }
+
+    /** Returns a copy of this budget that allows a nesting depth of at most {@code maxDepth}. */
+    public ParseBudget withMaxDepth(int maxDepth) {
+        if (maxDepth <= 0) {
+            throw new IllegalArgumentException(
+                    "Maximum nesting depth should be positive, but was " + maxDepth);
+        }
+        return new ParseBudget(maxTokens, maxDepth, maxNanos, cancelFlag);
+    }
+
+    /** Returns a copy of this budget that allows a parse to take at most {@code maxTime}. */
+    public ParseBudget withMaxTime(Duration maxTime) {
+        if (maxTime.isNegative() || maxTime.isZero()) {
+            throw new IllegalArgumentException(
+                    "Maximum time should be positive, but was " + maxTime);
+        }
+        return new ParseBudget(maxTokens, maxDepth, maxTime.toNanos(), cancelFlag);
+    }
+
+    /** Returns a copy of this budget whose parses stop once a cancellation is requested. */
+    public ParseBudget withCancelFlag(CancelFlag cancelFlag) {
+        return new ParseBudget(
+                maxTokens,
+                maxDepth,
+                maxNanos,
+                Objects.requireNonNull(cancelFlag, "Cancel flag should not be null"));
+    }
+
+    public long getMaxTokens() {
+        return maxTokens;
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /** Returns the maximum time of a parse in nanoseconds, {@link Long#MAX_VALUE} if unlimited. */
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    @Nullable
+    public CancelFlag getCancelFlag() {
+        return cancelFlag;
+    }
+}
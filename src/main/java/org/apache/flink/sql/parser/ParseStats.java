@@ -0,0 +1,282 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.sql.parser;
+
+import org.apache.flink.sql.parser.impl.FlinkSqlParserImpl;
+
+import org.apache.calcite.sql.SqlCall;
+import org.apache.calcite.sql.SqlNode;
+import org.apache.calcite.sql.SqlNodeList;
+
+import javax.annotation.Nullable;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Statistics of a single parse: the number of tokens, the number of nodes and the depth of the
+ * parsed tree, the bytes allocated by the parsing thread, the number of syntactic lookaheads and
+ * the time spent in the lexer, the parser and the validation of the {@link ExtendedSqlNode}s.
+ *
+ * <p>The parsers of {@code FlinkSqlParserImpl.statsFactory(ParseStatsListener)} report the
+ * statistics of every parse to a {@link ParseStatsListener}, {@link StatsCollectingParser} returns
+ * them alongside the parsed statements. A statement list is parsed, and reported, as a whole.
+ *
+ * <p>Values that cannot be measured are {@link #UNKNOWN}: the allocated bytes if the JVM cannot
+ * measure the allocation of a thread, the lookaheads unless the parser was built with the {@code
+ * grammar-profiling} profile, see {@link GrammarProfiler}. The validation time is zero if the
+ * statements were not validated.
+ *
+ * <p>Instances are immutable.
+ */
+public final class ParseStats {
+
+    /** Value of a statistic that cannot be measured. */
+    public static final long UNKNOWN = -1;
+
+    private final long tokenCount;
+    private final long nodeCount;
+    private final int maxDepth;
+    private final long allocatedBytes;
+    private final long lookaheadScans;
+    private final long lexNanos;
+    private final long parseNanos;
+    private final long validateNanos;
+
+    ParseStats(
+            long tokenCount,
+            long nodeCount,
+            int maxDepth,
+            long allocatedBytes,
+            long lookaheadScans,
+            long lexNanos,
+            long parseNanos,
+            long validateNanos) {
+        this.tokenCount = tokenCount;
+        this.nodeCount = nodeCount;
+        this.maxDepth = maxDepth;
+        this.allocatedBytes = allocatedBytes;
+        this.lookaheadScans = lookaheadScans;
+        this.lexNanos = lexNanos;
+        this.parseNanos = parseNanos;
+        this.validateNanos = validateNanos;
+    }
+
+    /** Returns the number of tokens the lexer has read, not counting comments. */
+    public long getTokenCount() {
+        return tokenCount;
+    }
+
+    /** Returns the number of nodes of the parsed tree, 0 if the parse failed. */
+    public long getNodeCount() {
+        return nodeCount;
+    }
+
+    /** Returns the depth of the parsed tree, 1 for a single node, 0 if the parse failed. */
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /** Returns the bytes allocated by the parsing thread, or {@link #UNKNOWN}. */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /** Returns the number of syntactic lookaheads of the parser, or {@link #UNKNOWN}. */
+    public long getLookaheadScans() {
+        return lookaheadScans;
+    }
+
+    /** Returns the time spent in the lexer. */
+    public Duration getLexTime() {
+        return Duration.ofNanos(lexNanos);
+    }
+
+    /** Returns the time spent in the parser, without the time spent in the lexer. */
+    public Duration getParseTime() {
+        return Duration.ofNanos(parseNanos);
+    }
+
+    /** Returns the time spent validating the parsed statements. */
+    public Duration getValidateTime() {
+        return Duration.ofNanos(validateNanos);
+    }
+
+    /** Returns the sum of the lex, parse and validate time. */
+    public Duration getTotalTime() {
+        return Duration.ofNanos(lexNanos + parseNanos + validateNanos);
+    }
+
+    /** Returns a copy of these statistics with the given validation time. */
+    public ParseStats withValidateTime(Duration validateTime) {
+        return new ParseStats(
+                tokenCount,
+                nodeCount,
+                maxDepth,
+                allocatedBytes,
+                lookaheadScans,
+                lexNanos,
+                parseNanos,
+                validateTime.toNanos());
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                Locale.ROOT,
+                "ParseStats{tokens=%d, nodes=%d, depth=%d, allocatedBytes=%d, lookaheads=%d,"
+                        + " lex=%.3fms, parse=%.3fms, validate=%.3fms}",
+                tokenCount,
+                nodeCount,
+                maxDepth,
+                allocatedBytes,
+                lookaheadScans,
+                lexNanos / 1e6,
+                parseNanos / 1e6,
+                validateNanos / 1e6);
+    }
+
+    /** Returns the number of nodes and the depth of the given tree. */
+    static long[] measureTree(SqlNode root) {
+        // The tree is walked without recursion, long chains of set operations are deep.
+        final Deque<SqlNode> nodes = new ArrayDeque<>();
+        final Deque<Integer> depths = new ArrayDeque<>();
+        nodes.push(root);
+        depths.push(1);
+        long count = 0;
+        int maxDepth = 0;
+        while (!nodes.isEmpty()) {
+            final SqlNode node = nodes.pop();
+            final int depth = depths.pop();
+            count++;
+            maxDepth = Math.max(maxDepth, depth);
+            final List<? extends SqlNode> children;
+            if (node instanceof SqlNodeList) {
+                children = ((SqlNodeList) node).getList();
+            } else if (node instanceof SqlCall && !(node instanceof SqlDeferredQuery)) {
+                // Deferred queries are not parsed just to be counted.
+                children = ((SqlCall) node).getOperandList();
+            } else {
+                continue;
+            }
+            for (SqlNode child : children) {
+                if (child != null) {
+                    nodes.push(child);
+                    depths.push(depth + 1);
+                }
+            }
+        }
+        return new long[] {count, maxDepth};
+    }
+
+    // --------------------------------------------------------------------------------------------
+
+    /**
+     * Records the statistics of the parses of a parser and reports them to a {@link
+     * ParseStatsListener}. Called by the parsers of {@code statsFactory}, which time every token
+     * that their lexer reads with two reads of {@link System#nanoTime()}.
+     *
+     * <p>This class is not thread-safe, it belongs to a single parser.
+     */
+    public static final class Recorder {
+
+        @Nullable private static final com.sun.management.ThreadMXBean THREADS = threads();
+
+        private final ParseStatsListener listener;
+
+        private long tokenCount;
+        private long lexNanos;
+        private long start;
+        private long startAllocatedBytes;
+        private long startScans;
+        @Nullable private GrammarProfiler.Recorder profilerRecorder;
+
+        public Recorder(ParseStatsListener listener) {
+            this.listener = listener;
+        }
+
+        /** Called before a parse. */
+        public void start(FlinkSqlParserImpl parser) {
+            tokenCount = 0;
+            lexNanos = 0;
+            profilerRecorder = GrammarProfiler.recorderOf(parser);
+            startScans = profilerRecorder == null ? 0 : profilerRecorder.getScans();
+            startAllocatedBytes = allocatedBytes();
+            start = System.nanoTime();
+        }
+
+        /** Called for every token that the lexer reads, with the time it took. */
+        public void token(long nanos) {
+            tokenCount++;
+            lexNanos += nanos;
+        }
+
+        /** Called after a parse, with the parsed tree or null if the parse failed. */
+        public void end(@Nullable SqlNode node) {
+            final long elapsed = System.nanoTime() - start;
+            final long allocatedBytes =
+                    startAllocatedBytes == UNKNOWN
+                            ? UNKNOWN
+                            : allocatedBytes() - startAllocatedBytes;
+            final long scans =
+                    profilerRecorder == null ? UNKNOWN : profilerRecorder.getScans() - startScans;
+            final long[] tree = node == null ? new long[2] : measureTree(node);
+            final ParseStats stats =
+                    new ParseStats(
+                            tokenCount,
+                            tree[0],
+                            (int) tree[1],
+                            allocatedBytes,
+                            scans,
+                            lexNanos,
+                            Math.max(elapsed - lexNanos, 0),
+                            0);
+            if (node == null) {
+                listener.onParseFailure(stats);
+            } else {
+                listener.onParse(node, stats);
+            }
+        }
+
+        private static long allocatedBytes() {
+            return THREADS == null
+                    ? UNKNOWN
+                    : THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+
+        @Nullable
+        private static com.sun.management.ThreadMXBean threads() {
+            final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            if (threads instanceof com.sun.management.ThreadMXBean) {
+                final com.sun.management.ThreadMXBean hotSpotThreads =
+                        (com.sun.management.ThreadMXBean) threads;
+                if (hotSpotThreads.isThreadAllocatedMemorySupported()
+                        && hotSpotThreads.isThreadAllocatedMemoryEnabled()) {
+                    return hotSpotThreads;
+                }
+            }
+            return null;
+        }
+    }
+}
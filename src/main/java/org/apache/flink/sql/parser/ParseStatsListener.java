@@ -0,0 +1,41 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.sql.parser;
+
+import org.apache.calcite.sql.SqlNode;
+
+/**
+ * Receives the {@link ParseStats} of every parse of the parsers of {@code
+ * FlinkSqlParserImpl.statsFactory(ParseStatsListener)}, for example to aggregate them into
+ * histograms per statement class.
+ *
+ * <p>The listener is called on the parsing thread, after the parse and before the parsed tree is
+ * returned. A listener that is shared by several parsers must be thread-safe.
+ */
+public interface ParseStatsListener {
+
+    /**
+     * Called after a successful parse, with the parsed expression, statement or statement list.
+     * The validation time of the statistics is zero, the parser does not validate.
+     */
+    void onParse(SqlNode node, ParseStats stats);
+
+    /** Called after a failed parse, the node count and the depth of the statistics are zero. */
+    default void onParseFailure(ParseStats stats) {}
+}
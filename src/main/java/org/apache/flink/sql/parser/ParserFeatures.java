@@ -0,0 +1,191 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.sql.parser;
+
+import org.apache.flink.sql.parser.impl.FlinkSqlParserImpl;
+
+import javax.annotation.Nullable;
+
+/**
+ * The optional features of the parsers of {@link FlinkSqlParserImpl#factory(ParserFeatures)},
+ * which can be combined freely. A single token manager enforces the budget, times the tokens for
+ * the statistics and takes the tokens from a pool, as configured.
+ *
+ * <pre>{@code
+ * ParserFeatures features =
+ *         ParserFeatures.DEFAULT
+ *                 .withBudget(budget)
+ *                 .withStatsListener(listener)
+ *                 .withCompactTokens(true)
+ *                 .withNodeInterner(interner, false)
+ *                 .withImmutableAst(true);
+ * SqlParser.create(sql, config.withParserFactory(FlinkSqlParserImpl.factory(features)))
+ *         .parseStmtList();
+ * }</pre>
+ *
+ * <p>Instances are immutable.
+ */
+public final class ParserFeatures {
+
+    /** Features of {@link FlinkSqlParserImpl#FACTORY}, that is, none. */
+    public static final ParserFeatures DEFAULT =
+            new ParserFeatures(null, null, false, null, false, false, false);
+
+    @Nullable private final ParseBudget budget;
+    @Nullable private final ParseStatsListener statsListener;
+    private final boolean compactTokens;
+    @Nullable private final SqlNodeInterner nodeInterner;
+    private final boolean internDataTypes;
+    private final boolean deferAsQueries;
+    private final boolean immutableAst;
+
+    private ParserFeatures(
+            @Nullable ParseBudget budget,
+            @Nullable ParseStatsListener statsListener,
+            boolean compactTokens,
+            @Nullable SqlNodeInterner nodeInterner,
+            boolean internDataTypes,
+            boolean deferAsQueries,
+            boolean immutableAst) {
+        this.budget = budget;
+        this.statsListener = statsListener;
+        this.compactTokens = compactTokens;
+        this.nodeInterner = nodeInterner;
+        this.internDataTypes = internDataTypes;
+        this.deferAsQueries = deferAsQueries;
+        this.immutableAst = immutableAst;
+    }
+
+    /** Returns a copy whose parsers enforce the given budget, null to not enforce one. */
+    public ParserFeatures withBudget(@Nullable ParseBudget budget) {
+        return new ParserFeatures(
+                budget,
+                statsListener,
+                compactTokens,
+                nodeInterner,
+                internDataTypes,
+                deferAsQueries,
+                immutableAst);
+    }
+
+    /**
+     * Returns a copy whose parsers report the {@link ParseStats} of every parse to the given
+     * listener, null to not collect statistics.
+     */
+    public ParserFeatures withStatsListener(@Nullable ParseStatsListener statsListener) {
+        return new ParserFeatures(
+                budget,
+                statsListener,
+                compactTokens,
+                nodeInterner,
+                internDataTypes,
+                deferAsQueries,
+                immutableAst);
+    }
+
+    /**
+     * Returns a copy whose parsers take their tokens from a pool and materialize the images of
+     * tokens only when they are read, see {@link FlinkSqlParserImpl#COMPACT_TOKENS_FACTORY}.
+     */
+    public ParserFeatures withCompactTokens(boolean compactTokens) {
+        return new ParserFeatures(
+                budget,
+                statsListener,
+                compactTokens,
+                nodeInterner,
+                internDataTypes,
+                deferAsQueries,
+                immutableAst);
+    }
+
+    /**
+     * Returns a copy whose parsers intern the options of WITH clauses and, if {@code
+     * internDataTypes} is set, the data types of columns with the given interner, null to not
+     * intern them, see {@link FlinkSqlParserImpl#hashConsingFactory(SqlNodeInterner, boolean)}.
+     */
+    public ParserFeatures withNodeInterner(
+            @Nullable SqlNodeInterner nodeInterner, boolean internDataTypes) {
+        return new ParserFeatures(
+                budget,
+                statsListener,
+                compactTokens,
+                nodeInterner,
+                internDataTypes,
+                deferAsQueries,
+                immutableAst);
+    }
+
+    /**
+     * Returns a copy whose parsers defer parsing the query bodies of CREATE TABLE ... AS and
+     * similar statements, see {@link SqlDeferredQuery}.
+     */
+    public ParserFeatures withDeferAsQueries(boolean deferAsQueries) {
+        return new ParserFeatures(
+                budget,
+                statsListener,
+                compactTokens,
+                nodeInterner,
+                internDataTypes,
+                deferAsQueries,
+                immutableAst);
+    }
+
+    /** Returns a copy whose parsers return frozen statements, see {@link SqlImmutableNodes}. */
+    public ParserFeatures withImmutableAst(boolean immutableAst) {
+        return new ParserFeatures(
+                budget,
+                statsListener,
+                compactTokens,
+                nodeInterner,
+                internDataTypes,
+                deferAsQueries,
+                immutableAst);
+    }
+
+    @Nullable
+    public ParseBudget getBudget() {
+        return budget;
+    }
+
+    @Nullable
+    public ParseStatsListener getStatsListener() {
+        return statsListener;
+    }
+
+    public boolean isCompactTokens() {
+        return compactTokens;
+    }
+
+    @Nullable
+    public SqlNodeInterner getNodeInterner() {
+        return nodeInterner;
+    }
+
+    public boolean isInternDataTypes() {
+        return internDataTypes;
+    }
+
+    public boolean isDeferAsQueries() {
+        return deferAsQueries;
+    }
+
+    public boolean isImmutableAst() {
+        return immutableAst;
+    }
+}
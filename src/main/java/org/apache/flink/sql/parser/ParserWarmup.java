@@ -0,0 +1,223 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.sql.parser;
+
+import org.apache.calcite.sql.parser.SqlParseException;
+import org.apache.calcite.sql.parser.SqlParser;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Warms up the parser by parsing a built-in corpus of statements on a background thread, so that
+ * the JIT compiler has compiled the hot parts of the generated parser before the first user
+ * statements arrive.
+ *
+ * <p>The corpus, {@code warmup-corpus.sql} next to this class, covers every production that is
+ * listed in {@code Parser.tdd} as well as common queries. A warm-up is started with {@link
+ * #start(SqlParser.Config, int)}; a readiness probe can then poll {@link #isComplete()} or block
+ * in {@link #awaitCompletion(long, TimeUnit)}:
+ *
+ * <pre>{@code
+ * ParserWarmup warmup = ParserWarmup.start(parserConfig, 200);
+ * ...
+ * boolean ready = warmup.isComplete();
+ * }</pre>
+ *
+ * <p>Statements of the corpus that do not parse with the given configuration, for example because
+ * of a lower limit for the length of identifiers, are counted by {@link #getFailedStatements()}
+ * and do not stop the warm-up. Any other exception stops it and completes it exceptionally.
+ *
+ * <p>This class is thread-safe.
+ */
+public final class ParserWarmup {
+
+    /** Name of the resource with the corpus, relative to this class. */
+    static final String CORPUS_RESOURCE = "warmup-corpus.sql";
+
+    private static final String THREAD_NAME = "flink-sql-parser-warmup";
+
+    private final SqlParser.Config config;
+    private final int iterations;
+    private final List<String> corpus;
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+    private final AtomicInteger parsedStatements = new AtomicInteger();
+    private final AtomicInteger failedStatements = new AtomicInteger();
+
+    private ParserWarmup(SqlParser.Config config, int iterations, List<String> corpus) {
+        this.config = config;
+        this.iterations = iterations;
+        this.corpus = corpus;
+    }
+
+    /**
+     * Starts a warm-up that parses the corpus {@code iterations} times with the given
+     * configuration on a new daemon thread.
+     */
+    public static ParserWarmup start(SqlParser.Config config, int iterations) {
+        if (iterations < 0) {
+            throw new IllegalArgumentException(
+                    "Number of iterations should not be negative, but was " + iterations);
+        }
+        final ParserWarmup warmup = new ParserWarmup(config, iterations, getCorpus());
+        final Thread thread = new Thread(warmup::run, THREAD_NAME);
+        thread.setDaemon(true);
+        thread.start();
+        return warmup;
+    }
+
+    /** Returns the statements of the corpus in their order in the resource. */
+    public static List<String> getCorpus() {
+        return loadCorpus().stream()
+                .map(CorpusStatement::getStatement)
+                .collect(Collectors.toList());
+    }
+
+    /** Returns whether the warm-up has completed, either normally or exceptionally. */
+    public boolean isComplete() {
+        return completion.isDone();
+    }
+
+    /**
+     * Waits at most the given time for the warm-up to complete.
+     *
+     * @return whether the warm-up has completed, either normally or exceptionally
+     */
+    public boolean awaitCompletion(long timeout, TimeUnit unit) throws InterruptedException {
+        try {
+            completion.get(timeout, unit);
+        } catch (ExecutionException e) {
+            // completed exceptionally
+        } catch (TimeoutException e) {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns a future that is completed when the warm-up has completed, exceptionally if it has
+     * been stopped by an unexpected exception. Completing the returned future does not affect the
+     * warm-up.
+     */
+    public CompletableFuture<Void> getCompletionFuture() {
+        return completion.thenApply(Function.identity());
+    }
+
+    /** Returns the number of statements that have been parsed so far, including failed ones. */
+    public int getParsedStatements() {
+        return parsedStatements.get();
+    }
+
+    /** Returns the number of statements so far that did not parse with the configuration. */
+    public int getFailedStatements() {
+        return failedStatements.get();
+    }
+
+    private void run() {
+        try {
+            for (int i = 0; i < iterations; i++) {
+                for (String statement : corpus) {
+                    try {
+                        SqlParser.create(statement, config).parseStmt();
+                    } catch (SqlParseException e) {
+                        failedStatements.incrementAndGet();
+                    }
+                    parsedStatements.incrementAndGet();
+                }
+            }
+            completion.complete(null);
+        } catch (Throwable t) {
+            completion.completeExceptionally(t);
+        }
+    }
+
+    /** Reads the corpus from {@link #CORPUS_RESOURCE}. */
+    static List<CorpusStatement> loadCorpus() {
+        try (InputStream stream = ParserWarmup.class.getResourceAsStream(CORPUS_RESOURCE)) {
+            if (stream == null) {
+                throw new IllegalStateException(
+                        "Could not find the resource " + CORPUS_RESOURCE + " of the parser.");
+            }
+            final BufferedReader reader =
+                    new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8));
+            final List<CorpusStatement> statements = new ArrayList<>();
+            final List<String> productions = new ArrayList<>();
+            final StringBuilder statement = new StringBuilder();
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null || line.trim().isEmpty()) {
+                    if (statement.length() > 0) {
+                        statements.add(
+                                new CorpusStatement(
+                                        new ArrayList<>(productions), statement.toString()));
+                        statement.setLength(0);
+                    }
+                    productions.clear();
+                } else if (line.startsWith("--")) {
+                    productions.add(line.substring(2).trim());
+                } else {
+                    if (statement.length() > 0) {
+                        statement.append('\n');
+                    }
+                    statement.append(line);
+                }
+            } while (line != null);
+            return statements;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // --------------------------------------------------------------------------------------------
+
+    /** A statement of the corpus with the productions that it exercises. */
+    static final class CorpusStatement {
+        private final List<String> productions;
+        private final String statement;
+
+        CorpusStatement(List<String> productions, String statement) {
+            this.productions = Collections.unmodifiableList(productions);
+            this.statement = statement;
+        }
+
+        /** Returns the productions named in the comment lines right above the statement. */
+        List<String> getProductions() {
+            return productions;
+        }
+
+        String getStatement() {
+            return statement;
+        }
+    }
+}
@@ -28,9 +28,9 @@ import org.apache.calcite.sql.SqlNodeList;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 /** Util to validate {@link SqlTableConstraint}. */
 public class SqlConstraintValidator {
@@ -61,31 +61,81 @@ public class SqlConstraintValidator {
     public static void validateAndChangeColumnNullability(
             List<SqlTableConstraint> tableConstraints, SqlNodeList columnList)
             throws SqlValidateException {
+        Set<String> primaryKeyColumns =
+                validateAndGetPrimaryKeyColumns(tableConstraints, columnList);
+
+        // rewrite primary key's nullability to false
+        // e.g. CREATE TABLE tbl (`a` STRING PRIMARY KEY NOT ENFORCED, ...) or
+        // CREATE TABLE tbl (`a` STRING, PRIMARY KEY(`a`) NOT ENFORCED) will change `a`
+        // to STRING NOT NULL
+        for (SqlNode column : columnList) {
+            if (isPrimaryKeyColumn(column, primaryKeyColumns)) {
+                SqlTableColumn.SqlRegularColumn regularColumn =
+                        (SqlTableColumn.SqlRegularColumn) column;
+                if (Boolean.FALSE.equals(regularColumn.getType().getNullable())) {
+                    // nothing to change, the column may be shared by an immutable statement
+                    continue;
+                }
+                SqlDataTypeSpec notNullType = regularColumn.getType().withNullable(false);
+                regularColumn.setType(notNullType);
+            }
+        }
+    }
+
+    /**
+     * Check constraints like {@link #validateAndChangeColumnNullability}, but return the columns
+     * with the changed nullability instead of changing them. Primary key columns that are not
+     * declared NOT NULL are replaced by copies, all other columns are shared with the given list.
+     * Returns the given list if no column needs to change.
+     *
+     * @throws SqlValidateException if encountered duplicate primary key constraints, or the
+     *     constraint is enforced or unique.
+     */
+    public static SqlNodeList validateAndDeriveColumnNullability(
+            List<SqlTableConstraint> tableConstraints, SqlNodeList columnList)
+            throws SqlValidateException {
+        Set<String> primaryKeyColumns =
+                validateAndGetPrimaryKeyColumns(tableConstraints, columnList);
+        List<SqlNode> columns = null;
+        for (int i = 0; i < columnList.size(); i++) {
+            SqlNode column = columnList.get(i);
+            if (isPrimaryKeyColumn(column, primaryKeyColumns)) {
+                SqlTableColumn.SqlRegularColumn regularColumn =
+                        (SqlTableColumn.SqlRegularColumn) column;
+                if (Boolean.FALSE.equals(regularColumn.getType().getNullable())) {
+                    continue;
+                }
+                if (columns == null) {
+                    columns = new ArrayList<>(columnList.getList());
+                }
+                SqlDataTypeSpec notNullType = regularColumn.getType().withNullable(false);
+                columns.set(i, regularColumn.withType(notNullType));
+            }
+        }
+        return columns == null
+                ? columnList
+                : new SqlNodeList(columns, columnList.getParserPosition());
+    }
+
+    private static Set<String> validateAndGetPrimaryKeyColumns(
+            List<SqlTableConstraint> tableConstraints, SqlNodeList columnList)
+            throws SqlValidateException {
         List<SqlTableConstraint> fullConstraints = getFullConstraints(tableConstraints, columnList);
         if (fullConstraints.stream().filter(SqlTableConstraint::isPrimaryKey).count() > 1) {
             throw new SqlValidateException(
                     fullConstraints.get(1).getParserPosition(), "Duplicate primary key definition");
         }
+        Set<String> primaryKeyColumns = new HashSet<>();
         for (SqlTableConstraint constraint : fullConstraints) {
             validate(constraint);
-            Set<String> primaryKeyColumns =
-                    Arrays.stream(constraint.getColumnNames()).collect(Collectors.toSet());
-
-            // rewrite primary key's nullability to false
-            // e.g. CREATE TABLE tbl (`a` STRING PRIMARY KEY NOT ENFORCED, ...) or
-            // CREATE TABLE tbl (`a` STRING, PRIMARY KEY(`a`) NOT ENFORCED) will change `a`
-            // to STRING NOT NULL
-            for (SqlNode column : columnList) {
-                SqlTableColumn tableColumn = (SqlTableColumn) column;
-                if (tableColumn instanceof SqlTableColumn.SqlRegularColumn
-                        && primaryKeyColumns.contains(tableColumn.getName().getSimple())) {
-                    SqlTableColumn.SqlRegularColumn regularColumn =
-                            (SqlTableColumn.SqlRegularColumn) column;
-                    SqlDataTypeSpec notNullType = regularColumn.getType().withNullable(false);
-                    regularColumn.setType(notNullType);
-                }
-            }
+            primaryKeyColumns.addAll(Arrays.asList(constraint.getColumnNames()));
         }
+        return primaryKeyColumns;
+    }
+
+    private static boolean isPrimaryKeyColumn(SqlNode column, Set<String> primaryKeyColumns) {
+        return column instanceof SqlTableColumn.SqlRegularColumn
+                && primaryKeyColumns.contains(((SqlTableColumn) column).getName().getSimple());
     }
 
     /** Check table constraint. */
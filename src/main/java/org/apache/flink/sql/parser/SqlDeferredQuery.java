@@ -0,0 +1,284 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.sql.parser;
+
+import org.apache.flink.sql.parser.error.SqlDeferredParseException;
+import org.apache.flink.sql.parser.impl.FlinkSqlParserImpl;
+
+import org.apache.calcite.avatica.util.Casing;
+import org.apache.calcite.avatica.util.TimeUnit;
+import org.apache.calcite.sql.SqlCall;
+import org.apache.calcite.sql.SqlKind;
+import org.apache.calcite.sql.SqlNode;
+import org.apache.calcite.sql.SqlOperator;
+import org.apache.calcite.sql.SqlWriter;
+import org.apache.calcite.sql.parser.SqlAbstractParserImpl;
+import org.apache.calcite.sql.parser.SqlParseException;
+import org.apache.calcite.sql.parser.SqlParserPos;
+import org.apache.calcite.sql.util.SqlVisitor;
+import org.apache.calcite.sql.validate.SqlConformance;
+import org.apache.calcite.sql.validate.SqlValidator;
+import org.apache.calcite.sql.validate.SqlValidatorScope;
+import org.apache.calcite.util.Litmus;
+import org.apache.calcite.util.SourceStringReader;
+
+import javax.annotation.Nullable;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The query body of a {@code CREATE TABLE ... AS}, {@code CREATE VIEW ... AS}, {@code ALTER VIEW
+ * ... AS}, {@code CREATE MODEL ... AS} or {@code CREATE MATERIALIZED TABLE ... AS} statement that
+ * is only parsed when it is accessed for the first time.
+ *
+ * <p>Parsers created by {@link FlinkSqlParserImpl#DEFERRED_AS_QUERY_FACTORY} skip the tokens of
+ * such a query and only record its span in the original script. The statements return the parsed
+ * query from their accessors; operand lists and unparsing delegate to it as well. The query is
+ * parsed with the settings and the {@link ParserFeatures} of the original parser, so it is frozen
+ * if the statements of the original parser are, and at the line and column of the span, so that
+ * positions in the parsed tree and in parse errors refer to the original script.
+ *
+ * <p>Queries are always calls such as {@code SELECT}, {@code UNION} or {@code VALUES}, all methods
+ * of this call delegate to the parsed query.
+ */
+public final class SqlDeferredQuery extends SqlCall {
+
+    private final Script script;
+    private final int start;
+    private final int end;
+    private @Nullable SqlNode query;
+
+    private SqlDeferredQuery(Script script, int start, int end, SqlParserPos pos) {
+        super(pos);
+        this.script = script;
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Returns the parsed query if the given node is a deferred query, otherwise the node itself.
+     *
+     * @throws SqlDeferredParseException if the deferred query is invalid
+     */
+    public static SqlNode resolve(SqlNode node) {
+        return node instanceof SqlDeferredQuery ? ((SqlDeferredQuery) node).getQuery() : node;
+    }
+
+    /** Returns the text of the query in the original script. */
+    public String getSourceText() {
+        return script.originalSql.substring(start, end);
+    }
+
+    /** Returns whether the query has been parsed already. */
+    public synchronized boolean isParsed() {
+        return query != null;
+    }
+
+    /** Parses the query, or returns the query parsed before. */
+    public synchronized SqlNode parse() throws SqlParseException {
+        if (query == null) {
+            query = script.parse(start, end, getParserPosition());
+        }
+        return query;
+    }
+
+    /**
+     * Parses the query, or returns the query parsed before.
+     *
+     * @throws SqlDeferredParseException if the query is invalid
+     */
+    public SqlNode getQuery() {
+        try {
+            return parse();
+        } catch (SqlParseException e) {
+            throw new SqlDeferredParseException(e);
+        }
+    }
+
+    @Override
+    public SqlOperator getOperator() {
+        return ((SqlCall) getQuery()).getOperator();
+    }
+
+    @Override
+    public List<SqlNode> getOperandList() {
+        return ((SqlCall) getQuery()).getOperandList();
+    }
+
+    @Override
+    public void setOperand(int i, @Nullable SqlNode operand) {
+        ((SqlCall) getQuery()).setOperand(i, operand);
+    }
+
+    @Override
+    public SqlKind getKind() {
+        return getQuery().getKind();
+    }
+
+    @Override
+    public SqlNode clone(SqlParserPos pos) {
+        return new SqlDeferredQuery(script, start, end, pos);
+    }
+
+    @Override
+    public void unparse(SqlWriter writer, int leftPrec, int rightPrec) {
+        getQuery().unparse(writer, leftPrec, rightPrec);
+    }
+
+    @Override
+    public void validate(SqlValidator validator, SqlValidatorScope scope) {
+        getQuery().validate(validator, scope);
+    }
+
+    @Override
+    public <R> R accept(SqlVisitor<R> visitor) {
+        return getQuery().accept(visitor);
+    }
+
+    @Override
+    public boolean equalsDeep(@Nullable SqlNode node, Litmus litmus) {
+        return getQuery().equalsDeep(node == null ? null : resolve(node), litmus);
+    }
+
+    // --------------------------------------------------------------------------------------------
+
+    /**
+     * The original script of a parser together with the settings to parse its deferred queries
+     * with. Created by the generated parser for its first deferred query.
+     */
+    public static final class Script {
+        private final String originalSql;
+        private final int tabSize;
+        private final Casing quotedCasing;
+        private final Casing unquotedCasing;
+        private final int identifierMaxLength;
+        private final @Nullable Map<String, TimeUnit> timeUnitCodes;
+        private final SqlConformance conformance;
+        private final SqlAbstractParserImpl.LexicalState lexicalState;
+        private final ParserFeatures features;
+        private final int[] lineOffsets;
+
+        public Script(
+                String originalSql,
+                int tabSize,
+                Casing quotedCasing,
+                Casing unquotedCasing,
+                int identifierMaxLength,
+                @Nullable Map<String, TimeUnit> timeUnitCodes,
+                SqlConformance conformance,
+                SqlAbstractParserImpl.LexicalState lexicalState,
+                ParserFeatures features) {
+            this.originalSql = originalSql;
+            this.tabSize = tabSize;
+            this.quotedCasing = quotedCasing;
+            this.unquotedCasing = unquotedCasing;
+            this.identifierMaxLength = identifierMaxLength;
+            this.timeUnitCodes = timeUnitCodes;
+            this.conformance = conformance;
+            this.lexicalState = lexicalState;
+            this.features = features;
+            this.lineOffsets = lineOffsets(originalSql);
+        }
+
+        /** Creates a deferred query for the tokens between the given positions of the script. */
+        public SqlDeferredQuery defer(SqlParserPos pos) {
+            final int start = offset(pos.getLineNum(), pos.getColumnNum());
+            final int end = offset(pos.getEndLineNum(), pos.getEndColumnNum()) + 1;
+            return new SqlDeferredQuery(this, start, end, pos);
+        }
+
+        private SqlNode parse(int start, int end, SqlParserPos pos) throws SqlParseException {
+            // pad the query to its line and column in the script, so that positions match
+            final StringBuilder sql =
+                    new StringBuilder(pos.getLineNum() + pos.getColumnNum() + end - start);
+            for (int i = 1; i < pos.getLineNum(); i++) {
+                sql.append('\n');
+            }
+            for (int i = 1; i < pos.getColumnNum(); i++) {
+                sql.append(' ');
+            }
+            sql.append(originalSql, start, end);
+            final FlinkSqlParserImpl parser =
+                    (FlinkSqlParserImpl)
+                            FlinkSqlParserImpl.factory(features)
+                                    .getParser(new SourceStringReader(sql.toString()));
+            parser.setTabSize(tabSize);
+            parser.setQuotedCasing(quotedCasing);
+            parser.setUnquotedCasing(unquotedCasing);
+            parser.setIdentifierMaxLength(identifierMaxLength);
+            if (timeUnitCodes != null) {
+                parser.setTimeUnitCodes(timeUnitCodes);
+            }
+            parser.setConformance(conformance);
+            parser.switchTo(lexicalState);
+            try {
+                return parser.parseSqlQueryEof();
+            } catch (Throwable t) {
+                throw parser.normalizeException(t);
+            }
+        }
+
+        /** Returns the offset of the character at the given line and column of the script. */
+        private int offset(int line, int column) {
+            final int lineOffset = lineOffsets[line - 1];
+            if (tabSize == 1) {
+                return lineOffset + column - 1;
+            }
+            // same column arithmetic as the char stream of the parser
+            int currentColumn = 0;
+            for (int i = lineOffset; i < originalSql.length(); i++) {
+                currentColumn++;
+                if (originalSql.charAt(i) == '\t') {
+                    currentColumn--;
+                    currentColumn += tabSize - (currentColumn % tabSize);
+                }
+                if (currentColumn >= column) {
+                    return i;
+                }
+            }
+            throw new IllegalArgumentException(
+                    "Position is out of the script: line " + line + ", column " + column);
+        }
+
+        /** Returns the offsets at which the lines of the script start, as counted by the parser. */
+        private static int[] lineOffsets(String sql) {
+            int lines = 1;
+            for (int i = 1; i < sql.length(); i++) {
+                if (isLineStart(sql, i)) {
+                    lines++;
+                }
+            }
+            final int[] offsets = new int[lines];
+            int line = 1;
+            for (int i = 1; i < sql.length(); i++) {
+                if (isLineStart(sql, i)) {
+                    offsets[line++] = i;
+                }
+            }
+            return offsets;
+        }
+
+        /** A line break is "\r\n", or a single '\r' or '\n'. */
+        private static boolean isLineStart(String sql, int i) {
+            final char previous = sql.charAt(i - 1);
+            return previous == '\n' || (previous == '\r' && sql.charAt(i) != '\n');
+        }
+    }
+}
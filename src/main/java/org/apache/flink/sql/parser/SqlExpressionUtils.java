@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.sql.parser;
+
+import org.apache.calcite.sql.SqlKind;
+import org.apache.calcite.sql.SqlNode;
+import org.apache.calcite.sql.SqlOperator;
+import org.apache.calcite.sql.SqlSpecialOperator;
+import org.apache.calcite.sql.parser.SqlParserUtil;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/** Utils methods for building expression trees in the parser. */
+public class SqlExpressionUtils {
+
+    private static final Set<SqlKind> CHAINABLE_KINDS =
+            EnumSet.of(SqlKind.AND, SqlKind.OR, SqlKind.UNION, SqlKind.EXCEPT, SqlKind.INTERSECT);
+
+    private SqlExpressionUtils() {}
+
+    /**
+     * Converts a list of {expression, operator, expression, ...} into a tree, as {@link
+     * SqlParserUtil#toTree(List)} does.
+     *
+     * <p>{@link SqlParserUtil#toTree(List)} needs quadratic time and recursion proportional to the
+     * number of operators, long generated {@code AND} / {@code OR} chains and set operations
+     * therefore take seconds to parse or end in a {@link StackOverflowError}. If the operators with
+     * the lowest precedence in the list are {@code AND}, {@code OR} or set operators, the list is
+     * split at them, the segments are converted separately and then combined in a loop. The result
+     * is the same left-deep tree of binary calls with the same positions that {@link
+     * SqlParserUtil#toTree(List)} returns.
+     */
+    public static SqlNode toTree(List<Object> list) {
+        if (list.size() < 3) {
+            return SqlParserUtil.toTree(list);
+        }
+        final SqlOperator chainOperator = findChainOperator(list);
+        if (chainOperator == null) {
+            return SqlParserUtil.toTree(list);
+        }
+        SqlNode tree = null;
+        SqlParserUtil.ToTreeListItem chainItem = null;
+        int start = 0;
+        for (int i = 1; i <= list.size(); i++) {
+            if (i < list.size() && !isChainedWith(list.get(i), chainOperator)) {
+                continue;
+            }
+            final SqlNode segment = toTree(new ArrayList<>(list.subList(start, i)));
+            if (tree == null) {
+                tree = segment;
+            } else {
+                final List<SqlNode> operands = Arrays.asList(tree, segment);
+                tree =
+                        chainItem
+                                .getOperator()
+                                .createCall(chainItem.getPos().plusAll(operands), operands);
+            }
+            if (i < list.size()) {
+                chainItem = (SqlParserUtil.ToTreeListItem) list.get(i);
+                start = i + 1;
+            }
+        }
+        return tree;
+    }
+
+    /**
+     * Returns an operator of the lowest precedence the list can be split at, or null if the lowest
+     * precedence is not the one of {@code AND}, {@code OR} or a set operator, if the list contains
+     * special operators such as {@code BETWEEN} that consume other items, or if it contains an
+     * operator that neither binds tighter than the split operators nor is one of them.
+     */
+    private static SqlOperator findChainOperator(List<Object> list) {
+        SqlOperator lowest = null;
+        for (Object o : list) {
+            if (!(o instanceof SqlParserUtil.ToTreeListItem)) {
+                continue;
+            }
+            final SqlOperator op = ((SqlParserUtil.ToTreeListItem) o).getOperator();
+            if (op instanceof SqlSpecialOperator) {
+                return null;
+            }
+            if (lowest == null || precedence(op) < precedence(lowest)) {
+                lowest = op;
+            }
+        }
+        if (lowest == null || !isChainable(lowest)) {
+            return null;
+        }
+        for (Object o : list) {
+            if (o instanceof SqlParserUtil.ToTreeListItem
+                    && !isChainedWith(o, lowest)
+                    && precedence(((SqlParserUtil.ToTreeListItem) o).getOperator())
+                            <= lowest.getRightPrec()) {
+                return null;
+            }
+        }
+        return lowest;
+    }
+
+    /** Whether the operator is left-associative and can be chained with itself in a loop. */
+    private static boolean isChainable(SqlOperator op) {
+        return op.getKind().belongsTo(CHAINABLE_KINDS) && op.getLeftPrec() < op.getRightPrec();
+    }
+
+    /**
+     * Whether the list item is an operator that is chained with {@code chainOperator}, such as
+     * {@code UNION} and {@code EXCEPT ALL}, which are left-associative with the same precedence.
+     */
+    private static boolean isChainedWith(Object o, SqlOperator chainOperator) {
+        if (!(o instanceof SqlParserUtil.ToTreeListItem)) {
+            return false;
+        }
+        final SqlOperator op = ((SqlParserUtil.ToTreeListItem) o).getOperator();
+        return op == chainOperator
+                || (isChainable(op)
+                        && op.getLeftPrec() == chainOperator.getLeftPrec()
+                        && op.getRightPrec() == chainOperator.getRightPrec());
+    }
+
+    private static int precedence(SqlOperator op) {
+        return Math.min(op.getLeftPrec(), op.getRightPrec());
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.sql.parser;
+
+import org.apache.flink.sql.parser.error.SqlValidateException;
+import org.apache.flink.sql.parser.impl.FlinkSqlParserImpl;
+
+import org.apache.calcite.sql.SqlCall;
+import org.apache.calcite.sql.SqlNode;
+import org.apache.calcite.sql.SqlNodeList;
+
+import javax.annotation.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Utils for using parsed statements as immutable trees, e.g. to cache them and share them between
+ * threads without copying.
+ *
+ * <p>{@link #freeze} makes the {@link FreezableSqlNode}s of a tree immutable and materializes the
+ * parts of it that are built lazily on first access, such as compact VALUES sources and operand
+ * lists; deferred AS queries stay deferred, as they are parsed under a lock. Parsers created by
+ * {@link FlinkSqlParserImpl#IMMUTABLE_AST_FACTORY} freeze the statements they return. {@link
+ * #validate} validates {@link ExtendedSqlNode}s without changing them.
+ *
+ * <p>Nodes of Calcite, such as identifiers, calls of functions and queries, have no immutable
+ * mode, they must not be changed by the code that shares a frozen tree.
+ */
+public final class SqlImmutableNodes {
+
+    private SqlImmutableNodes() {}
+
+    /** Freezes the given tree and returns its root. */
+    public static <T extends SqlNode> T freeze(T node) {
+        // The tree is walked without recursion, long chains of set operations are deep.
+        final Deque<SqlNode> nodes = new ArrayDeque<>();
+        nodes.push(node);
+        while (!nodes.isEmpty()) {
+            final SqlNode current = nodes.pop();
+            final List<? extends SqlNode> children;
+            if (current instanceof SqlNodeList) {
+                children = ((SqlNodeList) current).getList();
+            } else if (current instanceof SqlCall && !(current instanceof SqlDeferredQuery)) {
+                if (current instanceof FreezableSqlNode) {
+                    ((FreezableSqlNode) current).freeze();
+                }
+                children = ((SqlCall) current).getOperandList();
+            } else {
+                continue;
+            }
+            for (SqlNode child : children) {
+                if (child != null) {
+                    nodes.push(child);
+                }
+            }
+        }
+        return node;
+    }
+
+    /**
+     * Validates the given node without changing it, see {@link
+     * ExtendedSqlNode#validateImmutable()}. Returns the node itself if it is not an {@link
+     * ExtendedSqlNode} or validation does not need to change anything, otherwise a frozen copy
+     * that shares all unchanged subtrees with the given node.
+     */
+    public static SqlNode validate(SqlNode node) throws SqlValidateException {
+        if (!(node instanceof ExtendedSqlNode)) {
+            return node;
+        }
+        final SqlNode validated =
+                SqlParserEvents.validate(node, ((ExtendedSqlNode) node)::validateImmutable);
+        return validated == node ? node : freeze(validated);
+    }
+
+    /**
+     * Throws if the given node is frozen, called by the setters of {@link FreezableSqlNode}s.
+     *
+     * @throws UnsupportedOperationException if the node is frozen
+     */
+    public static void checkNotFrozen(FreezableSqlNode node, @Nullable String what) {
+        if (node.isFrozen()) {
+            throw new UnsupportedOperationException(
+                    "Cannot change "
+                            + (what == null ? "the operands" : what)
+                            + " of an immutable "
+                            + node.getClass().getSimpleName());
+        }
+    }
+}
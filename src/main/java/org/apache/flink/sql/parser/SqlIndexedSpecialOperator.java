@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.sql.parser;
+
+import org.apache.calcite.sql.SqlCall;
+import org.apache.calcite.sql.SqlKind;
+import org.apache.calcite.sql.SqlNode;
+import org.apache.calcite.sql.SqlSpecialOperator;
+import org.apache.calcite.sql.util.SqlVisitor;
+
+import javax.annotation.Nullable;
+
+import java.util.List;
+
+/**
+ * A {@link SqlSpecialOperator} that visits the operands of its calls by index rather than with an
+ * iterator, so that walking a tree whose calls cache their operand lists does not allocate.
+ */
+public class SqlIndexedSpecialOperator extends SqlSpecialOperator {
+
+    public SqlIndexedSpecialOperator(String name, SqlKind kind) {
+        super(name, kind);
+    }
+
+    @Override
+    public <R> @Nullable R acceptCall(SqlVisitor<R> visitor, SqlCall call) {
+        final List<SqlNode> operands = call.getOperandList();
+        for (int i = 0; i < operands.size(); i++) {
+            final SqlNode operand = operands.get(i);
+            if (operand != null) {
+                operand.accept(visitor);
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,301 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.sql.parser;
+
+import org.apache.calcite.avatica.util.ByteString;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.rel.type.RelDataTypeFactory;
+import org.apache.calcite.sql.SqlCharStringLiteral;
+import org.apache.calcite.sql.SqlCollation;
+import org.apache.calcite.sql.SqlDialect;
+import org.apache.calcite.sql.SqlLiteral;
+import org.apache.calcite.sql.SqlNode;
+import org.apache.calcite.sql.SqlWriter;
+import org.apache.calcite.sql.parser.SqlParserPos;
+import org.apache.calcite.sql.parser.SqlParserUtil;
+import org.apache.calcite.util.NlsString;
+
+import javax.annotation.Nullable;
+
+/**
+ * A character string literal that keeps the quoted token image of a {@code QUOTED_STRING} and
+ * unescapes it on first access.
+ *
+ * <p>Option values, SET values and function definitions sometimes carry multi-megabyte strings
+ * such as inline JSON configs or base64 payloads. For a plain literal the image is copied by
+ * {@link SqlParserUtil#parseString(String)} when the literal is created. This literal defers that
+ * work until {@link #getValue()} or {@link #getValueAs(Class)} is called for the first time, then
+ * builds the {@link NlsString} once and drops the image.
+ *
+ * <p>The value that {@link SqlLiteral} keeps in its final {@code value} field is a placeholder that
+ * throws when it is read, so the static {@link SqlLiteral#value(SqlNode)} and {@link
+ * SqlLiteral#stringValue(SqlNode)} fail for this literal instead of returning a wrong value; {@link
+ * #stringValue(SqlNode)} reads both kinds of string literals. A lazy literal is only equal to
+ * other lazy literals with the same value, never to a plain {@link SqlCharStringLiteral}, which
+ * keeps {@link #equals(Object)} symmetric.
+ *
+ * <p>Only images of at least {@link #LAZY_THRESHOLD} characters are kept lazily, shorter ones are
+ * parsed into a plain {@link SqlCharStringLiteral}.
+ */
+public class SqlLazyCharStringLiteral extends SqlCharStringLiteral {
+
+    /** Minimum length of a token image to be unescaped lazily. */
+    public static final int LAZY_THRESHOLD = 4096;
+
+    /**
+     * Value of the {@code value} field of {@link SqlLiteral}. Literals created by the parser are
+     * never backed by bytes, so no plain literal is equal to a lazy one.
+     */
+    private static final NlsString PLACEHOLDER = new Placeholder();
+
+    /** The token image, cleared once {@link #nlsString} is computed. */
+    private volatile @Nullable String image;
+
+    private volatile @Nullable NlsString nlsString;
+
+    /** Hash code of the image, set before the image is cleared. */
+    private int imageHash;
+
+    private SqlLazyCharStringLiteral(
+            @Nullable String image,
+            @Nullable NlsString nlsString,
+            int imageHash,
+            SqlParserPos pos) {
+        super(PLACEHOLDER, pos);
+        this.image = image;
+        this.nlsString = nlsString;
+        this.imageHash = imageHash;
+    }
+
+    /**
+     * Creates a literal from the image of a {@code QUOTED_STRING} token, i.e. a string in single
+     * quotes with embedded quotes doubled.
+     */
+    public static SqlCharStringLiteral create(String image, SqlParserPos pos) {
+        if (image.length() < LAZY_THRESHOLD) {
+            return SqlLiteral.createCharString(SqlParserUtil.parseString(image), pos);
+        }
+        return new SqlLazyCharStringLiteral(image, null, 0, pos);
+    }
+
+    /**
+     * Returns the string value of a character string literal, a chain of string literals or a
+     * CAST of a string literal, lazy or not. Use it instead of {@link SqlLiteral#value(SqlNode)}
+     * where a lazy literal may occur.
+     */
+    public static String stringValue(SqlNode node) {
+        if (node instanceof SqlLazyCharStringLiteral) {
+            return ((SqlLazyCharStringLiteral) node).getValue().getValue();
+        }
+        return ((NlsString) SqlLiteral.value(node)).getValue();
+    }
+
+    /**
+     * Returns the token image of this literal, or null if the literal has been unescaped already.
+     * Equal images stand for equal values, so the image can serve as a key without unescaping.
+     */
+    public @Nullable String getImage() {
+        return image;
+    }
+
+    /** Returns whether the value of this literal has been unescaped already. */
+    public boolean isUnescaped() {
+        return nlsString != null;
+    }
+
+    @Override
+    public NlsString getValue() {
+        NlsString result = nlsString;
+        if (result == null) {
+            final String image = this.image;
+            if (image == null) {
+                // computed by a concurrent call, which sets the value before clearing the image
+                return requireValue();
+            }
+            imageHash = image.hashCode();
+            result = new NlsString(unescape(image), null, null);
+            nlsString = result;
+            this.image = null;
+        }
+        return result;
+    }
+
+    @Override
+    public <T extends Object> T getValueAs(Class<T> clazz) {
+        final NlsString value = getValue();
+        if (clazz.isInstance(value)) {
+            return clazz.cast(value);
+        }
+        if (clazz == String.class) {
+            return clazz.cast(value.getValue());
+        }
+        throw new AssertionError("cannot cast " + value + " as " + clazz);
+    }
+
+    @Override
+    public String toValue() {
+        return getValue().getValue();
+    }
+
+    @Deprecated
+    @Override
+    public String getStringValue() {
+        return getValue().getValue();
+    }
+
+    @Deprecated
+    @Override
+    public NlsString getNlsString() {
+        return getValue();
+    }
+
+    @Override
+    public @Nullable SqlCollation getCollation() {
+        return null;
+    }
+
+    @Override
+    public SqlCharStringLiteral clone(SqlParserPos pos) {
+        final NlsString value = nlsString;
+        final String image = this.image;
+        if (value == null && image != null) {
+            return new SqlLazyCharStringLiteral(image, null, 0, pos);
+        }
+        return new SqlLazyCharStringLiteral(null, getValue(), imageHash, pos);
+    }
+
+    @Override
+    public void unparse(SqlWriter writer, int leftPrec, int rightPrec) {
+        writer.literal(getValue().asSql(true, true, writer.getDialect()));
+    }
+
+    @Override
+    public RelDataType createSqlType(RelDataTypeFactory typeFactory) {
+        return toPlain().createSqlType(typeFactory);
+    }
+
+    @Override
+    public SqlLiteral unescapeUnicode(char unicodeEscapeChar) {
+        return unicodeEscapeChar == 0 ? this : toPlain().unescapeUnicode(unicodeEscapeChar);
+    }
+
+    @Override
+    public boolean equals(@Nullable Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof SqlLazyCharStringLiteral)) {
+            return false;
+        }
+        final SqlLazyCharStringLiteral that = (SqlLazyCharStringLiteral) obj;
+        final String image = this.image;
+        final String thatImage = that.image;
+        if (image != null && thatImage != null) {
+            // the image is a function of the value, no need to unescape
+            return image.equals(thatImage);
+        }
+        return getValue().equals(that.getValue());
+    }
+
+    @Override
+    public int hashCode() {
+        final String image = this.image;
+        return image != null ? image.hashCode() : imageHash;
+    }
+
+    private NlsString requireValue() {
+        final NlsString value = nlsString;
+        if (value == null) {
+            throw new IllegalStateException("Neither image nor value of the literal is set.");
+        }
+        return value;
+    }
+
+    private SqlCharStringLiteral toPlain() {
+        return SqlLiteral.createCharString(getValue().getValue(), getParserPosition());
+    }
+
+    /**
+     * The value of the {@code value} field of lazy literals, for code that reads the field instead
+     * of calling {@link #getValue()}. Reading its value throws; equality and hash code only use the
+     * fields of {@link NlsString}.
+     */
+    private static final class Placeholder extends NlsString {
+
+        Placeholder() {
+            super(new ByteString(new byte[0]), "ISO-8859-1", null);
+        }
+
+        @Override
+        public String getValue() {
+            throw misuse();
+        }
+
+        @Override
+        public ByteString getValueBytes() {
+            throw misuse();
+        }
+
+        @Override
+        public NlsString rtrim() {
+            throw misuse();
+        }
+
+        @Override
+        public NlsString copy(String value) {
+            throw misuse();
+        }
+
+        @Override
+        public String asSql(boolean prefix, boolean suffix, @Nullable SqlDialect dialect) {
+            throw misuse();
+        }
+
+        @Override
+        public String toString() {
+            throw misuse();
+        }
+
+        private static IllegalStateException misuse() {
+            return new IllegalStateException(
+                    "The value of a SqlLazyCharStringLiteral must be read with getValue() or "
+                            + "SqlLazyCharStringLiteral.stringValue(SqlNode), not with "
+                            + "SqlLiteral.value(SqlNode) or SqlLiteral.stringValue(SqlNode).");
+        }
+    }
+
+    /** Strips the enclosing quotes of the image and replaces doubled quotes with one. */
+    private static String unescape(String image) {
+        final int end = image.length() - 1;
+        int quote = image.indexOf('\'', 1);
+        if (quote == end) {
+            return image.substring(1, end);
+        }
+        final StringBuilder builder = new StringBuilder(end - 1);
+        int start = 1;
+        while (quote < end) {
+            // embedded quotes are always doubled in a QUOTED_STRING token
+            builder.append(image, start, quote + 1);
+            start = quote + 2;
+            quote = image.indexOf('\'', start);
+        }
+        builder.append(image, start, end);
+        return builder.toString();
+    }
+}
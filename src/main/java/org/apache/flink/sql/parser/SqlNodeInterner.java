@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.sql.parser;
+
+import org.apache.flink.sql.parser.impl.FlinkSqlParserImpl;
+
+import org.apache.calcite.sql.SqlNode;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Hash-conses {@link SqlNode}s: returns a single canonical instance for all nodes that are equal
+ * according to {@link SqlStructuralKey}, so that identical subtrees of different statements are
+ * shared instead of being kept once per statement.
+ *
+ * <p>Parsers created by {@link FlinkSqlParserImpl#hashConsingFactory} intern the options of WITH
+ * clauses and, on request, the data types of columns. The positions of an interned node are those
+ * of its first occurrence. Interned nodes are shared between statements and must not be mutated.
+ *
+ * <p>Canonical nodes are kept in a bounded cache, a node that was evicted is interned anew on its
+ * next occurrence. This class is thread-safe.
+ */
+public final class SqlNodeInterner {
+
+    /** Default maximum number of canonical nodes. */
+    public static final int DEFAULT_MAXIMUM_SIZE = 100_000;
+
+    private final Cache<SqlStructuralKey, SqlNode> canonicalNodes;
+
+    public SqlNodeInterner() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    public SqlNodeInterner(long maximumSize) {
+        this.canonicalNodes = CacheBuilder.newBuilder().maximumSize(maximumSize).build();
+    }
+
+    /** Returns the canonical instance of the given node, the node itself if it is the first. */
+    @SuppressWarnings("unchecked")
+    public <T extends SqlNode> T intern(T node) {
+        try {
+            return (T) canonicalNodes.get(SqlStructuralKey.of(node), () -> node);
+        } catch (ExecutionException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    /** Returns the approximate number of canonical nodes. */
+    public long size() {
+        return canonicalNodes.size();
+    }
+}
@@ -0,0 +1,272 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.sql.parser;
+
+import org.apache.flink.sql.parser.error.SqlValidateException;
+
+import org.apache.calcite.sql.SqlNode;
+import org.apache.calcite.sql.SqlNodeList;
+import org.apache.calcite.sql.SqlWriter;
+
+import javax.annotation.Nullable;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * JDK Flight Recorder events for parsing SQL, validating {@link ExtendedSqlNode}s and unparsing
+ * DDL statements, so that a recording shows whether the SQL front end is involved in a latency or
+ * GC spike.
+ *
+ * <p>The events are named {@code org.apache.flink.sql.parser.Parse}, {@code ...Validate} and
+ * {@code ...Unparse} and carry the kind and class of the statement, the length of the parsed SQL,
+ * the number of nodes of the tree, the duration and the outcome. They are disabled by default and
+ * have to be enabled in the recording settings, for example with {@code
+ * -XX:StartFlightRecording:+org.apache.flink.sql.parser.Parse#enabled=true} or {@code
+ * recording.enable("org.apache.flink.sql.parser.Parse")}.
+ *
+ * <p>Until the Flight Recorder is initialized, and on JVMs without it, {@code begin...} returns
+ * null without allocating; afterwards a disabled event costs the allocation of the event, which
+ * usually does not survive escape analysis. The nodes are only counted for committed events.
+ *
+ * <p>The methods are called by the parser entry points, by the {@code unparse(...)}
+ * implementations of the DDL classes through {@link #unparse(SqlNode, SqlWriter, int, int,
+ * Unparser)}, and by the {@code validate()} and {@code validateImmutable()} implementations and
+ * {@link SqlImmutableNodes#validate} through {@link #validate(SqlNode, Validation)}. As these call the implementations of their superclasses, or
+ * each other, only the outermost validation or unparse of a node on a thread is recorded.
+ */
+public final class SqlParserEvents {
+
+    private static final boolean JFR_AVAILABLE = isJfrAvailable();
+
+    /** The node whose validation is recorded on this thread, null if none. */
+    private static final ThreadLocal<SqlNode> VALIDATED_NODE = new ThreadLocal<>();
+
+    /** The node whose unparse is recorded on this thread, null if none. */
+    private static final ThreadLocal<SqlNode> UNPARSED_NODE = new ThreadLocal<>();
+
+    private SqlParserEvents() {}
+
+    /** Begins a parse event, returns null if it is not recorded. */
+    @Nullable
+    public static Scope beginParse(@Nullable String sql) {
+        return JFR_AVAILABLE ? Jfr.beginParse(sql == null ? -1 : sql.length()) : null;
+    }
+
+    /**
+     * Runs the given validation of the node and records a validate event with its result, the
+     * validated node. Nothing is recorded if the validation of the node is already recorded on
+     * this thread.
+     */
+    public static SqlNode validate(SqlNode node, Validation validation)
+            throws SqlValidateException {
+        final Scope event = begin(node, VALIDATED_NODE, JFR_AVAILABLE ? Jfr.beginValidate() : null);
+        SqlNode validated = null;
+        try {
+            validated = validation.validate();
+            return validated;
+        } finally {
+            end(event, validated == null ? node : validated, validated != null);
+        }
+    }
+
+    /**
+     * Unparses the node with the given unparser and records an unparse event. Nothing is recorded
+     * if the unparse of the node is already recorded on this thread.
+     */
+    public static void unparse(
+            SqlNode node, SqlWriter writer, int leftPrec, int rightPrec, Unparser unparser) {
+        final Scope event = begin(node, UNPARSED_NODE, JFR_AVAILABLE ? Jfr.beginUnparse() : null);
+        boolean unparsed = false;
+        try {
+            unparser.unparse(writer, leftPrec, rightPrec);
+            unparsed = true;
+        } finally {
+            end(event, node, unparsed);
+        }
+    }
+
+    /**
+     * Ends the event of the given scope, if any, and commits it with the given node, null if a
+     * parse failed, and outcome.
+     */
+    public static void end(@Nullable Scope scope, @Nullable SqlNode node, boolean success) {
+        if (scope != null) {
+            scope.end(node, success);
+        }
+    }
+
+    /** An event that has begun. */
+    public interface Scope {
+        void end(@Nullable SqlNode node, boolean success);
+    }
+
+    /** Validation of a node, returns the validated node. */
+    @FunctionalInterface
+    public interface Validation {
+        SqlNode validate() throws SqlValidateException;
+    }
+
+    /** Unparse of a node, see {@link SqlNode#unparse(SqlWriter, int, int)}. */
+    @FunctionalInterface
+    public interface Unparser {
+        void unparse(SqlWriter writer, int leftPrec, int rightPrec);
+    }
+
+    /**
+     * Returns a scope for the given event that marks the node as current on this thread until it
+     * ends, null if the event is not recorded or the node is already current.
+     */
+    @Nullable
+    private static Scope begin(SqlNode node, ThreadLocal<SqlNode> current, @Nullable Scope event) {
+        if (event == null) {
+            return null;
+        }
+        final SqlNode outer = current.get();
+        if (outer == node) {
+            return null;
+        }
+        current.set(node);
+        return (endNode, success) -> {
+            if (outer == null) {
+                current.remove();
+            } else {
+                current.set(outer);
+            }
+            event.end(endNode, success);
+        };
+    }
+
+    private static boolean isJfrAvailable() {
+        try {
+            Class.forName("jdk.jfr.FlightRecorder", false, SqlParserEvents.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /** Returns the kinds, or the simple class names, of the node or of the nodes of a list. */
+    private static String describe(SqlNode node, boolean kinds) {
+        final Set<String> names = new LinkedHashSet<>();
+        if (node instanceof SqlNodeList) {
+            for (SqlNode statement : (SqlNodeList) node) {
+                names.add(describeOne(statement, kinds));
+            }
+        } else {
+            names.add(describeOne(node, kinds));
+        }
+        return String.join(",", names);
+    }
+
+    private static String describeOne(SqlNode node, boolean kind) {
+        return kind ? node.getKind().name() : node.getClass().getSimpleName();
+    }
+
+    // --------------------------------------------------------------------------------------------
+
+    /**
+     * The event classes, only loaded if the Flight Recorder is available. The events are only
+     * created once it is initialized, before that they cannot be enabled.
+     */
+    private static final class Jfr {
+
+        @Nullable
+        static Scope beginParse(long inputLength) {
+            return jdk.jfr.FlightRecorder.isInitialized()
+                    ? begin(new ParseEvent(inputLength))
+                    : null;
+        }
+
+        @Nullable
+        static Scope beginValidate() {
+            return jdk.jfr.FlightRecorder.isInitialized() ? begin(new ValidateEvent()) : null;
+        }
+
+        @Nullable
+        static Scope beginUnparse() {
+            return jdk.jfr.FlightRecorder.isInitialized() ? begin(new UnparseEvent()) : null;
+        }
+
+        @Nullable
+        private static Scope begin(StatementEvent event) {
+            if (!event.isEnabled()) {
+                return null;
+            }
+            event.begin();
+            return event;
+        }
+
+        @jdk.jfr.Category({"Flink", "SQL Parser"})
+        @jdk.jfr.Enabled(false)
+        @jdk.jfr.StackTrace(false)
+        abstract static class StatementEvent extends jdk.jfr.Event implements Scope {
+
+            @jdk.jfr.Label("Statement Kind")
+            @jdk.jfr.Description("Kinds of the statements, separated by commas")
+            String statementKind;
+
+            @jdk.jfr.Label("Statement Class")
+            @jdk.jfr.Description("Simple class names of the statements, separated by commas")
+            String statementClass;
+
+            @jdk.jfr.Label("Node Count")
+            @jdk.jfr.Description("Number of nodes of the tree, 0 if the parse failed")
+            long nodeCount;
+
+            @jdk.jfr.Label("Outcome")
+            String outcome;
+
+            @Override
+            public void end(@Nullable SqlNode node, boolean success) {
+                end();
+                if (shouldCommit()) {
+                    if (node != null) {
+                        statementKind = describe(node, true);
+                        statementClass = describe(node, false);
+                        nodeCount = ParseStats.measureTree(node)[0];
+                    }
+                    outcome = success ? "SUCCESS" : "FAILURE";
+                    commit();
+                }
+            }
+        }
+
+        @jdk.jfr.Name("org.apache.flink.sql.parser.Parse")
+        @jdk.jfr.Label("SQL Parse")
+        static final class ParseEvent extends StatementEvent {
+
+            @jdk.jfr.Label("Input Length")
+            @jdk.jfr.Description("Number of characters of the SQL, -1 if unknown")
+            long inputLength;
+
+            ParseEvent(long inputLength) {
+                this.inputLength = inputLength;
+            }
+        }
+
+        @jdk.jfr.Name("org.apache.flink.sql.parser.Validate")
+        @jdk.jfr.Label("SQL Validate")
+        static final class ValidateEvent extends StatementEvent {}
+
+        @jdk.jfr.Name("org.apache.flink.sql.parser.Unparse")
+        @jdk.jfr.Label("SQL Unparse")
+        static final class UnparseEvent extends StatementEvent {}
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.sql.parser;
+
+/**
+ * Utils methods for scanning SQL text directly, without the lexer of the generated parser.
+ *
+ * <p>Lines and columns are counted as the parser does with a tab size of 1: "\r\n" is a single
+ * line break, '\r' and '\n' on their own are line breaks as well, and every other character
+ * advances the column by one.
+ */
+public class SqlSourceUtils {
+
+    private SqlSourceUtils() {}
+
+    /** Returns the offset of the character at the given line and column. */
+    public static int offsetOf(String sql, int line, int column) {
+        int offset = 0;
+        for (int currentLine = 1; currentLine < line; currentLine++) {
+            offset = nextLineStart(sql, offset);
+            if (offset < 0) {
+                throw new IllegalArgumentException("Line is out of the text: " + line);
+            }
+        }
+        return offset + column - 1;
+    }
+
+    /** Returns the offsets of the first characters of the lines, indexed by line minus one. */
+    public static int[] lineStarts(String sql) {
+        int lines = 1;
+        for (int offset = nextLineStart(sql, 0); offset >= 0; offset = nextLineStart(sql, offset)) {
+            lines++;
+        }
+        final int[] lineStarts = new int[lines];
+        for (int line = 1; line < lines; line++) {
+            lineStarts[line] = nextLineStart(sql, lineStarts[line - 1]);
+        }
+        return lineStarts;
+    }
+
+    /** Returns the line of the character at {@code offset}, given the line of {@code from}. */
+    public static int lineOf(String sql, int from, int fromLine, int offset) {
+        int line = fromLine;
+        int lineStart = nextLineStart(sql, from);
+        while (lineStart >= 0 && lineStart <= offset) {
+            line++;
+            lineStart = nextLineStart(sql, lineStart);
+        }
+        return line;
+    }
+
+    /** Returns the column of the character at the given offset. */
+    public static int columnOf(String sql, int offset) {
+        int lineStart = offset;
+        while (lineStart > 0
+                && sql.charAt(lineStart - 1) != '\n'
+                && sql.charAt(lineStart - 1) != '\r') {
+            lineStart--;
+        }
+        return offset - lineStart + 1;
+    }
+
+    /**
+     * Returns the offset of the parenthesis that closes the one at {@code open}, or -1 if there is
+     * none or the text in between contains anything this method does not handle.
+     *
+     * <p>Quoted strings and identifiers with doubled quotes as escapes, {@code --}, {@code //} and
+     * {@code /* ... *}{@code /} comments are skipped as the lexer does in its {@code DEFAULT},
+     * {@code DQID} and {@code BTID} states. Hints give up, as their content is lexed as tokens.
+     */
+    public static int findClosingParenthesis(String sql, int open) {
+        final int length = sql.length();
+        int depth = 0;
+        int i = open;
+        while (i < length) {
+            final char c = sql.charAt(i);
+            switch (c) {
+                case '(':
+                    depth++;
+                    i++;
+                    break;
+                case ')':
+                    if (--depth == 0) {
+                        return i;
+                    }
+                    i++;
+                    break;
+                case '\'':
+                case '"':
+                case '`':
+                    i = skipQuoted(sql, i, c);
+                    break;
+                case '-':
+                case '/':
+                    if (i + 1 < length && sql.charAt(i + 1) == c) {
+                        i = skipSingleLineComment(sql, i);
+                    } else if (c == '/' && i + 1 < length && sql.charAt(i + 1) == '*') {
+                        if (i + 2 < length && sql.charAt(i + 2) == '+') {
+                            return -1;
+                        }
+                        final int end = sql.indexOf("*/", i + 2);
+                        i = end < 0 ? -1 : end + 2;
+                    } else {
+                        i++;
+                    }
+                    break;
+                default:
+                    i++;
+            }
+            if (i < 0) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    /** Returns the offset after the quoted token starting at {@code start}, or -1. */
+    private static int skipQuoted(String sql, int start, char quote) {
+        int i = start + 1;
+        while (true) {
+            final int end = sql.indexOf(quote, i);
+            if (end < 0) {
+                return -1;
+            }
+            if (end + 1 < sql.length() && sql.charAt(end + 1) == quote) {
+                i = end + 2;
+            } else {
+                return end + 1;
+            }
+        }
+    }
+
+    private static int skipSingleLineComment(String sql, int start) {
+        int i = start + 2;
+        while (i < sql.length() && sql.charAt(i) != '\n' && sql.charAt(i) != '\r') {
+            i++;
+        }
+        return i;
+    }
+
+    /** Returns the offset of the line after the one containing {@code offset}, or -1. */
+    private static int nextLineStart(String sql, int offset) {
+        for (int i = offset; i < sql.length(); i++) {
+            final char c = sql.charAt(i);
+            if (c == '\n') {
+                return i + 1;
+            }
+            if (c == '\r') {
+                return i + 1 < sql.length() && sql.charAt(i + 1) == '\n' ? i + 2 : i + 1;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,282 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.sql.parser;
+
+import org.apache.calcite.sql.SqlCall;
+import org.apache.calcite.sql.SqlNode;
+import org.apache.calcite.sql.SqlTypeNameSpec;
+import org.apache.calcite.sql.parser.SqlParserPos;
+import org.apache.calcite.util.NlsString;
+
+import javax.annotation.Nullable;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Wraps a {@link SqlNode} so that it can be used as a key of hash based collections, with a
+ * structural, position-insensitive {@link #hashCode()} and {@link #equals(Object)}. The hash is
+ * computed once, when the key is created.
+ *
+ * <p>Two nodes are structurally equal if they are of the same class and all their fields are
+ * equal, nodes and {@link SqlTypeNameSpec}s being compared structurally again and lists element by
+ * element. Unlike {@link SqlNode#equalsDeep}, this covers the state that is not part of the operand
+ * list, such as the {@code TEMPORARY} and {@code IF NOT EXISTS} flags or the distribution of a
+ * {@code CREATE TABLE}. Parser positions, static and transient fields are ignored. Deferred
+ * queries and compact VALUES sources are parsed or materialized before they are compared. A {@link
+ * SqlLazyCharStringLiteral} compares by its own {@link SqlLazyCharStringLiteral#equals(Object)},
+ * which does not unescape the literal while both sides still have their token image.
+ *
+ * <p>The wrapped node must not be changed while the key is in use.
+ */
+public final class SqlStructuralKey {
+
+    /** Fields that make up the structure of a class, accessible. */
+    private static final ClassValue<Field[]> STRUCTURAL_FIELDS =
+            new ClassValue<Field[]>() {
+                @Override
+                protected Field[] computeValue(Class<?> type) {
+                    final List<Field> fields = new ArrayList<>();
+                    for (Class<?> c = type; c != Object.class; c = c.getSuperclass()) {
+                        for (Field field : c.getDeclaredFields()) {
+                            if (isStructural(field)) {
+                                field.setAccessible(true);
+                                fields.add(field);
+                            }
+                        }
+                    }
+                    return fields.toArray(new Field[0]);
+                }
+            };
+
+    private final SqlNode node;
+    private final int hash;
+
+    private SqlStructuralKey(SqlNode node) {
+        this.node = node;
+        this.hash = hash(node);
+    }
+
+    /** Creates a key for the given node. */
+    public static SqlStructuralKey of(SqlNode node) {
+        return new SqlStructuralKey(requireNonNull(node, "node should not be null"));
+    }
+
+    public SqlNode getNode() {
+        return node;
+    }
+
+    /** Returns the structural hash of the given node, see {@link SqlStructuralKey}. */
+    public static int structuralHash(@Nullable SqlNode node) {
+        return hash(node);
+    }
+
+    /** Returns whether the given nodes are structurally equal, see {@link SqlStructuralKey}. */
+    public static boolean structurallyEqual(@Nullable SqlNode node1, @Nullable SqlNode node2) {
+        return equal(node1, node2);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SqlStructuralKey)) {
+            return false;
+        }
+        final SqlStructuralKey that = (SqlStructuralKey) o;
+        return hash == that.hash && equal(node, that.node);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return node.toString();
+    }
+
+    // --------------------------------------------------------------------------------------------
+
+    /**
+     * Hashes the values of a pre-order walk over the given node, with an explicit stack, so that
+     * deep trees such as long OR chains do not overflow the thread stack.
+     */
+    private static int hash(@Nullable Object root) {
+        final List<Object> stack = new ArrayList<>();
+        stack.add(root);
+        int hash = 1;
+        while (!stack.isEmpty()) {
+            final Object value = stack.remove(stack.size() - 1);
+            if (!(value instanceof SqlLazyCharStringLiteral)
+                    && (value instanceof SqlNode || value instanceof SqlTypeNameSpec)) {
+                final Object object = normalize(value);
+                hash = 31 * hash + object.getClass().getName().hashCode();
+                final Field[] fields = STRUCTURAL_FIELDS.get(object.getClass());
+                for (int i = fields.length - 1; i >= 0; i--) {
+                    stack.add(get(fields[i], object));
+                }
+            } else if (value instanceof List) {
+                final List<?> list = (List<?>) value;
+                hash = 31 * hash + list.size();
+                for (int i = list.size() - 1; i >= 0; i--) {
+                    stack.add(list.get(i));
+                }
+            } else {
+                hash = 31 * hash + leafHash(value);
+            }
+        }
+        return hash;
+    }
+
+    private static int leafHash(@Nullable Object value) {
+        if (value == null || value instanceof SqlParserPos) {
+            return 0;
+        }
+        if (value instanceof SqlLazyCharStringLiteral) {
+            // the hash of the token image, the literal is not unescaped
+            return value.hashCode();
+        }
+        if (value instanceof NlsString) {
+            final NlsString string = (NlsString) value;
+            return Objects.hash(
+                    string.getValue(), string.getCharsetName(), string.getCollation());
+        }
+        if (value instanceof Enum) {
+            // stable across JVMs, unlike the identity hash of enums
+            return ((Enum<?>) value).name().hashCode();
+        }
+        return value.hashCode();
+    }
+
+    /**
+     * Compares the given nodes pair by pair with an explicit stack, so that deep trees such as long
+     * OR chains do not overflow the thread stack.
+     */
+    private static boolean equal(@Nullable Object root1, @Nullable Object root2) {
+        final List<Object> stack1 = new ArrayList<>();
+        final List<Object> stack2 = new ArrayList<>();
+        stack1.add(root1);
+        stack2.add(root2);
+        while (!stack1.isEmpty()) {
+            final Object value1 = stack1.remove(stack1.size() - 1);
+            final Object value2 = stack2.remove(stack2.size() - 1);
+            if (value1 == value2) {
+                continue;
+            }
+            if (value1 == null || value2 == null) {
+                return false;
+            }
+            if (value1 instanceof SqlParserPos && value2 instanceof SqlParserPos) {
+                continue;
+            }
+            if (value1 instanceof SqlLazyCharStringLiteral
+                    || value2 instanceof SqlLazyCharStringLiteral) {
+                // compares the token images while both literals still have them
+                if (!value1.equals(value2)) {
+                    return false;
+                }
+            } else if ((value1 instanceof SqlNode && value2 instanceof SqlNode)
+                    || (value1 instanceof SqlTypeNameSpec && value2 instanceof SqlTypeNameSpec)) {
+                final Object object1 = normalize(value1);
+                final Object object2 = normalize(value2);
+                if (object1.getClass() != object2.getClass()) {
+                    return false;
+                }
+                for (Field field : STRUCTURAL_FIELDS.get(object1.getClass())) {
+                    stack1.add(get(field, object1));
+                    stack2.add(get(field, object2));
+                }
+            } else if (value1 instanceof List && value2 instanceof List) {
+                final List<?> list1 = (List<?>) value1;
+                final List<?> list2 = (List<?>) value2;
+                if (list1.size() != list2.size()) {
+                    return false;
+                }
+                stack1.addAll(list1);
+                stack2.addAll(list2);
+            } else if (value1 instanceof NlsString && value2 instanceof NlsString) {
+                final NlsString string1 = (NlsString) value1;
+                final NlsString string2 = (NlsString) value2;
+                if (!string1.getValue().equals(string2.getValue())
+                        || !Objects.equals(string1.getCharsetName(), string2.getCharsetName())
+                        || !Objects.equals(string1.getCollation(), string2.getCollation())) {
+                    return false;
+                }
+            } else if (!value1.equals(value2)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Parses deferred queries and materializes compact sources. */
+    private static Object normalize(Object value) {
+        if (value instanceof SqlDeferredQuery) {
+            return ((SqlDeferredQuery) value).getQuery();
+        }
+        if (value instanceof SqlCall) {
+            // e.g. materializes the compact VALUES source of RichSqlInsert
+            ((SqlCall) value).getOperandList();
+        }
+        return value;
+    }
+
+    private static boolean isStructural(Field field) {
+        final int modifiers = field.getModifiers();
+        if (Modifier.isStatic(modifiers)
+                || Modifier.isTransient(modifiers)
+                || field.isSynthetic()) {
+            return false;
+        }
+        // positions, and lists of positions such as the component positions of identifiers
+        return !mentionsPosition(field.getGenericType());
+    }
+
+    private static boolean mentionsPosition(Type type) {
+        if (type == SqlParserPos.class) {
+            return true;
+        }
+        if (type instanceof ParameterizedType) {
+            for (Type argument : ((ParameterizedType) type).getActualTypeArguments()) {
+                if (mentionsPosition(argument)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static @Nullable Object get(Field field, Object object) {
+        try {
+            return field.get(object);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Cannot read field " + field, e);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.sql.parser;
+
+import org.apache.flink.sql.parser.error.SqlValidateException;
+import org.apache.flink.sql.parser.impl.FlinkSqlParserImpl;
+
+import org.apache.calcite.sql.SqlNode;
+import org.apache.calcite.sql.SqlNodeList;
+import org.apache.calcite.sql.parser.SqlParseException;
+import org.apache.calcite.sql.parser.SqlParser;
+
+import javax.annotation.Nullable;
+
+import java.time.Duration;
+
+/**
+ * Parses statement lists with the parsers of {@link FlinkSqlParserImpl#factory(ParserFeatures)},
+ * validates their {@link ExtendedSqlNode}s and returns them alongside the {@link ParseStats} of the
+ * parse, including the validation time.
+ *
+ * <pre>{@code
+ * StatsCollectingParser.Result result = new StatsCollectingParser(config).parseStmtList(sql);
+ * for (SqlNode statement : result.getStatements()) {
+ *     histograms.get(statement.getClass()).record(result.getStats());
+ * }
+ * }</pre>
+ *
+ * <p>The parser factory of the config is replaced by one for the given {@link ParserFeatures} with
+ * a stats listener of this class, the other settings of the config apply. This class is thread-safe
+ * if the listener is.
+ */
+public final class StatsCollectingParser {
+
+    private final SqlParser.Config config;
+    private final ParserFeatures features;
+    @Nullable private final ParseStatsListener listener;
+
+    public StatsCollectingParser(SqlParser.Config config) {
+        this(config, null);
+    }
+
+    /**
+     * Creates a parser that also reports the statistics of every parse to the given listener, with
+     * the validation time if the parse succeeded.
+     */
+    public StatsCollectingParser(SqlParser.Config config, @Nullable ParseStatsListener listener) {
+        this(config, ParserFeatures.DEFAULT, listener);
+    }
+
+    /**
+     * Creates a parser with the given features that also reports the statistics of every parse to
+     * the given listener. The stats listener of the features is not called.
+     */
+    public StatsCollectingParser(
+            SqlParser.Config config,
+            ParserFeatures features,
+            @Nullable ParseStatsListener listener) {
+        this.config = config;
+        this.features = features;
+        this.listener = listener;
+    }
+
+    /** Parses the given statements and validates them. */
+    public Result parseStmtList(String sql) throws SqlParseException, SqlValidateException {
+        final ParseStats[] parseStats = new ParseStats[1];
+        final ParseStatsListener collector =
+                new ParseStatsListener() {
+                    @Override
+                    public void onParse(SqlNode node, ParseStats stats) {
+                        parseStats[0] = stats;
+                    }
+
+                    @Override
+                    public void onParseFailure(ParseStats stats) {
+                        if (listener != null) {
+                            listener.onParseFailure(stats);
+                        }
+                    }
+                };
+        final SqlNodeList statements =
+                SqlParser.create(
+                                sql,
+                                config.withParserFactory(
+                                        FlinkSqlParserImpl.factory(
+                                                features.withStatsListener(collector))))
+                        .parseStmtList();
+        final long start = System.nanoTime();
+        try {
+            for (SqlNode statement : statements) {
+                if (statement instanceof ExtendedSqlNode) {
+                    SqlParserEvents.validate(
+                            statement,
+                            () -> {
+                                ((ExtendedSqlNode) statement).validate();
+                                return statement;
+                            });
+                }
+            }
+        } finally {
+            parseStats[0] =
+                    parseStats[0].withValidateTime(Duration.ofNanos(System.nanoTime() - start));
+            if (listener != null) {
+                listener.onParse(statements, parseStats[0]);
+            }
+        }
+        return new Result(statements, parseStats[0]);
+    }
+
+    /** Parsed and validated statements with the statistics of their parse. */
+    public static final class Result {
+        private final SqlNodeList statements;
+        private final ParseStats stats;
+
+        private Result(SqlNodeList statements, ParseStats stats) {
+            this.statements = statements;
+            this.stats = stats;
+        }
+
+        public SqlNodeList getStatements() {
+            return statements;
+        }
+
+        public ParseStats getStats() {
+            return stats;
+        }
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.sql.parser;
+
+import org.apache.flink.sql.parser.impl.FlinkSqlParserImpl;
+import org.apache.flink.sql.parser.impl.ParseException;
+
+import org.apache.calcite.sql.SqlIdentifier;
+import org.apache.calcite.sql.parser.SqlAbstractParserImpl;
+import org.apache.calcite.sql.parser.SqlParser;
+import org.apache.calcite.sql.parser.SqlParserPos;
+import org.apache.calcite.sql.parser.SqlParserUtil;
+import org.apache.calcite.util.SourceStringReader;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import javax.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parses Table API identifiers such as {@code cat.db.tbl} with the same semantics as the {@code
+ * TableApiIdentifier} production of {@link FlinkSqlParserImpl}.
+ *
+ * <p>Identifiers made of at most three plain or back-quoted segments without whitespace are
+ * scanned directly, everything else (double-quoted or unicode identifiers, comments, too long
+ * segments, malformed input, ...) goes through the generated parser. Successfully parsed
+ * identifiers are kept in a bounded cache, each call returns a fresh copy of the cached result.
+ *
+ * <p>This class is thread-safe.
+ */
+public final class TableApiIdentifierParser {
+
+    /** Default maximum number of cached identifiers. */
+    public static final int DEFAULT_CACHE_SIZE = 1024;
+
+    private static final int MAX_SEGMENTS = 3;
+
+    private final SqlParser.Config config;
+    private final SqlAbstractParserImpl.LexicalState lexicalState;
+    private final Cache<String, SqlIdentifier> cache;
+
+    public TableApiIdentifierParser(SqlParser.Config config) {
+        this(config, DEFAULT_CACHE_SIZE);
+    }
+
+    public TableApiIdentifierParser(SqlParser.Config config, long maximumCacheSize) {
+        this.config = config;
+        this.lexicalState = SqlAbstractParserImpl.LexicalState.forConfig(config);
+        this.cache = CacheBuilder.newBuilder().maximumSize(maximumCacheSize).build();
+    }
+
+    /** Parses the given Table API identifier, e.g. {@code `cat`.db.tbl}. */
+    public SqlIdentifier parseIdentifier(String identifier) throws ParseException {
+        SqlIdentifier parsed = cache.getIfPresent(identifier);
+        if (parsed == null) {
+            parsed = scanIdentifier(identifier);
+            if (parsed == null) {
+                parsed = parseWithParser(identifier);
+            }
+            cache.put(identifier, parsed);
+        }
+        // SqlIdentifier is mutable, never hand out the cached instance
+        return (SqlIdentifier) parsed.clone(parsed.getParserPosition());
+    }
+
+    private SqlIdentifier parseWithParser(String identifier) throws ParseException {
+        FlinkSqlParserImpl parser =
+                (FlinkSqlParserImpl)
+                        FlinkSqlParserImpl.FACTORY.getParser(new SourceStringReader(identifier));
+        parser.setOriginalSql(identifier);
+        parser.setTabSize(1);
+        parser.setQuotedCasing(config.quotedCasing());
+        parser.setUnquotedCasing(config.unquotedCasing());
+        parser.setIdentifierMaxLength(config.identifierMaxLength());
+        parser.setConformance(config.conformance());
+        parser.switchTo(lexicalState);
+        return parser.TableApiIdentifier();
+    }
+
+    /**
+     * Scans plain and back-quoted segments without the generated parser. Returns null if the input
+     * is not in the subset handled here, so that the generated parser produces the result or the
+     * error.
+     */
+    @Nullable
+    private SqlIdentifier scanIdentifier(String identifier) {
+        final List<String> names = new ArrayList<>(MAX_SEGMENTS);
+        final List<SqlParserPos> positions = new ArrayList<>(MAX_SEGMENTS);
+        final int length = identifier.length();
+        int start = 0;
+        while (true) {
+            if (start >= length || names.size() == MAX_SEGMENTS) {
+                return null;
+            }
+            final int end;
+            final String name;
+            final SqlParserPos pos;
+            if (identifier.charAt(start) == '`') {
+                // back-quoted identifiers are only recognized in the BTID lexical state
+                if (lexicalState != SqlAbstractParserImpl.LexicalState.BTID) {
+                    return null;
+                }
+                end = scanBackQuoted(identifier, start);
+                if (end < 0) {
+                    return null;
+                }
+                name =
+                        SqlParserUtil.strip(
+                                identifier.substring(start, end),
+                                "`",
+                                "`",
+                                "``",
+                                config.quotedCasing());
+                pos = new SqlParserPos(1, start + 1, 1, end).withQuoting(true);
+            } else {
+                end = scanPlain(identifier, start);
+                if (end < 0) {
+                    return null;
+                }
+                // the production keeps the token image, unquoted casing is not applied
+                name = identifier.substring(start, end);
+                pos = new SqlParserPos(1, start + 1, 1, end);
+            }
+            if (name.length() > config.identifierMaxLength()) {
+                return null;
+            }
+            names.add(name);
+            positions.add(pos);
+            if (end == length) {
+                return new SqlIdentifier(names, null, SqlParserPos.sum(positions), positions);
+            }
+            if (identifier.charAt(end) != '.') {
+                return null;
+            }
+            start = end + 1;
+        }
+    }
+
+    /**
+     * Returns the end offset of a back-quoted token starting at {@code start}, or -1 if the token
+     * is not terminated or empty.
+     */
+    private static int scanBackQuoted(String s, int start) {
+        int i = start + 1;
+        while (i < s.length()) {
+            final char c = s.charAt(i);
+            if (c == '\n' || c == '\r') {
+                return -1;
+            }
+            if (c == '`') {
+                if (i + 1 < s.length() && s.charAt(i + 1) == '`') {
+                    i += 2;
+                    continue;
+                }
+                return i == start + 1 ? -1 : i + 1;
+            }
+            i++;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the end offset of a plain identifier token starting at {@code start}, or -1 if the
+     * token could be lexed as something other than an identifier or keyword.
+     *
+     * <p>'$' is rejected as well although it is a valid letter, because it may turn the token into
+     * a collation id that spans dots.
+     */
+    private static int scanPlain(String s, int start) {
+        if (!isLetter(s.charAt(start))) {
+            return -1;
+        }
+        int i = start + 1;
+        while (i < s.length()) {
+            final char c = s.charAt(i);
+            if (c == '.') {
+                break;
+            }
+            if (!isLetter(c) && !isDigit(c)) {
+                return -1;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    /** Same ranges as {@code <#LETTER>} in Parser.jj, except for '$'. */
+    private static boolean isLetter(char c) {
+        return (c >= 'A' && c <= 'Z')
+                || c == '_'
+                || (c >= 'a' && c <= 'z')
+                || (c >= '\u00c0' && c <= '\u00d6')
+                || (c >= '\u00d8' && c <= '\u00f6')
+                || (c >= '\u00f8' && c <= '\u00ff')
+                || (c >= '\u0100' && c <= '\u1fff')
+                || (c >= '\u3040' && c <= '\u318f')
+                || (c >= '\u3300' && c <= '\u337f')
+                || (c >= '\u3400' && c <= '\u3d2d')
+                || (c >= '\u4e00' && c <= '\u9fff')
+                || (c >= '\uf900' && c <= '\ufaff');
+    }
+
+    /** Same ranges as {@code <#DIGIT>} in Parser.jj. */
+    private static boolean isDigit(char c) {
+        return (c >= '0' && c <= '9')
+                || (c >= '\u0660' && c <= '\u0669')
+                || (c >= '\u06f0' && c <= '\u06f9')
+                || (c >= '\u0966' && c <= '\u096f')
+                || (c >= '\u09e6' && c <= '\u09ef')
+                || (c >= '\u0a66' && c <= '\u0a6f')
+                || (c >= '\u0ae6' && c <= '\u0aef')
+                || (c >= '\u0b66' && c <= '\u0b6f')
+                || (c >= '\u0be7' && c <= '\u0bef')
+                || (c >= '\u0c66' && c <= '\u0c6f')
+                || (c >= '\u0ce6' && c <= '\u0cef')
+                || (c >= '\u0d66' && c <= '\u0d6f')
+                || (c >= '\u0e50' && c <= '\u0e59')
+                || (c >= '\u0ed0' && c <= '\u0ed9')
+                || (c >= '\u1040' && c <= '\u1049');
+    }
+}
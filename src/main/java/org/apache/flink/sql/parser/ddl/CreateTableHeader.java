@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.sql.parser.ddl;
+
+import org.apache.calcite.sql.SqlCharStringLiteral;
+import org.apache.calcite.sql.SqlIdentifier;
+import org.apache.calcite.sql.SqlNode;
+import org.apache.calcite.sql.SqlNodeList;
+
+import javax.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The header of a CREATE TABLE statement: the table name and the COMMENT, DISTRIBUTED BY,
+ * PARTITIONED BY and WITH clauses, as returned by {@link
+ * org.apache.flink.sql.parser.CreateTableHeaderParser}. The accessors are named like those of
+ * {@link SqlCreateTable}.
+ */
+public final class CreateTableHeader {
+
+    private final SqlIdentifier tableName;
+    @Nullable private final SqlCharStringLiteral comment;
+    @Nullable private final SqlDistribution distribution;
+    private final SqlNodeList partitionKeyList;
+    private final SqlNodeList propertyList;
+    private final boolean replace;
+    private final boolean isTemporary;
+    private final boolean ifNotExists;
+
+    public CreateTableHeader(
+            SqlIdentifier tableName,
+            @Nullable SqlCharStringLiteral comment,
+            @Nullable SqlDistribution distribution,
+            SqlNodeList partitionKeyList,
+            SqlNodeList propertyList,
+            boolean replace,
+            boolean isTemporary,
+            boolean ifNotExists) {
+        this.tableName = requireNonNull(tableName, "tableName should not be null");
+        this.comment = comment;
+        this.distribution = distribution;
+        this.partitionKeyList =
+                requireNonNull(partitionKeyList, "partitionKeyList should not be null");
+        this.propertyList = requireNonNull(propertyList, "propertyList should not be null");
+        this.replace = replace;
+        this.isTemporary = isTemporary;
+        this.ifNotExists = ifNotExists;
+    }
+
+    public SqlIdentifier getTableName() {
+        return tableName;
+    }
+
+    public String[] fullTableName() {
+        return tableName.names.toArray(new String[0]);
+    }
+
+    public Optional<SqlCharStringLiteral> getComment() {
+        return Optional.ofNullable(comment);
+    }
+
+    @Nullable
+    public SqlDistribution getDistribution() {
+        return distribution;
+    }
+
+    public SqlNodeList getPartitionKeyList() {
+        return partitionKeyList;
+    }
+
+    /** Returns the names of the partition keys. */
+    public List<String> getPartitionKeys() {
+        final List<String> partitionKeys = new ArrayList<>(partitionKeyList.size());
+        for (SqlNode partitionKey : partitionKeyList) {
+            partitionKeys.add(((SqlIdentifier) partitionKey).getSimple());
+        }
+        return partitionKeys;
+    }
+
+    public SqlNodeList getPropertyList() {
+        return propertyList;
+    }
+
+    /** Returns the options of the WITH clause in their declaration order. */
+    public Map<String, String> getOptions() {
+        final Map<String, String> options = new LinkedHashMap<>();
+        for (SqlNode property : propertyList) {
+            final SqlTableOption option = (SqlTableOption) property;
+            options.put(option.getKeyString(), option.getValueString());
+        }
+        return Collections.unmodifiableMap(options);
+    }
+
+    public boolean isReplace() {
+        return replace;
+    }
+
+    public boolean isTemporary() {
+        return isTemporary;
+    }
+
+    public boolean isIfNotExists() {
+        return ifNotExists;
+    }
+}
@@ -18,6 +18,7 @@
 
 package org.apache.flink.sql.parser.ddl;
 
+import org.apache.flink.sql.parser.SqlParserEvents;
 import org.apache.flink.sql.parser.SqlPartitionUtils;
 
 import org.apache.calcite.sql.SqlIdentifier;
@@ -79,6 +80,10 @@ public class SqlAddPartitions extends SqlAlterTable {
 
     @Override
     public void unparse(SqlWriter writer, int leftPrec, int rightPrec) {
+        SqlParserEvents.unparse(this, writer, leftPrec, rightPrec, this::unparseStatement);
+    }
+
+    private void unparseStatement(SqlWriter writer, int leftPrec, int rightPrec) {
         super.unparse(writer, leftPrec, rightPrec);
         writer.newlineAndIndent();
         writer.keyword("ADD");
@@ -18,6 +18,8 @@
 
 package org.apache.flink.sql.parser.ddl;
 
+import org.apache.flink.sql.parser.SqlParserEvents;
+
 import org.apache.calcite.sql.SqlCall;
 import org.apache.calcite.sql.SqlIdentifier;
 import org.apache.calcite.sql.SqlKind;
@@ -65,6 +67,10 @@ public class SqlAlterCatalog extends SqlCall {
 
     @Override
     public void unparse(SqlWriter writer, int leftPrec, int rightPrec) {
+        SqlParserEvents.unparse(this, writer, leftPrec, rightPrec, this::unparseStatement);
+    }
+
+    private void unparseStatement(SqlWriter writer, int leftPrec, int rightPrec) {
         writer.keyword("ALTER CATALOG");
         catalogName.unparse(writer, leftPrec, rightPrec);
     }
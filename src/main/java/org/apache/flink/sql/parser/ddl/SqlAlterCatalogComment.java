@@ -18,6 +18,8 @@
 
 package org.apache.flink.sql.parser.ddl;
 
+import org.apache.flink.sql.parser.SqlParserEvents;
+
 import org.apache.calcite.sql.SqlIdentifier;
 import org.apache.calcite.sql.SqlNode;
 import org.apache.calcite.sql.SqlWriter;
@@ -50,6 +52,10 @@ public class SqlAlterCatalogComment extends SqlAlterCatalog {
 
     @Override
     public void unparse(SqlWriter writer, int leftPrec, int rightPrec) {
+        SqlParserEvents.unparse(this, writer, leftPrec, rightPrec, this::unparseStatement);
+    }
+
+    private void unparseStatement(SqlWriter writer, int leftPrec, int rightPrec) {
         super.unparse(writer, leftPrec, rightPrec);
         writer.keyword("COMMENT");
         comment.unparse(writer, leftPrec, rightPrec);
@@ -18,6 +18,7 @@
 
 package org.apache.flink.sql.parser.ddl;
 
+import org.apache.flink.sql.parser.SqlParserEvents;
 import org.apache.flink.sql.parser.SqlUnparseUtils;
 
 import org.apache.calcite.sql.SqlIdentifier;
@@ -65,6 +66,10 @@ public class SqlAlterCatalogOptions extends SqlAlterCatalog {
 
     @Override
     public void unparse(SqlWriter writer, int leftPrec, int rightPrec) {
+        SqlParserEvents.unparse(this, writer, leftPrec, rightPrec, this::unparseStatement);
+    }
+
+    private void unparseStatement(SqlWriter writer, int leftPrec, int rightPrec) {
         super.unparse(writer, leftPrec, rightPrec);
         writer.keyword("SET");
         SqlWriter.Frame withFrame = writer.startList("(", ")");
@@ -18,6 +18,7 @@
 
 package org.apache.flink.sql.parser.ddl;
 
+import org.apache.flink.sql.parser.SqlParserEvents;
 import org.apache.flink.sql.parser.SqlUnparseUtils;
 
 import org.apache.calcite.sql.SqlIdentifier;
@@ -63,6 +64,10 @@ public class SqlAlterCatalogReset extends SqlAlterCatalog {
 
     @Override
     public void unparse(SqlWriter writer, int leftPrec, int rightPrec) {
+        SqlParserEvents.unparse(this, writer, leftPrec, rightPrec, this::unparseStatement);
+    }
+
+    private void unparseStatement(SqlWriter writer, int leftPrec, int rightPrec) {
         super.unparse(writer, leftPrec, rightPrec);
         writer.keyword("RESET");
         SqlWriter.Frame withFrame = writer.startList("(", ")");
@@ -18,6 +18,7 @@
 
 package org.apache.flink.sql.parser.ddl;
 
+import org.apache.flink.sql.parser.SqlIndexedSpecialOperator;
 import org.apache.flink.sql.parser.SqlPartitionUtils;
 
 import org.apache.calcite.sql.SqlCall;
@@ -45,7 +46,7 @@ import static java.util.Objects.requireNonNull;
 public abstract class SqlAlterTable extends SqlCall {
 
     public static final SqlSpecialOperator OPERATOR =
-            new SqlSpecialOperator("ALTER TABLE", SqlKind.ALTER_TABLE);
+            new SqlIndexedSpecialOperator("ALTER TABLE", SqlKind.ALTER_TABLE);
 
     protected final SqlIdentifier tableIdentifier;
     protected final SqlNodeList partitionSpec;
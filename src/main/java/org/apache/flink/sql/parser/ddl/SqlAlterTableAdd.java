@@ -18,6 +18,7 @@
 
 package org.apache.flink.sql.parser.ddl;
 
+import org.apache.flink.sql.parser.SqlParserEvents;
 import org.apache.flink.sql.parser.ddl.constraint.SqlTableConstraint;
 
 import org.apache.calcite.sql.SqlIdentifier;
@@ -61,8 +62,24 @@ public class SqlAlterTableAdd extends SqlAlterTableSchema {
         super(pos, tableName, addedColumns, constraint, sqlWatermark, distribution, ifTableExists);
     }
 
+    @Override
+    protected SqlAlterTableSchema copyWithColumnPositions(SqlNodeList columnPositions) {
+        return new SqlAlterTableAdd(
+                getParserPosition(),
+                tableIdentifier,
+                columnPositions,
+                constraints,
+                watermark,
+                distribution,
+                ifTableExists);
+    }
+
     @Override
     public void unparse(SqlWriter writer, int leftPrec, int rightPrec) {
+        SqlParserEvents.unparse(this, writer, leftPrec, rightPrec, this::unparseStatement);
+    }
+
+    private void unparseStatement(SqlWriter writer, int leftPrec, int rightPrec) {
         super.unparse(writer, leftPrec, rightPrec);
         writer.keyword("ADD");
         // unparse table schema and distribution
@@ -18,6 +18,8 @@
 
 package org.apache.flink.sql.parser.ddl;
 
+import org.apache.flink.sql.parser.SqlParserEvents;
+
 import org.apache.calcite.sql.SqlIdentifier;
 import org.apache.calcite.sql.SqlNode;
 import org.apache.calcite.sql.SqlWriter;
@@ -57,11 +59,19 @@ public class SqlAlterTableRename extends SqlAlterTable {
 
     @Override
     public void unparse(SqlWriter writer, int leftPrec, int rightPrec) {
+        SqlParserEvents.unparse(this, writer, leftPrec, rightPrec, this::unparseStatement);
+    }
+
+    private void unparseStatement(SqlWriter writer, int leftPrec, int rightPrec) {
         super.unparse(writer, leftPrec, rightPrec);
         writer.keyword("RENAME TO");
         newTableIdentifier.unparse(writer, leftPrec, rightPrec);
     }
 
+    public SqlIdentifier getNewTableName() {
+        return newTableIdentifier;
+    }
+
     public String[] fullNewTableName() {
         return newTableIdentifier.names.toArray(new String[0]);
     }
@@ -20,6 +20,7 @@ package org.apache.flink.sql.parser.ddl;
 
 import org.apache.flink.sql.parser.ExtendedSqlNode;
 import org.apache.flink.sql.parser.SqlConstraintValidator;
+import org.apache.flink.sql.parser.SqlParserEvents;
 import org.apache.flink.sql.parser.SqlUnparseUtils;
 import org.apache.flink.sql.parser.ddl.constraint.SqlTableConstraint;
 import org.apache.flink.sql.parser.ddl.position.SqlTableColumnPosition;
@@ -46,6 +47,7 @@ public abstract class SqlAlterTableSchema extends SqlAlterTable implements Exten
     @Nullable protected final SqlWatermark watermark;
     @Nullable protected final SqlDistribution distribution;
     protected final List<SqlTableConstraint> constraints;
+    @Nullable private transient List<SqlNode> operandList;
 
     public SqlAlterTableSchema(
             SqlParserPos pos,
@@ -65,18 +67,63 @@ public abstract class SqlAlterTableSchema extends SqlAlterTable implements Exten
     @Nonnull
     @Override
     public List<SqlNode> getOperandList() {
-        return ImmutableNullableList.of(
-                getTableName(),
-                columnList,
-                new SqlNodeList(constraints, SqlParserPos.ZERO),
-                watermark);
+        if (operandList == null) {
+            operandList =
+                    ImmutableNullableList.of(
+                            getTableName(),
+                            columnList,
+                            new SqlNodeList(constraints, SqlParserPos.ZERO),
+                            watermark);
+        }
+        return operandList;
     }
 
     @Override
     public void validate() throws SqlValidateException {
-        SqlConstraintValidator.validateAndChangeColumnNullability(constraints, getColumns());
+        SqlParserEvents.validate(
+                this,
+                () -> {
+                    SqlConstraintValidator.validateAndChangeColumnNullability(
+                            constraints, getColumns());
+                    return this;
+                });
     }
 
+    @Override
+    public SqlNode validateImmutable() throws SqlValidateException {
+        return SqlParserEvents.validate(this, this::validateImmutableImpl);
+    }
+
+    private SqlNode validateImmutableImpl() throws SqlValidateException {
+        final SqlNodeList columns = getColumns();
+        final SqlNodeList validatedColumns =
+                SqlConstraintValidator.validateAndDeriveColumnNullability(constraints, columns);
+        if (validatedColumns == columns) {
+            return this;
+        }
+        final SqlNodeList columnPositions = new SqlNodeList(columnList.getParserPosition());
+        for (int i = 0; i < columnList.size(); i++) {
+            final SqlTableColumnPosition columnPosition =
+                    (SqlTableColumnPosition) columnList.get(i);
+            final SqlNode column = validatedColumns.get(i);
+            columnPositions.add(
+                    column == columnPosition.getColumn()
+                            ? columnPosition
+                            : new SqlTableColumnPosition(
+                                    columnPosition.getParserPosition(),
+                                    (SqlTableColumn) column,
+                                    columnPosition.getPositionSpec(),
+                                    columnPosition.getAfterReferencedColumn()));
+        }
+        return copyWithColumnPositions(columnPositions);
+    }
+
+    /**
+     * Returns a copy of this statement with the given column positions, see {@link
+     * #validateImmutable}.
+     */
+    protected abstract SqlAlterTableSchema copyWithColumnPositions(SqlNodeList columnPositions);
+
     public SqlNodeList getColumnPositions() {
         return columnList;
     }
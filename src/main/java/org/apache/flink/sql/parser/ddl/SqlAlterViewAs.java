@@ -18,6 +18,9 @@
 
 package org.apache.flink.sql.parser.ddl;
 
+import org.apache.flink.sql.parser.SqlDeferredQuery;
+import org.apache.flink.sql.parser.SqlParserEvents;
+
 import org.apache.calcite.sql.SqlIdentifier;
 import org.apache.calcite.sql.SqlNode;
 import org.apache.calcite.sql.SqlWriter;
@@ -46,6 +49,10 @@ public class SqlAlterViewAs extends SqlAlterView {
 
     @Override
     public void unparse(SqlWriter writer, int leftPrec, int rightPrec) {
+        SqlParserEvents.unparse(this, writer, leftPrec, rightPrec, this::unparseStatement);
+    }
+
+    private void unparseStatement(SqlWriter writer, int leftPrec, int rightPrec) {
         super.unparse(writer, leftPrec, rightPrec);
         writer.newlineAndIndent();
         writer.keyword("AS");
@@ -54,6 +61,6 @@ public class SqlAlterViewAs extends SqlAlterView {
     }
 
     public SqlNode getNewQuery() {
-        return newQuery;
+        return SqlDeferredQuery.resolve(newQuery);
     }
 }
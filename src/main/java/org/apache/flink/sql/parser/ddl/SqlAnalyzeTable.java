@@ -18,6 +18,7 @@
 
 package org.apache.flink.sql.parser.ddl;
 
+import org.apache.flink.sql.parser.SqlParserEvents;
 import org.apache.flink.sql.parser.SqlPartitionSpecProperty;
 
 import org.apache.calcite.sql.SqlCall;
@@ -114,6 +115,10 @@ public class SqlAnalyzeTable extends SqlCall {
     }
 
     public void unparse(SqlWriter writer, int leftPrec, int rightPrec) {
+        SqlParserEvents.unparse(this, writer, leftPrec, rightPrec, this::unparseStatement);
+    }
+
+    private void unparseStatement(SqlWriter writer, int leftPrec, int rightPrec) {
         writer.keyword("ANALYZE TABLE");
         final int opLeft = getOperator().getLeftPrec();
         final int opRight = getOperator().getRightPrec();
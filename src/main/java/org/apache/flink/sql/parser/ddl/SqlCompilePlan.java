@@ -19,6 +19,9 @@
 package org.apache.flink.sql.parser.ddl;
 
 import org.apache.flink.annotation.Internal;
+import org.apache.flink.sql.parser.FreezableSqlNode;
+import org.apache.flink.sql.parser.SqlImmutableNodes;
+import org.apache.flink.sql.parser.SqlParserEvents;
 import org.apache.flink.sql.parser.dml.RichSqlInsert;
 import org.apache.flink.sql.parser.dml.SqlStatementSet;
 
@@ -42,7 +45,7 @@ import java.util.List;
  * {@link RichSqlInsert} or a {@link SqlStatementSet}.
  */
 @Internal
-public class SqlCompilePlan extends SqlCall {
+public class SqlCompilePlan extends SqlCall implements FreezableSqlNode {
 
     public static final SqlSpecialOperator OPERATOR =
             new SqlSpecialOperator("COMPILE PLAN", SqlKind.OTHER);
@@ -51,6 +54,8 @@ public class SqlCompilePlan extends SqlCall {
     private final boolean ifNotExists;
     private SqlNode operand;
 
+    private transient boolean frozen;
+
     public SqlCompilePlan(
             SqlParserPos pos, SqlNode planFile, boolean ifNotExists, SqlNode operand) {
         super(pos);
@@ -81,6 +86,10 @@ public class SqlCompilePlan extends SqlCall {
 
     @Override
     public void unparse(SqlWriter writer, int leftPrec, int rightPrec) {
+        SqlParserEvents.unparse(this, writer, leftPrec, rightPrec, this::unparseStatement);
+    }
+
+    private void unparseStatement(SqlWriter writer, int leftPrec, int rightPrec) {
         writer.keyword("COMPILE");
         writer.keyword("PLAN");
         planFile.unparse(writer, leftPrec, rightPrec);
@@ -95,6 +104,7 @@ public class SqlCompilePlan extends SqlCall {
 
     @Override
     public void setOperand(int i, SqlNode operand) {
+        SqlImmutableNodes.checkNotFrozen(this, null);
         if (i == 0) {
             this.operand = checkOperand(operand);
         } else {
@@ -110,4 +120,14 @@ public class SqlCompilePlan extends SqlCall {
         }
         return operand;
     }
+
+    @Override
+    public void freeze() {
+        frozen = true;
+    }
+
+    @Override
+    public boolean isFrozen() {
+        return frozen;
+    }
 }
@@ -18,6 +18,8 @@
 
 package org.apache.flink.sql.parser.ddl;
 
+import org.apache.flink.sql.parser.SqlDeferredQuery;
+import org.apache.flink.sql.parser.SqlParserEvents;
 import org.apache.flink.sql.parser.SqlUnparseUtils;
 import org.apache.flink.sql.parser.ddl.constraint.SqlTableConstraint;
 
@@ -137,11 +139,15 @@ public class SqlCreateMaterializedTable extends SqlCreate {
     }
 
     public SqlNode getAsQuery() {
-        return asQuery;
+        return SqlDeferredQuery.resolve(asQuery);
     }
 
     @Override
     public void unparse(SqlWriter writer, int leftPrec, int rightPrec) {
+        SqlParserEvents.unparse(this, writer, leftPrec, rightPrec, this::unparseStatement);
+    }
+
+    private void unparseStatement(SqlWriter writer, int leftPrec, int rightPrec) {
         writer.keyword("CREATE MATERIALIZED TABLE");
         tableName.unparse(writer, leftPrec, rightPrec);
 
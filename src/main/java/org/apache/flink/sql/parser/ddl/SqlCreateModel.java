@@ -19,6 +19,7 @@
 package org.apache.flink.sql.parser.ddl;
 
 import org.apache.flink.sql.parser.ExtendedSqlNode;
+import org.apache.flink.sql.parser.SqlParserEvents;
 import org.apache.flink.sql.parser.SqlUnparseUtils;
 import org.apache.flink.sql.parser.error.SqlValidateException;
 
@@ -125,6 +126,15 @@ public class SqlCreateModel extends SqlCreate implements ExtendedSqlNode {
 
     @Override
     public void validate() throws SqlValidateException {
+        SqlParserEvents.validate(
+                this,
+                () -> {
+                    validateColumnsAndProperties();
+                    return this;
+                });
+    }
+
+    private void validateColumnsAndProperties() throws SqlValidateException {
         if (!inputColumnList.isEmpty() && outputColumnList.isEmpty()) {
             throw new SqlValidateException(
                     inputColumnList.get(0).getParserPosition(),
@@ -143,6 +153,10 @@ public class SqlCreateModel extends SqlCreate implements ExtendedSqlNode {
 
     @Override
     public void unparse(SqlWriter writer, int leftPrec, int rightPrec) {
+        SqlParserEvents.unparse(this, writer, leftPrec, rightPrec, this::unparseStatement);
+    }
+
+    private void unparseStatement(SqlWriter writer, int leftPrec, int rightPrec) {
         writer.keyword("CREATE");
         writer.keyword("MODEL");
         if (isIfNotExists()) {
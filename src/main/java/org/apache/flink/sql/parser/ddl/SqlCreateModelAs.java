@@ -18,6 +18,8 @@
 
 package org.apache.flink.sql.parser.ddl;
 
+import org.apache.flink.sql.parser.SqlDeferredQuery;
+import org.apache.flink.sql.parser.SqlParserEvents;
 import org.apache.flink.sql.parser.error.SqlValidateException;
 
 import org.apache.calcite.sql.SqlCharStringLiteral;
@@ -93,6 +95,16 @@ public class SqlCreateModelAs extends SqlCreateModel {
 
     @Override
     public void validate() throws SqlValidateException {
+        SqlParserEvents.validate(
+                this,
+                () -> {
+                    validateNoExplicitColumns();
+                    super.validate();
+                    return this;
+                });
+    }
+
+    private void validateNoExplicitColumns() throws SqlValidateException {
         if (!getInputColumnList().isEmpty()) {
             throw new SqlValidateException(
                     getParserPosition(),
@@ -103,15 +115,18 @@ public class SqlCreateModelAs extends SqlCreateModel {
                     getParserPosition(),
                     "CREATE MODEL AS SELECT syntax does not support to specify explicit output columns.");
         }
-        super.validate();
     }
 
     public SqlNode getAsQuery() {
-        return asQuery;
+        return SqlDeferredQuery.resolve(asQuery);
     }
 
     @Override
     public void unparse(SqlWriter writer, int leftPrec, int rightPrec) {
+        SqlParserEvents.unparse(this, writer, leftPrec, rightPrec, this::unparseStatement);
+    }
+
+    private void unparseStatement(SqlWriter writer, int leftPrec, int rightPrec) {
         super.unparse(writer, leftPrec, rightPrec);
 
         writer.newlineAndIndent();
@@ -20,6 +20,8 @@ package org.apache.flink.sql.parser.ddl;
 
 import org.apache.flink.sql.parser.ExtendedSqlNode;
 import org.apache.flink.sql.parser.SqlConstraintValidator;
+import org.apache.flink.sql.parser.SqlIndexedSpecialOperator;
+import org.apache.flink.sql.parser.SqlParserEvents;
 import org.apache.flink.sql.parser.SqlUnparseUtils;
 import org.apache.flink.sql.parser.ddl.SqlTableColumn.SqlComputedColumn;
 import org.apache.flink.sql.parser.ddl.SqlTableColumn.SqlRegularColumn;
@@ -53,7 +55,7 @@ import static java.util.Objects.requireNonNull;
 public class SqlCreateTable extends SqlCreate implements ExtendedSqlNode {
 
     public static final SqlSpecialOperator OPERATOR =
-            new SqlSpecialOperator("CREATE TABLE", SqlKind.CREATE_TABLE);
+            new SqlIndexedSpecialOperator("CREATE TABLE", SqlKind.CREATE_TABLE);
 
     private final SqlIdentifier tableName;
 
@@ -77,6 +79,9 @@ public class SqlCreateTable extends SqlCreate implements ExtendedSqlNode {
 
     private final boolean isTemporary;
 
+    /** The operands never change, so the list is built on first access and then reused. */
+    @Nullable private transient List<SqlNode> operandList;
+
     public SqlCreateTable(
             SqlParserPos pos,
             SqlIdentifier tableName,
@@ -138,6 +143,14 @@ public class SqlCreateTable extends SqlCreate implements ExtendedSqlNode {
 
     @Override
     public @Nonnull List<SqlNode> getOperandList() {
+        if (operandList == null) {
+            operandList = createOperandList();
+        }
+        return operandList;
+    }
+
+    /** Creates the operand list, called once by {@link #getOperandList()}. */
+    protected List<SqlNode> createOperandList() {
         return ImmutableNullableList.of(
                 tableName,
                 columnList,
@@ -186,7 +199,41 @@ public class SqlCreateTable extends SqlCreate implements ExtendedSqlNode {
 
     @Override
     public void validate() throws SqlValidateException {
-        SqlConstraintValidator.validateAndChangeColumnNullability(tableConstraints, columnList);
+        SqlParserEvents.validate(
+                this,
+                () -> {
+                    SqlConstraintValidator.validateAndChangeColumnNullability(
+                            tableConstraints, columnList);
+                    return this;
+                });
+    }
+
+    @Override
+    public SqlNode validateImmutable() throws SqlValidateException {
+        return SqlParserEvents.validate(this, this::validateImmutableImpl);
+    }
+
+    private SqlNode validateImmutableImpl() throws SqlValidateException {
+        final SqlNodeList validatedColumns =
+                SqlConstraintValidator.validateAndDeriveColumnNullability(
+                        tableConstraints, columnList);
+        return validatedColumns == columnList ? this : copyWithColumns(validatedColumns);
+    }
+
+    /** Returns a copy of this statement with the given columns, see {@link #validateImmutable}. */
+    protected SqlCreateTable copyWithColumns(SqlNodeList columns) {
+        return new SqlCreateTable(
+                getParserPosition(),
+                tableName,
+                columns,
+                tableConstraints,
+                propertyList,
+                distribution,
+                partitionKeyList,
+                watermark,
+                comment,
+                isTemporary,
+                ifNotExists);
     }
 
     public boolean hasRegularColumnsOnly() {
@@ -246,6 +293,10 @@ public class SqlCreateTable extends SqlCreate implements ExtendedSqlNode {
 
     @Override
     public void unparse(SqlWriter writer, int leftPrec, int rightPrec) {
+        SqlParserEvents.unparse(this, writer, leftPrec, rightPrec, this::unparseStatement);
+    }
+
+    private void unparseStatement(SqlWriter writer, int leftPrec, int rightPrec) {
         writer.keyword("CREATE");
         if (isTemporary()) {
             writer.keyword("TEMPORARY");
@@ -297,6 +348,15 @@ public class SqlCreateTable extends SqlCreate implements ExtendedSqlNode {
         public List<SqlTableConstraint> constraints = new ArrayList<>();
         @Nullable public SqlWatermark watermark;
         @Nullable public SqlDistribution distribution;
+
+        /**
+         * If set, columns, constraints and the watermark are reported to the listener instead of
+         * being collected in this context.
+         */
+        @Nullable public TableSchemaListener listener;
+
+        /** Whether a watermark was reported to the {@link #listener}. */
+        public boolean hasWatermark;
     }
 
     public String[] fullTableName() {
@@ -18,6 +18,9 @@
 
 package org.apache.flink.sql.parser.ddl;
 
+import org.apache.flink.sql.parser.SqlDeferredQuery;
+import org.apache.flink.sql.parser.SqlIndexedSpecialOperator;
+import org.apache.flink.sql.parser.SqlParserEvents;
 import org.apache.flink.sql.parser.ddl.constraint.SqlTableConstraint;
 import org.apache.flink.sql.parser.error.SqlValidateException;
 
@@ -69,7 +72,7 @@ import static java.util.Objects.requireNonNull;
 public class SqlCreateTableAs extends SqlCreateTable {
 
     public static final SqlSpecialOperator OPERATOR =
-            new SqlSpecialOperator("CREATE TABLE AS", SqlKind.CREATE_TABLE);
+            new SqlIndexedSpecialOperator("CREATE TABLE AS", SqlKind.CREATE_TABLE);
 
     private final SqlNode asQuery;
 
@@ -109,16 +112,53 @@ public class SqlCreateTableAs extends SqlCreateTable {
     }
 
     @Override
-    public @Nonnull List<SqlNode> getOperandList() {
+    protected List<SqlNode> createOperandList() {
         return ImmutableNullableList.<SqlNode>builder()
-                .addAll(super.getOperandList())
+                .addAll(super.createOperandList())
                 .add(asQuery)
                 .build();
     }
 
     @Override
     public void validate() throws SqlValidateException {
-        super.validate();
+        SqlParserEvents.validate(
+                this,
+                () -> {
+                    super.validate();
+                    validateNotTemporary();
+                    return this;
+                });
+    }
+
+    @Override
+    public SqlNode validateImmutable() throws SqlValidateException {
+        return SqlParserEvents.validate(this, this::validateImmutableImpl);
+    }
+
+    private SqlNode validateImmutableImpl() throws SqlValidateException {
+        final SqlNode validated = super.validateImmutable();
+        validateNotTemporary();
+        return validated;
+    }
+
+    @Override
+    protected SqlCreateTable copyWithColumns(SqlNodeList columns) {
+        return new SqlCreateTableAs(
+                getParserPosition(),
+                getTableName(),
+                columns,
+                getTableConstraints(),
+                getPropertyList(),
+                getDistribution(),
+                getPartitionKeyList(),
+                getWatermark().orElse(null),
+                getComment().orElse(null),
+                asQuery,
+                isTemporary(),
+                isIfNotExists());
+    }
+
+    private void validateNotTemporary() throws SqlValidateException {
         if (isTemporary()) {
             throw new SqlValidateException(
                     getParserPosition(),
@@ -127,11 +167,15 @@ public class SqlCreateTableAs extends SqlCreateTable {
     }
 
     public SqlNode getAsQuery() {
-        return asQuery;
+        return SqlDeferredQuery.resolve(asQuery);
     }
 
     @Override
     public void unparse(SqlWriter writer, int leftPrec, int rightPrec) {
+        SqlParserEvents.unparse(this, writer, leftPrec, rightPrec, this::unparseStatement);
+    }
+
+    private void unparseStatement(SqlWriter writer, int leftPrec, int rightPrec) {
         super.unparse(writer, leftPrec, rightPrec);
 
         writer.newlineAndIndent();
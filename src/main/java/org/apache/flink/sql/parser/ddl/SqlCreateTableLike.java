@@ -18,6 +18,8 @@
 
 package org.apache.flink.sql.parser.ddl;
 
+import org.apache.flink.sql.parser.SqlIndexedSpecialOperator;
+import org.apache.flink.sql.parser.SqlParserEvents;
 import org.apache.flink.sql.parser.ddl.constraint.SqlTableConstraint;
 import org.apache.flink.sql.parser.error.SqlValidateException;
 
@@ -71,7 +73,7 @@ import static java.util.Objects.requireNonNull;
 public class SqlCreateTableLike extends SqlCreateTable {
 
     public static final SqlSpecialOperator OPERATOR =
-            new SqlSpecialOperator("CREATE TABLE LIKE", SqlKind.CREATE_TABLE);
+            new SqlIndexedSpecialOperator("CREATE TABLE LIKE", SqlKind.CREATE_TABLE);
 
     private final SqlTableLike tableLike;
 
@@ -111,17 +113,50 @@ public class SqlCreateTableLike extends SqlCreateTable {
     }
 
     @Override
-    public @Nonnull List<SqlNode> getOperandList() {
+    protected List<SqlNode> createOperandList() {
         return ImmutableNullableList.<SqlNode>builder()
-                .addAll(super.getOperandList())
+                .addAll(super.createOperandList())
                 .add(tableLike)
                 .build();
     }
 
     @Override
     public void validate() throws SqlValidateException {
-        super.validate();
+        SqlParserEvents.validate(
+                this,
+                () -> {
+                    super.validate();
+                    tableLike.validate();
+                    return this;
+                });
+    }
+
+    @Override
+    public SqlNode validateImmutable() throws SqlValidateException {
+        return SqlParserEvents.validate(this, this::validateImmutableImpl);
+    }
+
+    private SqlNode validateImmutableImpl() throws SqlValidateException {
+        final SqlNode validated = super.validateImmutable();
         tableLike.validate();
+        return validated;
+    }
+
+    @Override
+    protected SqlCreateTable copyWithColumns(SqlNodeList columns) {
+        return new SqlCreateTableLike(
+                getParserPosition(),
+                getTableName(),
+                columns,
+                getTableConstraints(),
+                getPropertyList(),
+                getDistribution(),
+                getPartitionKeyList(),
+                getWatermark().orElse(null),
+                getComment().orElse(null),
+                tableLike,
+                isTemporary(),
+                isIfNotExists());
     }
 
     public SqlTableLike getTableLike() {
@@ -130,6 +165,10 @@ public class SqlCreateTableLike extends SqlCreateTable {
 
     @Override
     public void unparse(SqlWriter writer, int leftPrec, int rightPrec) {
+        SqlParserEvents.unparse(this, writer, leftPrec, rightPrec, this::unparseStatement);
+    }
+
+    private void unparseStatement(SqlWriter writer, int leftPrec, int rightPrec) {
         super.unparse(writer, leftPrec, rightPrec);
 
         writer.newlineAndIndent();
@@ -18,6 +18,9 @@
 
 package org.apache.flink.sql.parser.ddl;
 
+import org.apache.flink.sql.parser.SqlDeferredQuery;
+import org.apache.flink.sql.parser.SqlParserEvents;
+
 import org.apache.calcite.sql.SqlCharStringLiteral;
 import org.apache.calcite.sql.SqlCreate;
 import org.apache.calcite.sql.SqlIdentifier;
@@ -89,7 +92,7 @@ public class SqlCreateView extends SqlCreate {
     }
 
     public SqlNode getQuery() {
-        return query;
+        return SqlDeferredQuery.resolve(query);
     }
 
     public Optional<SqlCharStringLiteral> getComment() {
@@ -102,6 +105,10 @@ public class SqlCreateView extends SqlCreate {
 
     @Override
     public void unparse(SqlWriter writer, int leftPrec, int rightPrec) {
+        SqlParserEvents.unparse(this, writer, leftPrec, rightPrec, this::unparseStatement);
+    }
+
+    private void unparseStatement(SqlWriter writer, int leftPrec, int rightPrec) {
         writer.keyword("CREATE");
         if (isTemporary()) {
             writer.keyword("TEMPORARY");
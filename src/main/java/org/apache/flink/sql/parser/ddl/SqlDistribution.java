@@ -18,6 +18,8 @@
 
 package org.apache.flink.sql.parser.ddl;
 
+import org.apache.flink.sql.parser.SqlIndexedSpecialOperator;
+
 import org.apache.calcite.sql.SqlCall;
 import org.apache.calcite.sql.SqlKind;
 import org.apache.calcite.sql.SqlNode;
@@ -41,11 +43,12 @@ import java.util.Optional;
 public class SqlDistribution extends SqlCall {
 
     private static final SqlSpecialOperator OPERATOR =
-            new SqlSpecialOperator("DISTRIBUTED BY", SqlKind.OTHER);
+            new SqlIndexedSpecialOperator("DISTRIBUTED BY", SqlKind.OTHER);
 
     private final String distributionKind;
     private final SqlNodeList bucketColumns;
     private final SqlNumericLiteral bucketCount;
+    @Nullable private transient List<SqlNode> operandList;
 
     public SqlDistribution(
             SqlParserPos pos,
@@ -65,7 +68,10 @@ public class SqlDistribution extends SqlCall {
 
     @Override
     public List<SqlNode> getOperandList() {
-        return ImmutableNullableList.of(bucketCount, bucketColumns);
+        if (operandList == null) {
+            operandList = ImmutableNullableList.of(bucketCount, bucketColumns);
+        }
+        return operandList;
     }
 
     @Override
@@ -18,6 +18,10 @@
 
 package org.apache.flink.sql.parser.ddl;
 
+import org.apache.flink.sql.parser.FreezableSqlNode;
+import org.apache.flink.sql.parser.SqlImmutableNodes;
+import org.apache.flink.sql.parser.SqlParserEvents;
+
 import org.apache.calcite.sql.SqlDrop;
 import org.apache.calcite.sql.SqlIdentifier;
 import org.apache.calcite.sql.SqlKind;
@@ -34,7 +38,7 @@ import java.util.List;
  * {@link SqlNode} to describe the DROP MODEL [IF EXISTS] [[catalogName.] dataBasesName].modelName
  * syntax.
  */
-public class SqlDropModel extends SqlDrop {
+public class SqlDropModel extends SqlDrop implements FreezableSqlNode {
     private static final SqlOperator OPERATOR =
             new SqlSpecialOperator("DROP MODEL", SqlKind.OTHER_DDL);
 
@@ -42,6 +46,8 @@ public class SqlDropModel extends SqlDrop {
     private boolean ifExists;
     private boolean isTemporary;
 
+    private transient boolean frozen;
+
     public SqlDropModel(
             SqlParserPos pos, SqlIdentifier modelName, boolean ifExists, boolean isTemporary) {
         super(OPERATOR, pos, ifExists);
@@ -60,6 +66,7 @@ public class SqlDropModel extends SqlDrop {
     }
 
     public void setModelName(SqlIdentifier modelName) {
+        SqlImmutableNodes.checkNotFrozen(this, "the model name");
         this.modelName = modelName;
     }
 
@@ -72,11 +79,16 @@ public class SqlDropModel extends SqlDrop {
     }
 
     public void setIfExists(boolean ifExists) {
+        SqlImmutableNodes.checkNotFrozen(this, "IF EXISTS");
         this.ifExists = ifExists;
     }
 
     @Override
     public void unparse(SqlWriter writer, int leftPrec, int rightPrec) {
+        SqlParserEvents.unparse(this, writer, leftPrec, rightPrec, this::unparseStatement);
+    }
+
+    private void unparseStatement(SqlWriter writer, int leftPrec, int rightPrec) {
         writer.keyword("DROP");
         writer.keyword("MODEL");
         if (ifExists) {
@@ -88,4 +100,14 @@ public class SqlDropModel extends SqlDrop {
     public String[] fullModelName() {
         return modelName.names.toArray(new String[0]);
     }
+
+    @Override
+    public void freeze() {
+        frozen = true;
+    }
+
+    @Override
+    public boolean isFrozen() {
+        return frozen;
+    }
 }
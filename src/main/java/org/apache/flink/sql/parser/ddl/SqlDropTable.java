@@ -18,6 +18,10 @@
 
 package org.apache.flink.sql.parser.ddl;
 
+import org.apache.flink.sql.parser.FreezableSqlNode;
+import org.apache.flink.sql.parser.SqlImmutableNodes;
+import org.apache.flink.sql.parser.SqlParserEvents;
+
 import org.apache.calcite.sql.SqlDrop;
 import org.apache.calcite.sql.SqlIdentifier;
 import org.apache.calcite.sql.SqlKind;
@@ -31,7 +35,7 @@ import org.apache.calcite.util.ImmutableNullableList;
 import java.util.List;
 
 /** DROP TABLE DDL sql call. */
-public class SqlDropTable extends SqlDrop {
+public class SqlDropTable extends SqlDrop implements FreezableSqlNode {
     private static final SqlOperator OPERATOR =
             new SqlSpecialOperator("DROP TABLE", SqlKind.DROP_TABLE);
 
@@ -39,6 +43,8 @@ public class SqlDropTable extends SqlDrop {
     private boolean ifExists;
     private final boolean isTemporary;
 
+    private transient boolean frozen;
+
     public SqlDropTable(
             SqlParserPos pos, SqlIdentifier tableName, boolean ifExists, boolean isTemporary) {
         super(OPERATOR, pos, ifExists);
@@ -57,6 +63,7 @@ public class SqlDropTable extends SqlDrop {
     }
 
     public void setTableName(SqlIdentifier viewName) {
+        SqlImmutableNodes.checkNotFrozen(this, "the table name");
         this.tableName = viewName;
     }
 
@@ -65,6 +72,7 @@ public class SqlDropTable extends SqlDrop {
     }
 
     public void setIfExists(boolean ifExists) {
+        SqlImmutableNodes.checkNotFrozen(this, "IF EXISTS");
         this.ifExists = ifExists;
     }
 
@@ -74,6 +82,10 @@ public class SqlDropTable extends SqlDrop {
 
     @Override
     public void unparse(SqlWriter writer, int leftPrec, int rightPrec) {
+        SqlParserEvents.unparse(this, writer, leftPrec, rightPrec, this::unparseStatement);
+    }
+
+    private void unparseStatement(SqlWriter writer, int leftPrec, int rightPrec) {
         writer.keyword("DROP");
         if (isTemporary) {
             writer.keyword("TEMPORARY");
@@ -88,4 +100,14 @@ public class SqlDropTable extends SqlDrop {
     public String[] fullTableName() {
         return tableName.names.toArray(new String[0]);
     }
+
+    @Override
+    public void freeze() {
+        frozen = true;
+    }
+
+    @Override
+    public boolean isFrozen() {
+        return frozen;
+    }
 }
@@ -20,6 +20,9 @@ package org.apache.flink.sql.parser.ddl;
 
 import org.apache.flink.sql.parser.ExtendedSqlNode;
 import org.apache.flink.sql.parser.SqlConstraintValidator;
+import org.apache.flink.sql.parser.SqlDeferredQuery;
+import org.apache.flink.sql.parser.SqlIndexedSpecialOperator;
+import org.apache.flink.sql.parser.SqlParserEvents;
 import org.apache.flink.sql.parser.SqlUnparseUtils;
 import org.apache.flink.sql.parser.ddl.constraint.SqlTableConstraint;
 import org.apache.flink.sql.parser.error.SqlValidateException;
@@ -76,10 +79,10 @@ import static java.util.Objects.requireNonNull;
 public class SqlReplaceTableAs extends SqlCreate implements ExtendedSqlNode {
 
     public static final SqlSpecialOperator REPLACE_OPERATOR =
-            new SqlSpecialOperator("REPLACE TABLE AS", SqlKind.OTHER_DDL);
+            new SqlIndexedSpecialOperator("REPLACE TABLE AS", SqlKind.OTHER_DDL);
 
     public static final SqlSpecialOperator CREATE_OR_REPLACE_OPERATOR =
-            new SqlSpecialOperator("CREATE OR REPLACE TABLE AS", SqlKind.OTHER_DDL);
+            new SqlIndexedSpecialOperator("CREATE OR REPLACE TABLE AS", SqlKind.OTHER_DDL);
 
     private final SqlIdentifier tableName;
 
@@ -107,6 +110,8 @@ public class SqlReplaceTableAs extends SqlCreate implements ExtendedSqlNode {
 
     private final SqlNode asQuery;
 
+    @Nullable private transient List<SqlNode> operandList;
+
     public SqlReplaceTableAs(
             SqlParserPos pos,
             SqlIdentifier tableName,
@@ -145,20 +150,63 @@ public class SqlReplaceTableAs extends SqlCreate implements ExtendedSqlNode {
 
     @Override
     public @Nonnull List<SqlNode> getOperandList() {
-        return ImmutableNullableList.of(
+        if (operandList == null) {
+            operandList =
+                    ImmutableNullableList.of(
+                            tableName,
+                            columnList,
+                            new SqlNodeList(tableConstraints, SqlParserPos.ZERO),
+                            propertyList,
+                            partitionKeyList,
+                            watermark,
+                            comment,
+                            asQuery);
+        }
+        return operandList;
+    }
+
+    @Override
+    public void validate() throws SqlValidateException {
+        SqlParserEvents.validate(
+                this,
+                () -> {
+                    SqlConstraintValidator.validateAndChangeColumnNullability(
+                            tableConstraints, columnList);
+                    validateUnsupportedFeatures();
+                    return this;
+                });
+    }
+
+    @Override
+    public SqlNode validateImmutable() throws SqlValidateException {
+        return SqlParserEvents.validate(this, this::validateImmutableImpl);
+    }
+
+    private SqlNode validateImmutableImpl() throws SqlValidateException {
+        final SqlNodeList validatedColumns =
+                SqlConstraintValidator.validateAndDeriveColumnNullability(
+                        tableConstraints, columnList);
+        validateUnsupportedFeatures();
+        if (validatedColumns == columnList) {
+            return this;
+        }
+        return new SqlReplaceTableAs(
+                getParserPosition(),
                 tableName,
-                columnList,
-                new SqlNodeList(tableConstraints, SqlParserPos.ZERO),
+                validatedColumns,
+                tableConstraints,
                 propertyList,
+                distribution,
                 partitionKeyList,
                 watermark,
                 comment,
-                asQuery);
+                asQuery,
+                isTemporary,
+                ifNotExists,
+                isCreateOrReplace);
     }
 
-    @Override
-    public void validate() throws SqlValidateException {
-        SqlConstraintValidator.validateAndChangeColumnNullability(tableConstraints, columnList);
+    private void validateUnsupportedFeatures() throws SqlValidateException {
         // The following features are not currently supported by RTAS, but may be supported in the
         // future
         String errorMsg =
@@ -182,7 +230,7 @@ public class SqlReplaceTableAs extends SqlCreate implements ExtendedSqlNode {
                     errorMsg + " syntax does not support to specify explicit columns yet.");
         }
 
-        if (getWatermark().isPresent()) {
+        if (watermark != null) {
             throw new SqlValidateException(
                     getParserPosition(),
                     errorMsg + " syntax does not support to specify explicit watermark yet.");
@@ -205,7 +253,7 @@ public class SqlReplaceTableAs extends SqlCreate implements ExtendedSqlNode {
     }
 
     public SqlNode getAsQuery() {
-        return asQuery;
+        return SqlDeferredQuery.resolve(asQuery);
     }
 
     public boolean isCreateOrReplace() {
@@ -255,6 +303,10 @@ public class SqlReplaceTableAs extends SqlCreate implements ExtendedSqlNode {
 
     @Override
     public void unparse(SqlWriter writer, int leftPrec, int rightPrec) {
+        SqlParserEvents.unparse(this, writer, leftPrec, rightPrec, this::unparseStatement);
+    }
+
+    private void unparseStatement(SqlWriter writer, int leftPrec, int rightPrec) {
         if (isCreateOrReplace) {
             writer.keyword("CREATE OR");
         }
@@ -19,6 +19,8 @@
 package org.apache.flink.sql.parser.ddl;
 
 import org.apache.flink.annotation.Internal;
+import org.apache.flink.sql.parser.SqlLazyCharStringLiteral;
+import org.apache.flink.sql.parser.SqlParserEvents;
 
 import org.apache.calcite.sql.SqlCall;
 import org.apache.calcite.sql.SqlKind;
@@ -91,11 +93,15 @@ public class SqlSet extends SqlCall {
             return null;
         }
 
-        return ((NlsString) SqlLiteral.value(value)).getValue();
+        return SqlLazyCharStringLiteral.stringValue(value);
     }
 
     @Override
     public void unparse(SqlWriter writer, int leftPrec, int rightPrec) {
+        SqlParserEvents.unparse(this, writer, leftPrec, rightPrec, this::unparseStatement);
+    }
+
+    private void unparseStatement(SqlWriter writer, int leftPrec, int rightPrec) {
         writer.keyword("SET");
 
         if (key != null && value != null) {
@@ -18,6 +18,9 @@
 
 package org.apache.flink.sql.parser.ddl;
 
+import org.apache.flink.sql.parser.FreezableSqlNode;
+import org.apache.flink.sql.parser.SqlImmutableNodes;
+import org.apache.flink.sql.parser.SqlIndexedSpecialOperator;
 import org.apache.flink.sql.parser.ddl.constraint.SqlTableConstraint;
 
 import org.apache.calcite.sql.SqlCall;
@@ -45,12 +48,15 @@ import static java.util.Objects.requireNonNull;
 public abstract class SqlTableColumn extends SqlCall {
 
     private static final SqlSpecialOperator OPERATOR =
-            new SqlSpecialOperator("COLUMN_DECL", SqlKind.COLUMN_DECL);
+            new SqlIndexedSpecialOperator("COLUMN_DECL", SqlKind.COLUMN_DECL);
 
     protected final SqlIdentifier name;
 
     protected final SqlNode comment;
 
+    /** Built on first access, reset when an operand changes. */
+    @Nullable protected transient List<SqlNode> operandList;
+
     private SqlTableColumn(SqlParserPos pos, SqlIdentifier name, @Nullable SqlNode comment) {
         super(pos);
         this.name = requireNonNull(name, "Column name should not be null");
@@ -59,6 +65,9 @@ public abstract class SqlTableColumn extends SqlCall {
 
     protected abstract void unparseColumn(SqlWriter writer, int leftPrec, int rightPrec);
 
+    /** Returns a copy of this column with the given name, this column is not changed. */
+    public abstract SqlTableColumn withName(SqlIdentifier name);
+
     @Override
     public @Nonnull SqlOperator getOperator() {
         return OPERATOR;
@@ -85,12 +94,14 @@ public abstract class SqlTableColumn extends SqlCall {
     }
 
     /** A regular, physical column. */
-    public static class SqlRegularColumn extends SqlTableColumn {
+    public static class SqlRegularColumn extends SqlTableColumn implements FreezableSqlNode {
 
         private SqlDataTypeSpec type;
 
         private final @Nullable SqlTableConstraint constraint;
 
+        private transient boolean frozen;
+
         public SqlRegularColumn(
                 SqlParserPos pos,
                 SqlIdentifier name,
@@ -107,7 +118,29 @@ public abstract class SqlTableColumn extends SqlCall {
         }
 
         public void setType(SqlDataTypeSpec type) {
+            SqlImmutableNodes.checkNotFrozen(this, "the type");
             this.type = type;
+            this.operandList = null;
+        }
+
+        /** Returns a copy of this column with the given type, this column is not changed. */
+        public SqlRegularColumn withType(SqlDataTypeSpec type) {
+            return new SqlRegularColumn(getParserPosition(), name, comment, type, constraint);
+        }
+
+        @Override
+        public SqlRegularColumn withName(SqlIdentifier name) {
+            return new SqlRegularColumn(getParserPosition(), name, comment, type, constraint);
+        }
+
+        @Override
+        public void freeze() {
+            frozen = true;
+        }
+
+        @Override
+        public boolean isFrozen() {
+            return frozen;
         }
 
         public Optional<SqlTableConstraint> getConstraint() {
@@ -128,7 +161,10 @@ public abstract class SqlTableColumn extends SqlCall {
 
         @Override
         public @Nonnull List<SqlNode> getOperandList() {
-            return ImmutableNullableList.of(name, type, constraint, comment);
+            if (operandList == null) {
+                operandList = ImmutableNullableList.of(name, type, constraint, comment);
+            }
+            return operandList;
         }
     }
 
@@ -167,6 +203,12 @@ public abstract class SqlTableColumn extends SqlCall {
             return isVirtual;
         }
 
+        @Override
+        public SqlMetadataColumn withName(SqlIdentifier name) {
+            return new SqlMetadataColumn(
+                    getParserPosition(), name, comment, type, metadataAlias, isVirtual);
+        }
+
         @Override
         protected void unparseColumn(SqlWriter writer, int leftPrec, int rightPrec) {
             type.unparse(writer, leftPrec, rightPrec);
@@ -186,7 +228,10 @@ public abstract class SqlTableColumn extends SqlCall {
 
         @Override
         public @Nonnull List<SqlNode> getOperandList() {
-            return ImmutableNullableList.of(name, type, comment);
+            if (operandList == null) {
+                operandList = ImmutableNullableList.of(name, type, comment);
+            }
+            return operandList;
         }
     }
 
@@ -205,6 +250,11 @@ public abstract class SqlTableColumn extends SqlCall {
             return expr;
         }
 
+        @Override
+        public SqlComputedColumn withName(SqlIdentifier name) {
+            return new SqlComputedColumn(getParserPosition(), name, comment, expr);
+        }
+
         @Override
         protected void unparseColumn(SqlWriter writer, int leftPrec, int rightPrec) {
             writer.keyword("AS");
@@ -213,7 +263,10 @@ public abstract class SqlTableColumn extends SqlCall {
 
         @Override
         public @Nonnull List<SqlNode> getOperandList() {
-            return ImmutableNullableList.of(name, expr, comment);
+            if (operandList == null) {
+                operandList = ImmutableNullableList.of(name, expr, comment);
+            }
+            return operandList;
         }
     }
 }
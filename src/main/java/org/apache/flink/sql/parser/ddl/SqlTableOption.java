@@ -17,17 +17,21 @@
 
 package org.apache.flink.sql.parser.ddl;
 
+import org.apache.flink.sql.parser.SqlIndexedSpecialOperator;
+import org.apache.flink.sql.parser.SqlLazyCharStringLiteral;
+
 import org.apache.calcite.sql.SqlCall;
 import org.apache.calcite.sql.SqlKind;
 import org.apache.calcite.sql.SqlLiteral;
 import org.apache.calcite.sql.SqlNode;
 import org.apache.calcite.sql.SqlOperator;
-import org.apache.calcite.sql.SqlSpecialOperator;
 import org.apache.calcite.sql.SqlWriter;
 import org.apache.calcite.sql.parser.SqlParserPos;
 import org.apache.calcite.util.ImmutableNullableList;
 import org.apache.calcite.util.NlsString;
 
+import javax.annotation.Nullable;
+
 import java.util.List;
 
 import static java.util.Objects.requireNonNull;
@@ -36,10 +40,11 @@ import static java.util.Objects.requireNonNull;
 public class SqlTableOption extends SqlCall {
     /** Use this operator only if you don't have a better one. */
     protected static final SqlOperator OPERATOR =
-            new SqlSpecialOperator("TableOption", SqlKind.OTHER);
+            new SqlIndexedSpecialOperator("TableOption", SqlKind.OTHER);
 
     private final SqlNode key;
     private final SqlNode value;
+    @Nullable private transient List<SqlNode> operandList;
 
     public SqlTableOption(SqlNode key, SqlNode value, SqlParserPos pos) {
         super(pos);
@@ -60,7 +65,7 @@ public class SqlTableOption extends SqlCall {
     }
 
     public String getValueString() {
-        return ((NlsString) SqlLiteral.value(value)).getValue();
+        return SqlLazyCharStringLiteral.stringValue(value);
     }
 
     @Override
@@ -70,7 +75,10 @@ public class SqlTableOption extends SqlCall {
 
     @Override
     public List<SqlNode> getOperandList() {
-        return ImmutableNullableList.of(key, value);
+        if (operandList == null) {
+            operandList = ImmutableNullableList.of(key, value);
+        }
+        return operandList;
     }
 
     @Override
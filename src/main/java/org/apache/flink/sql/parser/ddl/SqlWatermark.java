@@ -18,6 +18,8 @@
 
 package org.apache.flink.sql.parser.ddl;
 
+import org.apache.flink.sql.parser.SqlIndexedSpecialOperator;
+
 import org.apache.calcite.sql.SqlCall;
 import org.apache.calcite.sql.SqlIdentifier;
 import org.apache.calcite.sql.SqlKind;
@@ -28,6 +30,8 @@ import org.apache.calcite.sql.SqlWriter;
 import org.apache.calcite.sql.parser.SqlParserPos;
 import org.apache.calcite.util.ImmutableNullableList;
 
+import javax.annotation.Nullable;
+
 import java.util.List;
 
 import static java.util.Objects.requireNonNull;
@@ -39,10 +43,11 @@ import static java.util.Objects.requireNonNull;
 public class SqlWatermark extends SqlCall {
 
     private static final SqlSpecialOperator OPERATOR =
-            new SqlSpecialOperator("WATERMARK", SqlKind.OTHER);
+            new SqlIndexedSpecialOperator("WATERMARK", SqlKind.OTHER);
 
     private final SqlIdentifier eventTimeColumnName;
     private final SqlNode watermarkStrategy;
+    @Nullable private transient List<SqlNode> operandList;
 
     public SqlWatermark(
             SqlParserPos pos, SqlIdentifier eventTimeColumnName, SqlNode watermarkStrategy) {
@@ -58,7 +63,10 @@ public class SqlWatermark extends SqlCall {
 
     @Override
     public List<SqlNode> getOperandList() {
-        return ImmutableNullableList.of(eventTimeColumnName, watermarkStrategy);
+        if (operandList == null) {
+            operandList = ImmutableNullableList.of(eventTimeColumnName, watermarkStrategy);
+        }
+        return operandList;
     }
 
     @Override
@@ -0,0 +1,191 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.sql.parser.ddl;
+
+import org.apache.flink.sql.parser.ddl.constraint.SqlTableConstraint;
+
+import org.apache.calcite.sql.SqlDataTypeSpec;
+import org.apache.calcite.sql.SqlIdentifier;
+import org.apache.calcite.sql.SqlLiteral;
+import org.apache.calcite.sql.SqlNode;
+import org.apache.calcite.util.NlsString;
+
+import javax.annotation.Nullable;
+
+import java.util.Optional;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Receives the parts of a CREATE TABLE statement in their declaration order, as reported by
+ * {@link org.apache.flink.sql.parser.CreateTableEventParser}.
+ *
+ * <p>The parser neither collects the columns, constraints and options in lists nor builds a
+ * {@link SqlCreateTable} for them, so nothing that is passed to a listener is retained by the
+ * parser once the callback returns. All methods do nothing by default.
+ */
+public interface TableSchemaListener {
+
+    /** Called first, with the name of the table. */
+    default void onTable(SqlIdentifier tableName) {}
+
+    /** Called for each physical, metadata or computed column. */
+    default void onColumn(Column column) {}
+
+    /**
+     * Called for each table constraint and for each constraint declared inline with a column, the
+     * latter right after the column.
+     */
+    default void onConstraint(SqlTableConstraint constraint) {}
+
+    /** Called for the watermark declaration, if any. */
+    default void onWatermark(SqlIdentifier eventTimeColumnName, SqlNode watermarkStrategy) {}
+
+    /** Called for the COMMENT clause of the table, if any. */
+    default void onComment(String comment) {}
+
+    /** Called for the DISTRIBUTED BY or DISTRIBUTED INTO clause, if any. */
+    default void onDistribution(SqlDistribution distribution) {}
+
+    /** Called for each column of the PARTITIONED BY clause. */
+    default void onPartitionKey(String partitionKey) {}
+
+    /** Called for each option of the WITH clause. */
+    default void onOption(String key, String value) {}
+
+    // --------------------------------------------------------------------------------------------
+
+    /** Kind of a {@link Column}. */
+    enum ColumnKind {
+        /** {@code name type [constraint] [COMMENT '...']}. */
+        PHYSICAL,
+        /** {@code name type METADATA [FROM 'key'] [VIRTUAL] [COMMENT '...']}. */
+        METADATA,
+        /** {@code name AS expr [COMMENT '...']}. */
+        COMPUTED
+    }
+
+    /** A column declaration, the counterpart of {@link SqlTableColumn} for listeners. */
+    final class Column {
+        private final ColumnKind kind;
+        private final SqlIdentifier name;
+        @Nullable private final SqlDataTypeSpec type;
+        @Nullable private final SqlNode expr;
+        @Nullable private final SqlNode metadataAlias;
+        private final boolean isVirtual;
+        @Nullable private final SqlNode comment;
+
+        private Column(
+                ColumnKind kind,
+                SqlIdentifier name,
+                @Nullable SqlDataTypeSpec type,
+                @Nullable SqlNode expr,
+                @Nullable SqlNode metadataAlias,
+                boolean isVirtual,
+                @Nullable SqlNode comment) {
+            this.kind = kind;
+            this.name = requireNonNull(name, "Column name should not be null");
+            this.type = type;
+            this.expr = expr;
+            this.metadataAlias = metadataAlias;
+            this.isVirtual = isVirtual;
+            this.comment = comment;
+        }
+
+        public static Column physical(
+                SqlIdentifier name, SqlDataTypeSpec type, @Nullable SqlNode comment) {
+            return new Column(
+                    ColumnKind.PHYSICAL,
+                    name,
+                    requireNonNull(type, "Column type should not be null"),
+                    null,
+                    null,
+                    false,
+                    comment);
+        }
+
+        public static Column metadata(
+                SqlIdentifier name,
+                SqlDataTypeSpec type,
+                @Nullable SqlNode metadataAlias,
+                boolean isVirtual,
+                @Nullable SqlNode comment) {
+            return new Column(
+                    ColumnKind.METADATA,
+                    name,
+                    requireNonNull(type, "Column type should not be null"),
+                    null,
+                    metadataAlias,
+                    isVirtual,
+                    comment);
+        }
+
+        public static Column computed(
+                SqlIdentifier name, SqlNode expr, @Nullable SqlNode comment) {
+            return new Column(
+                    ColumnKind.COMPUTED,
+                    name,
+                    null,
+                    requireNonNull(expr, "Column expression should not be null"),
+                    null,
+                    false,
+                    comment);
+        }
+
+        public ColumnKind getKind() {
+            return kind;
+        }
+
+        public SqlIdentifier getName() {
+            return name;
+        }
+
+        /** Returns the name of the column as a string. */
+        public String getNameString() {
+            return name.toString();
+        }
+
+        /** Returns the data type of a physical or metadata column, empty for computed columns. */
+        public Optional<SqlDataTypeSpec> getType() {
+            return Optional.ofNullable(type);
+        }
+
+        /** Returns the expression of a computed column, empty for other columns. */
+        public Optional<SqlNode> getExpr() {
+            return Optional.ofNullable(expr);
+        }
+
+        /** Returns the key of the FROM clause of a metadata column. */
+        public Optional<String> getMetadataAlias() {
+            return Optional.ofNullable(metadataAlias).map(Column::stringValue);
+        }
+
+        public boolean isVirtual() {
+            return isVirtual;
+        }
+
+        public Optional<String> getComment() {
+            return Optional.ofNullable(comment).map(Column::stringValue);
+        }
+
+        private static String stringValue(SqlNode literal) {
+            return ((NlsString) SqlLiteral.value(literal)).getValue();
+        }
+    }
+}
@@ -18,6 +18,8 @@
 
 package org.apache.flink.sql.parser.ddl.constraint;
 
+import org.apache.flink.sql.parser.SqlIndexedSpecialOperator;
+
 import org.apache.calcite.sql.SqlCall;
 import org.apache.calcite.sql.SqlIdentifier;
 import org.apache.calcite.sql.SqlKind;
@@ -25,7 +27,6 @@ import org.apache.calcite.sql.SqlLiteral;
 import org.apache.calcite.sql.SqlNode;
 import org.apache.calcite.sql.SqlNodeList;
 import org.apache.calcite.sql.SqlOperator;
-import org.apache.calcite.sql.SqlSpecialOperator;
 import org.apache.calcite.sql.SqlWriter;
 import org.apache.calcite.sql.parser.SqlParserPos;
 import org.apache.calcite.util.ImmutableNullableList;
@@ -59,7 +60,7 @@ import java.util.Optional;
 public class SqlTableConstraint extends SqlCall {
     /** Use this operator only if you don't have a better one. */
     private static final SqlOperator OPERATOR =
-            new SqlSpecialOperator("SqlTableConstraint", SqlKind.OTHER);
+            new SqlIndexedSpecialOperator("SqlTableConstraint", SqlKind.OTHER);
 
     private final SqlIdentifier constraintName;
     private final SqlLiteral uniqueSpec;
@@ -67,6 +68,7 @@ public class SqlTableConstraint extends SqlCall {
     private final SqlLiteral enforcement;
     // Whether this is a table constraint, currently it is only used for SQL unparse.
     private final boolean isTableConstraint;
+    @Nullable private transient List<SqlNode> operandList;
 
     /**
      * Creates a table constraint node.
@@ -143,7 +145,11 @@ public class SqlTableConstraint extends SqlCall {
 
     @Override
     public List<SqlNode> getOperandList() {
-        return ImmutableNullableList.of(constraintName, uniqueSpec, columns, enforcement);
+        if (operandList == null) {
+            operandList =
+                    ImmutableNullableList.of(constraintName, uniqueSpec, columns, enforcement);
+        }
+        return operandList;
     }
 
     @Override
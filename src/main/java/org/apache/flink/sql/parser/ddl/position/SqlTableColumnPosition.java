@@ -18,6 +18,7 @@
 
 package org.apache.flink.sql.parser.ddl.position;
 
+import org.apache.flink.sql.parser.SqlIndexedSpecialOperator;
 import org.apache.flink.sql.parser.ddl.SqlTableColumn;
 
 import org.apache.calcite.sql.SqlCall;
@@ -26,7 +27,6 @@ import org.apache.calcite.sql.SqlKind;
 import org.apache.calcite.sql.SqlLiteral;
 import org.apache.calcite.sql.SqlNode;
 import org.apache.calcite.sql.SqlOperator;
-import org.apache.calcite.sql.SqlSpecialOperator;
 import org.apache.calcite.sql.SqlWriter;
 import org.apache.calcite.sql.parser.SqlParserPos;
 import org.apache.calcite.util.ImmutableNullableList;
@@ -40,11 +40,12 @@ import java.util.List;
 public class SqlTableColumnPosition extends SqlCall {
 
     private static final SqlOperator OPERATOR =
-            new SqlSpecialOperator("SqlTableColumnPosition", SqlKind.OTHER);
+            new SqlIndexedSpecialOperator("SqlTableColumnPosition", SqlKind.OTHER);
 
     private final SqlTableColumn column;
     @Nullable private final SqlLiteral positionSpec;
     @Nullable private final SqlIdentifier referencedColumn;
+    @Nullable private transient List<SqlNode> operandList;
 
     public SqlTableColumnPosition(
             SqlParserPos pos,
@@ -90,7 +91,10 @@ public class SqlTableColumnPosition extends SqlCall {
     @Nonnull
     @Override
     public List<SqlNode> getOperandList() {
-        return ImmutableNullableList.of(column, positionSpec, referencedColumn);
+        if (operandList == null) {
+            operandList = ImmutableNullableList.of(column, positionSpec, referencedColumn);
+        }
+        return operandList;
     }
 
     @Override
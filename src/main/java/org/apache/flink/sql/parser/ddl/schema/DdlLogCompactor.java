@@ -0,0 +1,487 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.flink.sql.parser.ddl.schema;
+
+import org.apache.flink.sql.parser.ddl.SqlAlterTable;
+import org.apache.flink.sql.parser.ddl.SqlAlterTableOptions;
+import org.apache.flink.sql.parser.ddl.SqlAlterTableRename;
+import org.apache.flink.sql.parser.ddl.SqlAlterTableReset;
+import org.apache.flink.sql.parser.ddl.SqlAlterTableSchema;
+import org.apache.flink.sql.parser.ddl.SqlCreateFunction;
+import org.apache.flink.sql.parser.ddl.SqlCreateTable;
+import org.apache.flink.sql.parser.ddl.SqlCreateTableAs;
+import org.apache.flink.sql.parser.ddl.SqlCreateTableLike;
+import org.apache.flink.sql.parser.ddl.SqlDropFunction;
+import org.apache.flink.sql.parser.ddl.SqlDropTable;
+import org.apache.flink.sql.parser.ddl.SqlReset;
+import org.apache.flink.sql.parser.ddl.SqlSet;
+import org.apache.flink.sql.parser.ddl.SqlTableColumn.SqlComputedColumn;
+import org.apache.flink.sql.parser.ddl.SqlTableOption;
+import org.apache.flink.sql.parser.ddl.SqlUseCatalog;
+import org.apache.flink.sql.parser.ddl.SqlUseDatabase;
+import org.apache.flink.sql.parser.ddl.SqlUseModules;
+import org.apache.flink.sql.parser.ddl.position.SqlTableColumnPosition;
+import org.apache.flink.sql.parser.error.SqlValidateException;
+
+import org.apache.calcite.sql.SqlIdentifier;
+import org.apache.calcite.sql.SqlNode;
+import org.apache.calcite.sql.SqlNodeList;
+import org.apache.calcite.sql.parser.SqlParserPos;
+
+import javax.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Folds a log of DDL statements into a smaller log with the same effect on the catalog.
+ *
+ * <p>Statements are appended one by one and compacted as they arrive, so the compacted log is
+ * always available through {@link #getStatements()} without processing the whole log again:
+ *
+ * <ul>
+ *   <li>the ALTER TABLE statements that follow a plain CREATE TABLE are folded into the CREATE
+ *       TABLE statement, as long as {@link TableSchemaModel} can apply them;
+ *   <li>a table or function that is created and dropped again disappears from the log, together
+ *       with the changes that were folded into it;
+ *   <li>consecutive ALTER TABLE ... SET statements for a table that cannot be folded any more are
+ *       merged into the first of them;
+ *   <li>USE, SET and RESET statements are kept in their original order, and names are resolved
+ *       against the catalog and database selected by the USE statements seen so far.
+ * </ul>
+ *
+ * <p>The log is expected to start from an empty catalog: a table that is dropped again is assumed
+ * to be created by the log itself. A statement that the compactor does not understand, such as a
+ * view, a CREATE TABLE ... AS or a DROP DATABASE, may depend on or change any object, so it is kept
+ * as it is and nothing before it is folded or dropped any more. An object that is created after
+ * such a statement with IF NOT EXISTS, or under a name that was used before, may already exist, so
+ * nothing is folded into its creation and it is not removed when it is dropped. For the same
+ * reason, a function is
+ * only removed together with its DROP if no statement with expressions was appended in between,
+ * and an ALTER TABLE with expressions is only folded if no function was created after the table.
+ *
+ * <p>A compactor is not thread-safe.
+ */
+public final class DdlLogCompactor {
+
+    private static final String TABLE = "TABLE";
+    private static final String TEMPORARY_TABLE = "TEMPORARY TABLE";
+    private static final String FUNCTION = "FUNCTION";
+    private static final String TEMPORARY_FUNCTION = "TEMPORARY FUNCTION";
+    private static final String TEMPORARY_SYSTEM_FUNCTION = "TEMPORARY SYSTEM FUNCTION";
+
+    /** The compacted log, by the sequence number of the statement that started each entry. */
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>();
+
+    /** The tables and functions created since the last statement that was not understood. */
+    private final Map<List<String>, ObjectState> objects = new HashMap<>();
+
+    /** The keys of all objects that were ever created, renamed or dropped. */
+    private final Set<List<String>> seenKeys = new HashSet<>();
+
+    /** Whether a statement that was not understood was appended. */
+    private boolean opaqueAppended;
+
+    private long nextSequence;
+    private long lastFunctionCreation = -1;
+    private long lastExpression = -1;
+    @Nullable private String currentCatalog;
+    @Nullable private String currentDatabase;
+
+    /** Appends a statement to the log and compacts it with the statements appended before. */
+    public void append(SqlNode statement) {
+        final long sequence = nextSequence++;
+        if (statement instanceof SqlUseCatalog) {
+            currentCatalog = ((SqlUseCatalog) statement).catalogName();
+            currentDatabase = null;
+            add(sequence, statement);
+        } else if (statement instanceof SqlUseDatabase) {
+            final List<String> names = ((SqlUseDatabase) statement).getDatabaseName().names;
+            if (names.size() > 1) {
+                currentCatalog = names.get(names.size() - 2);
+            }
+            currentDatabase = names.get(names.size() - 1);
+            add(sequence, statement);
+        } else if (statement instanceof SqlSet
+                || statement instanceof SqlReset
+                || statement instanceof SqlUseModules) {
+            add(sequence, statement);
+        } else if (statement instanceof SqlCreateTableAs
+                || statement instanceof SqlCreateTableLike) {
+            appendOpaque(sequence, statement);
+        } else if (statement instanceof SqlCreateTable) {
+            appendCreateTable(sequence, (SqlCreateTable) statement);
+        } else if (statement instanceof SqlAlterTable) {
+            appendAlterTable(sequence, (SqlAlterTable) statement);
+        } else if (statement instanceof SqlDropTable) {
+            appendDropTable(sequence, (SqlDropTable) statement);
+        } else if (statement instanceof SqlCreateFunction) {
+            appendCreateFunction(sequence, (SqlCreateFunction) statement);
+        } else if (statement instanceof SqlDropFunction) {
+            appendDropFunction(sequence, (SqlDropFunction) statement);
+        } else {
+            appendOpaque(sequence, statement);
+        }
+    }
+
+    /** Appends the given statements in order, see {@link #append(SqlNode)}. */
+    public void appendAll(Iterable<? extends SqlNode> statements) {
+        for (SqlNode statement : statements) {
+            append(statement);
+        }
+    }
+
+    /** Returns the compacted log, in the order in which the statements must be executed. */
+    public List<SqlNode> getStatements() {
+        final List<SqlNode> statements = new ArrayList<>(entries.size());
+        for (Entry entry : entries.values()) {
+            statements.add(entry.toSqlNode());
+        }
+        return statements;
+    }
+
+    /** Returns the number of statements in the compacted log. */
+    public int size() {
+        return entries.size();
+    }
+
+    // --------------------------------------------------------------------------------------------
+
+    private void appendCreateTable(long sequence, SqlCreateTable createTable) {
+        final List<String> key = tableKey(createTable.getTableName(), createTable.isTemporary());
+        if (objects.containsKey(key)) {
+            if (!createTable.isIfNotExists()) {
+                // fails when the log is replayed, keep it as it is
+                appendOpaque(sequence, createTable);
+            }
+            return;
+        }
+        TableSchemaModel model = null;
+        if (!mayExist(key, createTable.isIfNotExists())) {
+            try {
+                model = TableSchemaModel.of(createTable);
+            } catch (SqlValidateException e) {
+                model = null;
+            }
+        }
+        final Entry entry = add(sequence, createTable);
+        entry.model = model;
+        if (hasExpressions(createTable)) {
+            lastExpression = sequence;
+        }
+        objects.put(key, new ObjectState(sequence, model != null));
+        seenKeys.add(key);
+    }
+
+    /**
+     * Returns whether an object with the given key may already exist when it is created, because
+     * it may have been created before the last statement that was not understood. Such a CREATE
+     * ... IF NOT EXISTS may do nothing, and a CREATE of a key that was seen before may fail, so
+     * nothing can be folded into either of them and neither can be removed.
+     */
+    private boolean mayExist(List<String> key, boolean isIfNotExists) {
+        return opaqueAppended && (isIfNotExists || seenKeys.contains(key));
+    }
+
+    private void appendAlterTable(long sequence, SqlAlterTable alterTable) {
+        final List<String> key = tableKey(alterTable.getTableName(), false);
+        final ObjectState state = objects.get(key);
+        if (state != null && state.foldable && foldIntoCreation(key, state, alterTable)) {
+            return;
+        }
+        final boolean isSetOptions =
+                alterTable instanceof SqlAlterTableOptions
+                        && (alterTable.getPartitionSpec() == null
+                                || alterTable.getPartitionSpec().size() == 0);
+        if (state != null && isSetOptions && state.optionsSequence >= 0) {
+            final Entry options = entries.get(state.optionsSequence);
+            putOptions(options.options, (SqlAlterTableOptions) alterTable);
+            return;
+        }
+
+        final Entry entry = add(sequence, alterTable);
+        if (hasExpressions(alterTable)) {
+            lastExpression = sequence;
+        }
+        if (state == null) {
+            return;
+        }
+        state.foldable = false;
+        if (isSetOptions) {
+            entry.options = new LinkedHashMap<>();
+            putOptions(entry.options, (SqlAlterTableOptions) alterTable);
+            state.optionsSequence = sequence;
+        } else if (alterTable instanceof SqlAlterTableReset && state.optionsSequence >= 0) {
+            // the keys that are reset do not need to be set before
+            final Entry options = entries.get(state.optionsSequence);
+            options.options.keySet().removeAll(((SqlAlterTableReset) alterTable).getResetKeys());
+            if (options.options.isEmpty()) {
+                entries.remove(state.optionsSequence);
+            }
+            state.optionsSequence = -1;
+        } else if (alterTable instanceof SqlAlterTableRename) {
+            final List<String> newKey =
+                    tableKey(((SqlAlterTableRename) alterTable).getNewTableName(), false);
+            objects.remove(key);
+            objects.put(newKey, state);
+            seenKeys.add(newKey);
+            state.optionsSequence = -1;
+        }
+    }
+
+    /** Tries to fold an ALTER TABLE into the CREATE TABLE of the table. */
+    private boolean foldIntoCreation(
+            List<String> key, ObjectState state, SqlAlterTable alterTable) {
+        final Entry entry = entries.get(state.creationSequence);
+        final boolean hasExpressions = hasExpressions(alterTable);
+        if (hasExpressions && lastFunctionCreation > state.creationSequence) {
+            // the expression might call a function that does not exist yet at the CREATE TABLE
+            return false;
+        }
+        List<String> newKey = null;
+        if (alterTable instanceof SqlAlterTableRename) {
+            final SqlIdentifier newName = ((SqlAlterTableRename) alterTable).getNewTableName();
+            newKey = tableKey(newName, false);
+            if (seenKeys.contains(newKey)
+                    || !newKey.equals(
+                            tableKey(newName, false, state.catalog, state.database))) {
+                return false;
+            }
+        }
+        try {
+            entry.model = entry.model.apply(alterTable);
+        } catch (SqlValidateException e) {
+            return false;
+        }
+        entry.folded = true;
+        if (hasExpressions) {
+            lastExpression = Math.max(lastExpression, state.creationSequence);
+        }
+        if (newKey != null) {
+            objects.remove(key);
+            objects.put(newKey, state);
+            seenKeys.add(newKey);
+        }
+        return true;
+    }
+
+    private void appendDropTable(long sequence, SqlDropTable dropTable) {
+        final List<String> key = tableKey(dropTable.getTableName(), dropTable.isTemporary());
+        seenKeys.add(key);
+        final ObjectState state = objects.remove(key);
+        if (state != null && state.foldable) {
+            entries.remove(state.creationSequence);
+        } else {
+            add(sequence, dropTable);
+        }
+    }
+
+    private void appendCreateFunction(long sequence, SqlCreateFunction createFunction) {
+        final List<String> key =
+                functionKey(
+                        createFunction.getFunctionIdentifier(),
+                        createFunction.isTemporary(),
+                        createFunction.isSystemFunction());
+        if (objects.containsKey(key)) {
+            if (!createFunction.isIfNotExists()) {
+                appendOpaque(sequence, createFunction);
+            }
+            return;
+        }
+        add(sequence, createFunction);
+        lastFunctionCreation = sequence;
+        objects.put(
+                key, new ObjectState(sequence, !mayExist(key, createFunction.isIfNotExists())));
+        seenKeys.add(key);
+    }
+
+    private void appendDropFunction(long sequence, SqlDropFunction dropFunction) {
+        final List<String> key =
+                functionKey(
+                        dropFunction.getFunctionIdentifier(),
+                        dropFunction.isTemporary(),
+                        dropFunction.isSystemFunction());
+        seenKeys.add(key);
+        final ObjectState state = objects.remove(key);
+        if (state != null && state.foldable && state.creationSequence > lastExpression) {
+            entries.remove(state.creationSequence);
+        } else {
+            add(sequence, dropFunction);
+        }
+    }
+
+    /**
+     * Appends a statement that may depend on or change any object, so that none of the statements
+     * before it can be folded or removed any more.
+     */
+    private void appendOpaque(long sequence, SqlNode statement) {
+        add(sequence, statement);
+        objects.clear();
+        opaqueAppended = true;
+    }
+
+    private Entry add(long sequence, SqlNode statement) {
+        final Entry entry = new Entry(statement);
+        entries.put(sequence, entry);
+        return entry;
+    }
+
+    // --------------------------------------------------------------------------------------------
+
+    private List<String> tableKey(SqlIdentifier name, boolean isTemporary) {
+        return tableKey(name, isTemporary, currentCatalog, currentDatabase);
+    }
+
+    private static List<String> tableKey(
+            SqlIdentifier name,
+            boolean isTemporary,
+            @Nullable String catalog,
+            @Nullable String database) {
+        return qualifiedKey(isTemporary ? TEMPORARY_TABLE : TABLE, name.names, catalog, database);
+    }
+
+    private List<String> functionKey(String[] names, boolean isTemporary, boolean isSystem) {
+        if (isSystem) {
+            return Arrays.asList(TEMPORARY_SYSTEM_FUNCTION, String.join(".", names));
+        }
+        return qualifiedKey(
+                isTemporary ? TEMPORARY_FUNCTION : FUNCTION,
+                Arrays.asList(names),
+                currentCatalog,
+                currentDatabase);
+    }
+
+    /**
+     * Returns the kind followed by the catalog, database and object name, where an unknown current
+     * catalog or database is represented by null.
+     */
+    private static List<String> qualifiedKey(
+            String kind, List<String> names, @Nullable String catalog, @Nullable String database) {
+        final List<String> key = new ArrayList<>(4);
+        key.add(kind);
+        final int size = names.size();
+        key.add(size > 2 ? names.get(size - 3) : catalog);
+        key.add(size > 1 ? names.get(size - 2) : database);
+        key.add(names.get(size - 1));
+        return key;
+    }
+
+    private static void putOptions(
+            LinkedHashMap<String, SqlTableOption> options, SqlAlterTableOptions alterTable) {
+        for (SqlNode option : alterTable.getPropertyList()) {
+            final SqlTableOption tableOption = (SqlTableOption) option;
+            // a key that is set again moves to the end, as it would be listed by the catalog
+            options.remove(tableOption.getKeyString());
+            options.put(tableOption.getKeyString(), tableOption);
+        }
+    }
+
+    private static boolean hasExpressions(SqlCreateTable createTable) {
+        if (createTable.getWatermark().isPresent()) {
+            return true;
+        }
+        for (SqlNode column : createTable.getColumnList()) {
+            if (column instanceof SqlComputedColumn) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasExpressions(SqlAlterTable alterTable) {
+        if (!(alterTable instanceof SqlAlterTableSchema)) {
+            return false;
+        }
+        final SqlAlterTableSchema alterSchema = (SqlAlterTableSchema) alterTable;
+        if (alterSchema.getWatermark().isPresent()) {
+            return true;
+        }
+        for (SqlNode position : alterSchema.getColumnPositions()) {
+            if (((SqlTableColumnPosition) position).getColumn() instanceof SqlComputedColumn) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // --------------------------------------------------------------------------------------------
+
+    /** A statement of the compacted log. */
+    private static final class Entry {
+        private final SqlNode statement;
+
+        /** The model of a plain CREATE TABLE, null for other statements. */
+        @Nullable private TableSchemaModel model;
+
+        /** Whether ALTER TABLE statements were folded into {@link #model}. */
+        private boolean folded;
+
+        /** The merged options of an ALTER TABLE ... SET, null for other statements. */
+        @Nullable private LinkedHashMap<String, SqlTableOption> options;
+
+        private Entry(SqlNode statement) {
+            this.statement = statement;
+        }
+
+        private SqlNode toSqlNode() {
+            if (folded) {
+                return model.toSqlCreateTable();
+            }
+            if (options != null) {
+                final SqlAlterTableOptions alterTable = (SqlAlterTableOptions) statement;
+                return new SqlAlterTableOptions(
+                        alterTable.getParserPosition(),
+                        alterTable.getTableName(),
+                        new SqlNodeList(options.values(), SqlParserPos.ZERO),
+                        alterTable.ifTableExists());
+            }
+            return statement;
+        }
+    }
+
+    /** The state of a table or function that was created by the log. */
+    private final class ObjectState {
+        private final long creationSequence;
+        @Nullable private final String catalog;
+        @Nullable private final String database;
+
+        /**
+         * Whether the object is only defined by its creating statement, so that changes can still
+         * be folded into it and the statement can be removed when the object is dropped.
+         */
+        private boolean foldable;
+
+        /** The sequence number of the ALTER TABLE ... SET that later options are merged into. */
+        private long optionsSequence = -1;
+
+        private ObjectState(long creationSequence, boolean foldable) {
+            this.creationSequence = creationSequence;
+            this.catalog = currentCatalog;
+            this.database = currentDatabase;
+            this.foldable = foldable;
+        }
+    }
+}
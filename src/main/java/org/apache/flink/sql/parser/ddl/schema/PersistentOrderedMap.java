@@ -0,0 +1,181 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.sql.parser.ddl.schema;
+
+import javax.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A persistent map from names to values that keeps its entries in a user-defined order, such as
+ * the columns of a table or the options of a WITH clause.
+ *
+ * <p>Every entry has an order key. One {@link PersistentSortedMap} maps order keys to entries,
+ * another one maps names to order keys, so lookups, inserts at the front, the back or after a
+ * given name, moves, renames and removals all take O(log n) time and share all unchanged nodes
+ * with the original map. The order keys of consecutive entries are {@link #GAP} apart, so that
+ * new entries can be put between them; the keys are renumbered when there is no room left between
+ * two keys, which can only happen after many inserts at the same position.
+ *
+ * @param <V> type of the values
+ */
+final class PersistentOrderedMap<V> {
+
+    static final long GAP = 1L << 32;
+
+    private static final PersistentOrderedMap<?> EMPTY =
+            new PersistentOrderedMap<>(
+                    PersistentSortedMap.empty(Comparator.<Long>naturalOrder()),
+                    PersistentSortedMap.empty(Comparator.<String>naturalOrder()));
+
+    private final PersistentSortedMap<Long, Entry<V>> entries;
+    private final PersistentSortedMap<String, Long> orderKeys;
+
+    private PersistentOrderedMap(
+            PersistentSortedMap<Long, Entry<V>> entries,
+            PersistentSortedMap<String, Long> orderKeys) {
+        this.entries = entries;
+        this.orderKeys = orderKeys;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <V> PersistentOrderedMap<V> empty() {
+        return (PersistentOrderedMap<V>) EMPTY;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    boolean containsKey(String name) {
+        return orderKeys.containsKey(name);
+    }
+
+    @Nullable
+    V get(String name) {
+        final Long orderKey = orderKeys.get(name);
+        return orderKey == null ? null : entries.get(orderKey).value;
+    }
+
+    /** Returns the position of the given name, or -1 if the map does not contain it. */
+    int indexOf(String name) {
+        final Long orderKey = orderKeys.get(name);
+        return orderKey == null ? -1 : entries.rank(orderKey);
+    }
+
+    /** Returns the values in order. */
+    List<V> values() {
+        final List<V> values = new ArrayList<>(size());
+        for (Entry<V> entry : entries) {
+            values.add(entry.value);
+        }
+        return values;
+    }
+
+    /** Returns the names in order. */
+    List<String> names() {
+        final List<String> names = new ArrayList<>(size());
+        for (Entry<V> entry : entries) {
+            names.add(entry.name);
+        }
+        return names;
+    }
+
+    /**
+     * Puts the given value under the given name. An existing entry with that name keeps its
+     * position, a new one is put last.
+     */
+    PersistentOrderedMap<V> put(String name, V value) {
+        final Long orderKey = orderKeys.get(name);
+        if (orderKey != null) {
+            return new PersistentOrderedMap<>(
+                    entries.put(orderKey, new Entry<>(name, value)), orderKeys);
+        }
+        final Long last = entries.lastKey();
+        return insert(last == null ? 0L : last + GAP, name, value);
+    }
+
+    /** Puts the given value first, an existing entry with that name is moved. */
+    PersistentOrderedMap<V> putFirst(String name, V value) {
+        final PersistentOrderedMap<V> map = remove(name);
+        final Long first = map.entries.firstKey();
+        return map.insert(first == null ? 0L : first - GAP, name, value);
+    }
+
+    /**
+     * Puts the given value right after the entry with the name {@code after}, which must exist; an
+     * existing entry with the given name is moved.
+     */
+    PersistentOrderedMap<V> putAfter(String after, String name, V value) {
+        if (after.equals(name)) {
+            return put(name, value);
+        }
+        final PersistentOrderedMap<V> map = remove(name);
+        final long previous = map.orderKeys.get(after);
+        final Long next = map.entries.higherKey(previous);
+        if (next == null) {
+            return map.insert(previous + GAP, name, value);
+        } else if (next - previous > 1) {
+            return map.insert(previous + (next - previous) / 2, name, value);
+        }
+        return map.renumber().putAfter(after, name, value);
+    }
+
+    /** Renames the entry with the name {@code from}, which must exist, keeping its position. */
+    PersistentOrderedMap<V> rename(String from, String to, V value) {
+        final long orderKey = orderKeys.get(from);
+        return new PersistentOrderedMap<>(
+                entries.put(orderKey, new Entry<>(to, value)),
+                orderKeys.remove(from).put(to, orderKey));
+    }
+
+    /** Removes the entry with the given name, if any. */
+    PersistentOrderedMap<V> remove(String name) {
+        final Long orderKey = orderKeys.get(name);
+        if (orderKey == null) {
+            return this;
+        }
+        return new PersistentOrderedMap<>(entries.remove(orderKey), orderKeys.remove(name));
+    }
+
+    private PersistentOrderedMap<V> insert(long orderKey, String name, V value) {
+        return new PersistentOrderedMap<>(
+                entries.put(orderKey, new Entry<>(name, value)), orderKeys.put(name, orderKey));
+    }
+
+    private PersistentOrderedMap<V> renumber() {
+        PersistentOrderedMap<V> map = empty();
+        for (Entry<V> entry : entries) {
+            map = map.put(entry.name, entry.value);
+        }
+        return map;
+    }
+
+    private static final class Entry<V> {
+        final String name;
+        final V value;
+
+        Entry(String name, V value) {
+            this.name = name;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,286 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.sql.parser.ddl.schema;
+
+import javax.annotation.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A persistent sorted map, implemented as an AVL tree with path copying.
+ *
+ * <p>Updates return a new map and leave this one unchanged; the new map shares all nodes that are
+ * not on the path to the changed key, so {@link #put}, {@link #remove}, {@link #get}, {@link
+ * #rank} and the neighbour lookups all take O(log n) time, and updates O(log n) space.
+ *
+ * @param <K> type of the keys
+ * @param <V> type of the values
+ */
+final class PersistentSortedMap<K, V> implements Iterable<V> {
+
+    private final Comparator<? super K> comparator;
+    @Nullable private final Node<K, V> root;
+
+    private PersistentSortedMap(Comparator<? super K> comparator, @Nullable Node<K, V> root) {
+        this.comparator = comparator;
+        this.root = root;
+    }
+
+    static <K, V> PersistentSortedMap<K, V> empty(Comparator<? super K> comparator) {
+        return new PersistentSortedMap<>(comparator, null);
+    }
+
+    int size() {
+        return size(root);
+    }
+
+    boolean isEmpty() {
+        return root == null;
+    }
+
+    @Nullable
+    V get(K key) {
+        Node<K, V> node = root;
+        while (node != null) {
+            final int c = comparator.compare(key, node.key);
+            if (c == 0) {
+                return node.value;
+            }
+            node = c < 0 ? node.left : node.right;
+        }
+        return null;
+    }
+
+    boolean containsKey(K key) {
+        return get(key) != null;
+    }
+
+    /** Returns a map with the given key mapped to the given value, which must not be null. */
+    PersistentSortedMap<K, V> put(K key, V value) {
+        final Node<K, V> newRoot = put(root, key, value);
+        return newRoot == root ? this : new PersistentSortedMap<>(comparator, newRoot);
+    }
+
+    /** Returns a map without the given key, or this map if it does not contain the key. */
+    PersistentSortedMap<K, V> remove(K key) {
+        final Node<K, V> newRoot = remove(root, key);
+        return newRoot == root ? this : new PersistentSortedMap<>(comparator, newRoot);
+    }
+
+    /** Returns the number of keys that are less than the given key. */
+    int rank(K key) {
+        int rank = 0;
+        Node<K, V> node = root;
+        while (node != null) {
+            final int c = comparator.compare(key, node.key);
+            if (c <= 0) {
+                if (c == 0) {
+                    return rank + size(node.left);
+                }
+                node = node.left;
+            } else {
+                rank += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return rank;
+    }
+
+    @Nullable
+    K firstKey() {
+        Node<K, V> node = root;
+        if (node == null) {
+            return null;
+        }
+        while (node.left != null) {
+            node = node.left;
+        }
+        return node.key;
+    }
+
+    @Nullable
+    K lastKey() {
+        Node<K, V> node = root;
+        if (node == null) {
+            return null;
+        }
+        while (node.right != null) {
+            node = node.right;
+        }
+        return node.key;
+    }
+
+    /** Returns the least key greater than the given key, or null if there is none. */
+    @Nullable
+    K higherKey(K key) {
+        K higher = null;
+        Node<K, V> node = root;
+        while (node != null) {
+            if (comparator.compare(key, node.key) < 0) {
+                higher = node.key;
+                node = node.left;
+            } else {
+                node = node.right;
+            }
+        }
+        return higher;
+    }
+
+    /** Iterates over the values in the order of their keys. */
+    @Override
+    public Iterator<V> iterator() {
+        return new Iterator<V>() {
+            private final Deque<Node<K, V>> stack = new ArrayDeque<>();
+
+            {
+                pushLeft(root);
+            }
+
+            private void pushLeft(@Nullable Node<K, V> node) {
+                for (; node != null; node = node.left) {
+                    stack.push(node);
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return !stack.isEmpty();
+            }
+
+            @Override
+            public V next() {
+                if (stack.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+                final Node<K, V> node = stack.pop();
+                pushLeft(node.right);
+                return node.value;
+            }
+        };
+    }
+
+    // --------------------------------------------------------------------------------------------
+
+    private Node<K, V> put(@Nullable Node<K, V> node, K key, V value) {
+        if (node == null) {
+            return new Node<>(key, value, null, null);
+        }
+        final int c = comparator.compare(key, node.key);
+        if (c == 0) {
+            return node.value == value ? node : new Node<>(key, value, node.left, node.right);
+        } else if (c < 0) {
+            final Node<K, V> left = put(node.left, key, value);
+            return left == node.left ? node : balance(node.key, node.value, left, node.right);
+        } else {
+            final Node<K, V> right = put(node.right, key, value);
+            return right == node.right ? node : balance(node.key, node.value, node.left, right);
+        }
+    }
+
+    @Nullable
+    private Node<K, V> remove(@Nullable Node<K, V> node, K key) {
+        if (node == null) {
+            return null;
+        }
+        final int c = comparator.compare(key, node.key);
+        if (c < 0) {
+            final Node<K, V> left = remove(node.left, key);
+            return left == node.left ? node : balance(node.key, node.value, left, node.right);
+        } else if (c > 0) {
+            final Node<K, V> right = remove(node.right, key);
+            return right == node.right ? node : balance(node.key, node.value, node.left, right);
+        } else if (node.left == null) {
+            return node.right;
+        } else if (node.right == null) {
+            return node.left;
+        }
+        Node<K, V> successor = node.right;
+        while (successor.left != null) {
+            successor = successor.left;
+        }
+        return balance(successor.key, successor.value, node.left, removeMin(node.right));
+    }
+
+    @Nullable
+    private static <K, V> Node<K, V> removeMin(Node<K, V> node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        return balance(node.key, node.value, removeMin(node.left), node.right);
+    }
+
+    private static <K, V> Node<K, V> balance(
+            K key, V value, @Nullable Node<K, V> left, @Nullable Node<K, V> right) {
+        final int diff = height(left) - height(right);
+        if (diff > 1) {
+            if (height(left.left) < height(left.right)) {
+                left = rotateLeft(left.key, left.value, left.left, left.right);
+            }
+            return rotateRight(key, value, left, right);
+        } else if (diff < -1) {
+            if (height(right.right) < height(right.left)) {
+                right = rotateRight(right.key, right.value, right.left, right.right);
+            }
+            return rotateLeft(key, value, left, right);
+        }
+        return new Node<>(key, value, left, right);
+    }
+
+    private static <K, V> Node<K, V> rotateRight(
+            K key, V value, Node<K, V> left, @Nullable Node<K, V> right) {
+        return new Node<>(
+                left.key, left.value, left.left, new Node<>(key, value, left.right, right));
+    }
+
+    private static <K, V> Node<K, V> rotateLeft(
+            K key, V value, @Nullable Node<K, V> left, Node<K, V> right) {
+        return new Node<>(
+                right.key, right.value, new Node<>(key, value, left, right.left), right.right);
+    }
+
+    private static int height(@Nullable Node<?, ?> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static int size(@Nullable Node<?, ?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static final class Node<K, V> {
+        final K key;
+        final V value;
+        @Nullable final Node<K, V> left;
+        @Nullable final Node<K, V> right;
+        final int height;
+        final int size;
+
+        Node(K key, V value, @Nullable Node<K, V> left, @Nullable Node<K, V> right) {
+            this.key = key;
+            this.value = value;
+            this.left = left;
+            this.right = right;
+            this.height = Math.max(height(left), height(right)) + 1;
+            this.size = size(left) + size(right) + 1;
+        }
+    }
+}
@@ -0,0 +1,553 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.sql.parser.ddl.schema;
+
+import org.apache.flink.sql.parser.SqlStructuralKey;
+import org.apache.flink.sql.parser.ddl.SqlAlterTable;
+import org.apache.flink.sql.parser.ddl.SqlAlterTableAdd;
+import org.apache.flink.sql.parser.ddl.SqlAlterTableDropColumn;
+import org.apache.flink.sql.parser.ddl.SqlAlterTableDropDistribution;
+import org.apache.flink.sql.parser.ddl.SqlAlterTableDropPrimaryKey;
+import org.apache.flink.sql.parser.ddl.SqlAlterTableDropWatermark;
+import org.apache.flink.sql.parser.ddl.SqlAlterTableModify;
+import org.apache.flink.sql.parser.ddl.SqlAlterTableOptions;
+import org.apache.flink.sql.parser.ddl.SqlAlterTableRenameColumn;
+import org.apache.flink.sql.parser.ddl.SqlAlterTableReset;
+import org.apache.flink.sql.parser.ddl.SqlCreateTable;
+import org.apache.flink.sql.parser.ddl.SqlDistribution;
+import org.apache.flink.sql.parser.ddl.SqlTableColumn;
+import org.apache.flink.sql.parser.ddl.SqlTableColumn.SqlComputedColumn;
+import org.apache.flink.sql.parser.ddl.SqlTableColumn.SqlRegularColumn;
+import org.apache.flink.sql.parser.ddl.SqlTableOption;
+import org.apache.flink.sql.parser.ddl.SqlWatermark;
+import org.apache.flink.sql.parser.ddl.constraint.SqlTableConstraint;
+import org.apache.flink.sql.parser.ddl.position.SqlColumnPosSpec;
+import org.apache.flink.sql.parser.ddl.position.SqlTableColumnPosition;
+import org.apache.flink.sql.parser.error.SqlValidateException;
+
+import org.apache.calcite.sql.SqlIdentifier;
+import org.apache.calcite.sql.SqlLiteral;
+import org.apache.calcite.sql.SqlNode;
+import org.apache.calcite.sql.SqlNodeList;
+import org.apache.calcite.sql.parser.SqlParserPos;
+
+import javax.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Computes the ALTER TABLE statements that change one table definition into another, so that a
+ * changed table does not need to be dropped and created again.
+ *
+ * <p>The statements are applied in the following order, each kind only if needed:
+ *
+ * <ol>
+ *   <li>DROP WATERMARK, DROP PRIMARY KEY and DROP DISTRIBUTION, if the part is removed or uses a
+ *       column that is dropped or renamed, or if the primary key loses a column;
+ *   <li>one DROP statement for the computed columns whose expressions use a column that is
+ *       renamed, or that is dropped while they are kept, directly or through other such computed
+ *       columns. They are added again with their target definition below;
+ *   <li>one RENAME statement per renamed column;
+ *   <li>one DROP statement for all dropped columns;
+ *   <li>ADD and MODIFY statements for new, changed and moved columns, in the order of the target
+ *       table, where consecutive changes of the same kind share a statement. Only the columns
+ *       that are not part of a longest subsequence of kept columns that are already in the target
+ *       order are moved, with FIRST or AFTER their predecessor in the target table;
+ *   <li>the added or modified primary key, watermark and distribution, as part of the last
+ *       statement of the same kind if possible;
+ *   <li>SET for added and changed options and RESET for removed ones.
+ * </ol>
+ *
+ * <p>A column that only exists in the source table is considered renamed if a column that only
+ * exists in the target table has the same definition apart from its name. If there are several
+ * candidates, the one at the same position is preferred, otherwise the first one in the target
+ * table, so the result only depends on the two definitions.
+ *
+ * <p>Statements are generated against the name of the source table. The partition keys, the
+ * comment and whether the table is temporary cannot be changed by ALTER TABLE statements; the
+ * order of the options is not compared.
+ */
+public final class TableSchemaDiff {
+
+    private final TableSchemaModel from;
+    private final TableSchemaModel to;
+    private final SqlIdentifier tableName;
+    private final Set<String> targetPrimaryKey;
+
+    /** Old names of renamed columns to their new names, in the order of the source table. */
+    private final Map<String, String> renames = new LinkedHashMap<>();
+
+    /** New names of renamed columns to their old names. */
+    private final Map<String, String> oldNames = new HashMap<>();
+
+    private final List<String> dropped = new ArrayList<>();
+
+    /**
+     * Computed columns that use a renamed or dropped column, in the order of the source table.
+     * They are dropped before the columns they use and added again.
+     */
+    private final List<String> dependents = new ArrayList<>();
+
+    private final List<SchemaChange> schemaChanges = new ArrayList<>();
+
+    private TableSchemaDiff(TableSchemaModel from, TableSchemaModel to) {
+        this.from = from;
+        this.to = to;
+        this.tableName = from.getTableName();
+        this.targetPrimaryKey =
+                to.getPrimaryKey()
+                        .map(key -> new HashSet<>(names(key.getColumns())))
+                        .orElseGet(HashSet::new);
+    }
+
+    /**
+     * Returns the ALTER TABLE statements that change the table defined by {@code from} into the
+     * one defined by {@code to}, see {@link TableSchemaDiff}.
+     *
+     * @throws SqlValidateException if one of the definitions is invalid or cannot be modelled by
+     *     {@link TableSchemaModel}, or if the difference cannot be expressed by ALTER TABLE
+     *     statements
+     */
+    public static List<SqlAlterTable> diff(SqlCreateTable from, SqlCreateTable to)
+            throws SqlValidateException {
+        return diff(TableSchemaModel.of(from), TableSchemaModel.of(to));
+    }
+
+    /** Like {@link #diff(SqlCreateTable, SqlCreateTable)}, for models of the definitions. */
+    public static List<SqlAlterTable> diff(TableSchemaModel from, TableSchemaModel to)
+            throws SqlValidateException {
+        return new TableSchemaDiff(from, to).diff();
+    }
+
+    private List<SqlAlterTable> diff() throws SqlValidateException {
+        checkUnchanged(
+                names(from.getPartitionKeyList()).equals(names(to.getPartitionKeyList())),
+                "partition keys");
+        checkUnchanged(
+                SqlStructuralKey.structurallyEqual(
+                        from.getComment().orElse(null), to.getComment().orElse(null)),
+                "comment");
+        checkUnchanged(from.isTemporary() == to.isTemporary(), "temporary flag");
+        matchColumns();
+        findDependents();
+        // a partition key that is dropped and added again would change the partitioning
+        checkUnchanged(
+                !containsAny(new HashSet<>(dependents), names(from.getPartitionKeyList())),
+                "partition keys");
+
+        final List<SqlAlterTable> statements = new ArrayList<>();
+        final Set<String> removedNames = new HashSet<>(dropped);
+        removedNames.addAll(renames.keySet());
+        removedNames.addAll(dependents);
+
+        // primary key
+        final SqlTableConstraint fromKey = from.getPrimaryKey().orElse(null);
+        final SqlTableConstraint toKey = to.getPrimaryKey().orElse(null);
+        final boolean keyChanged = !samePrimaryKey(fromKey, toKey);
+        final boolean dropKey =
+                keyChanged
+                        && fromKey != null
+                        && (toKey == null
+                                || !targetPrimaryKey.containsAll(
+                                        renamed(names(fromKey.getColumns()))));
+        if (dropKey) {
+            statements.add(new SqlAlterTableDropPrimaryKey(SqlParserPos.ZERO, tableName, false));
+        }
+
+        // watermark
+        final SqlWatermark fromWatermark = from.getWatermark().orElse(null);
+        final SqlWatermark toWatermark = to.getWatermark().orElse(null);
+        final boolean watermarkChanged =
+                !SqlStructuralKey.structurallyEqual(fromWatermark, toWatermark);
+        final boolean dropWatermark =
+                fromWatermark != null
+                        && ((watermarkChanged && toWatermark == null)
+                                || removedNames.contains(
+                                        fromWatermark.getEventTimeColumnName().names.get(0))
+                                || containsAny(
+                                        removedNames,
+                                        TableSchemaModel.references(
+                                                fromWatermark.getWatermarkStrategy())));
+        if (dropWatermark) {
+            statements.add(new SqlAlterTableDropWatermark(SqlParserPos.ZERO, tableName, false));
+        }
+
+        // distribution
+        final SqlDistribution fromDistribution = from.getDistribution().orElse(null);
+        final SqlDistribution toDistribution = to.getDistribution().orElse(null);
+        final boolean distributionChanged =
+                !SqlStructuralKey.structurallyEqual(fromDistribution, toDistribution);
+        final boolean dropDistribution =
+                distributionChanged
+                        && fromDistribution != null
+                        && (toDistribution == null
+                                || (fromDistribution.getBucketColumns() != null
+                                        && containsAny(
+                                                removedNames,
+                                                names(fromDistribution.getBucketColumns()))));
+        if (dropDistribution) {
+            statements.add(
+                    new SqlAlterTableDropDistribution(SqlParserPos.ZERO, tableName, false));
+        }
+
+        if (!dependents.isEmpty()) {
+            statements.add(dropColumns(dependents));
+        }
+        for (Map.Entry<String, String> rename : renames.entrySet()) {
+            statements.add(
+                    new SqlAlterTableRenameColumn(
+                            SqlParserPos.ZERO,
+                            tableName,
+                            identifier(rename.getKey()),
+                            identifier(rename.getValue()),
+                            false));
+        }
+        if (!dropped.isEmpty()) {
+            statements.add(dropColumns(dropped));
+        }
+
+        diffColumns();
+        if (keyChanged && toKey != null) {
+            change(fromKey == null || dropKey).primaryKey = toKey;
+        }
+        if ((watermarkChanged || dropWatermark) && toWatermark != null) {
+            change(fromWatermark == null || dropWatermark).watermark = toWatermark;
+        }
+        if (distributionChanged && toDistribution != null) {
+            change(fromDistribution == null || dropDistribution).distribution = toDistribution;
+        }
+        for (SchemaChange change : schemaChanges) {
+            statements.add(change.toSqlNode(tableName));
+        }
+
+        diffOptions(statements);
+        return statements;
+    }
+
+    /** Finds the renamed and dropped columns. */
+    private void matchColumns() {
+        final Set<String> added = new LinkedHashSet<>();
+        for (String name : to.getColumnNames()) {
+            if (from.indexOfColumn(name) < 0) {
+                added.add(name);
+            }
+        }
+        for (String name : from.getColumnNames()) {
+            if (to.indexOfColumn(name) >= 0) {
+                continue;
+            }
+            final SqlTableColumn column = from.getColumn(name).get();
+            final int index = from.indexOfColumn(name);
+            String match = null;
+            for (String candidate : added) {
+                if (sameDefinition(column, to.getColumn(candidate).get())) {
+                    if (match == null) {
+                        match = candidate;
+                    }
+                    if (to.indexOfColumn(candidate) == index) {
+                        match = candidate;
+                        break;
+                    }
+                }
+            }
+            if (match == null) {
+                dropped.add(name);
+            } else {
+                added.remove(match);
+                renames.put(name, match);
+                oldNames.put(match, name);
+            }
+        }
+    }
+
+    /**
+     * Finds the computed columns that use a renamed column, or a dropped column while they are
+     * kept, directly or through other such columns, and takes them out of the renamed and dropped
+     * columns.
+     */
+    private void findDependents() {
+        final Set<String> renamedOrDependent = new HashSet<>(renames.keySet());
+        final Set<String> droppedNames = new HashSet<>(dropped);
+        boolean found = true;
+        while (found) {
+            found = false;
+            for (String name : from.getColumnNames()) {
+                final SqlTableColumn column = from.getColumn(name).get();
+                if (!(column instanceof SqlComputedColumn) || dependents.contains(name)) {
+                    continue;
+                }
+                final Set<String> references =
+                        TableSchemaModel.references(((SqlComputedColumn) column).getExpr());
+                if (containsAny(renamedOrDependent, references)
+                        || (!droppedNames.contains(name)
+                                && containsAny(droppedNames, references))) {
+                    dependents.add(name);
+                    renamedOrDependent.add(name);
+                    found = true;
+                }
+            }
+        }
+        // in the order of the source table
+        dependents.sort(
+                (name1, name2) ->
+                        Integer.compare(from.indexOfColumn(name1), from.indexOfColumn(name2)));
+        dropped.removeAll(dependents);
+        for (String name : dependents) {
+            final String newName = renames.remove(name);
+            if (newName != null) {
+                oldNames.remove(newName);
+            }
+        }
+    }
+
+    /** Adds, modifies and moves the columns. */
+    private void diffColumns() {
+        final List<String> targetNames = to.getColumnNames();
+        final Map<String, Integer> targetIndexes = new HashMap<>();
+        for (int i = 0; i < targetNames.size(); i++) {
+            targetIndexes.put(targetNames.get(i), i);
+        }
+        final List<Integer> keptIndexes = new ArrayList<>();
+        for (String name : from.getColumnNames()) {
+            final Integer index = targetIndexes.get(renames.getOrDefault(name, name));
+            if (index != null && !dependents.contains(name)) {
+                keptIndexes.add(index);
+            }
+        }
+        final Set<Integer> inPlace = longestIncreasingSubsequence(keptIndexes);
+
+        for (int i = 0; i < targetNames.size(); i++) {
+            final String name = targetNames.get(i);
+            final SqlTableColumn column = to.getColumn(name).get();
+            final String oldName = oldNames.getOrDefault(name, name);
+            final SqlTableColumn oldColumn = from.getColumn(oldName).orElse(null);
+            final boolean isNew =
+                    oldColumn == null
+                            || dropped.contains(oldName)
+                            || dependents.contains(oldName);
+            if (isNew || !inPlace.contains(i)) {
+                final SqlTableColumnPosition position =
+                        new SqlTableColumnPosition(
+                                SqlParserPos.ZERO,
+                                column,
+                                i == 0
+                                        ? SqlColumnPosSpec.FIRST.symbol(SqlParserPos.ZERO)
+                                        : SqlColumnPosSpec.AFTER.symbol(SqlParserPos.ZERO),
+                                i == 0 ? null : identifier(targetNames.get(i - 1)));
+                change(isNew).columnPositions.add(position);
+            } else if (!sameDefinition(oldColumn, column)) {
+                change(false)
+                        .columnPositions
+                        .add(new SqlTableColumnPosition(SqlParserPos.ZERO, column, null, null));
+            }
+        }
+    }
+
+    private void diffOptions(List<SqlAlterTable> statements) {
+        final Map<String, String> fromOptions = from.getOptions();
+        final Map<String, String> toOptions = to.getOptions();
+        final SqlNodeList setOptions = new SqlNodeList(SqlParserPos.ZERO);
+        for (SqlTableOption option : to.getOptionList()) {
+            if (!option.getValueString().equals(fromOptions.get(option.getKeyString()))) {
+                setOptions.add(option);
+            }
+        }
+        if (setOptions.size() > 0) {
+            statements.add(
+                    new SqlAlterTableOptions(SqlParserPos.ZERO, tableName, setOptions, false));
+        }
+        final SqlNodeList resetKeys = new SqlNodeList(SqlParserPos.ZERO);
+        for (String key : fromOptions.keySet()) {
+            if (!toOptions.containsKey(key)) {
+                resetKeys.add(SqlLiteral.createCharString(key, SqlParserPos.ZERO));
+            }
+        }
+        if (resetKeys.size() > 0) {
+            statements.add(
+                    new SqlAlterTableReset(SqlParserPos.ZERO, tableName, resetKeys, false));
+        }
+    }
+
+    /**
+     * Returns the ADD or MODIFY change that the next part should be added to, which is the last
+     * change if it is of the given kind.
+     */
+    private SchemaChange change(boolean isAdd) {
+        if (schemaChanges.isEmpty()
+                || schemaChanges.get(schemaChanges.size() - 1).isAdd != isAdd) {
+            schemaChanges.add(new SchemaChange(isAdd));
+        }
+        return schemaChanges.get(schemaChanges.size() - 1);
+    }
+
+    /**
+     * Returns whether the given columns are defined the same apart from their names. The
+     * nullability of columns of the target primary key is ignored, as they are made NOT NULL by
+     * the primary key anyway.
+     */
+    private boolean sameDefinition(SqlTableColumn fromColumn, SqlTableColumn toColumn) {
+        SqlTableColumn column1 = fromColumn.withName(toColumn.getName());
+        SqlTableColumn column2 = toColumn;
+        if (targetPrimaryKey.contains(toColumn.getName().getSimple())
+                && column1 instanceof SqlRegularColumn
+                && column2 instanceof SqlRegularColumn) {
+            column1 = notNull((SqlRegularColumn) column1);
+            column2 = notNull((SqlRegularColumn) column2);
+        }
+        return SqlStructuralKey.structurallyEqual(column1, column2);
+    }
+
+    private boolean samePrimaryKey(
+            @Nullable SqlTableConstraint fromKey, @Nullable SqlTableConstraint toKey) {
+        if (fromKey == null || toKey == null) {
+            return fromKey == toKey;
+        }
+        return fromKey.getConstraintName().equals(toKey.getConstraintName())
+                && renamed(names(fromKey.getColumns())).equals(names(toKey.getColumns()));
+    }
+
+    /** Returns the names of the given columns after renaming. */
+    private List<String> renamed(List<String> names) {
+        final List<String> result = new ArrayList<>(names.size());
+        for (String name : names) {
+            result.add(renames.getOrDefault(name, name));
+        }
+        return result;
+    }
+
+    /** Returns the positions of a longest strictly increasing subsequence of the given values. */
+    static Set<Integer> longestIncreasingSubsequence(List<Integer> values) {
+        final int[] tails = new int[values.size()];
+        final int[] previous = new int[values.size()];
+        int length = 0;
+        for (int i = 0; i < values.size(); i++) {
+            int low = 0;
+            int high = length;
+            while (low < high) {
+                final int mid = (low + high) >>> 1;
+                if (values.get(tails[mid]) < values.get(i)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            previous[i] = low > 0 ? tails[low - 1] : -1;
+            tails[low] = i;
+            length = Math.max(length, low + 1);
+        }
+        final Set<Integer> result = new HashSet<>();
+        for (int i = length > 0 ? tails[length - 1] : -1; i >= 0; i = previous[i]) {
+            result.add(values.get(i));
+        }
+        return result;
+    }
+
+    private static void checkUnchanged(boolean unchanged, String what)
+            throws SqlValidateException {
+        if (!unchanged) {
+            throw new SqlValidateException(
+                    SqlParserPos.ZERO,
+                    String.format(
+                            "The %s of a table cannot be changed by ALTER TABLE statements.",
+                            what));
+        }
+    }
+
+    private static SqlRegularColumn notNull(SqlRegularColumn column) {
+        return column.withType(column.getType().withNullable(false));
+    }
+
+    private SqlAlterTable dropColumns(List<String> names) {
+        final SqlNodeList columns = new SqlNodeList(SqlParserPos.ZERO);
+        for (String name : names) {
+            columns.add(identifier(name));
+        }
+        return new SqlAlterTableDropColumn(SqlParserPos.ZERO, tableName, columns, false);
+    }
+
+    private static boolean containsAny(Set<String> set, Collection<String> names) {
+        for (String name : names) {
+            if (set.contains(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<String> names(@Nullable SqlNodeList identifiers) {
+        if (identifiers == null) {
+            return Collections.emptyList();
+        }
+        final List<String> names = new ArrayList<>(identifiers.size());
+        for (SqlNode identifier : identifiers) {
+            names.add(((SqlIdentifier) identifier).getSimple());
+        }
+        return names;
+    }
+
+    private static SqlIdentifier identifier(String name) {
+        return new SqlIdentifier(name, SqlParserPos.ZERO);
+    }
+
+    /** The parts of an ALTER TABLE ADD or ALTER TABLE MODIFY statement. */
+    private static final class SchemaChange {
+        final boolean isAdd;
+        final SqlNodeList columnPositions = new SqlNodeList(SqlParserPos.ZERO);
+        @Nullable SqlTableConstraint primaryKey;
+        @Nullable SqlWatermark watermark;
+        @Nullable SqlDistribution distribution;
+
+        SchemaChange(boolean isAdd) {
+            this.isAdd = isAdd;
+        }
+
+        SqlAlterTable toSqlNode(SqlIdentifier tableName) {
+            final List<SqlTableConstraint> constraints =
+                    primaryKey == null
+                            ? Collections.emptyList()
+                            : Collections.singletonList(primaryKey);
+            return isAdd
+                    ? new SqlAlterTableAdd(
+                            SqlParserPos.ZERO,
+                            tableName,
+                            columnPositions,
+                            constraints,
+                            watermark,
+                            distribution,
+                            false)
+                    : new SqlAlterTableModify(
+                            SqlParserPos.ZERO,
+                            tableName,
+                            columnPositions,
+                            constraints,
+                            watermark,
+                            distribution,
+                            false);
+        }
+    }
+}
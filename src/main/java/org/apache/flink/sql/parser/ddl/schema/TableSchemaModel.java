@@ -0,0 +1,708 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.sql.parser.ddl.schema;
+
+import org.apache.flink.sql.parser.SqlConstraintValidator;
+import org.apache.flink.sql.parser.ddl.SqlAlterTable;
+import org.apache.flink.sql.parser.ddl.SqlAlterTableAdd;
+import org.apache.flink.sql.parser.ddl.SqlAlterTableAddConstraint;
+import org.apache.flink.sql.parser.ddl.SqlAlterTableDropColumn;
+import org.apache.flink.sql.parser.ddl.SqlAlterTableDropConstraint;
+import org.apache.flink.sql.parser.ddl.SqlAlterTableDropDistribution;
+import org.apache.flink.sql.parser.ddl.SqlAlterTableDropPrimaryKey;
+import org.apache.flink.sql.parser.ddl.SqlAlterTableDropWatermark;
+import org.apache.flink.sql.parser.ddl.SqlAlterTableModify;
+import org.apache.flink.sql.parser.ddl.SqlAlterTableOptions;
+import org.apache.flink.sql.parser.ddl.SqlAlterTableRename;
+import org.apache.flink.sql.parser.ddl.SqlAlterTableRenameColumn;
+import org.apache.flink.sql.parser.ddl.SqlAlterTableReset;
+import org.apache.flink.sql.parser.ddl.SqlAlterTableSchema;
+import org.apache.flink.sql.parser.ddl.SqlCreateTable;
+import org.apache.flink.sql.parser.ddl.SqlCreateTableAs;
+import org.apache.flink.sql.parser.ddl.SqlCreateTableLike;
+import org.apache.flink.sql.parser.ddl.SqlDistribution;
+import org.apache.flink.sql.parser.ddl.SqlTableColumn;
+import org.apache.flink.sql.parser.ddl.SqlTableColumn.SqlComputedColumn;
+import org.apache.flink.sql.parser.ddl.SqlTableColumn.SqlRegularColumn;
+import org.apache.flink.sql.parser.ddl.SqlTableOption;
+import org.apache.flink.sql.parser.ddl.SqlWatermark;
+import org.apache.flink.sql.parser.ddl.constraint.SqlTableConstraint;
+import org.apache.flink.sql.parser.ddl.position.SqlTableColumnPosition;
+import org.apache.flink.sql.parser.error.SqlValidateException;
+
+import org.apache.calcite.sql.SqlCall;
+import org.apache.calcite.sql.SqlCharStringLiteral;
+import org.apache.calcite.sql.SqlDataTypeSpec;
+import org.apache.calcite.sql.SqlIdentifier;
+import org.apache.calcite.sql.SqlLiteral;
+import org.apache.calcite.sql.SqlNode;
+import org.apache.calcite.sql.SqlNodeList;
+import org.apache.calcite.sql.parser.SqlParserPos;
+
+import javax.annotation.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * A persistent model of the schema and options of a table, to which ALTER TABLE statements can be
+ * applied one after the other, e.g. to replay a catalog log.
+ *
+ * <p>The model is immutable. {@link #apply} returns a new model that shares everything but the
+ * changed parts with this one: columns and options are kept in {@link PersistentOrderedMap}s, so
+ * adding, modifying, moving, renaming or dropping a column and setting or resetting an option
+ * takes O(log n) time and space, and FIRST/AFTER positions are resolved without scanning the
+ * columns. {@link #toSqlCreateTable()} emits the equivalent CREATE TABLE statement on demand.
+ *
+ * <p>The primary key is kept as a table constraint, also if it was declared with a column. The
+ * columns of the primary key are made NOT NULL, as by {@link SqlCreateTable#validate()}.
+ *
+ * <p>Applying a statement checks that the columns, constraints, watermarks and distributions it
+ * refers to exist, or do not exist yet, and that a column which is dropped or renamed is not used
+ * by the primary key (renaming is allowed there), the watermark, the partition keys or the
+ * distribution. Expressions of computed columns and watermark strategies are not checked, which
+ * would take time linear in the number of columns.
+ */
+public final class TableSchemaModel {
+
+    private final SqlParserPos pos;
+    private final SqlIdentifier tableName;
+    private final PersistentOrderedMap<SqlTableColumn> columns;
+    @Nullable private final SqlTableConstraint primaryKey;
+    @Nullable private final SqlWatermark watermark;
+    @Nullable private final SqlDistribution distribution;
+    private final SqlNodeList partitionKeyList;
+    private final PersistentOrderedMap<SqlTableOption> options;
+    @Nullable private final SqlCharStringLiteral comment;
+    private final boolean isTemporary;
+    private final boolean ifNotExists;
+
+    private TableSchemaModel(
+            SqlParserPos pos,
+            SqlIdentifier tableName,
+            PersistentOrderedMap<SqlTableColumn> columns,
+            @Nullable SqlTableConstraint primaryKey,
+            @Nullable SqlWatermark watermark,
+            @Nullable SqlDistribution distribution,
+            SqlNodeList partitionKeyList,
+            PersistentOrderedMap<SqlTableOption> options,
+            @Nullable SqlCharStringLiteral comment,
+            boolean isTemporary,
+            boolean ifNotExists) {
+        this.pos = pos;
+        this.tableName = tableName;
+        this.columns = columns;
+        this.primaryKey = primaryKey;
+        this.watermark = watermark;
+        this.distribution = distribution;
+        this.partitionKeyList = partitionKeyList;
+        this.options = options;
+        this.comment = comment;
+        this.isTemporary = isTemporary;
+        this.ifNotExists = ifNotExists;
+    }
+
+    /**
+     * Creates the model of the table defined by the given statement.
+     *
+     * @throws SqlValidateException if the statement is invalid, or a CREATE TABLE ... AS or CREATE
+     *     TABLE ... LIKE statement, whose schema depends on a query or another table
+     */
+    public static TableSchemaModel of(SqlCreateTable createTable) throws SqlValidateException {
+        if (createTable instanceof SqlCreateTableAs || createTable instanceof SqlCreateTableLike) {
+            throw new SqlValidateException(
+                    createTable.getParserPosition(),
+                    "The schema of a CREATE TABLE ... AS or CREATE TABLE ... LIKE statement "
+                            + "depends on other objects and cannot be modelled.");
+        }
+        final SqlNodeList columnList =
+                SqlConstraintValidator.validateAndDeriveColumnNullability(
+                        createTable.getTableConstraints(), createTable.getColumnList());
+        final List<SqlTableConstraint> constraints =
+                SqlConstraintValidator.getFullConstraints(
+                        createTable.getTableConstraints(), columnList);
+
+        PersistentOrderedMap<SqlTableColumn> columns = PersistentOrderedMap.empty();
+        for (SqlNode column : columnList) {
+            final SqlTableColumn tableColumn = withoutConstraint((SqlTableColumn) column);
+            final String name = nameOf(tableColumn);
+            if (columns.containsKey(name)) {
+                throw new SqlValidateException(
+                        tableColumn.getParserPosition(),
+                        String.format("Column `%s` is defined more than once.", name));
+            }
+            columns = columns.put(name, tableColumn);
+        }
+        PersistentOrderedMap<SqlTableOption> options = PersistentOrderedMap.empty();
+        for (SqlNode option : createTable.getPropertyList()) {
+            final SqlTableOption tableOption = (SqlTableOption) option;
+            options = options.put(tableOption.getKeyString(), tableOption);
+        }
+        final TableSchemaModel model =
+                new TableSchemaModel(
+                        createTable.getParserPosition(),
+                        createTable.getTableName(),
+                        columns,
+                        null,
+                        createTable.getWatermark().orElse(null),
+                        createTable.getDistribution(),
+                        createTable.getPartitionKeyList(),
+                        options,
+                        createTable.getComment().orElse(null),
+                        createTable.isTemporary(),
+                        createTable.isIfNotExists());
+        return constraints.isEmpty()
+                ? model
+                : model.withPrimaryKey(constraints.get(0), createTable.getParserPosition());
+    }
+
+    public SqlIdentifier getTableName() {
+        return tableName;
+    }
+
+    /** Returns the columns in their order, without column constraints. */
+    public List<SqlTableColumn> getColumns() {
+        return columns.values();
+    }
+
+    /** Returns the names of the columns in their order. */
+    public List<String> getColumnNames() {
+        return columns.names();
+    }
+
+    public Optional<SqlTableColumn> getColumn(String name) {
+        return Optional.ofNullable(columns.get(name));
+    }
+
+    /** Returns the position of the given column, or -1 if there is no such column. */
+    public int indexOfColumn(String name) {
+        return columns.indexOf(name);
+    }
+
+    public int getColumnCount() {
+        return columns.size();
+    }
+
+    /** Returns the primary key as a table constraint. */
+    public Optional<SqlTableConstraint> getPrimaryKey() {
+        return Optional.ofNullable(primaryKey);
+    }
+
+    public Optional<SqlWatermark> getWatermark() {
+        return Optional.ofNullable(watermark);
+    }
+
+    public Optional<SqlDistribution> getDistribution() {
+        return Optional.ofNullable(distribution);
+    }
+
+    public SqlNodeList getPartitionKeyList() {
+        return partitionKeyList;
+    }
+
+    /** Returns the options as key-value strings, in their order. */
+    public Map<String, String> getOptions() {
+        final Map<String, String> result = new LinkedHashMap<>();
+        for (SqlTableOption option : options.values()) {
+            result.put(option.getKeyString(), option.getValueString());
+        }
+        return result;
+    }
+
+    public Optional<SqlCharStringLiteral> getComment() {
+        return Optional.ofNullable(comment);
+    }
+
+    public boolean isTemporary() {
+        return isTemporary;
+    }
+
+    List<SqlTableOption> getOptionList() {
+        return options.values();
+    }
+
+    /** Returns the CREATE TABLE statement that defines the table as modelled. */
+    public SqlCreateTable toSqlCreateTable() {
+        return new SqlCreateTable(
+                pos,
+                tableName,
+                new SqlNodeList(columns.values(), SqlParserPos.ZERO),
+                primaryKey == null
+                        ? Collections.emptyList()
+                        : Collections.singletonList(primaryKey),
+                new SqlNodeList(options.values(), SqlParserPos.ZERO),
+                distribution,
+                partitionKeyList,
+                watermark,
+                comment,
+                isTemporary,
+                ifNotExists);
+    }
+
+    /**
+     * Returns the model of the table after the given statement. The table name of the statement is
+     * not checked, as it may be qualified differently.
+     *
+     * @throws SqlValidateException if the statement cannot be applied to this table, or is not
+     *     supported
+     */
+    public TableSchemaModel apply(SqlAlterTable alterTable) throws SqlValidateException {
+        final SqlParserPos alterPos = alterTable.getParserPosition();
+        if (alterTable.getPartitionSpec() != null && alterTable.getPartitionSpec().size() > 0) {
+            throw new SqlValidateException(
+                    alterPos, "ALTER TABLE statements on partitions are not supported.");
+        }
+        if (alterTable instanceof SqlAlterTableAdd) {
+            return applyAdd((SqlAlterTableAdd) alterTable);
+        } else if (alterTable instanceof SqlAlterTableModify) {
+            return applyModify((SqlAlterTableModify) alterTable);
+        } else if (alterTable instanceof SqlAlterTableDropColumn) {
+            final Set<String> names = new HashSet<>();
+            for (SqlNode column : ((SqlAlterTableDropColumn) alterTable).getColumnList()) {
+                names.add(((SqlIdentifier) column).getSimple());
+            }
+            TableSchemaModel model = this;
+            for (SqlNode column : ((SqlAlterTableDropColumn) alterTable).getColumnList()) {
+                model = model.dropColumn(((SqlIdentifier) column).getSimple(), names, alterPos);
+            }
+            return model;
+        } else if (alterTable instanceof SqlAlterTableRenameColumn) {
+            final SqlAlterTableRenameColumn rename = (SqlAlterTableRenameColumn) alterTable;
+            return renameColumn(
+                    rename.getOldColumnIdentifier().getSimple(),
+                    rename.getNewColumnIdentifier(),
+                    alterPos);
+        } else if (alterTable instanceof SqlAlterTableDropWatermark) {
+            checkExists(watermark, "watermark", alterPos);
+            return with(columns, primaryKey, null, distribution, options);
+        } else if (alterTable instanceof SqlAlterTableDropPrimaryKey) {
+            checkExists(primaryKey, "primary key", alterPos);
+            return with(columns, null, watermark, distribution, options);
+        } else if (alterTable instanceof SqlAlterTableDropConstraint) {
+            final String name =
+                    ((SqlAlterTableDropConstraint) alterTable).getConstraintName().getSimple();
+            if (primaryKey == null
+                    || !primaryKey.getConstraintName().filter(name::equals).isPresent()) {
+                throw new SqlValidateException(
+                        alterPos,
+                        String.format("The table does not define a constraint `%s`.", name));
+            }
+            return with(columns, null, watermark, distribution, options);
+        } else if (alterTable instanceof SqlAlterTableDropDistribution) {
+            checkExists(distribution, "distribution", alterPos);
+            return with(columns, primaryKey, watermark, null, options);
+        } else if (alterTable instanceof SqlAlterTableAddConstraint) {
+            final SqlTableConstraint constraint =
+                    ((SqlAlterTableAddConstraint) alterTable).getConstraint();
+            SqlConstraintValidator.validateAndDeriveColumnNullability(
+                    Collections.singletonList(constraint), SqlNodeList.EMPTY);
+            checkNotExists(primaryKey, "primary key", alterPos);
+            return withPrimaryKey(constraint, alterPos);
+        } else if (alterTable instanceof SqlAlterTableOptions) {
+            PersistentOrderedMap<SqlTableOption> newOptions = options;
+            for (SqlNode option : ((SqlAlterTableOptions) alterTable).getPropertyList()) {
+                final SqlTableOption tableOption = (SqlTableOption) option;
+                newOptions = newOptions.put(tableOption.getKeyString(), tableOption);
+            }
+            return with(columns, primaryKey, watermark, distribution, newOptions);
+        } else if (alterTable instanceof SqlAlterTableReset) {
+            PersistentOrderedMap<SqlTableOption> newOptions = options;
+            for (String key : ((SqlAlterTableReset) alterTable).getResetKeys()) {
+                newOptions = newOptions.remove(key);
+            }
+            return with(columns, primaryKey, watermark, distribution, newOptions);
+        } else if (alterTable instanceof SqlAlterTableRename) {
+            return new TableSchemaModel(
+                    pos,
+                    ((SqlAlterTableRename) alterTable).getNewTableName(),
+                    columns,
+                    primaryKey,
+                    watermark,
+                    distribution,
+                    partitionKeyList,
+                    options,
+                    comment,
+                    isTemporary,
+                    ifNotExists);
+        }
+        throw new SqlValidateException(
+                alterPos,
+                String.format(
+                        "Unsupported ALTER TABLE statement: %s.",
+                        alterTable.getClass().getSimpleName()));
+    }
+
+    /** Applies the given statements in order, see {@link #apply(SqlAlterTable)}. */
+    public TableSchemaModel applyAll(Iterable<? extends SqlAlterTable> alterTables)
+            throws SqlValidateException {
+        TableSchemaModel model = this;
+        for (SqlAlterTable alterTable : alterTables) {
+            model = model.apply(alterTable);
+        }
+        return model;
+    }
+
+    // --------------------------------------------------------------------------------------------
+
+    private TableSchemaModel applyAdd(SqlAlterTableAdd add) throws SqlValidateException {
+        final SqlParserPos alterPos = add.getParserPosition();
+        final SqlAlterTableSchema validated = (SqlAlterTableSchema) add.validateImmutable();
+        PersistentOrderedMap<SqlTableColumn> newColumns = columns;
+        for (SqlNode node : validated.getColumnPositions()) {
+            final SqlTableColumnPosition position = (SqlTableColumnPosition) node;
+            final String name = nameOf(position.getColumn());
+            if (newColumns.containsKey(name)) {
+                throw new SqlValidateException(
+                        position.getParserPosition(),
+                        String.format("Column `%s` already exists in the table.", name));
+            }
+            newColumns = place(newColumns, position, name);
+        }
+        final Optional<SqlTableConstraint> constraint = validated.getFullConstraint();
+        if (constraint.isPresent()) {
+            checkNotExists(primaryKey, "primary key", alterPos);
+        }
+        if (validated.getWatermark().isPresent()) {
+            checkNotExists(watermark, "watermark", alterPos);
+        }
+        if (validated.getDistribution().isPresent()) {
+            checkNotExists(distribution, "distribution", alterPos);
+        }
+        final TableSchemaModel model =
+                with(
+                        newColumns,
+                        primaryKey,
+                        validated.getWatermark().orElse(watermark),
+                        validated.getDistribution().orElse(distribution),
+                        options);
+        model.checkWatermark(alterPos);
+        return constraint.isPresent() ? model.withPrimaryKey(constraint.get(), alterPos) : model;
+    }
+
+    private TableSchemaModel applyModify(SqlAlterTableModify modify) throws SqlValidateException {
+        final SqlParserPos alterPos = modify.getParserPosition();
+        final SqlAlterTableSchema validated = (SqlAlterTableSchema) modify.validateImmutable();
+        PersistentOrderedMap<SqlTableColumn> newColumns = columns;
+        for (SqlNode node : validated.getColumnPositions()) {
+            final SqlTableColumnPosition position = (SqlTableColumnPosition) node;
+            final String name = nameOf(position.getColumn());
+            checkColumnExists(newColumns, name, position.getParserPosition());
+            newColumns = place(newColumns, position, name);
+        }
+        final Optional<SqlTableConstraint> constraint = validated.getFullConstraint();
+        if (constraint.isPresent()) {
+            checkExists(primaryKey, "primary key", alterPos);
+        }
+        if (validated.getWatermark().isPresent()) {
+            checkExists(watermark, "watermark", alterPos);
+        }
+        if (validated.getDistribution().isPresent()) {
+            checkExists(distribution, "distribution", alterPos);
+        }
+        final TableSchemaModel model =
+                with(
+                        newColumns,
+                        primaryKey,
+                        validated.getWatermark().orElse(watermark),
+                        validated.getDistribution().orElse(distribution),
+                        options);
+        model.checkWatermark(alterPos);
+        // also re-applies NOT NULL to primary key columns that have been modified
+        final SqlTableConstraint newPrimaryKey = constraint.orElse(primaryKey);
+        return newPrimaryKey == null ? model : model.withPrimaryKey(newPrimaryKey, alterPos);
+    }
+
+    /** Drops a column, which may be used by the other columns that are dropped with it. */
+    private TableSchemaModel dropColumn(String name, Set<String> dropped, SqlParserPos alterPos)
+            throws SqlValidateException {
+        checkColumnExists(columns, name, alterPos);
+        checkNotUsed(name, dropped, alterPos);
+        if (primaryKey != null && contains(primaryKey.getColumns(), name)) {
+            throw new SqlValidateException(
+                    alterPos,
+                    String.format(
+                            "Column `%s` is used by the primary key and cannot be dropped.",
+                            name));
+        }
+        return with(columns.remove(name), primaryKey, watermark, distribution, options);
+    }
+
+    private TableSchemaModel renameColumn(String from, SqlIdentifier to, SqlParserPos alterPos)
+            throws SqlValidateException {
+        checkColumnExists(columns, from, alterPos);
+        final String newName = to.getSimple();
+        if (columns.containsKey(newName)) {
+            throw new SqlValidateException(
+                    alterPos, String.format("Column `%s` already exists in the table.", newName));
+        }
+        checkNotUsed(from, Collections.emptySet(), alterPos);
+        SqlTableConstraint newPrimaryKey = primaryKey;
+        if (primaryKey != null && contains(primaryKey.getColumns(), from)) {
+            final SqlNodeList keyColumns =
+                    new SqlNodeList(primaryKey.getColumns().getParserPosition());
+            for (SqlNode column : primaryKey.getColumns()) {
+                keyColumns.add(((SqlIdentifier) column).getSimple().equals(from) ? to : column);
+            }
+            newPrimaryKey = withColumns(primaryKey, keyColumns);
+        }
+        return with(
+                columns.rename(from, newName, columns.get(from).withName(to)),
+                newPrimaryKey,
+                watermark,
+                distribution,
+                options);
+    }
+
+    /** Sets the primary key and makes its columns NOT NULL. */
+    private TableSchemaModel withPrimaryKey(SqlTableConstraint constraint, SqlParserPos alterPos)
+            throws SqlValidateException {
+        PersistentOrderedMap<SqlTableColumn> newColumns = columns;
+        final SqlNodeList keyColumns = new SqlNodeList(constraint.getParserPosition());
+        for (SqlNode node : constraint.getColumns()) {
+            final String name = ((SqlIdentifier) node).getSimple();
+            final SqlTableColumn column = columns.get(name);
+            if (!(column instanceof SqlRegularColumn)) {
+                throw new SqlValidateException(
+                        alterPos,
+                        String.format(
+                                column == null
+                                        ? "Primary key column `%s` does not exist in the table."
+                                        : "Primary key column `%s` is not a physical column.",
+                                name));
+            }
+            final SqlRegularColumn regularColumn = (SqlRegularColumn) column;
+            final SqlDataTypeSpec type = regularColumn.getType();
+            if (!Boolean.FALSE.equals(type.getNullable())) {
+                newColumns = newColumns.put(name, regularColumn.withType(type.withNullable(false)));
+            }
+            keyColumns.add(node);
+        }
+        return with(
+                newColumns,
+                constraint.isTableConstraint() ? constraint : withColumns(constraint, keyColumns),
+                watermark,
+                distribution,
+                options);
+    }
+
+    private TableSchemaModel with(
+            PersistentOrderedMap<SqlTableColumn> columns,
+            @Nullable SqlTableConstraint primaryKey,
+            @Nullable SqlWatermark watermark,
+            @Nullable SqlDistribution distribution,
+            PersistentOrderedMap<SqlTableOption> options) {
+        return new TableSchemaModel(
+                pos,
+                tableName,
+                columns,
+                primaryKey,
+                watermark,
+                distribution,
+                partitionKeyList,
+                options,
+                comment,
+                isTemporary,
+                ifNotExists);
+    }
+
+    private void checkWatermark(SqlParserPos alterPos) throws SqlValidateException {
+        if (watermark != null) {
+            final String name = watermark.getEventTimeColumnName().names.get(0);
+            if (!columns.containsKey(name)) {
+                throw new SqlValidateException(
+                        alterPos,
+                        String.format(
+                                "The rowtime attribute column `%s` of the watermark does not "
+                                        + "exist in the table.",
+                                name));
+            }
+        }
+    }
+
+    /**
+     * Checks that the given column is used by neither watermark, partitioning, distribution nor
+     * the expression of a computed column other than the given ones.
+     */
+    private void checkNotUsed(String name, Set<String> ignoredColumns, SqlParserPos alterPos)
+            throws SqlValidateException {
+        final String user = findComputedColumnUsing(name, ignoredColumns);
+        final String usage;
+        if (user != null) {
+            usage = String.format("the computed column `%s`", user);
+        } else if (watermark != null
+                && (watermark.getEventTimeColumnName().names.get(0).equals(name)
+                        || references(watermark.getWatermarkStrategy()).contains(name))) {
+            usage = "the watermark";
+        } else if (contains(partitionKeyList, name)) {
+            usage = "the partition keys";
+        } else if (distribution != null && contains(distribution.getBucketColumns(), name)) {
+            usage = "the distribution";
+        } else {
+            return;
+        }
+        throw new SqlValidateException(
+                alterPos, String.format("Column `%s` is used by %s.", name, usage));
+    }
+
+    @Nullable
+    private String findComputedColumnUsing(String name, Set<String> ignoredColumns) {
+        for (SqlTableColumn column : columns.values()) {
+            if (column instanceof SqlComputedColumn
+                    && !ignoredColumns.contains(nameOf(column))
+                    && references(((SqlComputedColumn) column).getExpr()).contains(name)) {
+                return nameOf(column);
+            }
+        }
+        return null;
+    }
+
+    /** Returns the names of the columns that the given expression uses. */
+    static Set<String> references(SqlNode expression) {
+        final Set<String> names = new HashSet<>();
+        final Deque<SqlNode> nodes = new ArrayDeque<>();
+        nodes.push(expression);
+        while (!nodes.isEmpty()) {
+            final SqlNode node = nodes.pop();
+            final List<SqlNode> operands;
+            if (node instanceof SqlIdentifier) {
+                names.add(((SqlIdentifier) node).names.get(0));
+                continue;
+            } else if (node instanceof SqlNodeList) {
+                operands = ((SqlNodeList) node).getList();
+            } else if (node instanceof SqlCall) {
+                operands = ((SqlCall) node).getOperandList();
+            } else {
+                continue;
+            }
+            for (SqlNode operand : operands) {
+                if (operand != null) {
+                    nodes.push(operand);
+                }
+            }
+        }
+        return names;
+    }
+
+    private static PersistentOrderedMap<SqlTableColumn> place(
+            PersistentOrderedMap<SqlTableColumn> columns,
+            SqlTableColumnPosition position,
+            String name)
+            throws SqlValidateException {
+        final SqlTableColumn column = withoutConstraint(position.getColumn());
+        if (position.isFirstColumn()) {
+            return columns.putFirst(name, column);
+        } else if (position.isAfterReferencedColumn()) {
+            final String after = position.getAfterReferencedColumn().getSimple();
+            if (!columns.containsKey(after)) {
+                throw new SqlValidateException(
+                        position.getParserPosition(),
+                        String.format(
+                                "Referenced column `%s` by 'AFTER' does not exist in the table.",
+                                after));
+            }
+            return columns.putAfter(after, name, column);
+        }
+        return columns.put(name, column);
+    }
+
+    private static SqlTableColumn withoutConstraint(SqlTableColumn column) {
+        if (column instanceof SqlRegularColumn) {
+            final SqlRegularColumn regularColumn = (SqlRegularColumn) column;
+            if (regularColumn.getConstraint().isPresent()) {
+                return new SqlRegularColumn(
+                        regularColumn.getParserPosition(),
+                        regularColumn.getName(),
+                        regularColumn.getComment().orElse(null),
+                        regularColumn.getType(),
+                        null);
+            }
+        }
+        return column;
+    }
+
+    /** Returns a table constraint like the given one, on the given columns. */
+    private static SqlTableConstraint withColumns(
+            SqlTableConstraint constraint, SqlNodeList columns) {
+        final List<SqlNode> operands = constraint.getOperandList();
+        return new SqlTableConstraint(
+                (SqlIdentifier) operands.get(0),
+                (SqlLiteral) operands.get(1),
+                columns,
+                (SqlLiteral) operands.get(3),
+                true,
+                constraint.getParserPosition());
+    }
+
+    private static void checkColumnExists(
+            PersistentOrderedMap<SqlTableColumn> columns, String name, SqlParserPos pos)
+            throws SqlValidateException {
+        if (!columns.containsKey(name)) {
+            throw new SqlValidateException(
+                    pos, String.format("Column `%s` does not exist in the table.", name));
+        }
+    }
+
+    private static void checkExists(@Nullable Object part, String what, SqlParserPos pos)
+            throws SqlValidateException {
+        if (part == null) {
+            throw new SqlValidateException(
+                    pos, String.format("The table does not define a %s.", what));
+        }
+    }
+
+    private static void checkNotExists(@Nullable Object part, String what, SqlParserPos pos)
+            throws SqlValidateException {
+        if (part != null) {
+            throw new SqlValidateException(
+                    pos,
+                    String.format(
+                            "The table already defines a %s. "
+                                    + "You might want to drop it before adding a new one.",
+                            what));
+        }
+    }
+
+    private static boolean contains(@Nullable SqlNodeList identifiers, String name) {
+        if (identifiers == null) {
+            return false;
+        }
+        for (SqlNode identifier : identifiers) {
+            if (((SqlIdentifier) identifier).getSimple().equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String nameOf(SqlTableColumn column) {
+        return column.getName().getSimple();
+    }
+
+    @Override
+    public String toString() {
+        return toSqlCreateTable().toString();
+    }
+}
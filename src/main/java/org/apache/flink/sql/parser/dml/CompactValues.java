@@ -0,0 +1,479 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.sql.parser.dml;
+
+import org.apache.calcite.sql.SqlAbstractDateTimeLiteral;
+import org.apache.calcite.sql.SqlCall;
+import org.apache.calcite.sql.SqlCharStringLiteral;
+import org.apache.calcite.sql.SqlDateLiteral;
+import org.apache.calcite.sql.SqlKind;
+import org.apache.calcite.sql.SqlLiteral;
+import org.apache.calcite.sql.SqlNode;
+import org.apache.calcite.sql.SqlNumericLiteral;
+import org.apache.calcite.sql.SqlOperator;
+import org.apache.calcite.sql.SqlTimeLiteral;
+import org.apache.calcite.sql.SqlTimestampLiteral;
+import org.apache.calcite.sql.SqlWriter;
+import org.apache.calcite.sql.fun.SqlStdOperatorTable;
+import org.apache.calcite.sql.parser.SqlParserPos;
+import org.apache.calcite.sql.parser.SqlParserUtil;
+import org.apache.calcite.util.Litmus;
+import org.apache.calcite.util.NlsString;
+
+import javax.annotation.Nullable;
+
+import java.math.BigDecimal;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A compact, column-wise representation of a {@code VALUES} table constructor, as used by large
+ * {@code INSERT INTO t VALUES (...), (...)} statements.
+ *
+ * <p>Literal values are stored per column in primitive arrays, strings and date-time values are
+ * dictionary encoded. Values that are not simple literals (expressions, sub-queries, {@code
+ * DEFAULT}, string literals with a character set, ...) are kept as {@link SqlNode}s. The {@link
+ * SqlNode}s of a row are only created on demand, {@link #toSqlNode()} creates the same {@code
+ * VALUES} call, including parser positions, as the {@code TableConstructor} production.
+ */
+public final class CompactValues {
+
+    private static final byte NODE = 0;
+    private static final byte NULL = 1;
+    private static final byte TRUE = 2;
+    private static final byte FALSE = 3;
+    private static final byte INTEGER = 4;
+    private static final byte DECIMAL = 5;
+    private static final byte APPROX = 6;
+    private static final byte CHAR = 7;
+    private static final byte DATE = 8;
+    private static final byte TIME = 9;
+    private static final byte TIMESTAMP = 10;
+
+    private final SqlParserPos pos;
+    private final int rowCount;
+    /** Line, column, end line and end column of every row. */
+    private final int[] rowPositions;
+
+    private final Column[] columns;
+    private final List<String> strings;
+    private final List<SqlNode> nodes;
+
+    /** All rows if they are not of the same degree, in which case there are no columns. */
+    @Nullable private final List<SqlNode> rows;
+
+    private CompactValues(
+            SqlParserPos pos,
+            int rowCount,
+            int[] rowPositions,
+            Column[] columns,
+            List<String> strings,
+            List<SqlNode> nodes,
+            @Nullable List<SqlNode> rows) {
+        this.pos = pos;
+        this.rowCount = rowCount;
+        this.rowPositions = rowPositions;
+        this.columns = columns;
+        this.strings = strings;
+        this.nodes = nodes;
+        this.rows = rows;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public SqlParserPos getParserPosition() {
+        return pos;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /** Returns the degree of the rows, or -1 if the rows are not of the same degree. */
+    public int getColumnCount() {
+        return rows == null ? columns.length : -1;
+    }
+
+    /** Returns the given row, usually a {@code ROW} call. */
+    public SqlNode getRow(int row) {
+        if (rows != null) {
+            return rows.get(row);
+        }
+        final List<SqlNode> operands = new ArrayList<>(columns.length);
+        for (Column column : columns) {
+            operands.add(column.get(row, strings, nodes));
+        }
+        return SqlStdOperatorTable.ROW.createCall(rowPosition(row), operands);
+    }
+
+    /** Creates the {@code VALUES} call with all rows. */
+    public SqlCall toSqlNode() {
+        final List<SqlNode> operands = new ArrayList<>(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            operands.add(getRow(i));
+        }
+        return SqlStdOperatorTable.VALUES.createCall(pos, operands);
+    }
+
+    /**
+     * Unparses the {@code VALUES} call like {@link SqlCall#unparse}, rows are created one at a time
+     * and are not retained.
+     */
+    public void unparse(SqlWriter writer, int leftPrec, int rightPrec) {
+        final List<SqlNode> operands =
+                new AbstractList<SqlNode>() {
+                    @Override
+                    public SqlNode get(int index) {
+                        return getRow(index);
+                    }
+
+                    @Override
+                    public int size() {
+                        return rowCount;
+                    }
+                };
+        new SqlCall(pos) {
+            @Override
+            public SqlOperator getOperator() {
+                return SqlStdOperatorTable.VALUES;
+            }
+
+            @Override
+            public List<SqlNode> getOperandList() {
+                return operands;
+            }
+        }.unparse(writer, leftPrec, rightPrec);
+    }
+
+    private SqlParserPos rowPosition(int row) {
+        final int i = row * 4;
+        return new SqlParserPos(
+                rowPositions[i], rowPositions[i + 1], rowPositions[i + 2], rowPositions[i + 3]);
+    }
+
+    // ~ Tools ------------------------------------------------------------------
+
+    /** Values of a single column. */
+    private static final class Column {
+        private byte[] kinds;
+        /** Integer value, dictionary id, or node index, depending on the kind. */
+        private long[] values;
+        /** Positions of literals, which never span multiple lines. */
+        private int[] lines;
+
+        private int[] startColumns;
+        private int[] endColumns;
+
+        private Column(int capacity) {
+            kinds = new byte[capacity];
+            values = new long[capacity];
+            lines = new int[capacity];
+            startColumns = new int[capacity];
+            endColumns = new int[capacity];
+        }
+
+        private void set(int row, byte kind, long value, SqlParserPos pos) {
+            if (row == kinds.length) {
+                final int capacity = Math.max(16, row * 2);
+                kinds = Arrays.copyOf(kinds, capacity);
+                values = Arrays.copyOf(values, capacity);
+                lines = Arrays.copyOf(lines, capacity);
+                startColumns = Arrays.copyOf(startColumns, capacity);
+                endColumns = Arrays.copyOf(endColumns, capacity);
+            }
+            kinds[row] = kind;
+            values[row] = value;
+            if (kind != NODE) {
+                lines[row] = pos.getLineNum();
+                startColumns[row] = pos.getColumnNum();
+                endColumns[row] = pos.getEndColumnNum();
+            }
+        }
+
+        private void trim(int rowCount) {
+            kinds = Arrays.copyOf(kinds, rowCount);
+            values = Arrays.copyOf(values, rowCount);
+            lines = Arrays.copyOf(lines, rowCount);
+            startColumns = Arrays.copyOf(startColumns, rowCount);
+            endColumns = Arrays.copyOf(endColumns, rowCount);
+        }
+
+        private SqlNode get(int row, List<String> strings, List<SqlNode> nodes) {
+            final long value = values[row];
+            if (kinds[row] == NODE) {
+                return nodes.get((int) value);
+            }
+            final SqlParserPos pos =
+                    new SqlParserPos(lines[row], startColumns[row], lines[row], endColumns[row]);
+            return decode(kinds[row], value, pos, strings);
+        }
+    }
+
+    private static SqlNode decode(byte kind, long value, SqlParserPos pos, List<String> strings) {
+        switch (kind) {
+            case NULL:
+                return SqlLiteral.createNull(pos);
+            case TRUE:
+                return SqlLiteral.createBoolean(true, pos);
+            case FALSE:
+                return SqlLiteral.createBoolean(false, pos);
+            case INTEGER:
+                return signed(
+                        SqlLiteral.createExactNumeric(Long.toString(Math.abs(value)), pos),
+                        value < 0,
+                        pos);
+            case DECIMAL:
+                return signed(
+                        SqlLiteral.createExactNumeric(strings.get((int) (value >> 1)), pos),
+                        (value & 1) != 0,
+                        pos);
+            case APPROX:
+                return signed(
+                        SqlLiteral.createApproxNumeric(strings.get((int) (value >> 1)), pos),
+                        (value & 1) != 0,
+                        pos);
+            case CHAR:
+                return SqlLiteral.createCharString(strings.get((int) value), pos);
+            case DATE:
+                return SqlParserUtil.parseDateLiteral(strings.get((int) value), pos);
+            case TIME:
+                return SqlParserUtil.parseTimeLiteral(strings.get((int) value), pos);
+            case TIMESTAMP:
+                return SqlParserUtil.parseTimestampLiteral(strings.get((int) value), pos);
+            default:
+                throw new AssertionError(kind);
+        }
+    }
+
+    private static SqlNumericLiteral signed(
+            SqlNumericLiteral literal, boolean negative, SqlParserPos pos) {
+        return negative ? SqlLiteral.createNegative(literal, pos) : literal;
+    }
+
+    // ~ Builder ----------------------------------------------------------------
+
+    /**
+     * Builder of {@link CompactValues}, the rows are added one by one as they are parsed, so that
+     * only the nodes of the current row are alive.
+     */
+    public static final class Builder {
+        private final List<String> strings = new ArrayList<>();
+        private final Map<String, Integer> stringIds = new HashMap<>();
+        private final List<SqlNode> nodes = new ArrayList<>();
+        @Nullable private Column[] columns;
+        private int[] rowPositions = new int[64];
+        private int rowCount;
+        @Nullable private List<SqlNode> rows;
+
+        private Builder() {}
+
+        /** Adds a row, usually a {@code ROW} call as returned by {@code RowConstructor}. */
+        public Builder addRow(SqlNode row) {
+            if (rows == null && columns == null && row.getKind() == SqlKind.ROW) {
+                columns = new Column[((SqlCall) row).operandCount()];
+                for (int i = 0; i < columns.length; i++) {
+                    columns[i] = new Column(16);
+                }
+            }
+            if (rows == null
+                    && (row.getKind() != SqlKind.ROW
+                            || ((SqlCall) row).operandCount() != columns.length)) {
+                // not a regular row, keep all rows as they are, the validator reports the error
+                final CompactValues values = build(SqlParserPos.ZERO);
+                rows = new ArrayList<>(rowCount + 1);
+                for (int i = 0; i < rowCount; i++) {
+                    rows.add(values.getRow(i));
+                }
+                columns = null;
+                strings.clear();
+                stringIds.clear();
+                nodes.clear();
+            }
+            if (rows != null) {
+                rows.add(row);
+                rowCount++;
+                return this;
+            }
+            final List<SqlNode> operands = ((SqlCall) row).getOperandList();
+            for (int i = 0; i < columns.length; i++) {
+                add(columns[i], operands.get(i));
+            }
+            final SqlParserPos pos = row.getParserPosition();
+            if (rowPositions.length < (rowCount + 1) * 4) {
+                rowPositions = Arrays.copyOf(rowPositions, rowPositions.length * 2);
+            }
+            final int i = rowCount * 4;
+            rowPositions[i] = pos.getLineNum();
+            rowPositions[i + 1] = pos.getColumnNum();
+            rowPositions[i + 2] = pos.getEndLineNum();
+            rowPositions[i + 3] = pos.getEndColumnNum();
+            rowCount++;
+            return this;
+        }
+
+        public CompactValues build(SqlParserPos pos) {
+            if (rows != null) {
+                return new CompactValues(
+                        pos,
+                        rowCount,
+                        new int[0],
+                        new Column[0],
+                        Collections.emptyList(),
+                        Collections.emptyList(),
+                        new ArrayList<>(rows));
+            }
+            final Column[] columns = this.columns == null ? new Column[0] : this.columns;
+            for (Column column : columns) {
+                column.trim(rowCount);
+            }
+            return new CompactValues(
+                    pos,
+                    rowCount,
+                    Arrays.copyOf(rowPositions, rowCount * 4),
+                    columns,
+                    new ArrayList<>(strings),
+                    new ArrayList<>(nodes),
+                    null);
+        }
+
+        private void add(Column column, SqlNode value) {
+            final int row = rowCount;
+            final SqlParserPos pos = value.getParserPosition();
+            if (value instanceof SqlLiteral && pos.getLineNum() == pos.getEndLineNum()) {
+                final SqlLiteral literal = (SqlLiteral) value;
+                final byte kind = kindOf(literal);
+                if (kind != NODE) {
+                    final long encoded = encode(kind, literal);
+                    // only keep the compact form if it restores exactly the same literal
+                    if (isSameLiteral(literal, decode(kind, encoded, pos, strings))) {
+                        column.set(row, kind, encoded, pos);
+                        return;
+                    }
+                }
+            }
+            column.set(row, NODE, nodes.size(), pos);
+            nodes.add(value);
+        }
+
+        private long encode(byte kind, SqlLiteral literal) {
+            switch (kind) {
+                case NULL:
+                case TRUE:
+                case FALSE:
+                    return 0;
+                case INTEGER:
+                    return ((BigDecimal) literal.getValue()).longValueExact();
+                case DECIMAL:
+                    final BigDecimal decimal = (BigDecimal) literal.getValue();
+                    return stringId(decimal.abs().toPlainString()) << 1 | sign(decimal);
+                case APPROX:
+                    final BigDecimal approx = (BigDecimal) literal.getValue();
+                    return stringId(approx.abs().toString()) << 1 | sign(approx);
+                case CHAR:
+                    return stringId(((NlsString) literal.getValue()).getValue());
+                default:
+                    return stringId(((SqlAbstractDateTimeLiteral) literal).toFormattedString());
+            }
+        }
+
+        private long stringId(String s) {
+            Integer id = stringIds.get(s);
+            if (id == null) {
+                id = strings.size();
+                strings.add(s);
+                stringIds.put(s, id);
+            }
+            return id;
+        }
+
+        private static long sign(BigDecimal value) {
+            return value.signum() < 0 ? 1 : 0;
+        }
+
+        private static byte kindOf(SqlLiteral literal) {
+            if (literal instanceof SqlNumericLiteral) {
+                final SqlNumericLiteral numeric = (SqlNumericLiteral) literal;
+                if (!numeric.isExact()) {
+                    return APPROX;
+                }
+                final BigDecimal value = (BigDecimal) numeric.getValue();
+                if (value.scale() == 0
+                        && value.unscaledValue().bitLength() < 63
+                        && Objects.equals(numeric.getScale(), 0)) {
+                    return INTEGER;
+                }
+                return DECIMAL;
+            } else if (literal instanceof SqlCharStringLiteral) {
+                final NlsString value = (NlsString) literal.getValue();
+                return value.getCharsetName() == null && value.getCollation() == null
+                        ? CHAR
+                        : NODE;
+            } else if (literal instanceof SqlDateLiteral) {
+                return DATE;
+            } else if (literal instanceof SqlTimeLiteral) {
+                return TIME;
+            } else if (literal instanceof SqlTimestampLiteral) {
+                return TIMESTAMP;
+            } else if (literal.getClass() == SqlLiteral.class) {
+                switch (literal.getTypeName()) {
+                    case NULL:
+                        return NULL;
+                    case BOOLEAN:
+                        if (literal.getValue() != null) {
+                            return literal.booleanValue() ? TRUE : FALSE;
+                        }
+                        return NODE;
+                    default:
+                        return NODE;
+                }
+            }
+            return NODE;
+        }
+
+        private static boolean isSameLiteral(SqlLiteral expected, SqlNode actual) {
+            if (actual.getClass() != expected.getClass()
+                    || !expected.equalsDeep(actual, Litmus.IGNORE)
+                    || !expected.getParserPosition().equals(actual.getParserPosition())) {
+                return false;
+            }
+            if (expected instanceof SqlNumericLiteral) {
+                final SqlNumericLiteral e = (SqlNumericLiteral) expected;
+                final SqlNumericLiteral a = (SqlNumericLiteral) actual;
+                return Objects.equals(e.getPrec(), a.getPrec())
+                        && Objects.equals(e.getScale(), a.getScale())
+                        && e.isExact() == a.isExact();
+            }
+            if (expected instanceof SqlAbstractDateTimeLiteral) {
+                final SqlAbstractDateTimeLiteral e = (SqlAbstractDateTimeLiteral) expected;
+                final SqlAbstractDateTimeLiteral a = (SqlAbstractDateTimeLiteral) actual;
+                return e.getPrec() == a.getPrec()
+                        && e.toFormattedString().equals(a.toFormattedString());
+            }
+            return true;
+        }
+    }
+}
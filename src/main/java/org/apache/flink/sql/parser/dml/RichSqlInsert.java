@@ -18,6 +18,8 @@
 
 package org.apache.flink.sql.parser.dml;
 
+import org.apache.flink.sql.parser.FreezableSqlNode;
+import org.apache.flink.sql.parser.SqlImmutableNodes;
 import org.apache.flink.sql.parser.SqlProperty;
 
 import org.apache.calcite.sql.SqlInsert;
@@ -25,18 +27,21 @@ import org.apache.calcite.sql.SqlInsertKeyword;
 import org.apache.calcite.sql.SqlLiteral;
 import org.apache.calcite.sql.SqlNode;
 import org.apache.calcite.sql.SqlNodeList;
+import org.apache.calcite.sql.SqlSelect;
 import org.apache.calcite.sql.SqlTableRef;
 import org.apache.calcite.sql.SqlWriter;
 import org.apache.calcite.sql.parser.SqlParserPos;
 import org.apache.calcite.util.NlsString;
 
+import javax.annotation.Nullable;
+
 import java.util.LinkedHashMap;
 import java.util.List;
 
 /**
  * A {@link SqlInsert} that have some extension functions like partition, overwrite. *
  */
-public class RichSqlInsert extends SqlInsert {
+public class RichSqlInsert extends SqlInsert implements FreezableSqlNode {
     private final SqlNodeList staticPartitions;
 
     private final SqlNodeList extendedKeywords;
@@ -45,6 +50,14 @@ public class RichSqlInsert extends SqlInsert {
 
     private final SqlNodeList tableHints;
 
+    /** The VALUES source in its compact form, null once the source was materialized. */
+    @Nullable private CompactValues compactSource;
+
+    /** Built on first access, reset when an operand changes. */
+    @Nullable private transient List<SqlNode> operandList;
+
+    private transient boolean frozen;
+
     public RichSqlInsert(
             SqlParserPos pos,
             SqlNodeList keywords,
@@ -66,6 +79,77 @@ public class RichSqlInsert extends SqlInsert {
         }
     }
 
+    /**
+     * Creates an insert with a VALUES source in compact form. The source {@link SqlNode}s are
+     * created when they are first accessed, e.g. by {@link #getSource()} or {@link
+     * #getOperandList()}.
+     */
+    public RichSqlInsert(
+            SqlParserPos pos,
+            SqlNodeList keywords,
+            SqlNodeList extendedKeywords,
+            SqlNode targetTable,
+            CompactValues source,
+            SqlNodeList columnList,
+            SqlNodeList staticPartitions) {
+        this(
+                pos,
+                keywords,
+                extendedKeywords,
+                targetTable,
+                (SqlNode) null,
+                columnList,
+                staticPartitions);
+        this.compactSource = source;
+    }
+
+    /**
+     * Returns the VALUES source in compact form, or null if the source is not a plain VALUES
+     * clause or has already been materialized.
+     */
+    @Nullable
+    public CompactValues getCompactSource() {
+        return compactSource;
+    }
+
+    @Override
+    public SqlNode getSource() {
+        if (compactSource != null) {
+            final SqlNode source = compactSource.toSqlNode();
+            compactSource = null;
+            super.setOperand(2, source);
+        }
+        return super.getSource();
+    }
+
+    @Override
+    public void setSource(SqlSelect source) {
+        SqlImmutableNodes.checkNotFrozen(this, "the source");
+        compactSource = null;
+        operandList = null;
+        super.setSource(source);
+    }
+
+    @Override
+    public List<SqlNode> getOperandList() {
+        if (operandList == null) {
+            // materializes the compact source
+            getSource();
+            operandList = super.getOperandList();
+        }
+        return operandList;
+    }
+
+    @Override
+    public void setOperand(int i, @Nullable SqlNode operand) {
+        SqlImmutableNodes.checkNotFrozen(this, null);
+        if (i == 2) {
+            compactSource = null;
+        }
+        operandList = null;
+        super.setOperand(i, operand);
+    }
+
     /**
      * @return the list of partition key-value pairs, returns empty if there is no partition
      * specifications.
@@ -140,7 +224,11 @@ public class RichSqlInsert extends SqlInsert {
             getTargetColumnList().unparse(writer, opLeft, opRight);
         }
         writer.newlineAndIndent();
-        getSource().unparse(writer, 0, 0);
+        if (compactSource != null) {
+            compactSource.unparse(writer, 0, 0);
+        } else {
+            getSource().unparse(writer, 0, 0);
+        }
     }
 
     // ~ Tools ------------------------------------------------------------------
@@ -179,4 +267,16 @@ public class RichSqlInsert extends SqlInsert {
         }
         return null;
     }
+
+    @Override
+    public void freeze() {
+        // materializes the compact source before the node is shared
+        getOperandList();
+        frozen = true;
+    }
+
+    @Override
+    public boolean isFrozen() {
+        return frozen;
+    }
 }
@@ -19,6 +19,8 @@
 package org.apache.flink.sql.parser.dml;
 
 import org.apache.flink.annotation.Internal;
+import org.apache.flink.sql.parser.FreezableSqlNode;
+import org.apache.flink.sql.parser.SqlImmutableNodes;
 
 import org.apache.calcite.sql.SqlCall;
 import org.apache.calcite.sql.SqlKind;
@@ -40,7 +42,7 @@ import java.util.List;
  * RichSqlInsert} or a {@link SqlStatementSet}.
  */
 @Internal
-public class SqlCompileAndExecutePlan extends SqlCall {
+public class SqlCompileAndExecutePlan extends SqlCall implements FreezableSqlNode {
 
     public static final SqlSpecialOperator OPERATOR =
             new SqlSpecialOperator("COMPILE AND EXECUTE PLAN", SqlKind.OTHER);
@@ -48,6 +50,8 @@ public class SqlCompileAndExecutePlan extends SqlCall {
     private final SqlNode planFile;
     private SqlNode operand;
 
+    private transient boolean frozen;
+
     public SqlCompileAndExecutePlan(SqlParserPos pos, SqlNode planFile, SqlNode operand) {
 
         super(pos);
@@ -84,6 +88,7 @@ public class SqlCompileAndExecutePlan extends SqlCall {
 
     @Override
     public void setOperand(int i, SqlNode operand) {
+        SqlImmutableNodes.checkNotFrozen(this, null);
         if (i == 0) {
             this.operand = checkOperand(operand);
         } else {
@@ -99,4 +104,14 @@ public class SqlCompileAndExecutePlan extends SqlCall {
         }
         return operand;
     }
+
+    @Override
+    public void freeze() {
+        frozen = true;
+    }
+
+    @Override
+    public boolean isFrozen() {
+        return frozen;
+    }
 }
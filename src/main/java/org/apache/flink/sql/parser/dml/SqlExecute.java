@@ -18,6 +18,9 @@
 
 package org.apache.flink.sql.parser.dml;
 
+import org.apache.flink.sql.parser.FreezableSqlNode;
+import org.apache.flink.sql.parser.SqlImmutableNodes;
+
 import org.apache.calcite.sql.SqlCall;
 import org.apache.calcite.sql.SqlKind;
 import org.apache.calcite.sql.SqlNode;
@@ -48,13 +51,15 @@ import java.util.List;
  *   execute statement set begin insert into A select * from B; insert into C select * from D; end
  * </ul>
  */
-public class SqlExecute extends SqlCall {
+public class SqlExecute extends SqlCall implements FreezableSqlNode {
 
     public static final SqlSpecialOperator OPERATOR =
             new SqlSpecialOperator("Execute", SqlKind.OTHER);
 
     private SqlNode statement;
 
+    private transient boolean frozen;
+
     public SqlExecute(SqlNode statement, SqlParserPos pos) {
         super(pos);
         this.statement = statement;
@@ -84,6 +89,7 @@ public class SqlExecute extends SqlCall {
 
     @Override
     public void setOperand(int i, SqlNode operand) {
+        SqlImmutableNodes.checkNotFrozen(this, null);
         if (i == 0) {
             statement = operand;
         } else {
@@ -91,4 +97,14 @@ public class SqlExecute extends SqlCall {
                     "SqlExecute SqlNode only support index equals 0");
         }
     }
+
+    @Override
+    public void freeze() {
+        frozen = true;
+    }
+
+    @Override
+    public boolean isFrozen() {
+        return frozen;
+    }
 }
@@ -18,6 +18,10 @@
 
 package org.apache.flink.sql.parser.dml;
 
+import org.apache.flink.sql.parser.FreezableSqlNode;
+import org.apache.flink.sql.parser.SqlImmutableNodes;
+import org.apache.flink.sql.parser.SqlIndexedSpecialOperator;
+
 import org.apache.calcite.sql.SqlCall;
 import org.apache.calcite.sql.SqlKind;
 import org.apache.calcite.sql.SqlNode;
@@ -29,6 +33,7 @@ import org.apache.calcite.sql.parser.SqlParserPos;
 import javax.annotation.Nonnull;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -38,13 +43,18 @@ import java.util.List;
  *   execute statement set begin insert into A select * from B; insert into C select * from D; end
  * </ul>
  */
-public class SqlStatementSet extends SqlCall {
+public class SqlStatementSet extends SqlCall implements FreezableSqlNode {
 
     public static final SqlSpecialOperator OPERATOR =
-            new SqlSpecialOperator("Statement Set", SqlKind.OTHER);
+            new SqlIndexedSpecialOperator("Statement Set", SqlKind.OTHER);
 
     private final ArrayList<RichSqlInsert> inserts = new ArrayList<>();
 
+    /** Read-only view of the inserts, changes by {@link #setOperand} show through. */
+    private final transient List<SqlNode> operandList = Collections.unmodifiableList(inserts);
+
+    private transient boolean frozen;
+
     public SqlStatementSet(List<RichSqlInsert> inserts, SqlParserPos pos) {
         super(pos);
         this.inserts.addAll(inserts);
@@ -63,7 +73,7 @@ public class SqlStatementSet extends SqlCall {
     @Nonnull
     @Override
     public List<SqlNode> getOperandList() {
-        return new ArrayList<>(inserts);
+        return operandList;
     }
 
     @Override
@@ -84,10 +94,21 @@ public class SqlStatementSet extends SqlCall {
 
     @Override
     public void setOperand(int i, SqlNode operand) {
+        SqlImmutableNodes.checkNotFrozen(this, null);
         if (!(operand instanceof RichSqlInsert)) {
             throw new UnsupportedOperationException(
                     "SqlStatementSet SqlNode only support RichSqlInsert as operand");
         }
         inserts.set(i, (RichSqlInsert) operand);
     }
+
+    @Override
+    public void freeze() {
+        frozen = true;
+    }
+
+    @Override
+    public boolean isFrozen() {
+        return frozen;
+    }
 }
@@ -18,6 +18,9 @@
 
 package org.apache.flink.sql.parser.dql;
 
+import org.apache.flink.sql.parser.FreezableSqlNode;
+import org.apache.flink.sql.parser.SqlImmutableNodes;
+
 import org.apache.calcite.sql.SqlCall;
 import org.apache.calcite.sql.SqlKind;
 import org.apache.calcite.sql.SqlNode;
@@ -36,7 +39,7 @@ import java.util.Set;
  * ANALYZED_PHYSICAL_PLAN) (,(ESTIMATED_COST | CHANGELOG_MODE | JSON_EXECUTION_PLAN |
  * PLAN_ADVICE))*] STATEMENT sql call.
  */
-public class SqlRichExplain extends SqlCall {
+public class SqlRichExplain extends SqlCall implements FreezableSqlNode {
 
     public static final SqlSpecialOperator OPERATOR =
             new SqlSpecialOperator("EXPLAIN", SqlKind.EXPLAIN);
@@ -44,6 +47,8 @@ public class SqlRichExplain extends SqlCall {
     private SqlNode statement;
     private final Set<String> explainDetails;
 
+    private transient boolean frozen;
+
     public SqlRichExplain(SqlParserPos pos, SqlNode statement) {
         this(pos, statement, new HashSet<>());
     }
@@ -83,6 +88,7 @@ public class SqlRichExplain extends SqlCall {
 
     @Override
     public void setOperand(int i, SqlNode operand) {
+        SqlImmutableNodes.checkNotFrozen(this, null);
         if (i == 0) {
             statement = operand;
         } else {
@@ -90,4 +96,14 @@ public class SqlRichExplain extends SqlCall {
                     "SqlRichExplain SqlNode only support index equals 0");
         }
     }
+
+    @Override
+    public void freeze() {
+        frozen = true;
+    }
+
+    @Override
+    public boolean isFrozen() {
+        return frozen;
+    }
 }
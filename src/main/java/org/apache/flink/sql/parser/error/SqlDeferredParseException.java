@@ -0,0 +1,44 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.sql.parser.error;
+
+import org.apache.calcite.sql.parser.SqlParseException;
+import org.apache.calcite.sql.parser.SqlParserPos;
+
+/**
+ * Unchecked exception thrown when a query whose parsing was deferred, see {@link
+ * org.apache.flink.sql.parser.SqlDeferredQuery}, turns out to be invalid on first access. The
+ * cause is the {@link SqlParseException} with the position of the error in the original script.
+ */
+public class SqlDeferredParseException extends RuntimeException {
+
+    public SqlDeferredParseException(SqlParseException cause) {
+        super(cause.getMessage(), cause);
+    }
+
+    @Override
+    public synchronized SqlParseException getCause() {
+        return (SqlParseException) super.getCause();
+    }
+
+    /** Returns the position of the error in the original script. */
+    public SqlParserPos getPos() {
+        return getCause().getPos();
+    }
+}
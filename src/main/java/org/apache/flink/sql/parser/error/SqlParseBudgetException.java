@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.sql.parser.error;
+
+import org.apache.calcite.sql.parser.SqlParseException;
+import org.apache.calcite.sql.parser.SqlParserPos;
+
+import java.util.Locale;
+
+/**
+ * Exception thrown by a parser that exceeded a limit of its {@link
+ * org.apache.flink.sql.parser.ParseBudget} or whose parse was cancelled. The position is the one
+ * of the token that the parser had reached.
+ */
+public class SqlParseBudgetException extends SqlParseException {
+
+    /** Reason why a parse was stopped. */
+    public enum Reason {
+        TOKENS("Token limit of %d exceeded"),
+        DEPTH("Nesting depth limit of %d exceeded"),
+        TIME("Time limit of %d ms exceeded"),
+        CANCELLED("Parsing cancelled");
+
+        private final String format;
+
+        Reason(String format) {
+            this.format = format;
+        }
+    }
+
+    private final Reason reason;
+
+    /**
+     * Creates an exception for the given reason; {@code limit} is the exceeded limit, in
+     * milliseconds for {@link Reason#TIME}, and is ignored for {@link Reason#CANCELLED}.
+     */
+    public SqlParseBudgetException(Reason reason, long limit, SqlParserPos pos) {
+        super(
+                String.format(Locale.ROOT, reason.format, limit)
+                        + String.format(
+                                Locale.ROOT,
+                                " at line %d, column %d",
+                                pos.getLineNum(),
+                                pos.getColumnNum()),
+                pos,
+                null,
+                null,
+                null);
+        this.reason = reason;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.sql.parser.type;
+
+import org.apache.flink.sql.parser.impl.FlinkSqlParserImpl;
+
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.rel.type.RelDataTypeFactory;
+import org.apache.calcite.sql.SqlBasicTypeNameSpec;
+import org.apache.calcite.sql.SqlCollectionTypeNameSpec;
+import org.apache.calcite.sql.SqlDataTypeSpec;
+import org.apache.calcite.sql.SqlRowTypeNameSpec;
+import org.apache.calcite.sql.SqlTypeNameSpec;
+import org.apache.calcite.sql.parser.SqlAbstractParserImpl;
+import org.apache.calcite.sql.parser.SqlParseException;
+import org.apache.calcite.sql.parser.SqlParser;
+import org.apache.calcite.sql.validate.SqlValidator;
+import org.apache.calcite.util.SourceStringReader;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import java.util.Map;
+
+/**
+ * Parses data type strings such as {@code ROW<a INT, b ARRAY<MAP<STRING, BIGINT>>>} with the
+ * {@code ExtendedDataType} production of {@link FlinkSqlParserImpl}.
+ *
+ * <p>Parsed {@link SqlDataTypeSpec}s are kept in a bounded cache keyed by the type string. The
+ * types derived from them are memoized per type factory, so deriving the same type string again
+ * against the same factory is a lookup only. Types that reference user-defined types are resolved
+ * through the catalog of the validator and are therefore never memoized.
+ *
+ * <p>The returned {@link SqlDataTypeSpec}s are shared between callers and must not be mutated.
+ * This class is thread-safe.
+ */
+public final class ExtendedDataTypeParser {
+
+    /** Default maximum number of cached type strings. */
+    public static final int DEFAULT_CACHE_SIZE = 1024;
+
+    private final SqlParser.Config config;
+    private final long maximumCacheSize;
+    private final Cache<String, SqlDataTypeSpec> parsedTypes;
+    private final Cache<RelDataTypeFactory, Map<String, RelDataType>> derivedTypes;
+
+    public ExtendedDataTypeParser(SqlParser.Config config) {
+        this(config, DEFAULT_CACHE_SIZE);
+    }
+
+    public ExtendedDataTypeParser(SqlParser.Config config, long maximumCacheSize) {
+        this.config = config;
+        this.maximumCacheSize = maximumCacheSize;
+        this.parsedTypes = CacheBuilder.newBuilder().maximumSize(maximumCacheSize).build();
+        // type factories are compared by identity and released together with their types
+        this.derivedTypes = CacheBuilder.newBuilder().weakKeys().build();
+    }
+
+    /** Parses the given data type string, e.g. {@code MAP<STRING, INT NOT NULL>}. */
+    public SqlDataTypeSpec parseDataType(String typeString) throws SqlParseException {
+        SqlDataTypeSpec dataType = parsedTypes.getIfPresent(typeString);
+        if (dataType == null) {
+            dataType = parseWithParser(typeString);
+            parsedTypes.put(typeString, dataType);
+        }
+        return dataType;
+    }
+
+    /**
+     * Parses the given data type string and derives its {@link RelDataType} with the given
+     * validator.
+     */
+    public RelDataType deriveType(String typeString, SqlValidator validator)
+            throws SqlParseException {
+        final Map<String, RelDataType> typesOfFactory =
+                derivedTypes
+                        .asMap()
+                        .computeIfAbsent(
+                                validator.getTypeFactory(),
+                                factory ->
+                                        CacheBuilder.newBuilder()
+                                                .maximumSize(maximumCacheSize)
+                                                .<String, RelDataType>build()
+                                                .asMap());
+        RelDataType type = typesOfFactory.get(typeString);
+        if (type == null) {
+            final SqlDataTypeSpec dataType = parseDataType(typeString);
+            type = dataType.deriveType(validator);
+            if (isCatalogIndependent(dataType.getTypeNameSpec())) {
+                typesOfFactory.put(typeString, type);
+            }
+        }
+        return type;
+    }
+
+    private SqlDataTypeSpec parseWithParser(String typeString) throws SqlParseException {
+        final FlinkSqlParserImpl parser =
+                (FlinkSqlParserImpl)
+                        FlinkSqlParserImpl.FACTORY.getParser(new SourceStringReader(typeString));
+        parser.setOriginalSql(typeString);
+        parser.setTabSize(1);
+        parser.setQuotedCasing(config.quotedCasing());
+        parser.setUnquotedCasing(config.unquotedCasing());
+        parser.setIdentifierMaxLength(config.identifierMaxLength());
+        parser.setConformance(config.conformance());
+        parser.switchTo(SqlAbstractParserImpl.LexicalState.forConfig(config));
+        try {
+            return parser.ExtendedDataTypeEof();
+        } catch (Throwable t) {
+            throw parser.normalizeException(t);
+        }
+    }
+
+    /** Returns whether the derived type only depends on the type factory. */
+    private static boolean isCatalogIndependent(SqlTypeNameSpec typeNameSpec) {
+        if (typeNameSpec instanceof SqlBasicTypeNameSpec
+                || typeNameSpec instanceof SqlRawTypeNameSpec) {
+            return true;
+        } else if (typeNameSpec instanceof SqlCollectionTypeNameSpec) {
+            return isCatalogIndependent(
+                    ((SqlCollectionTypeNameSpec) typeNameSpec).getElementTypeName());
+        } else if (typeNameSpec instanceof SqlMapTypeNameSpec) {
+            final SqlMapTypeNameSpec mapType = (SqlMapTypeNameSpec) typeNameSpec;
+            return isCatalogIndependent(mapType.getKeyType().getTypeNameSpec())
+                    && isCatalogIndependent(mapType.getValType().getTypeNameSpec());
+        } else if (typeNameSpec instanceof ExtendedSqlRowTypeNameSpec) {
+            return ((ExtendedSqlRowTypeNameSpec) typeNameSpec)
+                    .getFieldTypes().stream()
+                            .allMatch(t -> isCatalogIndependent(t.getTypeNameSpec()));
+        } else if (typeNameSpec instanceof SqlRowTypeNameSpec) {
+            return ((SqlRowTypeNameSpec) typeNameSpec)
+                    .getFieldTypes().stream()
+                            .allMatch(t -> isCatalogIndependent(t.getTypeNameSpec()));
+        }
+        // e.g. user-defined types
+        return false;
+    }
+}
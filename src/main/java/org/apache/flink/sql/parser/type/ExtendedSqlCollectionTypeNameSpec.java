@@ -29,6 +29,9 @@ import org.apache.calcite.sql.validate.SqlValidator;
 import org.apache.calcite.util.Litmus;
 import org.apache.calcite.util.Util;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+
 /**
  * A extended sql type name specification of collection type, different with {@link
  * SqlCollectionTypeNameSpec}, we support NULL or NOT NULL suffix for the element type name(this
@@ -82,23 +85,33 @@ public class ExtendedSqlCollectionTypeNameSpec extends SqlCollectionTypeNameSpec
 
     @Override
     public void unparse(SqlWriter writer, int leftPrec, int rightPrec) {
-        if (unparseAsStandard) {
-            this.getElementTypeName().unparse(writer, leftPrec, rightPrec);
-            // Default is nullable.
-            if (!elementNullable) {
-                writer.keyword("NOT NULL");
+        // Directly nested collection types are unparsed in a loop, they can be nested deeper than
+        // the thread stack allows for recursion.
+        final Deque<ExtendedSqlCollectionTypeNameSpec> collectionTypes = new ArrayDeque<>();
+        final Deque<SqlWriter.Frame> frames = new ArrayDeque<>();
+        SqlTypeNameSpec typeName = this;
+        while (typeName instanceof ExtendedSqlCollectionTypeNameSpec) {
+            final ExtendedSqlCollectionTypeNameSpec collectionType =
+                    (ExtendedSqlCollectionTypeNameSpec) typeName;
+            if (!collectionType.unparseAsStandard) {
+                writer.keyword(collectionType.collectionTypeName.name());
+                frames.push(writer.startList(SqlWriter.FrameTypeEnum.FUN_CALL, "<", ">"));
             }
-            writer.keyword(collectionTypeName.name());
-        } else {
-            writer.keyword(collectionTypeName.name());
-            SqlWriter.Frame frame = writer.startList(SqlWriter.FrameTypeEnum.FUN_CALL, "<", ">");
-
-            getElementTypeName().unparse(writer, leftPrec, rightPrec);
+            collectionTypes.push(collectionType);
+            typeName = collectionType.getElementTypeName();
+        }
+        typeName.unparse(writer, leftPrec, rightPrec);
+        while (!collectionTypes.isEmpty()) {
+            final ExtendedSqlCollectionTypeNameSpec collectionType = collectionTypes.pop();
             // Default is nullable.
-            if (!elementNullable) {
+            if (!collectionType.elementNullable) {
                 writer.keyword("NOT NULL");
             }
-            writer.endList(frame);
+            if (collectionType.unparseAsStandard) {
+                writer.keyword(collectionType.collectionTypeName.name());
+            } else {
+                writer.endList(frames.pop());
+            }
         }
     }
 
@@ -128,7 +128,7 @@ public class ExtendedSqlRowTypeNameSpec extends SqlTypeNameSpec {
 
     @Override
     public boolean equalsDeep(SqlTypeNameSpec node, Litmus litmus) {
-        if (!(node instanceof SqlRowTypeNameSpec)) {
+        if (!(node instanceof ExtendedSqlRowTypeNameSpec)) {
             return litmus.fail("{} != {}", this, node);
         }
         ExtendedSqlRowTypeNameSpec that = (ExtendedSqlRowTypeNameSpec) node;
@@ -144,7 +144,7 @@ public class ExtendedSqlRowTypeNameSpec extends SqlTypeNameSpec {
             return litmus.fail("{} != {}", this, node);
         }
         for (int i = 0; i < fieldTypes.size(); i++) {
-            if (!this.fieldTypes.get(i).equals(that.fieldTypes.get(i))) {
+            if (!this.fieldTypes.get(i).equalsDeep(that.fieldTypes.get(i), litmus)) {
                 return litmus.fail("{} != {}", this, node);
             }
         }
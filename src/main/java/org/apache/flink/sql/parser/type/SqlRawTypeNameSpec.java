@@ -19,9 +19,11 @@
 package org.apache.flink.sql.parser.type;
 
 import org.apache.flink.annotation.Internal;
+import org.apache.flink.sql.parser.SqlLazyCharStringLiteral;
 import org.apache.flink.table.calcite.ExtendedRelTypeFactory;
 
 import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.sql.SqlCharStringLiteral;
 import org.apache.calcite.sql.SqlIdentifier;
 import org.apache.calcite.sql.SqlLiteral;
 import org.apache.calcite.sql.SqlNode;
@@ -32,18 +34,35 @@ import org.apache.calcite.sql.validate.SqlValidator;
 import org.apache.calcite.util.Litmus;
 import org.apache.calcite.util.NlsString;
 
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
 import java.util.Objects;
 
 /**
  * Represents a raw type such as {@code RAW('org.my.Class', 'sW3Djsds...')}.
  *
  * <p>The raw type does not belong to standard SQL.
+ *
+ * <p>Serializer snapshots are often large and repeated across many tables, therefore the snapshot
+ * payloads are deduplicated by content: all specs created for the same snapshot string share a
+ * single payload instance. Snapshots of at least {@link SqlLazyCharStringLiteral#LAZY_THRESHOLD}
+ * characters are deduplicated by their token image and are neither unescaped when parsed nor when
+ * deduplicated. The payload is only read back (and literal chains are only concatenated) when the
+ * type is derived.
  */
 @Internal
 public final class SqlRawTypeNameSpec extends SqlTypeNameSpec {
 
     private static final String RAW_TYPE_NAME = "RAW";
 
+    /** Content-addressed store of serializer snapshots, entries are released once unused. */
+    private static final Interner<NlsString> SERIALIZER_SNAPSHOTS = Interners.newWeakInterner();
+
+    /** Content-addressed store of the token images of lazily unescaped serializer snapshots. */
+    private static final Interner<String> SERIALIZER_SNAPSHOT_IMAGES =
+            Interners.newWeakInterner();
+
     private final SqlNode className;
 
     private final SqlNode serializerString;
@@ -51,7 +70,15 @@ public final class SqlRawTypeNameSpec extends SqlTypeNameSpec {
     public SqlRawTypeNameSpec(SqlNode className, SqlNode serializerString, SqlParserPos pos) {
         super(new SqlIdentifier(RAW_TYPE_NAME, pos), pos);
         this.className = className;
-        this.serializerString = serializerString;
+        this.serializerString = deduplicate(serializerString);
+    }
+
+    public SqlNode getClassName() {
+        return className;
+    }
+
+    public SqlNode getSerializerString() {
+        return serializerString;
     }
 
     @Override
@@ -59,7 +86,7 @@ public final class SqlRawTypeNameSpec extends SqlTypeNameSpec {
         return ((ExtendedRelTypeFactory) validator.getTypeFactory())
                 .createRawType(
                         ((NlsString) SqlLiteral.value(className)).getValue(),
-                        ((NlsString) SqlLiteral.value(serializerString)).getValue());
+                        SqlLazyCharStringLiteral.stringValue(serializerString));
     }
 
     @Override
@@ -87,4 +114,40 @@ public final class SqlRawTypeNameSpec extends SqlTypeNameSpec {
         }
         return litmus.succeed();
     }
+
+    /**
+     * Replaces the payload of a serializer snapshot literal with the shared instance of the same
+     * content. Literal chains are kept as they are, they are only concatenated on derivation.
+     */
+    private static SqlNode deduplicate(SqlNode serializerString) {
+        if (serializerString instanceof SqlLazyCharStringLiteral) {
+            return deduplicateImage((SqlLazyCharStringLiteral) serializerString);
+        }
+        if (!(serializerString instanceof SqlCharStringLiteral)) {
+            return serializerString;
+        }
+        final SqlCharStringLiteral literal = (SqlCharStringLiteral) serializerString;
+        final NlsString payload = literal.getValueAs(NlsString.class);
+        final NlsString sharedPayload = SERIALIZER_SNAPSHOTS.intern(payload);
+        if (sharedPayload == payload) {
+            return literal;
+        }
+        return SqlLiteral.createCharString(
+                sharedPayload.getValue(),
+                sharedPayload.getCharsetName(),
+                literal.getParserPosition());
+    }
+
+    /** Replaces the image of a lazy snapshot literal with the shared instance of the same image. */
+    private static SqlNode deduplicateImage(SqlLazyCharStringLiteral literal) {
+        final String image = literal.getImage();
+        if (image == null) {
+            return literal;
+        }
+        final String sharedImage = SERIALIZER_SNAPSHOT_IMAGES.intern(image);
+        if (sharedImage == image) {
+            return literal;
+        }
+        return SqlLazyCharStringLiteral.create(sharedImage, literal.getParserPosition());
+    }
 }
@@ -20,46 +20,60 @@ package org.apache.flink.sql.parser.utils;
 
 import org.apache.flink.sql.parser.impl.ParseException;
 
-import org.apache.calcite.runtime.Resources;
+import org.apache.calcite.runtime.CalciteContextException;
+import org.apache.calcite.sql.parser.SqlParserPos;
 
-/** Compiler-checked resources for the Flink SQL parser. */
+/**
+ * Compiler-checked resources for the Flink SQL parser.
+ *
+ * <p>The messages are defined in {@code src/main/codegen/data/ParserResource.properties} by the
+ * name of their method, and the implementation is generated from them at build time. A message
+ * without a method or a method without a message therefore fails the build. Unlike the resources
+ * of Calcite, no dynamic proxy and no reflection are involved, neither when the resources are
+ * loaded nor when an error is reported.
+ */
 public interface ParserResource {
 
     /** Resources. */
-    ParserResource RESOURCE = Resources.create(ParserResource.class);
+    ParserResource RESOURCE = new ParserResourceImpl();
+
+    ParseException multipleWatermarksUnsupported();
 
-    @Resources.BaseMessage("Multiple WATERMARK statements is not supported yet.")
-    Resources.ExInst<ParseException> multipleWatermarksUnsupported();
+    ParseException overwriteIsOnlyUsedWithInsert();
 
-    @Resources.BaseMessage("OVERWRITE expression is only used with INSERT statement.")
-    Resources.ExInst<ParseException> overwriteIsOnlyUsedWithInsert();
+    ParseException createSystemFunctionOnlySupportTemporary();
 
-    @Resources.BaseMessage(
-            "CREATE SYSTEM FUNCTION is not supported, system functions can only be registered as temporary function, you can use CREATE TEMPORARY SYSTEM FUNCTION instead.")
-    Resources.ExInst<ParseException> createSystemFunctionOnlySupportTemporary();
+    ParseException explainDetailIsDuplicate();
 
-    @Resources.BaseMessage("Duplicate EXPLAIN DETAIL is not allowed.")
-    Resources.ExInst<ParseException> explainDetailIsDuplicate();
+    ParseException createFunctionUsingJar(String language);
 
-    @Resources.BaseMessage("CREATE FUNCTION USING JAR syntax is not applicable to {0} language.")
-    Resources.ExInst<ParseException> createFunctionUsingJar(String language);
+    ParseException withDrainOnlyUsedWithSavepoint();
 
-    @Resources.BaseMessage("WITH DRAIN could only be used after WITH SAVEPOINT.")
-    Resources.ExInst<ParseException> withDrainOnlyUsedWithSavepoint();
+    ParseException bucketCountMustBePositiveInteger();
 
-    @Resources.BaseMessage("Bucket count must be a positive integer.")
-    Resources.ExInst<ParseException> bucketCountMustBePositiveInteger();
+    ParseException unsupportedFreshnessType();
 
-    @Resources.BaseMessage(
-            "MATERIALIZED TABLE only supports define interval type FRESHNESS, please refer to the materialized table document.")
-    Resources.ExInst<ParseException> unsupportedFreshnessType();
+    ParseException createTemporaryMaterializedTableUnsupported();
 
-    @Resources.BaseMessage("CREATE TEMPORARY MATERIALIZED TABLE is not supported.")
-    Resources.ExInst<ParseException> createTemporaryMaterializedTableUnsupported();
+    ParseException replaceMaterializedTableUnsupported();
 
-    @Resources.BaseMessage("REPLACE MATERIALIZED TABLE is not supported.")
-    Resources.ExInst<ParseException> replaceMaterializedTableUnsupported();
+    ParseException dropTemporaryMaterializedTableUnsupported();
 
-    @Resources.BaseMessage("DROP TEMPORARY MATERIALIZED TABLE is not supported.")
-    Resources.ExInst<ParseException> dropTemporaryMaterializedTableUnsupported();
+    /**
+     * Wraps an error with the position in the statement where it occurred, like {@link
+     * org.apache.calcite.sql.SqlUtil#newContextException(SqlParserPos,
+     * org.apache.calcite.runtime.Resources.ExInst)} does for the resources of Calcite.
+     */
+    static CalciteContextException newContextException(SqlParserPos pos, ParseException cause) {
+        final int line = pos.getLineNum();
+        final int column = pos.getColumnNum();
+        final int endLine = pos.getEndLineNum();
+        final int endColumn = pos.getEndColumnNum();
+        final String message =
+                line == endLine && column == endColumn
+                        ? "At line " + line + ", column " + column
+                        : "From line " + line + ", column " + column
+                                + " to line " + endLine + ", column " + endColumn;
+        return new CalciteContextException(message, cause, line, column, endLine, endColumn);
+    }
 }
@@ -0,0 +1,362 @@
+-- Licensed to the Apache Software Foundation (ASF) under one or more
+-- contributor license agreements.  See the NOTICE file distributed with
+-- this work for additional information regarding copyright ownership.
+-- The ASF licenses this file to you under the Apache License, Version 2.0
+-- (the "License"); you may not use this file except in compliance with
+-- the License.  You may obtain a copy of the License at
+--
+-- http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+--
+-- Statements parsed by org.apache.flink.sql.parser.ParserWarmup to warm up the parser.
+--
+-- Statements are separated by blank lines. The comment right above a statement names the
+-- production of Parser.tdd that it exercises; ParserWarmupTest checks that every production
+-- listed there is covered. Keep the statements short and representative: each of them is parsed
+-- many times on startup.
+
+-- RichSqlInsert
+INSERT INTO sink SELECT a, b FROM src WHERE a > 10
+
+-- RichSqlInsert
+INSERT OVERWRITE cat.db.sink /*+ OPTIONS('sink.parallelism' = '2') */
+PARTITION (dt = '2024-01-01')
+SELECT a, COUNT(*) AS cnt FROM src GROUP BY a
+
+-- SqlBeginStatementSet
+BEGIN STATEMENT SET
+
+-- SqlEndStatementSet
+END
+
+-- SqlLoadModule
+LOAD MODULE hive WITH ('hive-version' = '3.1.2')
+
+-- SqlUnloadModule
+UNLOAD MODULE hive
+
+-- SqlUseModules
+USE MODULES hive, core
+
+-- SqlShowModules
+SHOW FULL MODULES
+
+-- SqlShowCatalogs
+SHOW CATALOGS
+
+-- SqlShowCurrentCatalogOrDatabase
+SHOW CURRENT CATALOG
+
+-- SqlShowCurrentCatalogOrDatabase
+SHOW CURRENT DATABASE
+
+-- SqlDescribeCatalog
+DESCRIBE CATALOG EXTENDED cat
+
+-- SqlUseCatalog
+USE CATALOG cat
+
+-- SqlAlterCatalog
+ALTER CATALOG cat SET ('k1' = 'v1', 'k2' = 'v2')
+
+-- SqlShowDatabases
+SHOW DATABASES FROM cat NOT LIKE 'tmp%'
+
+-- SqlUseDatabase
+USE cat.db
+
+-- SqlAlterDatabase
+ALTER DATABASE db SET ('k1' = 'v1')
+
+-- SqlDescribeDatabase
+DESCRIBE DATABASE EXTENDED cat.db
+
+-- SqlAlterFunction
+ALTER TEMPORARY SYSTEM FUNCTION f AS 'org.example.F' LANGUAGE JAVA
+
+-- SqlShowFunctions
+SHOW USER FUNCTIONS FROM cat.db ILIKE 'f%'
+
+-- SqlShowModels
+SHOW MODELS FROM cat.db LIKE 'm%'
+
+-- SqlShowTables
+SHOW TABLES FROM cat.db LIKE 't%'
+
+-- SqlShowViews
+SHOW VIEWS
+
+-- SqlShowColumns
+SHOW COLUMNS FROM cat.db.t NOT LIKE '%tmp'
+
+-- SqlShowPartitions
+SHOW PARTITIONS t PARTITION (dt = '2024-01-01')
+
+-- SqlShowProcedures
+SHOW PROCEDURES FROM cat.db LIKE 'p%'
+
+-- SqlShowCreate
+SHOW CREATE TABLE cat.db.t
+
+-- SqlShowCreate
+SHOW CREATE VIEW db.v
+
+-- SqlShowJars
+SHOW JARS
+
+-- SqlAddJar
+ADD JAR '/path/to/udf.jar'
+
+-- SqlRemoveJar
+REMOVE JAR '/path/to/udf.jar'
+
+-- SqlSet
+SET 'table.exec.mini-batch.enabled' = 'true'
+
+-- SqlReset
+RESET 'table.exec.mini-batch.enabled'
+
+-- SqlCreateExtended
+CREATE CATALOG IF NOT EXISTS cat WITH ('type' = 'generic_in_memory')
+
+-- SqlCreateExtended
+CREATE DATABASE IF NOT EXISTS cat.db COMMENT 'database' WITH ('k1' = 'v1')
+
+-- SqlCreateExtended
+CREATE TABLE IF NOT EXISTS cat.db.orders (
+  order_id BIGINT NOT NULL,
+  user_id VARCHAR(32) COMMENT 'user',
+  price DECIMAL(10, 2),
+  tags ARRAY<STRING>,
+  attrs MAP<STRING, INT>,
+  address ROW<city STRING, zip INT>,
+  payload RAW('java.lang.Object', 'snapshot'),
+  ts TIMESTAMP(3),
+  ts_ltz TIMESTAMP_LTZ(3) METADATA FROM 'timestamp' VIRTUAL,
+  amount AS price * 2,
+  PRIMARY KEY (order_id) NOT ENFORCED,
+  WATERMARK FOR ts AS ts - INTERVAL '5' SECOND
+) COMMENT 'orders'
+DISTRIBUTED BY HASH(order_id) INTO 4 BUCKETS
+PARTITIONED BY (user_id)
+WITH ('connector' = 'kafka', 'topic' = 'orders', 'format' = 'json')
+
+-- SqlCreateExtended
+CREATE TEMPORARY TABLE t_like (x INT) WITH ('connector' = 'datagen') LIKE src (EXCLUDING OPTIONS)
+
+-- SqlCreateExtended
+CREATE TABLE t_ctas WITH ('connector' = 'blackhole') AS SELECT a, b FROM src
+
+-- SqlCreateExtended
+CREATE TEMPORARY VIEW IF NOT EXISTS v (a, b) COMMENT 'view' AS SELECT a, b FROM src
+
+-- SqlCreateExtended
+CREATE TEMPORARY SYSTEM FUNCTION IF NOT EXISTS f AS 'org.example.F' LANGUAGE JAVA
+
+-- SqlCreateExtended
+CREATE FUNCTION f2 AS 'org.example.F2' LANGUAGE JAVA USING JAR '/path/to/udf.jar'
+
+-- SqlCreateExtended
+CREATE MODEL IF NOT EXISTS m
+INPUT (f1 INT, f2 STRING)
+OUTPUT (label DOUBLE)
+COMMENT 'model'
+WITH ('task' = 'regression', 'provider' = 'openai')
+
+-- SqlCreateExtended
+CREATE MATERIALIZED TABLE mt
+COMMENT 'materialized table'
+PARTITIONED BY (dt)
+WITH ('format' = 'debezium-json')
+FRESHNESS = INTERVAL '30' SECOND
+REFRESH_MODE = CONTINUOUS
+AS SELECT a, dt, COUNT(*) AS cnt FROM src GROUP BY a, dt
+
+-- SqlReplaceTable
+CREATE OR REPLACE TABLE t_rtas WITH ('connector' = 'blackhole') AS SELECT a, b FROM src
+
+-- SqlReplaceTable
+REPLACE TABLE t_rtas WITH ('connector' = 'blackhole') AS SELECT a, b FROM src
+
+-- SqlAlterTable
+ALTER TABLE IF EXISTS t ADD (
+  c1 STRING COMMENT 'c1' FIRST,
+  c2 AS c1 || 'x' AFTER c1,
+  WATERMARK FOR ts AS ts - INTERVAL '1' SECOND
+)
+
+-- SqlAlterTable
+ALTER TABLE t MODIFY (c1 INT NOT NULL, PRIMARY KEY (c1) NOT ENFORCED)
+
+-- SqlAlterTable
+ALTER TABLE t DROP (c1, c2)
+
+-- SqlAlterTable
+ALTER TABLE t RENAME c1 TO c3
+
+-- SqlAlterTable
+ALTER TABLE t SET ('k1' = 'v1')
+
+-- SqlAlterTable
+ALTER TABLE t RESET ('k1')
+
+-- SqlAlterTable
+ALTER TABLE t ADD DISTRIBUTION BY HASH(a) INTO 6 BUCKETS
+
+-- SqlAlterTable
+ALTER TABLE t ADD IF NOT EXISTS PARTITION (dt = '2024-01-01') WITH ('k' = 'v')
+
+-- SqlAlterView
+ALTER VIEW v AS SELECT a FROM src
+
+-- SqlAlterView
+ALTER VIEW v RENAME TO v2
+
+-- SqlAlterModel
+ALTER MODEL IF EXISTS m SET ('task' = 'classification')
+
+-- SqlAlterModel
+ALTER MODEL m RENAME TO m2
+
+-- SqlAlterMaterializedTable
+ALTER MATERIALIZED TABLE mt SUSPEND
+
+-- SqlAlterMaterializedTable
+ALTER MATERIALIZED TABLE mt REFRESH PARTITION (dt = '2024-01-01')
+
+-- SqlDropExtended
+DROP TABLE IF EXISTS cat.db.t
+
+-- SqlDropExtended
+DROP TEMPORARY VIEW IF EXISTS v
+
+-- SqlDropExtended
+DROP TEMPORARY SYSTEM FUNCTION IF EXISTS f
+
+-- SqlDropExtended
+DROP DATABASE IF EXISTS cat.db CASCADE
+
+-- SqlDropExtended
+DROP CATALOG IF EXISTS cat
+
+-- SqlDropExtended
+DROP MODEL IF EXISTS m
+
+-- SqlDropExtended
+DROP MATERIALIZED TABLE IF EXISTS mt
+
+-- SqlRichDescribeTable
+DESCRIBE EXTENDED cat.db.t
+
+-- SqlRichDescribeModel
+DESCRIBE MODEL cat.db.m
+
+-- SqlTruncateTable
+TRUNCATE TABLE cat.db.t
+
+-- SqlAnalyzeTable
+ANALYZE TABLE t PARTITION (dt = '2024-01-01') COMPUTE STATISTICS FOR ALL COLUMNS
+
+-- SqlShowJobs
+SHOW JOBS
+
+-- SqlDescribeJob
+DESCRIBE JOB 'job-id'
+
+-- SqlStopJob
+STOP JOB 'job-id' WITH SAVEPOINT WITH DRAIN
+
+-- SqlRichExplain
+EXPLAIN ESTIMATED_COST, CHANGELOG_MODE, JSON_EXECUTION_PLAN
+SELECT a, b FROM src WHERE a IN (1, 2, 3)
+
+-- SqlRichExplain
+EXPLAIN STATEMENT SET BEGIN
+INSERT INTO t1 SELECT * FROM t2;
+INSERT INTO t2 SELECT * FROM t3;
+END
+
+-- SqlCompilePlan
+COMPILE PLAN '/tmp/plan.json' IF NOT EXISTS FOR INSERT INTO t1 SELECT * FROM t2
+
+-- SqlCompileAndExecutePlan
+COMPILE AND EXECUTE PLAN '/tmp/plan.json' FOR STATEMENT SET BEGIN
+INSERT INTO t1 SELECT * FROM t2;
+END
+
+-- SqlExecutePlan
+EXECUTE PLAN '/tmp/plan.json'
+
+-- SqlExecute
+EXECUTE INSERT INTO t1 SELECT * FROM t2
+
+-- ExtendedSqlBasicTypeName
+-- TryCastFunctionCall
+SELECT
+  CAST(a AS STRING),
+  CAST(b AS BYTES),
+  TRY_CAST(c AS TIMESTAMP_LTZ(3)),
+  TRY_CAST(d AS DECIMAL(10, 2))
+FROM src
+
+-- ExtendedNestedTypeName
+-- SqlRawTypeName
+SELECT
+  CAST(a AS ARRAY<INT NOT NULL>),
+  CAST(b AS MULTISET<STRING>),
+  CAST(c AS MAP<STRING, ARRAY<INT>>),
+  CAST(d AS ROW<f0 INT NOT NULL 'first', f1 STRING>),
+  CAST(e AS ROW(f0 INT, f1 TIMESTAMP(3))),
+  CAST(f AS RAW('java.lang.Object', 'snapshot'))
+FROM src
+
+-- Query
+SELECT
+  o.order_id,
+  u.name,
+  CASE WHEN o.price > 100 THEN 'high' ELSE 'low' END AS level,
+  COALESCE(u.email, 'n/a') AS email,
+  SUBSTRING(u.name FROM 1 FOR 3) AS prefix,
+  TRIM(BOTH ' ' FROM u.name) AS trimmed,
+  EXTRACT(YEAR FROM o.ts) AS y
+FROM orders AS o
+LEFT JOIN users FOR SYSTEM_TIME AS OF o.proc_time AS u ON o.user_id = u.id
+WHERE o.price BETWEEN 10 AND 1000 AND u.name LIKE 'A%' AND o.tags IS NOT NULL
+ORDER BY o.ts DESC
+LIMIT 10
+
+-- Query
+SELECT window_start, window_end, user_id, SUM(price) AS total
+FROM TABLE(TUMBLE(TABLE orders, DESCRIPTOR(ts), INTERVAL '10' MINUTES))
+GROUP BY window_start, window_end, user_id
+HAVING SUM(price) > 0
+
+-- Query
+WITH ranked AS (
+  SELECT *, ROW_NUMBER() OVER (PARTITION BY user_id ORDER BY ts DESC) AS rn
+  FROM orders
+)
+SELECT * FROM ranked WHERE rn = 1
+UNION ALL
+SELECT * FROM ranked WHERE rn = 2 AND EXISTS (SELECT 1 FROM users WHERE users.id = ranked.user_id)
+
+-- Query
+SELECT *
+FROM ticker
+MATCH_RECOGNIZE (
+  PARTITION BY symbol
+  ORDER BY rowtime
+  MEASURES A.price AS start_price, LAST(B.price) AS bottom_price
+  ONE ROW PER MATCH
+  AFTER MATCH SKIP PAST LAST ROW
+  PATTERN (A B+)
+  DEFINE B AS B.price < A.price
+)
+
+-- Query
+VALUES (1, 'a', TRUE, 1.5e3, DATE '2024-01-01', TIMESTAMP '2024-01-01 00:00:00', X'ff')
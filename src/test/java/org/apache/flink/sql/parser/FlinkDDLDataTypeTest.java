@@ -21,6 +21,11 @@ package org.apache.flink.sql.parser;
 import org.apache.flink.sql.parser.ddl.SqlCreateTable;
 import org.apache.flink.sql.parser.ddl.SqlTableColumn.SqlRegularColumn;
 import org.apache.flink.sql.parser.impl.FlinkSqlParserImpl;
+import org.apache.flink.sql.parser.type.ExtendedDataTypeParser;
+import org.apache.flink.sql.parser.type.ExtendedSqlCollectionTypeNameSpec;
+import org.apache.flink.sql.parser.type.ExtendedSqlRowTypeNameSpec;
+import org.apache.flink.sql.parser.type.SqlMapTypeNameSpec;
+import org.apache.flink.sql.parser.type.SqlRawTypeNameSpec;
 
 import org.apache.calcite.avatica.util.Casing;
 import org.apache.calcite.avatica.util.Quoting;
@@ -32,6 +37,7 @@ import org.apache.calcite.sql.SqlDialect;
 import org.apache.calcite.sql.SqlNode;
 import org.apache.calcite.sql.SqlNodeList;
 import org.apache.calcite.sql.SqlOperatorTable;
+import org.apache.calcite.sql.SqlTypeNameSpec;
 import org.apache.calcite.sql.SqlWriter;
 import org.apache.calcite.sql.dialect.CalciteSqlDialect;
 import org.apache.calcite.sql.fun.SqlStdOperatorTable;
@@ -52,6 +58,8 @@ import org.apache.calcite.test.MockSqlOperatorTable;
 import org.apache.calcite.test.catalog.MockCatalogReaderSimple;
 import org.apache.calcite.util.SourceStringReader;
 import org.apache.calcite.util.Util;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -355,6 +363,154 @@ class FlinkDDLDataTypeTest {
         }
     }
 
+    @ParameterizedTest(name = "{index}: {0}")
+    @MethodSource("testData")
+    void testDataTypeStringParsing(TestItem testItem) throws SqlParseException {
+        if (testItem.expectedType != null) {
+            final ExtendedDataTypeParser parser =
+                    new ExtendedDataTypeParser(TestFactory.INSTANCE.parserConfig);
+            final SqlValidator validator = TestFactory.INSTANCE.getValidator();
+
+            final SqlDataTypeSpec dataType = parser.parseDataType(testItem.testExpr);
+            assertThat(parser.parseDataType(testItem.testExpr)).isSameAs(dataType);
+            assertThat(dataType.deriveType(validator)).isEqualTo(testItem.expectedType);
+
+            final RelDataType type = parser.deriveType(testItem.testExpr, validator);
+            assertThat(type).isEqualTo(testItem.expectedType);
+            assertThat(parser.deriveType(testItem.testExpr, validator)).isSameAs(type);
+        }
+    }
+
+    @Test
+    void testRawTypeSerializerStringIsShared() throws SqlParseException {
+        final String rawType =
+                "RAW('"
+                        + Fixture.RAW_TYPE_INT_CLASS
+                        + "', '"
+                        + Fixture.RAW_TYPE_INT_SERIALIZER_STRING
+                        + "')";
+        final ExtendedDataTypeParser parser =
+                new ExtendedDataTypeParser(TestFactory.INSTANCE.parserConfig);
+
+        final SqlRawTypeNameSpec first =
+                (SqlRawTypeNameSpec) parser.parseDataType(rawType).getTypeNameSpec();
+        final SqlRawTypeNameSpec second =
+                (SqlRawTypeNameSpec)
+                        parser.parseDataType(rawType + " NOT NULL").getTypeNameSpec();
+
+        assertThat(first.getSerializerString()).isNotSameAs(second.getSerializerString());
+        assertThat(serializerPayload(second)).isSameAs(serializerPayload(first));
+        assertThat(second.deriveType(TestFactory.INSTANCE.getValidator()))
+                .isEqualTo(FIXTURE.rawTypeOfInteger);
+    }
+
+    @Test
+    void testLargeRawTypeSerializerStringIsSharedWithoutUnescaping() throws SqlParseException {
+        final String snapshot =
+                StringUtils.repeat("it''s ", SqlLazyCharStringLiteral.LAZY_THRESHOLD);
+        final String rawType = "RAW('" + Fixture.RAW_TYPE_INT_CLASS + "', '" + snapshot + "')";
+        final ExtendedDataTypeParser parser =
+                new ExtendedDataTypeParser(TestFactory.INSTANCE.parserConfig);
+
+        final SqlRawTypeNameSpec first =
+                (SqlRawTypeNameSpec) parser.parseDataType(rawType).getTypeNameSpec();
+        final SqlRawTypeNameSpec second =
+                (SqlRawTypeNameSpec)
+                        parser.parseDataType(rawType + " NOT NULL").getTypeNameSpec();
+
+        final SqlLazyCharStringLiteral firstSnapshot =
+                (SqlLazyCharStringLiteral) first.getSerializerString();
+        final SqlLazyCharStringLiteral secondSnapshot =
+                (SqlLazyCharStringLiteral) second.getSerializerString();
+        assertThat(firstSnapshot).isNotSameAs(secondSnapshot);
+        assertThat(secondSnapshot.getImage()).isSameAs(firstSnapshot.getImage());
+        assertThat(firstSnapshot.isUnescaped()).isFalse();
+        assertThat(secondSnapshot.isUnescaped()).isFalse();
+        assertThat(serializerPayload(second)).isEqualTo(snapshot.replace("''", "'"));
+    }
+
+    @Test
+    void testDeeplyNestedAndWideDataTypes() throws SqlParseException {
+        final ExtendedDataTypeParser parser =
+                new ExtendedDataTypeParser(TestFactory.INSTANCE.parserConfig);
+        final int n = 10_000;
+
+        final StringBuilder nested = new StringBuilder();
+        for (int i = 0; i < n; i++) {
+            nested.append(i % 2 == 0 ? "ARRAY<" : "MULTISET<");
+        }
+        nested.append("INT");
+        for (int i = 0; i < n; i++) {
+            nested.append(i % 3 == 0 ? " NOT NULL>" : ">");
+        }
+        final String unparsed = parser.parseDataType(nested.toString()).toString();
+        assertThat(parser.parseDataType(unparsed).toString()).isEqualTo(unparsed);
+
+        final StringBuilder wide = new StringBuilder("ROW< ");
+        for (int i = 0; i < n; i++) {
+            wide.append(i == 0 ? "" : ", ").append("`f").append(i).append("` INTEGER");
+        }
+        wide.append(" >");
+        assertThat(parser.parseDataType(wide.toString()).toString()).isEqualTo(wide.toString());
+    }
+
+    @Test
+    void testDeeplyNestedRowAndMapTypes() throws SqlParseException {
+        final ExtendedDataTypeParser parser =
+                new ExtendedDataTypeParser(TestFactory.INSTANCE.parserConfig);
+        final int n = 10_000;
+        // unparsing is recursive, so only the parse is checked at the full depth
+        assertThat(rowAndMapDepth(parser.parseDataType(rowType(n)))).isEqualTo(n);
+        assertThat(rowAndMapDepth(parser.parseDataType(mapType(n)))).isEqualTo(n);
+        assertThat(rowAndMapDepth(parser.parseDataType(mixedType(n)))).isEqualTo(2 * n);
+
+        for (String type : new String[] {rowType(100), mapType(100), mixedType(100)}) {
+            final String unparsed = parser.parseDataType(type).toString();
+            assertThat(parser.parseDataType(unparsed).toString()).isEqualTo(unparsed);
+        }
+    }
+
+    private static String rowType(int depth) {
+        return StringUtils.repeat("ROW<f ", depth) + "INT" + StringUtils.repeat(">", depth);
+    }
+
+    private static String mapType(int depth) {
+        return StringUtils.repeat("MAP<INT, ", depth) + "INT" + StringUtils.repeat(">", depth);
+    }
+
+    private static String mixedType(int depth) {
+        return StringUtils.repeat("ROW(f ARRAY<MAP<STRING, ", depth)
+                + "INT"
+                + StringUtils.repeat("> NOT NULL> 'c', g INT)", depth);
+    }
+
+    /** Returns the number of ROW and MAP types along the first field and value types. */
+    private static int rowAndMapDepth(SqlDataTypeSpec type) {
+        int depth = 0;
+        SqlTypeNameSpec typeName = type.getTypeNameSpec();
+        while (true) {
+            if (typeName instanceof ExtendedSqlRowTypeNameSpec) {
+                typeName =
+                        ((ExtendedSqlRowTypeNameSpec) typeName)
+                                .getFieldTypes()
+                                .get(0)
+                                .getTypeNameSpec();
+                depth++;
+            } else if (typeName instanceof SqlMapTypeNameSpec) {
+                typeName = ((SqlMapTypeNameSpec) typeName).getValType().getTypeNameSpec();
+                depth++;
+            } else if (typeName instanceof ExtendedSqlCollectionTypeNameSpec) {
+                typeName = ((ExtendedSqlCollectionTypeNameSpec) typeName).getElementTypeName();
+            } else {
+                return depth;
+            }
+        }
+    }
+
+    private static String serializerPayload(SqlRawTypeNameSpec rawType) {
+        return SqlLazyCharStringLiteral.stringValue(rawType.getSerializerString());
+    }
+
     @ParameterizedTest(name = "{index}: {0}")
     @MethodSource("testData")
     void testThrowsError(TestItem testItem) {
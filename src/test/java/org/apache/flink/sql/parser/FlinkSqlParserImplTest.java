@@ -18,14 +18,40 @@
 
 package org.apache.flink.sql.parser;
 
+import org.apache.flink.sql.parser.ddl.CreateTableHeader;
+import org.apache.flink.sql.parser.ddl.SqlCreateFunction;
 import org.apache.flink.sql.parser.ddl.SqlCreateTable;
+import org.apache.flink.sql.parser.ddl.SqlCreateView;
+import org.apache.flink.sql.parser.ddl.SqlDistribution;
+import org.apache.flink.sql.parser.ddl.SqlSet;
+import org.apache.flink.sql.parser.ddl.SqlTableOption;
+import org.apache.flink.sql.parser.ddl.TableSchemaListener;
+import org.apache.flink.sql.parser.ddl.constraint.SqlTableConstraint;
+import org.apache.flink.sql.parser.dml.CompactValues;
+import org.apache.flink.sql.parser.dml.RichSqlInsert;
+import org.apache.flink.sql.parser.error.SqlDeferredParseException;
 import org.apache.flink.sql.parser.error.SqlValidateException;
 import org.apache.flink.sql.parser.impl.FlinkSqlParserImpl;
 
+import org.apache.calcite.avatica.util.TimeUnit;
+import org.apache.calcite.config.Lex;
+import org.apache.calcite.sql.SqlBasicCall;
+import org.apache.calcite.sql.SqlCall;
+import org.apache.calcite.sql.SqlIdentifier;
+import org.apache.calcite.sql.SqlKind;
+import org.apache.calcite.sql.SqlLiteral;
 import org.apache.calcite.sql.SqlNode;
+import org.apache.calcite.sql.SqlNodeList;
+import org.apache.calcite.sql.SqlSelect;
 import org.apache.calcite.sql.parser.SqlParseException;
+import org.apache.calcite.sql.parser.SqlParser;
 import org.apache.calcite.sql.parser.SqlParserFixture;
+import org.apache.calcite.sql.parser.SqlParserImplFactory;
+import org.apache.calcite.sql.parser.SqlParserPos;
 import org.apache.calcite.sql.parser.SqlParserTest;
+import org.apache.calcite.sql.util.SqlShuttle;
+import org.apache.calcite.util.Litmus;
+import org.apache.calcite.util.NlsString;
 import org.hamcrest.BaseMatcher;
 import org.hamcrest.Description;
 import org.hamcrest.TypeSafeDiagnosingMatcher;
@@ -36,8 +62,14 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.testcontainers.shaded.org.apache.commons.lang3.StringUtils;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.assertj.core.api.Assertions.entry;
 import static org.assertj.core.api.Assertions.fail;
 import static org.junit.jupiter.api.parallel.ExecutionMode.CONCURRENT;
 
@@ -1035,6 +1067,163 @@ class FlinkSqlParserImplTest extends SqlParserTest {
                 + ")";
     }
 
+    @Test
+    void testCreateTableHeader() throws SqlParseException {
+        final CreateTableHeaderParser parser = new CreateTableHeaderParser(SqlParser.config());
+        final String sql =
+                "CREATE TEMPORARY TABLE IF NOT EXISTS cat.db.tbl (\n"
+                        + "  a BIGINT PRIMARY KEY NOT ENFORCED,\n"
+                        + "  b AS CAST(a AS STRING) || ')',\n"
+                        + "  c ROW<x ARRAY<INT>, y MAP<STRING, INT>> METADATA FROM 'k' VIRTUAL,\n"
+                        + "  ts TIMESTAMP(3), -- a comment with a parenthesis )\n"
+                        + "  WATERMARK FOR ts AS ts - INTERVAL '5' SECOND /* ( */\n"
+                        + ") COMMENT 'table comment'\n"
+                        + "DISTRIBUTED BY HASH(a) INTO 4 BUCKETS\n"
+                        + "PARTITIONED BY (a, ts)\n"
+                        + "WITH ('connector' = 'kafka', 'topic' = 't''1')";
+        final CreateTableHeader header = parser.parseHeader(sql);
+        final SqlCreateTable full = (SqlCreateTable) parseStmt(sql);
+        assertThat(header.fullTableName()).containsExactly(full.fullTableName());
+        assertThat(header.getComment().get().toValue()).isEqualTo("table comment");
+        assertThat(header.getDistribution()).hasToString(full.getDistribution().toString());
+        assertThat(header.getPartitionKeys()).containsExactly("A", "TS");
+        assertThat(header.getPropertyList()).hasToString(full.getPropertyList().toString());
+        assertThat(positions(header.getPropertyList()))
+                .isEqualTo(positions(full.getPropertyList()));
+        assertThat(header.getOptions())
+                .containsExactly(entry("connector", "kafka"), entry("topic", "t'1"));
+        assertThat(header.isTemporary()).isTrue();
+        assertThat(header.isIfNotExists()).isTrue();
+        assertThat(header.isReplace()).isFalse();
+
+        // lexical states other than DQID and BTID skip the column list token by token
+        final CreateTableHeader bracketHeader =
+                new CreateTableHeaderParser(SqlParser.config().withLex(Lex.SQL_SERVER))
+                        .parseHeader(sql);
+        assertThat(bracketHeader.fullTableName()).containsExactly("cat", "db", "tbl");
+        assertThat(bracketHeader.getPropertyList())
+                .hasToString(header.getPropertyList().toString());
+
+        final CreateTableHeader likeHeader =
+                parser.parseHeader("CREATE TABLE t WITH ('k' = 'v') LIKE s (EXCLUDING ALL);");
+        assertThat(likeHeader.fullTableName()).containsExactly("T");
+        assertThat(likeHeader.getOptions()).containsExactly(entry("k", "v"));
+        assertThat(likeHeader.getComment()).isEmpty();
+        assertThat(likeHeader.getDistribution()).isNull();
+
+        final CreateTableHeader asHeader =
+                parser.parseHeader("CREATE OR REPLACE TABLE t AS SELECT (1) FROM s");
+        assertThat(asHeader.isReplace()).isTrue();
+        assertThat(asHeader.getPartitionKeys()).isEmpty();
+
+        // errors in the header are reported, unbalanced parentheses at the end of the input
+        assertThatThrownBy(() -> parser.parseHeader("CREATE TABLE t (a INT WITH ('k' = 'v')"))
+                .isInstanceOf(SqlParseException.class)
+                .hasMessageContaining("Encountered \"<EOF>\"");
+        assertThatThrownBy(() -> parser.parseHeader("CREATE TABLE t (a INT) WITH ('k')"))
+                .isInstanceOf(SqlParseException.class);
+    }
+
+    @Test
+    void testCreateTableEvents() throws SqlParseException {
+        final CreateTableEventParser parser = new CreateTableEventParser(SqlParser.config());
+        final List<String> events = new ArrayList<>();
+        final TableSchemaListener listener =
+                new TableSchemaListener() {
+                    @Override
+                    public void onTable(SqlIdentifier tableName) {
+                        events.add("table " + tableName);
+                    }
+
+                    @Override
+                    public void onColumn(Column column) {
+                        events.add(
+                                column.getKind()
+                                        + " "
+                                        + column.getNameString()
+                                        + column.getType().map(t -> " " + t).orElse("")
+                                        + column.getExpr().map(e -> " " + e).orElse("")
+                                        + column.getMetadataAlias().map(a -> " " + a).orElse("")
+                                        + (column.isVirtual() ? " VIRTUAL" : "")
+                                        + column.getComment().map(c -> " " + c).orElse(""));
+                    }
+
+                    @Override
+                    public void onConstraint(SqlTableConstraint constraint) {
+                        events.add("constraint " + String.join(", ", constraint.getColumnNames()));
+                    }
+
+                    @Override
+                    public void onWatermark(SqlIdentifier column, SqlNode strategy) {
+                        events.add("watermark " + column + " " + strategy);
+                    }
+
+                    @Override
+                    public void onComment(String comment) {
+                        events.add("comment " + comment);
+                    }
+
+                    @Override
+                    public void onDistribution(SqlDistribution distribution) {
+                        events.add("distribution " + distribution.getBucketCount());
+                    }
+
+                    @Override
+                    public void onPartitionKey(String partitionKey) {
+                        events.add("partition " + partitionKey);
+                    }
+
+                    @Override
+                    public void onOption(String key, String value) {
+                        events.add("option " + key + "=" + value);
+                    }
+                };
+        parser.parse(
+                "CREATE TABLE cat.db.tbl (\n"
+                        + "  a BIGINT PRIMARY KEY NOT ENFORCED COMMENT 'id',\n"
+                        + "  b AS a + 1,\n"
+                        + "  c STRING METADATA FROM 'k' VIRTUAL,\n"
+                        + "  ts TIMESTAMP(3),\n"
+                        + "  WATERMARK FOR ts AS ts,\n"
+                        + "  UNIQUE (b, c) NOT ENFORCED\n"
+                        + ") COMMENT 'table comment'\n"
+                        + "DISTRIBUTED INTO 4 BUCKETS\n"
+                        + "PARTITIONED BY (a, ts)\n"
+                        + "WITH ('connector' = 'kafka', 'topic' = 't''1')",
+                listener);
+        assertThat(events)
+                .containsExactly(
+                        "table CAT.DB.TBL",
+                        "PHYSICAL A BIGINT id",
+                        "constraint A",
+                        "COMPUTED B `A` + 1",
+                        "METADATA C STRING k VIRTUAL",
+                        "PHYSICAL TS TIMESTAMP(3)",
+                        "watermark TS TS",
+                        "constraint B, C",
+                        "comment table comment",
+                        "distribution 4",
+                        "partition A",
+                        "partition TS",
+                        "option connector=kafka",
+                        "option topic=t'1");
+
+        events.clear();
+        parser.parse("CREATE TABLE t (a INT) LIKE s (EXCLUDING ALL)", listener);
+        assertThat(events).containsExactly("table T", "PHYSICAL A INTEGER");
+
+        assertThatThrownBy(
+                        () ->
+                                parser.parse(
+                                        "CREATE TABLE t (ts TIMESTAMP(3), "
+                                                + "WATERMARK FOR ts AS ts, WATERMARK FOR ts AS ts)",
+                                        listener))
+                .isInstanceOf(SqlParseException.class)
+                .hasMessageContaining("Multiple WATERMARK statements is not supported yet.");
+        assertThatThrownBy(() -> parser.parse("CREATE TABLE t (a INT b INT)", listener))
+                .isInstanceOf(SqlParseException.class);
+    }
+
     @Test
     void testCreateTableWithDistribution() {
         final String sql = buildDistributionInput("DISTRIBUTED BY HASH(a, h) INTO 6 BUCKETS");
@@ -2163,6 +2352,18 @@ class FlinkSqlParserImplTest extends SqlParserTest {
         sql("insert into emps(z boolean) partition (z='ab') (x,y) select * from emps").ok(expected);
     }
 
+    @Test
+    void testInsertNestedTypeExtendedColumn() {
+        final String expected =
+                "INSERT INTO `EMPS` EXTEND (`Z` MAP< INTEGER, ROW< `F` INTEGER > >) "
+                        + "PARTITION (`Z` = 'ab')\n"
+                        + "(`X`, `Y`)\n"
+                        + "(SELECT *\n"
+                        + "FROM `EMPS`)";
+        sql("insert into emps(z map<int, row<f int>>) partition (z='ab') (x,y) select * from emps")
+                .ok(expected);
+    }
+
     @Test
     void testInsertExtendedColumnAsStaticPartition2() {
         assertThatThrownBy(
@@ -2193,6 +2394,73 @@ class FlinkSqlParserImplTest extends SqlParserTest {
         sql(sql1).ok(expected1);
     }
 
+    @Test
+    void testInsertCompactValues() throws SqlParseException {
+        final String values =
+                "VALUES (1, -2, 3.50, -4.5E1, 'a', _UTF16'b', TRUE, NULL, DATE '2024-01-01'),\n"
+                        + " (005, 2 + 3, -0.0, 1e0, 'a', 'b' 'c', FALSE, UNKNOWN,"
+                        + " TIMESTAMP '2024-01-01 10:00:00.123'),\n"
+                        + " (9223372036854775808, x, DEFAULT, (SELECT 1), '', '''', TRUE,"
+                        + " CAST(NULL AS INT), TIME '10:00:00')";
+        final String prefix = "INSERT INTO t ";
+        final RichSqlInsert insert = (RichSqlInsert) parseStmt(prefix + values);
+        final CompactValues compactSource = insert.getCompactSource();
+        assertThat(compactSource).isNotNull();
+        assertThat(compactSource.getRowCount()).isEqualTo(3);
+        assertThat(compactSource.getColumnCount()).isEqualTo(9);
+
+        // same VALUES call and positions as the TableConstructor production
+        final SqlNode expected = parseQuery(StringUtils.repeat(' ', prefix.length()) + values);
+        final String unparsed = insert.toString();
+        assertThat(insert.getCompactSource()).isSameAs(compactSource);
+        assertThat(insert.getSource().equalsDeep(expected, Litmus.THROW)).isTrue();
+        assertThat(positions(insert.getSource())).isEqualTo(positions(expected));
+        assertThat(insert.getCompactSource()).isNull();
+        assertThat(insert.toString()).isEqualTo(unparsed);
+
+        // rows of different degree
+        final RichSqlInsert irregular =
+                (RichSqlInsert) parseStmt("INSERT INTO t VALUES (1), (1, 2)");
+        assertThat(irregular.getCompactSource().getColumnCount()).isEqualTo(-1);
+        assertThat(irregular.getSource().toString())
+                .isEqualTo(parseQuery("VALUES (1), (1, 2)").toString());
+
+        // VALUES followed by other clauses is not kept in compact form
+        sql("INSERT INTO t VALUES (1), (2) UNION VALUES (3) ORDER BY 1")
+                .ok(
+                        "INSERT INTO `T`\n"
+                                + "((VALUES (ROW(1)),\n"
+                                + "(ROW(2)))\n"
+                                + "UNION\n"
+                                + "(VALUES (ROW(3))))\n"
+                                + "ORDER BY 1");
+    }
+
+    private static SqlNode parseStmt(String sql) throws SqlParseException {
+        return SqlParser.create(
+                        sql, SqlParser.config().withParserFactory(FlinkSqlParserImpl.FACTORY))
+                .parseStmt();
+    }
+
+    private static List<SqlParserPos> positions(SqlNode node) {
+        final List<SqlParserPos> positions = new ArrayList<>();
+        node.accept(
+                new SqlShuttle() {
+                    @Override
+                    public SqlNode visit(SqlCall call) {
+                        positions.add(call.getParserPosition());
+                        return super.visit(call);
+                    }
+
+                    @Override
+                    public SqlNode visit(SqlLiteral literal) {
+                        positions.add(literal.getParserPosition());
+                        return literal;
+                    }
+                });
+        return positions;
+    }
+
     @Test
     void testInvalidUpsertOverwrite() {
         sql("UPSERT ^OVERWRITE^ myDB.myTbl SELECT * FROM src")
@@ -2344,6 +2612,138 @@ class FlinkSqlParserImplTest extends SqlParserTest {
         sql(sql).node(new ValidationMatcher());
     }
 
+    @Test
+    void testDeferredAsQueries() throws SqlParseException {
+        final String script =
+                "CREATE TABLE t1 WITH ('k' = 'v') AS SELECT a, (b + 1) AS c FROM s;\n"
+                        + "CREATE VIEW v1 AS\r\n\tSELECT * FROM (VALUES 1) -- comment\n;"
+                        + "ALTER VIEW v1 AS SELECT 1 UNION SELECT 2;\r"
+                        + "CREATE OR REPLACE TABLE t2 AS SELECT 1 ORDER BY 1;\n"
+                        + "CREATE MATERIALIZED TABLE mt FRESHNESS = INTERVAL '1' MINUTE\n"
+                        + "AS SELECT x FROM y;\n"
+                        + "CREATE MODEL m WITH ('k' = 'v') AS /* q */ SELECT *\nFROM s";
+        final SqlNodeList eager = parseStmtList(script, FlinkSqlParserImpl.FACTORY);
+        final SqlNodeList deferred =
+                parseStmtList(script, FlinkSqlParserImpl.DEFERRED_AS_QUERY_FACTORY);
+        assertThat(deferred).hasSameSizeAs(eager);
+        for (int i = 0; i < eager.size(); i++) {
+            final SqlCall statement = (SqlCall) deferred.get(i);
+            final SqlDeferredQuery query =
+                    statement.getOperandList().stream()
+                            .filter(SqlDeferredQuery.class::isInstance)
+                            .map(SqlDeferredQuery.class::cast)
+                            .findFirst()
+                            .orElseThrow(AssertionError::new);
+            assertThat(query.isParsed()).isFalse();
+            assertThat(positions(statement)).isEqualTo(positions(eager.get(i)));
+            assertThat(query.isParsed()).isTrue();
+            assertThat(statement.toString()).isEqualTo(eager.get(i).toString());
+        }
+        final SqlCreateView createView = (SqlCreateView) deferred.get(1);
+        assertThat(createView.getQuery()).isInstanceOf(SqlSelect.class);
+        assertThat(((SqlDeferredQuery) createView.getOperandList().get(2)).getSourceText())
+                .isEqualTo("SELECT * FROM (VALUES 1)");
+
+        // errors in the query are reported at their position in the script when accessed
+        final String invalid =
+                "CREATE VIEW v AS SELECT 1;\nCREATE VIEW w AS\n  SELECT a FROM WHERE";
+        final SqlParserPos expected =
+                catchThrowableOfType(
+                                () -> parseStmtList(invalid, FlinkSqlParserImpl.FACTORY),
+                                SqlParseException.class)
+                        .getPos();
+        final SqlCreateView view =
+                (SqlCreateView)
+                        parseStmtList(invalid, FlinkSqlParserImpl.DEFERRED_AS_QUERY_FACTORY).get(1);
+        assertThatThrownBy(view::getQuery)
+                .isInstanceOfSatisfying(
+                        SqlDeferredParseException.class,
+                        e -> assertThat(e.getPos()).isEqualTo(expected));
+
+        // an empty query is reported when the statement is parsed, as with the default factory
+        for (String empty : new String[] {"CREATE VIEW v AS )", "CREATE TABLE t AS )"}) {
+            final SqlParserImplFactory factory = FlinkSqlParserImpl.DEFERRED_AS_QUERY_FACTORY;
+            final SqlParseException error =
+                    catchThrowableOfType(
+                            () -> parseStmtList(empty, FlinkSqlParserImpl.FACTORY),
+                            SqlParseException.class);
+            assertThatThrownBy(() -> parseStmtList(empty, factory))
+                    .isInstanceOf(SqlParseException.class)
+                    .hasMessage(error.getMessage());
+        }
+    }
+
+    @Test
+    void testDeferredAsQueriesWithFeatures() throws SqlParseException {
+        // the query is parsed with the time unit codes and the features of the original parser
+        final List<SqlNode> parsed = new ArrayList<>();
+        final ParserFeatures features =
+                ParserFeatures.DEFAULT
+                        .withDeferAsQueries(true)
+                        .withStatsListener((node, stats) -> parsed.add(node));
+        final SqlParser.Config config =
+                SqlParser.config()
+                        .withParserFactory(FlinkSqlParserImpl.factory(features))
+                        .withTimeUnitCodes(Collections.singletonMap("Y", TimeUnit.YEAR));
+        final SqlCreateView view =
+                (SqlCreateView)
+                        SqlParser.create("CREATE VIEW v AS SELECT EXTRACT(Y FROM d) FROM t", config)
+                                .parseStmt();
+        assertThat(parsed).containsExactly(view);
+
+        final SqlNode query = view.getQuery();
+        assertThat(query.toString()).isEqualTo("SELECT EXTRACT(YEAR FROM `D`)\nFROM `T`");
+        assertThat(parsed).containsExactly(view, query);
+    }
+
+    @Test
+    void testCompactTokens() throws SqlParseException {
+        final String script =
+                "CREATE TABLE t1 (a INT COMMENT 'first\nline', \"b c\" STRING)"
+                        + " WITH ('k' = 'v');\r\n"
+                        + "/* comment */ SELECT /*+ OPTIONS('k'='v') */ a, \"B\", x'ff'\r"
+                        + "FROM t1 -- comment\n"
+                        + "WHERE a BETWEEN 1.5 AND 2e3 AND c LIKE _UTF16'%';\n"
+                        + "insert INTO t2 select Upper(a) FROM t1;\n"
+                        + String.join(";\n", ParserWarmup.getCorpus());
+        final SqlNodeList expected = parseStmtList(script, FlinkSqlParserImpl.FACTORY);
+        final SqlNodeList compact =
+                parseStmtList(script, FlinkSqlParserImpl.COMPACT_TOKENS_FACTORY);
+        assertThat(compact).hasSameSizeAs(expected);
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(compact.get(i).toString()).isEqualTo(expected.get(i).toString());
+            assertThat(positions(compact.get(i))).isEqualTo(positions(expected.get(i)));
+        }
+
+        // errors after recycled tokens are reported as with the default factory
+        for (String invalid :
+                new String[] {
+                    "SELECT 1;\nSELECT a FROM WHERE",
+                    "SELECT 1;\nCREATE TABLE t (a INT",
+                    "SELECT 1; SELECT 2;\nSELECT * FROM t WHERE a IN (SELECT b FROM)",
+                    "SELECT 1;\nSELECT 'abc"
+                }) {
+            final SqlParseException expectedError =
+                    catchThrowableOfType(
+                            () -> parseStmtList(invalid, FlinkSqlParserImpl.FACTORY),
+                            SqlParseException.class);
+            assertThatThrownBy(
+                            () -> parseStmtList(invalid, FlinkSqlParserImpl.COMPACT_TOKENS_FACTORY))
+                    .isInstanceOfSatisfying(
+                            SqlParseException.class,
+                            e -> {
+                                assertThat(e.getMessage()).isEqualTo(expectedError.getMessage());
+                                assertThat(e.getPos()).isEqualTo(expectedError.getPos());
+                            });
+        }
+    }
+
+    private static SqlNodeList parseStmtList(String sql, SqlParserImplFactory factory)
+            throws SqlParseException {
+        return SqlParser.create(sql, SqlParser.config().withParserFactory(factory))
+                .parseStmtList();
+    }
+
     @Test
     void testCreateViewWithEmptyFields() {
         String sql = "CREATE VIEW v1 AS SELECT 1";
@@ -2778,6 +3178,64 @@ class FlinkSqlParserImplTest extends SqlParserTest {
         sql("RESET 'test-key'").ok("RESET 'test-key'");
     }
 
+    @Test
+    void testLargeStringLiterals() throws SqlParseException {
+        final String json = "{\"k\": \"it''s " + StringUtils.repeat('x', 10_000) + "\"}";
+        final String value = json.replace("''", "'");
+
+        final SqlSet set = (SqlSet) parseStmt("SET 'k' = '" + json + "'");
+        final SqlLazyCharStringLiteral literal = (SqlLazyCharStringLiteral) set.getValue();
+        final SqlSet otherSet = (SqlSet) parseStmt("SET 'k' = '" + json + "'");
+        final SqlLazyCharStringLiteral other = (SqlLazyCharStringLiteral) otherSet.getValue();
+        assertThat(literal).isEqualTo(other).hasSameHashCodeAs(other);
+        assertThat(literal.isUnescaped()).isFalse();
+        assertThat(set.getValueString()).isEqualTo(value);
+        assertThat(literal.isUnescaped()).isTrue();
+        assertThat(set.getValueString()).isSameAs(set.getValueString());
+        assertThat(literal.getValueAs(NlsString.class))
+                .isEqualTo(new NlsString(value, null, null));
+        assertThat(literal).isEqualTo(other).hasSameHashCodeAs(other);
+        assertThat(other).isEqualTo(literal);
+        assertThat(other.isUnescaped()).isTrue();
+        assertThat(literal.clone(SqlParserPos.ZERO)).isEqualTo(literal);
+
+        // equality is symmetric, a lazy literal is never equal to a plain one
+        final SqlLiteral plain = SqlLiteral.createCharString(value, SqlParserPos.ZERO);
+        assertThat(literal.equalsDeep(plain, Litmus.IGNORE)).isFalse();
+        assertThat(plain.equalsDeep(literal, Litmus.IGNORE)).isFalse();
+        assertThat(set.toString()).isEqualTo("SET 'k' = '" + json + "'");
+
+        // the value field of SqlLiteral only holds a placeholder, reading it fails
+        assertThatThrownBy(() -> SqlLiteral.stringValue(literal))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("SqlLazyCharStringLiteral.stringValue(SqlNode)");
+        assertThatThrownBy(() -> ((NlsString) SqlLiteral.value(literal)).getValue())
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(SqlLazyCharStringLiteral.stringValue(literal)).isEqualTo(value);
+
+        final SqlCreateTable createTable =
+                (SqlCreateTable)
+                        parseStmt("CREATE TABLE t (a INT) WITH ('k' = '" + json + "', 'v' = 'w')");
+        assertThat(createTable.getPropertyList())
+                .extracting(option -> ((SqlTableOption) option).getValueString())
+                .containsExactly(value, "w");
+
+        final String body = StringUtils.repeat("return 1\n", 1_000);
+        final SqlCreateFunction createFunction =
+                (SqlCreateFunction)
+                        parseStmt("CREATE FUNCTION f AS '" + body + "' LANGUAGE PYTHON");
+        assertThat(createFunction.getFunctionClassName())
+                .isInstanceOf(SqlLazyCharStringLiteral.class);
+        assertThat(createFunction.getFunctionClassName().getValueAs(String.class))
+                .isEqualTo(body);
+
+        // short and continued literals are parsed as before
+        assertThat(((SqlSet) parseStmt("SET 'k' = 'v'")).getValue())
+                .isNotInstanceOf(SqlLazyCharStringLiteral.class);
+        assertThat(((SqlSet) parseStmt("SET 'k' = '" + json + "'\n'a'")).getValue())
+                .isNotInstanceOf(SqlLazyCharStringLiteral.class);
+    }
+
     @Test
     void testTryCast() {
         // Simple types
@@ -3046,6 +3504,97 @@ class FlinkSqlParserImplTest extends SqlParserTest {
         sql("truncate table t1").ok("TRUNCATE TABLE `T1`");
     }
 
+    @Test
+    void testLongAndOrChain() throws SqlParseException {
+        sql("select * from t where a = 0 and a = 1 or not a = 2 and b is null or -1 < a")
+                .ok(
+                        "SELECT *\n"
+                                + "FROM `T`\n"
+                                + "WHERE ((((`A` = 0) AND (`A` = 1)) OR ((NOT (`A` = 2))"
+                                + " AND (`B` IS NULL))) OR (-1 < `A`))");
+        sql("select * from t where a = 0 and a between 1 and 2 or a = 3")
+                .ok(
+                        "SELECT *\n"
+                                + "FROM `T`\n"
+                                + "WHERE (((`A` = 0) AND (`A` BETWEEN ASYMMETRIC 1 AND 2))"
+                                + " OR (`A` = 3))");
+
+        final int n = 10_000;
+        SqlNode condition = ((SqlSelect) parseQuery(andChain(n))).getWhere();
+        int depth = 0;
+        while (condition.getKind() == SqlKind.AND) {
+            condition = ((SqlBasicCall) condition).operand(0);
+            depth++;
+        }
+        assertThat(depth).isEqualTo(n);
+
+        // prefix and postfix operators bind tighter than AND and OR, so the chain is still split
+        // at them; the recursive reduction of SqlParserUtil overflows the stack on this input
+        final StringBuilder mixed = new StringBuilder("select * from t where a = 0");
+        for (int i = 1; i <= n; i++) {
+            mixed.append(" or not a = ").append(i);
+            mixed.append(" and b").append(i).append(" is not null and -a < ").append(i);
+        }
+        condition = ((SqlSelect) parseQuery(mixed.toString())).getWhere();
+        final SqlBasicCall lastTerm = ((SqlBasicCall) condition).operand(1);
+        assertThat(lastTerm.getOperandList())
+                .extracting(SqlNode::getKind)
+                .containsExactly(SqlKind.AND, SqlKind.LESS_THAN);
+        assertThat(((SqlBasicCall) lastTerm.operand(0)).getOperandList())
+                .extracting(SqlNode::getKind)
+                .containsExactly(SqlKind.NOT, SqlKind.IS_NOT_NULL);
+        depth = 0;
+        while (condition.getKind() == SqlKind.OR) {
+            condition = ((SqlBasicCall) condition).operand(0);
+            depth++;
+        }
+        assertThat(depth).isEqualTo(n);
+        assertThat(condition.toString()).isEqualTo("`A` = 0");
+    }
+
+    @Test
+    void testLongSetOperationChain() throws SqlParseException {
+        // UNION and EXCEPT are left-associative with the same precedence, INTERSECT binds tighter
+        final SqlBasicCall union =
+                (SqlBasicCall)
+                        parseQuery(
+                                "select 1 union select 2 except all select 3"
+                                        + " intersect select 4 union all select 5");
+        assertThat(union.getOperator().getName()).isEqualTo("UNION ALL");
+        final SqlBasicCall except = union.operand(0);
+        assertThat(except.getOperator().getName()).isEqualTo("EXCEPT ALL");
+        assertThat(((SqlBasicCall) except.operand(0)).getOperator().getName())
+                .isEqualTo("UNION");
+        assertThat(except.operand(1).getKind()).isEqualTo(SqlKind.INTERSECT);
+
+        final int n = 10_000;
+        final StringBuilder sql = new StringBuilder("select 0");
+        for (int i = 1; i <= n; i++) {
+            sql.append(" union all select ").append(i);
+        }
+        SqlNode query = parseQuery(sql.toString());
+        int depth = 0;
+        while (query.getKind() == SqlKind.UNION) {
+            query = ((SqlBasicCall) query).operand(0);
+            depth++;
+        }
+        assertThat(depth).isEqualTo(n);
+    }
+
+    private static String andChain(int n) {
+        final StringBuilder sql = new StringBuilder("select * from t where a = 0");
+        for (int i = 1; i <= n; i++) {
+            sql.append(" and a = ").append(i);
+        }
+        return sql.toString();
+    }
+
+    private static SqlNode parseQuery(String sql) throws SqlParseException {
+        return SqlParser.create(
+                        sql, SqlParser.config().withParserFactory(FlinkSqlParserImpl.FACTORY))
+                .parseQuery();
+    }
+
     public static BaseMatcher<SqlNode> validated(String validatedSql) {
         return new TypeSafeDiagnosingMatcher<SqlNode>() {
             @Override
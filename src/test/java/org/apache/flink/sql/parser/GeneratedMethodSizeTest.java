@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.flink.sql.parser;
+
+import org.apache.flink.sql.parser.impl.FlinkSqlParserImpl;
+import org.apache.flink.sql.parser.impl.FlinkSqlParserImplTokenManager;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the bytecode size of the methods of the generated parser.
+ *
+ * <p>HotSpot does not JIT-compile methods with more than 8000 bytes of bytecode (see {@code
+ * -XX:-DontCompileHugeMethods}), so a grammar production that grows beyond this limit is
+ * interpreted forever. Such a production has to be split into smaller ones, see for example
+ * {@code SqlAlterTableDrop} in {@code parserImpls.ftl}. Static initializers run only once and are
+ * not checked.
+ */
+class GeneratedMethodSizeTest {
+
+    private static final int HUGE_METHOD_LIMIT = 8000;
+
+    @ParameterizedTest
+    @ValueSource(classes = {FlinkSqlParserImpl.class, FlinkSqlParserImplTokenManager.class})
+    void testNoHugeMethods(Class<?> generatedClass) throws IOException {
+        final Map<String, Integer> sizes = readMethodSizes(generatedClass);
+        assertThat(sizes).isNotEmpty();
+        final Map<String, Integer> hugeMethods =
+                sizes.entrySet().stream()
+                        .filter(e -> !e.getKey().startsWith("<clinit>"))
+                        .filter(e -> e.getValue() > HUGE_METHOD_LIMIT)
+                        .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        assertThat(hugeMethods)
+                .as(
+                        "Methods of %s with more than %s bytes of bytecode",
+                        generatedClass.getSimpleName(),
+                        HUGE_METHOD_LIMIT)
+                .isEmpty();
+    }
+
+    /** Returns the code length of each method of the class, by name and descriptor. */
+    private static Map<String, Integer> readMethodSizes(Class<?> clazz) throws IOException {
+        final Map<String, Integer> sizes = new LinkedHashMap<>();
+        try (InputStream stream =
+                        clazz.getResourceAsStream(clazz.getSimpleName() + ".class");
+                DataInputStream in = new DataInputStream(stream)) {
+            in.readInt(); // magic
+            in.readInt(); // minor and major version
+            final String[] utf8 = readUtf8Constants(in);
+            in.readUnsignedShort(); // access flags
+            in.readUnsignedShort(); // this class
+            in.readUnsignedShort(); // super class
+            in.skipBytes(2 * in.readUnsignedShort()); // interfaces
+            final int fieldCount = in.readUnsignedShort();
+            for (int i = 0; i < fieldCount; i++) {
+                in.skipBytes(6); // access flags, name and descriptor
+                skipAttributes(in);
+            }
+            final int methodCount = in.readUnsignedShort();
+            for (int i = 0; i < methodCount; i++) {
+                in.readUnsignedShort(); // access flags
+                final String name = utf8[in.readUnsignedShort()];
+                final String descriptor = utf8[in.readUnsignedShort()];
+                final int attributeCount = in.readUnsignedShort();
+                for (int j = 0; j < attributeCount; j++) {
+                    final String attributeName = utf8[in.readUnsignedShort()];
+                    final int length = in.readInt();
+                    if ("Code".equals(attributeName)) {
+                        in.readUnsignedShort(); // max stack
+                        in.readUnsignedShort(); // max locals
+                        final int codeLength = in.readInt();
+                        sizes.put(name + descriptor, codeLength);
+                        in.skipBytes(length - 8);
+                    } else {
+                        in.skipBytes(length);
+                    }
+                }
+            }
+        }
+        return sizes;
+    }
+
+    /** Reads the constant pool and returns its UTF-8 entries by index, null for other entries. */
+    private static String[] readUtf8Constants(DataInputStream in) throws IOException {
+        final String[] utf8 = new String[in.readUnsignedShort()];
+        for (int i = 1; i < utf8.length; i++) {
+            final int tag = in.readUnsignedByte();
+            switch (tag) {
+                case 1: // Utf8
+                    utf8[i] = in.readUTF();
+                    break;
+                case 7: // Class
+                case 8: // String
+                case 16: // MethodType
+                case 19: // Module
+                case 20: // Package
+                    in.skipBytes(2);
+                    break;
+                case 15: // MethodHandle
+                    in.skipBytes(3);
+                    break;
+                case 3: // Integer
+                case 4: // Float
+                case 9: // Fieldref
+                case 10: // Methodref
+                case 11: // InterfaceMethodref
+                case 12: // NameAndType
+                case 17: // Dynamic
+                case 18: // InvokeDynamic
+                    in.skipBytes(4);
+                    break;
+                case 5: // Long
+                case 6: // Double
+                    in.skipBytes(8);
+                    i++; // takes two entries
+                    break;
+                default:
+                    throw new IOException("Unknown constant pool tag " + tag);
+            }
+        }
+        return utf8;
+    }
+
+    private static void skipAttributes(DataInputStream in) throws IOException {
+        final int attributeCount = in.readUnsignedShort();
+        for (int i = 0; i < attributeCount; i++) {
+            in.readUnsignedShort(); // name
+            in.skipBytes(in.readInt());
+        }
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.sql.parser;
+
+import org.apache.flink.sql.parser.GrammarProfiler.LookaheadProfile;
+import org.apache.flink.sql.parser.GrammarProfiler.ProductionProfile;
+import org.apache.flink.sql.parser.GrammarProfiler.Recorder;
+import org.apache.flink.sql.parser.GrammarProfiler.Report;
+import org.apache.flink.sql.parser.impl.FlinkSqlParserImpl;
+import org.apache.flink.sql.parser.validate.FlinkSqlConformance;
+
+import org.apache.calcite.avatica.util.Casing;
+import org.apache.calcite.avatica.util.Quoting;
+import org.apache.calcite.sql.parser.SqlParser;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/** Tests for {@link GrammarProfiler}. */
+class GrammarProfilerTest {
+
+    private static final SqlParser.Config CONFIG =
+            SqlParser.config()
+                    .withParserFactory(FlinkSqlParserImpl.FACTORY)
+                    .withQuoting(Quoting.BACK_TICK)
+                    .withUnquotedCasing(Casing.UNCHANGED)
+                    .withConformance(FlinkSqlConformance.DEFAULT);
+
+    /** Clock that advances by 10 nanoseconds on every read. */
+    private long now;
+
+    private final GrammarProfiler profiler = new GrammarProfiler(() -> now += 10);
+
+    @Test
+    void testSelfAndTotalTime() {
+        final Recorder recorder = profiler.newRecorder();
+        recorder.enter("Query"); // 10
+        recorder.enter("Expression"); // 20
+        recorder.enter("Expression"); // 30
+        recorder.exit(); // 40
+        recorder.exit(); // 50
+        recorder.enter("Identifier"); // 60
+        recorder.consume();
+        recorder.exit(); // 70
+        recorder.exit(); // 80
+
+        final Report report = profiler.report();
+        // Ranked by self time, then by name.
+        assertThat(report.getProductions())
+                .extracting(ProductionProfile::getName)
+                .containsExactly("Expression", "Query", "Identifier");
+        final ProductionProfile query = report.getProduction("Query").get();
+        assertThat(query.getCalls()).isEqualTo(1);
+        assertThat(query.getSelfNanos()).isEqualTo(30);
+        assertThat(query.getTotalNanos()).isEqualTo(70);
+        final ProductionProfile expression = report.getProduction("Expression").get();
+        assertThat(expression.getCalls()).isEqualTo(2);
+        assertThat(expression.getSelfNanos()).isEqualTo(30);
+        // The recursive call is part of the outer one.
+        assertThat(expression.getTotalNanos()).isEqualTo(30);
+        final ProductionProfile identifier = report.getProduction("Identifier").get();
+        assertThat(identifier.getTokens()).isEqualTo(1);
+        assertThat(query.getTokens()).isZero();
+    }
+
+    @Test
+    void testLookaheads() {
+        final Recorder recorder = profiler.newRecorder();
+        recorder.enter("RichSqlInsert");
+        for (int i = 0; i < 3; i++) {
+            recorder.startScan(12, 5);
+            recorder.scanToken();
+            recorder.scanToken();
+            assertThat(recorder.scanned(i == 0)).isEqualTo(i == 0);
+            recorder.endScan();
+        }
+        recorder.startScan(13, Integer.MAX_VALUE);
+        recorder.scanToken();
+        recorder.endScan();
+        recorder.exit();
+
+        final Report report = profiler.report();
+        final List<LookaheadProfile> lookaheads = report.getLookaheads();
+        assertThat(lookaheads)
+                .extracting(LookaheadProfile::getName)
+                .containsExactly("RichSqlInsert/jj_2_12", "RichSqlInsert/jj_2_13");
+        final LookaheadProfile lookahead = lookaheads.get(0);
+        assertThat(lookahead.getLimit()).isEqualTo(5);
+        assertThat(lookahead.getScans()).isEqualTo(3);
+        assertThat(lookahead.getMatches()).isEqualTo(1);
+        assertThat(lookahead.getTokens()).isEqualTo(6);
+        assertThat(lookahead.getNanos()).isEqualTo(30);
+        final ProductionProfile insert = report.getProduction("RichSqlInsert").get();
+        assertThat(insert.getScans()).isEqualTo(4);
+        assertThat(insert.getScannedTokens()).isEqualTo(7);
+        assertThat(report.toString())
+                .contains("RichSqlInsert/jj_2_12")
+                .containsPattern("RichSqlInsert/jj_2_13 +\\*");
+    }
+
+    @Test
+    void testReset() {
+        final Recorder recorder = profiler.newRecorder();
+        recorder.enter("SqlStmt");
+        recorder.exit();
+        profiler.reset();
+        assertThat(profiler.report().getProductions()).isEmpty();
+        recorder.enter("SqlStmt");
+        recorder.exit();
+        assertThat(profiler.report().getProduction("SqlStmt").get().getCalls()).isEqualTo(1);
+    }
+
+    @Test
+    void testProfileRequiresInstrumentedParser() {
+        assumeFalse(GrammarProfiler.isInstrumented());
+        assertThatThrownBy(
+                        () ->
+                                GrammarProfiler.getInstance()
+                                        .profile(CONFIG, Collections.singletonList("SELECT 1"), 1))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("-Pgrammar-profiling");
+    }
+
+    @Test
+    void testProfileInstrumentedParser() {
+        assumeTrue(GrammarProfiler.isInstrumented());
+        final Report report =
+                GrammarProfiler.getInstance()
+                        .profile(
+                                CONFIG,
+                                Collections.singletonList(
+                                        "INSERT INTO t1 (a, b) SELECT a, b FROM t2;\n"
+                                                + "CREATE TABLE t3 (a INT) WITH ('k' = 'v')"),
+                                2);
+        final List<String> productions =
+                report.getProductions().stream()
+                        .map(ProductionProfile::getName)
+                        .collect(Collectors.toList());
+        assertThat(productions).contains("SqlStmtList", "RichSqlInsert", "SqlCreateTable");
+        assertThat(report.getProduction("SqlStmtList").get().getCalls()).isEqualTo(2);
+        assertThat(report.getLookaheads())
+                .extracting(LookaheadProfile::getProduction)
+                .contains("RichSqlInsert");
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.sql.parser;
+
+import org.apache.flink.sql.parser.error.SqlParseBudgetException;
+import org.apache.flink.sql.parser.error.SqlParseBudgetException.Reason;
+import org.apache.flink.sql.parser.impl.FlinkSqlParserImpl;
+import org.apache.flink.sql.parser.validate.FlinkSqlConformance;
+
+import org.apache.calcite.avatica.util.Casing;
+import org.apache.calcite.avatica.util.Quoting;
+import org.apache.calcite.sql.SqlNodeList;
+import org.apache.calcite.sql.parser.SqlParseException;
+import org.apache.calcite.sql.parser.SqlParser;
+import org.apache.calcite.sql.parser.SqlParserPos;
+import org.apache.calcite.util.CancelFlag;
+
+import org.assertj.core.api.AbstractThrowableAssert;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** Tests for {@link ParseBudget} and {@link FlinkSqlParserImpl#budgetFactory(ParseBudget)}. */
+class ParseBudgetTest {
+
+    private static final SqlParser.Config CONFIG =
+            SqlParser.config()
+                    .withQuoting(Quoting.BACK_TICK)
+                    .withUnquotedCasing(Casing.UNCHANGED)
+                    .withConformance(FlinkSqlConformance.DEFAULT);
+
+    @Test
+    void testWithinBudget() throws SqlParseException {
+        final ParseBudget budget =
+                ParseBudget.UNLIMITED
+                        .withMaxTokens(100)
+                        .withMaxDepth(3)
+                        .withMaxTime(Duration.ofMinutes(1))
+                        .withCancelFlag(new CancelFlag(new AtomicBoolean()));
+        final String sql =
+                "SELECT CASE WHEN a > (b + 1) THEN ARRAY[1] END FROM t WHERE c < 2;\n"
+                        + "CREATE TABLE t2 (m MAP<INT, ARRAY<INT>>, r ROW<a INT>)"
+                        + " WITH ('k' = 'v');\n"
+                        + "EXECUTE STATEMENT SET BEGIN INSERT INTO t SELECT * FROM t2; END";
+        final SqlNodeList statements = parse(sql, budget);
+        final SqlNodeList expected = parse(sql, ParseBudget.UNLIMITED);
+        assertThat(statements).hasSize(3);
+        for (int i = 0; i < statements.size(); i++) {
+            assertThat(statements.get(i).toString()).isEqualTo(expected.get(i).toString());
+        }
+    }
+
+    @Test
+    void testTokenLimit() {
+        final ParseBudget budget = ParseBudget.UNLIMITED.withMaxTokens(5);
+        assertExceeded("SELECT a, b\nFROM t", budget, Reason.TOKENS, new SqlParserPos(2, 6, 2, 6))
+                .hasMessage("Token limit of 5 exceeded at line 2, column 6");
+    }
+
+    @Test
+    void testTokenLimitAppliesToStatementList() {
+        final ParseBudget budget = ParseBudget.UNLIMITED.withMaxTokens(8);
+        assertExceeded(
+                "SELECT 1; SELECT 2; SELECT 3",
+                budget,
+                Reason.TOKENS,
+                new SqlParserPos(1, 28, 1, 28));
+    }
+
+    @Test
+    void testDepthLimit() {
+        final ParseBudget budget = ParseBudget.UNLIMITED.withMaxDepth(100);
+        // Deep enough to overflow the stack without a limit.
+        final String sql = "SELECT " + repeat("(", 100_000) + "1" + repeat(")", 100_000);
+        assertExceeded(sql, budget, Reason.DEPTH, new SqlParserPos(1, 108, 1, 108))
+                .hasMessage("Nesting depth limit of 100 exceeded at line 1, column 108");
+    }
+
+    @Test
+    void testDepthCountsCaseAndTypes() {
+        final ParseBudget budget = ParseBudget.UNLIMITED.withMaxDepth(2);
+        assertExceeded(
+                "SELECT CASE WHEN CASE WHEN ARRAY[1] IS NULL THEN 1 END = 1 THEN 2 END",
+                budget,
+                Reason.DEPTH,
+                new SqlParserPos(1, 33, 1, 33));
+        assertExceeded(
+                "CREATE TABLE t (a ARRAY<MAP<INT, ROW<b INT>>>)",
+                budget,
+                Reason.DEPTH,
+                new SqlParserPos(1, 28, 1, 28));
+    }
+
+    @Test
+    void testDepthCountsPrefixOperators() {
+        final ParseBudget budget = ParseBudget.UNLIMITED.withMaxDepth(200);
+        // Deep enough to overflow the stack without counting the operators.
+        assertExceeded(
+                "SELECT " + repeat("NOT ", 50_000) + "TRUE",
+                budget,
+                Reason.DEPTH,
+                new SqlParserPos(1, 812, 1, 814));
+        assertExceeded(
+                "SELECT " + repeat("- ", 50_000) + "1",
+                budget,
+                Reason.DEPTH,
+                new SqlParserPos(1, 410, 1, 410));
+        assertExceeded(
+                "SELECT " + repeat("NOT (- ", 50_000) + "1" + repeat(")", 50_000),
+                budget,
+                Reason.DEPTH,
+                new SqlParserPos(1, 1408, 1, 1410));
+    }
+
+    @Test
+    void testDepthIsNotCumulative() throws SqlParseException {
+        final ParseBudget budget = ParseBudget.UNLIMITED.withMaxDepth(1);
+        assertThat(parse("SELECT f(a), g(b), CASE WHEN a THEN 1 END, h(c) FROM t", budget))
+                .hasSize(1);
+        assertThat(parse("SELECT a > b, c < d FROM t WHERE a <> b", budget)).hasSize(1);
+        assertThat(parse("SELECT a - b + c, NOT a AND NOT b FROM t WHERE a IS NOT NULL", budget))
+                .hasSize(1);
+        assertThat(parse("SELECT (a + b) * (c - d), (NOT a) FROM t", budget)).hasSize(1);
+    }
+
+    @Test
+    void testTimeLimit() {
+        final ParseBudget budget = ParseBudget.UNLIMITED.withMaxTime(Duration.ofNanos(1));
+        // The time is checked every 64 tokens.
+        final String sql = "SELECT " + repeat("a, ", 40) + "b FROM t";
+        assertExceeded(sql, budget, Reason.TIME, new SqlParserPos(1, 101, 1, 101))
+                .hasMessage("Time limit of 0 ms exceeded at line 1, column 101");
+    }
+
+    @Test
+    void testCancellation() throws SqlParseException {
+        final CancelFlag cancelFlag = new CancelFlag(new AtomicBoolean());
+        final ParseBudget budget = ParseBudget.UNLIMITED.withCancelFlag(cancelFlag);
+        cancelFlag.requestCancel();
+        assertExceeded("SELECT 1", budget, Reason.CANCELLED, new SqlParserPos(1, 1, 1, 6))
+                .hasMessage("Parsing cancelled at line 1, column 1");
+        cancelFlag.clearCancel();
+        assertThat(parse("SELECT 1", budget)).hasSize(1);
+    }
+
+    @Test
+    void testInvalidLimits() {
+        assertThatThrownBy(() -> ParseBudget.UNLIMITED.withMaxTokens(0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ParseBudget.UNLIMITED.withMaxDepth(-1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ParseBudget.UNLIMITED.withMaxTime(Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static SqlNodeList parse(String sql, ParseBudget budget) throws SqlParseException {
+        return SqlParser.create(
+                        sql,
+                        CONFIG.withParserFactory(FlinkSqlParserImpl.budgetFactory(budget)))
+                .parseStmtList();
+    }
+
+    private static AbstractThrowableAssert<?, ? extends Throwable> assertExceeded(
+            String sql, ParseBudget budget, Reason reason, SqlParserPos pos) {
+        return assertThatThrownBy(() -> parse(sql, budget))
+                .isInstanceOfSatisfying(
+                        SqlParseBudgetException.class,
+                        e -> {
+                            assertThat(e.getReason()).isEqualTo(reason);
+                            assertThat(e.getPos()).isEqualTo(pos);
+                        });
+    }
+
+    private static String repeat(String s, int n) {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < n; i++) {
+            sb.append(s);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.sql.parser;
+
+import org.apache.flink.sql.parser.ddl.SqlCreateTable;
+import org.apache.flink.sql.parser.error.SqlParseBudgetException;
+import org.apache.flink.sql.parser.error.SqlValidateException;
+import org.apache.flink.sql.parser.impl.FlinkSqlParserImpl;
+import org.apache.flink.sql.parser.validate.FlinkSqlConformance;
+
+import org.apache.calcite.avatica.util.Casing;
+import org.apache.calcite.avatica.util.Quoting;
+import org.apache.calcite.sql.SqlNode;
+import org.apache.calcite.sql.SqlNodeList;
+import org.apache.calcite.sql.parser.SqlParseException;
+import org.apache.calcite.sql.parser.SqlParser;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link ParseStats}, {@link FlinkSqlParserImpl#statsFactory(ParseStatsListener)} and
+ * {@link StatsCollectingParser}.
+ */
+class ParseStatsTest {
+
+    private static final SqlParser.Config CONFIG =
+            SqlParser.config()
+                    .withQuoting(Quoting.BACK_TICK)
+                    .withUnquotedCasing(Casing.UNCHANGED)
+                    .withConformance(FlinkSqlConformance.DEFAULT);
+
+    @Test
+    void testStatsOfStatement() throws SqlParseException {
+        final CollectingListener listener = new CollectingListener();
+        final SqlNode node =
+                SqlParser.create(
+                                "SELECT a, b + 1 FROM t",
+                                CONFIG.withParserFactory(FlinkSqlParserImpl.statsFactory(listener)))
+                        .parseStmt();
+
+        assertThat(listener.nodes).containsExactly(node);
+        final ParseStats stats = listener.stats.get(0);
+        // SELECT a , b + 1 FROM t <EOF>
+        assertThat(stats.getTokenCount()).isEqualTo(9);
+        // the SELECT with its keyword, select, window and hint lists, a, b + 1, b, 1 and t
+        assertThat(stats.getNodeCount()).isEqualTo(10);
+        assertThat(stats.getMaxDepth()).isEqualTo(4);
+        assertThat(stats.getParseTime()).isPositive();
+        assertThat(stats.getLexTime()).isPositive();
+        assertThat(stats.getValidateTime()).isZero();
+        assertThat(stats.getLookaheadScans())
+                .isEqualTo(GrammarProfiler.isInstrumented() ? 1 : ParseStats.UNKNOWN);
+        assertThat(stats.getAllocatedBytes()).isNotZero();
+    }
+
+    @Test
+    void testStatsOfEveryParse() throws SqlParseException {
+        final CollectingListener listener = new CollectingListener();
+        final SqlParser.Config config =
+                CONFIG.withParserFactory(FlinkSqlParserImpl.statsFactory(listener));
+        SqlParser.create("1 + 2", config).parseExpression();
+        SqlParser.create("SELECT 1; SELECT 2", config).parseStmtList();
+
+        assertThat(listener.stats).hasSize(2);
+        assertThat(listener.stats.get(0).getTokenCount()).isEqualTo(4);
+        assertThat(listener.stats.get(0).getNodeCount()).isEqualTo(3);
+        assertThat(listener.nodes.get(1)).isInstanceOf(SqlNodeList.class);
+        assertThat(listener.stats.get(1).getTokenCount()).isEqualTo(6);
+    }
+
+    @Test
+    void testStatsOfFailedParse() {
+        final CollectingListener listener = new CollectingListener();
+        assertThatThrownBy(
+                        () ->
+                                SqlParser.create(
+                                                "SELECT a FROM t WHERE",
+                                                CONFIG.withParserFactory(
+                                                        FlinkSqlParserImpl.statsFactory(listener)))
+                                        .parseStmt())
+                .isInstanceOf(SqlParseException.class)
+                .hasMessageContaining("Encountered \"<EOF>\"");
+
+        assertThat(listener.nodes).isEmpty();
+        assertThat(listener.failures).hasSize(1);
+        final ParseStats stats = listener.failures.get(0);
+        assertThat(stats.getTokenCount()).isEqualTo(6);
+        assertThat(stats.getNodeCount()).isZero();
+        assertThat(stats.getMaxDepth()).isZero();
+    }
+
+    @Test
+    void testDeepTree() throws SqlParseException {
+        final int n = 10_000;
+        final StringBuilder sql = new StringBuilder("SELECT 0");
+        for (int i = 1; i <= n; i++) {
+            sql.append(" UNION ALL SELECT ").append(i);
+        }
+        final CollectingListener listener = new CollectingListener();
+        SqlParser.create(
+                        sql.toString(),
+                        CONFIG.withParserFactory(FlinkSqlParserImpl.statsFactory(listener)))
+                .parseQuery();
+
+        assertThat(listener.stats.get(0).getMaxDepth()).isGreaterThan(n);
+    }
+
+    @Test
+    void testStatsCollectingParser() throws Exception {
+        final CollectingListener listener = new CollectingListener();
+        final StatsCollectingParser parser = new StatsCollectingParser(CONFIG, listener);
+        final StatsCollectingParser.Result result =
+                parser.parseStmtList(
+                        "CREATE TABLE t (a INT, PRIMARY KEY (a) NOT ENFORCED);\n"
+                                + "INSERT INTO t VALUES (1)");
+
+        assertThat(result.getStatements()).hasSize(2);
+        assertThat(result.getStatements().get(0)).isInstanceOf(SqlCreateTable.class);
+        assertThat(result.getStats().getValidateTime()).isPositive();
+        assertThat(result.getStats().getTotalTime())
+                .isEqualTo(
+                        result.getStats()
+                                .getLexTime()
+                                .plus(result.getStats().getParseTime())
+                                .plus(result.getStats().getValidateTime()));
+        assertThat(listener.stats).containsExactly(result.getStats());
+        assertThat(listener.nodes).containsExactly(result.getStatements());
+    }
+
+    @Test
+    void testStatsCollectingParserReportsFailures() {
+        final CollectingListener listener = new CollectingListener();
+        final StatsCollectingParser parser = new StatsCollectingParser(CONFIG, listener);
+
+        assertThatThrownBy(() -> parser.parseStmtList("CREATE TABLE t ("))
+                .isInstanceOf(SqlParseException.class);
+        assertThat(listener.failures).hasSize(1);
+
+        assertThatThrownBy(
+                        () ->
+                                parser.parseStmtList(
+                                        "CREATE TABLE t (a INT PRIMARY KEY NOT ENFORCED,"
+                                                + " PRIMARY KEY (a) NOT ENFORCED)"))
+                .isInstanceOf(SqlValidateException.class)
+                .hasMessage("Duplicate primary key definition");
+        assertThat(listener.stats).hasSize(1);
+        assertThat(listener.stats.get(0).getValidateTime()).isPositive();
+    }
+
+    @Test
+    void testStatsCollectingParserWithFeatures() throws Exception {
+        final CollectingListener listener = new CollectingListener();
+        final StatsCollectingParser parser =
+                new StatsCollectingParser(
+                        CONFIG,
+                        ParserFeatures.DEFAULT.withBudget(ParseBudget.UNLIMITED.withMaxTokens(10)),
+                        listener);
+
+        assertThatThrownBy(() -> parser.parseStmtList("INSERT INTO t VALUES (1, 2, 3)"))
+                .isInstanceOf(SqlParseBudgetException.class);
+        assertThat(listener.failures).hasSize(1);
+        assertThat(parser.parseStmtList("INSERT INTO t VALUES (1)").getStatements()).hasSize(1);
+        assertThat(listener.stats).hasSize(1);
+    }
+
+    private static final class CollectingListener implements ParseStatsListener {
+        final List<SqlNode> nodes = new ArrayList<>();
+        final List<ParseStats> stats = new ArrayList<>();
+        final List<ParseStats> failures = new ArrayList<>();
+
+        @Override
+        public void onParse(SqlNode node, ParseStats stats) {
+            nodes.add(node);
+            this.stats.add(stats);
+        }
+
+        @Override
+        public void onParseFailure(ParseStats stats) {
+            failures.add(stats);
+        }
+    }
+}
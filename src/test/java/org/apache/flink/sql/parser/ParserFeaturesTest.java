@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.flink.sql.parser;
+
+import org.apache.flink.sql.parser.ddl.SqlCreateTable;
+import org.apache.flink.sql.parser.ddl.SqlTableColumn.SqlRegularColumn;
+import org.apache.flink.sql.parser.error.SqlParseBudgetException;
+import org.apache.flink.sql.parser.error.SqlParseBudgetException.Reason;
+import org.apache.flink.sql.parser.impl.FlinkSqlParserImpl;
+import org.apache.flink.sql.parser.validate.FlinkSqlConformance;
+
+import org.apache.calcite.avatica.util.Casing;
+import org.apache.calcite.avatica.util.Quoting;
+import org.apache.calcite.sql.SqlNode;
+import org.apache.calcite.sql.SqlNodeList;
+import org.apache.calcite.sql.parser.SqlParseException;
+import org.apache.calcite.sql.parser.SqlParser;
+import org.apache.calcite.sql.parser.SqlParserPos;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** Tests for {@link ParserFeatures} and {@link FlinkSqlParserImpl#factory(ParserFeatures)}. */
+class ParserFeaturesTest {
+
+    private static final SqlParser.Config CONFIG =
+            SqlParser.config()
+                    .withQuoting(Quoting.BACK_TICK)
+                    .withUnquotedCasing(Casing.UNCHANGED)
+                    .withConformance(FlinkSqlConformance.DEFAULT);
+
+    private static final String SQL =
+            "CREATE TABLE t (a INT, b STRING) WITH ('connector' = 'kafka');\n"
+                    + "CREATE TABLE t2 (a INT) WITH ('connector' = 'kafka');\n"
+                    + "SELECT CASE WHEN a > (b + 1) THEN ARRAY[1] END FROM t WHERE NOT c";
+
+    @Test
+    void testCombinedFeatures() throws SqlParseException {
+        final CollectingListener listener = new CollectingListener();
+        final SqlNodeInterner interner = new SqlNodeInterner();
+        final ParserFeatures features =
+                ParserFeatures.DEFAULT
+                        .withBudget(ParseBudget.UNLIMITED.withMaxTokens(100).withMaxDepth(3))
+                        .withStatsListener(listener)
+                        .withCompactTokens(true)
+                        .withNodeInterner(interner, false)
+                        .withImmutableAst(true);
+        final SqlNodeList statements = parse(SQL, features);
+        final SqlNodeList expected = parse(SQL, ParserFeatures.DEFAULT);
+
+        assertThat(statements).hasSize(3);
+        for (int i = 0; i < statements.size(); i++) {
+            assertThat(statements.get(i).toString()).isEqualTo(expected.get(i).toString());
+        }
+        // stats
+        assertThat(listener.nodes).containsExactly(statements);
+        assertThat(listener.stats.get(0).getTokenCount()).isEqualTo(53);
+        assertThat(listener.stats.get(0).getLexTime()).isPositive();
+        // interning
+        assertThat(((SqlCreateTable) statements.get(1)).getPropertyList().get(0))
+                .isSameAs(((SqlCreateTable) statements.get(0)).getPropertyList().get(0));
+        // immutable AST
+        final SqlRegularColumn column =
+                (SqlRegularColumn) ((SqlCreateTable) statements.get(0)).getColumnList().get(0);
+        assertThat(column.isFrozen()).isTrue();
+    }
+
+    @Test
+    void testBudgetWithStats() {
+        final CollectingListener listener = new CollectingListener();
+        final ParserFeatures features =
+                ParserFeatures.DEFAULT
+                        .withBudget(ParseBudget.UNLIMITED.withMaxTokens(52))
+                        .withStatsListener(listener);
+        assertBudgetExceeded(SQL, features, Reason.TOKENS, new SqlParserPos(3, 65, 3, 65));
+        assertThat(listener.nodes).isEmpty();
+        assertThat(listener.failures).hasSize(1);
+        assertThat(listener.failures.get(0).getTokenCount()).isEqualTo(53);
+
+        // the depth is enforced as well, also on pooled tokens
+        assertBudgetExceeded(
+                SQL,
+                features.withBudget(ParseBudget.UNLIMITED.withMaxDepth(1)).withCompactTokens(true),
+                Reason.DEPTH,
+                new SqlParserPos(3, 22, 3, 22));
+        assertThat(listener.failures).hasSize(2);
+    }
+
+    @Test
+    void testDefaultFeatures() throws SqlParseException {
+        final SqlNodeList statements = parse(SQL, ParserFeatures.DEFAULT);
+        final SqlRegularColumn column =
+                (SqlRegularColumn) ((SqlCreateTable) statements.get(0)).getColumnList().get(0);
+        assertThat(column.isFrozen()).isFalse();
+        assertThat(((SqlCreateTable) statements.get(1)).getPropertyList().get(0))
+                .isNotSameAs(((SqlCreateTable) statements.get(0)).getPropertyList().get(0));
+    }
+
+    private static SqlNodeList parse(String sql, ParserFeatures features)
+            throws SqlParseException {
+        return SqlParser.create(sql, CONFIG.withParserFactory(FlinkSqlParserImpl.factory(features)))
+                .parseStmtList();
+    }
+
+    private static void assertBudgetExceeded(
+            String sql, ParserFeatures features, Reason reason, SqlParserPos pos) {
+        assertThatThrownBy(() -> parse(sql, features))
+                .isInstanceOfSatisfying(
+                        SqlParseBudgetException.class,
+                        e -> {
+                            assertThat(e.getReason()).isEqualTo(reason);
+                            assertThat(e.getPos()).isEqualTo(pos);
+                        });
+    }
+
+    private static final class CollectingListener implements ParseStatsListener {
+        final List<SqlNode> nodes = new ArrayList<>();
+        final List<ParseStats> stats = new ArrayList<>();
+        final List<ParseStats> failures = new ArrayList<>();
+
+        @Override
+        public void onParse(SqlNode node, ParseStats stats) {
+            nodes.add(node);
+            this.stats.add(stats);
+        }
+
+        @Override
+        public void onParseFailure(ParseStats stats) {
+            failures.add(stats);
+        }
+    }
+}
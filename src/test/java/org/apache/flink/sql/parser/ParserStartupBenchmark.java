@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.flink.sql.parser;
+
+import org.apache.flink.sql.parser.impl.FlinkSqlParserImpl;
+
+import org.apache.calcite.sql.parser.SqlParseException;
+import org.apache.calcite.sql.parser.SqlParser;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Measures the time to the first parse in a fresh JVM, which dominates the latency of short-lived
+ * processes such as command line tools and functions that validate a single statement.
+ *
+ * <p>Each run forks a JVM with the test class path that parses the statements of {@link
+ * FirstParse} once. Arguments are passed to the forked JVMs, for example to compare the startup
+ * time with and without a class data sharing archive:
+ *
+ * <pre>{@code
+ * java -cp <test class path> org.apache.flink.sql.parser.ParserStartupBenchmark
+ * java -Xshare:dump -XX:SharedArchiveFile=parser.jsa -cp <class path of jars> \
+ *     -XX:SharedClassListFile=src/main/resources/META-INF/flink-sql-parser.classlist
+ * java -cp <test class path> org.apache.flink.sql.parser.ParserStartupBenchmark \
+ *     -XX:SharedArchiveFile=parser.jsa
+ * }</pre>
+ *
+ * <p>Class data sharing only archives classes that are loaded from jar files, so the class path of
+ * the benchmark must not contain the directories of the build in this case.
+ *
+ * <p>With {@code --class-list <file>} as the only argument, the class list of the parser is
+ * regenerated instead: the classes that are loaded by {@link FirstParse}, without the classes of
+ * this benchmark. The list includes the classes of Log4j, which is initialized by the first parse
+ * through the tracer of Calcite and whose configuration takes the better part of the startup time.
+ * The comments at the top of an existing list are kept.
+ */
+public class ParserStartupBenchmark {
+
+    private static final int RUNS = 10;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 2 && args[0].equals("--class-list")) {
+            writeClassList(Paths.get(args[1]));
+            return;
+        }
+        final List<Long> firstParse = new ArrayList<>();
+        final List<Long> sinceStart = new ArrayList<>();
+        for (int i = 0; i < RUNS; i++) {
+            final List<String> output = fork(Arrays.asList(args));
+            final String[] millis = output.get(output.size() - 1).split(" ");
+            firstParse.add(Long.parseLong(millis[0]));
+            sinceStart.add(Long.parseLong(millis[1]));
+        }
+        System.out.printf(
+                "Time to first parse: %d ms after main(), %d ms after JVM start (median of %d)%n",
+                median(firstParse), median(sinceStart), RUNS);
+    }
+
+    private static void writeClassList(Path file) throws IOException, InterruptedException {
+        final Path dumped = Files.createTempFile("parser", ".classlist");
+        try {
+            fork(Arrays.asList("-Xshare:off", "-XX:DumpLoadedClassList=" + dumped));
+            // keep the comments at the top of an existing list
+            final List<String> lines = new ArrayList<>();
+            if (Files.exists(file)) {
+                for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                    if (!line.startsWith("#")) {
+                        break;
+                    }
+                    lines.add(line);
+                }
+            }
+            Files.readAllLines(dumped, StandardCharsets.UTF_8).stream()
+                    .filter(line -> !line.startsWith("#"))
+                    .filter(line -> !line.contains(ParserStartupBenchmark.class.getSimpleName()))
+                    .forEach(lines::add);
+            Files.write(file, lines, StandardCharsets.UTF_8);
+        } finally {
+            Files.delete(dumped);
+        }
+    }
+
+    /** Runs {@link FirstParse} in a new JVM and returns the lines it printed. */
+    private static List<String> fork(List<String> jvmArgs)
+            throws IOException, InterruptedException {
+        final List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(FirstParse.class.getName());
+        final Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        final List<String> output;
+        try (BufferedReader reader =
+                new BufferedReader(
+                        new InputStreamReader(
+                                process.getInputStream(), StandardCharsets.UTF_8))) {
+            output = reader.lines().collect(Collectors.toList());
+        }
+        if (process.waitFor() != 0 || output.isEmpty()) {
+            throw new IllegalStateException(
+                    "Forked JVM failed:\n" + String.join("\n", output));
+        }
+        return output;
+    }
+
+    private static long median(List<Long> values) {
+        final List<Long> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        return sorted.get(sorted.size() / 2);
+    }
+
+    /**
+     * Parses some typical statements once and prints the milliseconds from the start of {@code
+     * main()} and from the start of the JVM to the end of the first parse.
+     */
+    public static class FirstParse {
+
+        private static final String[] STATEMENTS = {
+            "CREATE TABLE orders (\n"
+                    + "  id BIGINT,\n"
+                    + "  product STRING,\n"
+                    + "  amount DECIMAL(10, 2),\n"
+                    + "  ts TIMESTAMP(3),\n"
+                    + "  PRIMARY KEY (id) NOT ENFORCED,\n"
+                    + "  WATERMARK FOR ts AS ts - INTERVAL '5' SECOND\n"
+                    + ") WITH ('connector' = 'kafka', 'topic' = 'orders')",
+            "INSERT INTO totals SELECT product, SUM(amount) FROM orders"
+                    + " WHERE amount > 0 GROUP BY product",
+            "ALTER TABLE orders ADD (discount DOUBLE, category STRING)",
+            "SET 'table.exec.mini-batch.enabled' = 'true'",
+            "SELECT * FROM orders WHERE"
+        };
+
+        public static void main(String[] args) {
+            final long start = System.nanoTime();
+            final SqlParser.Config config =
+                    SqlParser.config().withParserFactory(FlinkSqlParserImpl.FACTORY);
+            parse(STATEMENTS[0], config);
+            final long firstParseMillis = (System.nanoTime() - start) / 1_000_000;
+            final long end = System.currentTimeMillis();
+            for (int i = 1; i < STATEMENTS.length; i++) {
+                parse(STATEMENTS[i], config);
+            }
+            final long jvmStart = ManagementFactory.getRuntimeMXBean().getStartTime();
+            System.out.println(firstParseMillis + " " + (end - jvmStart));
+        }
+
+        private static void parse(String sql, SqlParser.Config config) {
+            try {
+                SqlParser.create(sql, config).parseStmt();
+            } catch (SqlParseException e) {
+                // the last statement is invalid to cover the error path
+            }
+        }
+    }
+}
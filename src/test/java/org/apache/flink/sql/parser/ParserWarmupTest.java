@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.sql.parser;
+
+import org.apache.flink.sql.parser.ParserWarmup.CorpusStatement;
+import org.apache.flink.sql.parser.impl.FlinkSqlParserImpl;
+import org.apache.flink.sql.parser.validate.FlinkSqlConformance;
+
+import org.apache.calcite.avatica.util.Casing;
+import org.apache.calcite.avatica.util.Quoting;
+import org.apache.calcite.sql.parser.SqlParseException;
+import org.apache.calcite.sql.parser.SqlParser;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** Tests for {@link ParserWarmup}. */
+class ParserWarmupTest {
+
+    private static final String PARSER_TDD = "src/main/codegen/data/Parser.tdd";
+
+    /** Lists of productions in {@code Parser.tdd} that the corpus has to cover. */
+    private static final List<String> PRODUCTION_LISTS =
+            Arrays.asList(
+                    "statementParserMethods",
+                    "literalParserMethods",
+                    "dataTypeParserMethods",
+                    "builtinFunctionCallMethods",
+                    "alterStatementParserMethods",
+                    "createStatementParserMethods",
+                    "dropStatementParserMethods");
+
+    private static final SqlParser.Config CONFIG =
+            SqlParser.config()
+                    .withParserFactory(FlinkSqlParserImpl.FACTORY)
+                    .withQuoting(Quoting.BACK_TICK)
+                    .withUnquotedCasing(Casing.UNCHANGED)
+                    .withConformance(FlinkSqlConformance.DEFAULT);
+
+    @Test
+    void testCorpusParses() {
+        final List<String> corpus = ParserWarmup.getCorpus();
+        assertThat(corpus).isNotEmpty();
+        final Map<String, String> failures = new LinkedHashMap<>();
+        for (String statement : corpus) {
+            try {
+                SqlParser.create(statement, CONFIG).parseStmt();
+            } catch (SqlParseException e) {
+                failures.put(statement, e.getMessage());
+            }
+        }
+        assertThat(failures).isEmpty();
+    }
+
+    @Test
+    void testCorpusCoversProductionsOfParserTdd() throws IOException {
+        final Set<String> productions = readProductions();
+        assertThat(productions).contains("RichSqlInsert", "SqlCreateExtended");
+        final Set<String> covered =
+                ParserWarmup.loadCorpus().stream()
+                        .flatMap(s -> s.getProductions().stream())
+                        .collect(Collectors.toSet());
+        assertThat(covered).containsAll(productions);
+    }
+
+    @Test
+    void testCorpusStatementsAreTagged() {
+        assertThat(ParserWarmup.loadCorpus())
+                .allSatisfy(s -> assertThat(s.getProductions()).as(s.getStatement()).isNotEmpty())
+                .extracting(CorpusStatement::getStatement)
+                .noneMatch(s -> s.contains("--"));
+    }
+
+    @Test
+    void testWarmupCompletes() throws Exception {
+        final ParserWarmup warmup = ParserWarmup.start(CONFIG, 2);
+        assertThat(warmup.awaitCompletion(1, TimeUnit.MINUTES)).isTrue();
+        assertThat(warmup.isComplete()).isTrue();
+        assertThat(warmup.getCompletionFuture()).isCompleted();
+        assertThat(warmup.getParsedStatements()).isEqualTo(2 * ParserWarmup.getCorpus().size());
+        assertThat(warmup.getFailedStatements()).isZero();
+    }
+
+    @Test
+    void testWarmupCountsFailedStatements() throws Exception {
+        final ParserWarmup warmup = ParserWarmup.start(CONFIG.withIdentifierMaxLength(1), 1);
+        assertThat(warmup.getCompletionFuture().get(1, TimeUnit.MINUTES)).isNull();
+        assertThat(warmup.getParsedStatements()).isEqualTo(ParserWarmup.getCorpus().size());
+        assertThat(warmup.getFailedStatements()).isPositive();
+    }
+
+    @Test
+    void testCompletingFutureDoesNotCompleteWarmup() {
+        final ParserWarmup warmup = ParserWarmup.start(CONFIG, 1);
+        warmup.getCompletionFuture().complete(null);
+        assertThat(warmup.getCompletionFuture().join()).isNull();
+        assertThat(warmup.isComplete()).isTrue();
+    }
+
+    @Test
+    void testNegativeIterations() {
+        assertThatThrownBy(() -> ParserWarmup.start(CONFIG, -1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("-1");
+    }
+
+    /** Reads the productions listed in {@link #PRODUCTION_LISTS} from {@code Parser.tdd}. */
+    private static Set<String> readProductions() throws IOException {
+        final String tdd =
+                new String(Files.readAllBytes(Paths.get(PARSER_TDD)), StandardCharsets.UTF_8);
+        final Set<String> productions = new LinkedHashSet<>();
+        for (String list : PRODUCTION_LISTS) {
+            final Matcher listMatcher =
+                    Pattern.compile("\\b" + list + ":\\s*\\[([^\\]]*)\\]").matcher(tdd);
+            assertThat(listMatcher.find()).as(list).isTrue();
+            final Matcher nameMatcher =
+                    Pattern.compile("\"(\\w+)(?:\\(\\))?\"").matcher(listMatcher.group(1));
+            while (nameMatcher.find()) {
+                productions.add(nameMatcher.group(1));
+            }
+        }
+        return productions;
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.sql.parser;
+
+import org.apache.flink.sql.parser.impl.FlinkSqlParserImpl;
+import org.apache.flink.sql.parser.validate.FlinkSqlConformance;
+
+import org.apache.calcite.avatica.util.Casing;
+import org.apache.calcite.avatica.util.Quoting;
+import org.apache.calcite.sql.parser.SqlParseException;
+import org.apache.calcite.sql.parser.SqlParser;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Parses generated worst-case inputs at a small and an eight times larger size and checks that
+ * parse time and allocation grow roughly linearly.
+ *
+ * <p>A grammar change that makes the parser superlinear in the size of such an input, for example
+ * a production that re-scans or copies what it has already read, grows by a factor of 64 or more
+ * here and fails the build. The limits leave a margin of three times the linear growth for time
+ * and one and a half for allocation, as the JIT and the collector make small inputs relatively
+ * more expensive.
+ */
+class PathologicalInputTest {
+
+    private static final int SCALE = 8;
+    private static final double MAX_TIME_RATIO = SCALE * 3;
+    private static final double MAX_ALLOCATION_RATIO = SCALE * 1.5;
+
+    private static final int RUNS = 5;
+
+    private static final SqlParser.Config CONFIG =
+            SqlParser.config()
+                    .withParserFactory(FlinkSqlParserImpl.FACTORY)
+                    .withQuoting(Quoting.BACK_TICK)
+                    .withUnquotedCasing(Casing.UNCHANGED)
+                    .withConformance(FlinkSqlConformance.DEFAULT);
+
+    static Stream<Shape> shapes() {
+        return Stream.of(
+                new Shape(
+                        "CREATE TABLE with n columns",
+                        1250,
+                        n ->
+                                "CREATE TABLE t ("
+                                        + join(n, i -> "c" + i + " INT", ", ")
+                                        + ") WITH ('connector' = 'datagen')"),
+                new Shape(
+                        "IN list with n items",
+                        1250,
+                        n -> "SELECT * FROM t WHERE a IN (" + join(n, String::valueOf, ", ") + ")"),
+                new Shape(
+                        "n-way UNION ALL",
+                        1250,
+                        n -> join(n, i -> "SELECT " + i + " FROM t", " UNION ALL ")),
+                new Shape(
+                        "AND chain with n terms",
+                        1250,
+                        n -> "SELECT * FROM t WHERE " + join(n, i -> "a = " + i, " AND ")),
+                new Shape(
+                        "AND/OR chain with n terms with prefix and postfix operators",
+                        1250,
+                        n ->
+                                "SELECT * FROM t WHERE "
+                                        + join(
+                                                n,
+                                                i ->
+                                                        (i % 2 == 0 ? "NOT a = " : "-a < ")
+                                                                + i
+                                                                + " AND b IS NOT NULL",
+                                                " OR ")),
+                new Shape(
+                        "ROW type nested n levels deep",
+                        1250,
+                        n ->
+                                "CREATE TABLE t (c "
+                                        + repeat("ROW<f ", n)
+                                        + "INT"
+                                        + repeat(">", n)
+                                        + ")"),
+                new Shape(
+                        "statement set with n inserts",
+                        625,
+                        n ->
+                                "EXECUTE STATEMENT SET BEGIN "
+                                        + join(n, i -> "INSERT INTO t VALUES (" + i + ");", " ")
+                                        + " END"),
+                new Shape(
+                        "string literal of n characters",
+                        128 * 1024,
+                        n -> "SELECT '" + repeat("x", n) + "'"),
+                new Shape(
+                        "block comment of n characters",
+                        128 * 1024,
+                        n -> "/* " + repeat("x", n) + " */ SELECT 1"),
+                new Shape(
+                        "n line comments",
+                        1250,
+                        n -> repeat("-- comment line\n", n) + "SELECT 1"));
+    }
+
+    @ParameterizedTest
+    @MethodSource("shapes")
+    void testGrowsLinearly(Shape shape) throws SqlParseException {
+        final String small = shape.generator.apply(shape.size);
+        final String large = shape.generator.apply(shape.size * SCALE);
+        // warm up, so that the small input is not measured in the interpreter
+        for (int i = 0; i < RUNS; i++) {
+            parse(small);
+        }
+        parse(large);
+
+        final Measurement smallCost = measure(small);
+        final Measurement largeCost = measure(large);
+        assertThat((double) largeCost.nanos / smallCost.nanos)
+                .as("Growth of the parse time of %s for %s times n", shape, SCALE)
+                .isLessThan(MAX_TIME_RATIO);
+        if (smallCost.bytes > 0) {
+            assertThat((double) largeCost.bytes / smallCost.bytes)
+                    .as("Growth of the allocation of %s for %s times n", shape, SCALE)
+                    .isLessThan(MAX_ALLOCATION_RATIO);
+        }
+    }
+
+    /**
+     * Returns the fastest of a few parses of the SQL and its allocation, or 0 bytes if the JVM
+     * cannot measure the allocation of a thread.
+     */
+    private static Measurement measure(String sql) throws SqlParseException {
+        long nanos = Long.MAX_VALUE;
+        long bytes = Long.MAX_VALUE;
+        for (int i = 0; i < RUNS; i++) {
+            final long allocatedBefore = allocatedBytes();
+            final long start = System.nanoTime();
+            parse(sql);
+            nanos = Math.min(nanos, System.nanoTime() - start);
+            bytes = Math.min(bytes, allocatedBytes() - allocatedBefore);
+        }
+        return new Measurement(nanos, bytes);
+    }
+
+    private static void parse(String sql) throws SqlParseException {
+        SqlParser.create(sql, CONFIG).parseStmtList();
+    }
+
+    private static long allocatedBytes() {
+        final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            final com.sun.management.ThreadMXBean hotSpotThreads =
+                    (com.sun.management.ThreadMXBean) threads;
+            if (hotSpotThreads.isThreadAllocatedMemorySupported()
+                    && hotSpotThreads.isThreadAllocatedMemoryEnabled()) {
+                return hotSpotThreads.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return 0;
+    }
+
+    private static String join(int n, IntFunction<String> item, String separator) {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < n; i++) {
+            if (i > 0) {
+                sb.append(separator);
+            }
+            sb.append(item.apply(i));
+        }
+        return sb.toString();
+    }
+
+    private static String repeat(String s, int n) {
+        final StringBuilder sb = new StringBuilder(s.length() * n);
+        for (int i = 0; i < n; i++) {
+            sb.append(s);
+        }
+        return sb.toString();
+    }
+
+    /** A generator of inputs whose cost grows with n, and the small n to measure it at. */
+    static final class Shape {
+        private final String name;
+        private final int size;
+        private final IntFunction<String> generator;
+
+        Shape(String name, int size, IntFunction<String> generator) {
+            this.name = name;
+            this.size = size;
+            this.generator = generator;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    /** The time and the allocated bytes of a parse. */
+    private static final class Measurement {
+        private final long nanos;
+        private final long bytes;
+
+        private Measurement(long nanos, long bytes) {
+            this.nanos = nanos;
+            this.bytes = bytes;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.sql.parser;
+
+import org.apache.flink.sql.parser.impl.FlinkSqlParserImpl;
+import org.apache.flink.sql.parser.validate.FlinkSqlConformance;
+
+import org.apache.calcite.avatica.util.Casing;
+import org.apache.calcite.avatica.util.Quoting;
+import org.apache.calcite.sql.SqlNode;
+import org.apache.calcite.sql.parser.SqlParseException;
+import org.apache.calcite.sql.parser.SqlParser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Measures the heap that is retained by parsed {@code CREATE TABLE} statements whose {@code RAW}
+ * columns share one serializer snapshot, which {@link
+ * org.apache.flink.sql.parser.type.SqlRawTypeNameSpec} deduplicates.
+ *
+ * <p>The statements are parsed and kept, then the retained heap is compared with the size of the
+ * snapshots that the statements contain. Without deduplication every column retains its own copy
+ * of the snapshot. The snapshot length in characters can be passed as the first argument, the
+ * default is a multiple of {@link SqlLazyCharStringLiteral#LAZY_THRESHOLD}, so the snapshots are
+ * unescaped lazily:
+ *
+ * <pre>{@code
+ * java -cp <test class path> org.apache.flink.sql.parser.RawTypeHeapBenchmark [<length>]
+ * }</pre>
+ */
+public class RawTypeHeapBenchmark {
+
+    private static final int STATEMENTS = 300;
+
+    private static final int COLUMNS = 2;
+
+    public static void main(String[] args) throws SqlParseException {
+        final int length =
+                args.length > 0
+                        ? Integer.parseInt(args[0])
+                        : 5 * SqlLazyCharStringLiteral.LAZY_THRESHOLD;
+        final String snapshot = randomSnapshot(length);
+        final SqlParser.Config config =
+                SqlParser.config()
+                        .withParserFactory(FlinkSqlParserImpl.FACTORY)
+                        .withQuoting(Quoting.BACK_TICK)
+                        .withUnquotedCasing(Casing.UNCHANGED)
+                        .withConformance(FlinkSqlConformance.DEFAULT);
+        // loads the parser classes before the heap is measured
+        SqlParser.create(createTable(0, snapshot), config).parseStmt();
+
+        final List<SqlNode> statements = new ArrayList<>();
+        final long before = usedHeap();
+        for (int i = 0; i < STATEMENTS; i++) {
+            statements.add(SqlParser.create(createTable(i, snapshot), config).parseStmt());
+        }
+        final long retained = usedHeap() - before;
+
+        // a Java string takes at least one byte per character
+        final long copies = (long) STATEMENTS * COLUMNS * length;
+        System.out.printf(
+                "Retained by %d statements: %.1f MB, %.1f MB of snapshots in the statements%n",
+                statements.size(), retained / 1048576.0, copies / 1048576.0);
+    }
+
+    private static String createTable(int index, String snapshot) {
+        final StringBuilder builder = new StringBuilder("CREATE TABLE t");
+        builder.append(index).append(" (");
+        for (int i = 0; i < COLUMNS; i++) {
+            builder.append("c")
+                    .append(i)
+                    .append(" RAW('java.lang.Integer', '")
+                    .append(snapshot)
+                    .append("'), ");
+        }
+        return builder.append("a INT) WITH ('connector' = 'datagen')").toString();
+    }
+
+    /** Returns a base64-like string, serializer snapshots are encoded that way. */
+    private static String randomSnapshot(int length) {
+        final Random random = new Random(42);
+        final StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append((char) ('A' + random.nextInt(26)));
+        }
+        return builder.toString();
+    }
+
+    private static long usedHeap() {
+        final Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
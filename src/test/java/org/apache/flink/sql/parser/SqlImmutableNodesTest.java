@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.sql.parser;
+
+import org.apache.flink.sql.parser.ddl.SqlAlterTableAdd;
+import org.apache.flink.sql.parser.ddl.SqlCreateTable;
+import org.apache.flink.sql.parser.ddl.SqlDropTable;
+import org.apache.flink.sql.parser.ddl.SqlTableColumn.SqlRegularColumn;
+import org.apache.flink.sql.parser.ddl.position.SqlTableColumnPosition;
+import org.apache.flink.sql.parser.dml.RichSqlInsert;
+import org.apache.flink.sql.parser.error.SqlValidateException;
+import org.apache.flink.sql.parser.impl.FlinkSqlParserImpl;
+
+import org.apache.calcite.sql.SqlNode;
+import org.apache.calcite.sql.SqlNodeList;
+import org.apache.calcite.sql.parser.SqlParseException;
+import org.apache.calcite.sql.parser.SqlParser;
+import org.apache.calcite.sql.parser.SqlParserImplFactory;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** Tests for {@link SqlImmutableNodes} and {@link ExtendedSqlNode#validateImmutable()}. */
+class SqlImmutableNodesTest {
+
+    private static final String CREATE_TABLE =
+            "CREATE TABLE t (\n"
+                    + "  a INT,\n"
+                    + "  b STRING,\n"
+                    + "  c BIGINT NOT NULL,\n"
+                    + "  PRIMARY KEY (a, c) NOT ENFORCED\n"
+                    + ") WITH ('connector' = 'kafka')";
+
+    @Test
+    void testValidateCreateTable() throws Exception {
+        final SqlCreateTable original = (SqlCreateTable) parse(CREATE_TABLE);
+        final String unparsed = original.toString();
+
+        final SqlCreateTable validated = (SqlCreateTable) SqlImmutableNodes.validate(original);
+        assertThat(validated).isNotSameAs(original);
+        assertThat(original.toString()).isEqualTo(unparsed);
+        assertThat(column(original, 0).getType().getNullable()).isTrue();
+        assertThat(column(validated, 0).getType().getNullable()).isFalse();
+        // unchanged parts are shared
+        assertThat(column(validated, 1)).isSameAs(column(original, 1));
+        assertThat(column(validated, 2)).isSameAs(column(original, 2));
+        assertThat(validated.getPropertyList()).isSameAs(original.getPropertyList());
+        assertThat(column(validated, 0).isFrozen()).isTrue();
+
+        // the same result as the validation that changes the statement
+        original.validate();
+        assertThat(validated.toString()).isEqualTo(original.toString());
+        // nothing left to change
+        assertThat(SqlImmutableNodes.validate(validated)).isSameAs(validated);
+    }
+
+    @Test
+    void testValidateAlterTable() throws Exception {
+        final SqlAlterTableAdd original =
+                (SqlAlterTableAdd)
+                        parse("ALTER TABLE t ADD (a INT, b STRING, PRIMARY KEY (a) NOT ENFORCED)");
+        final SqlAlterTableAdd validated =
+                (SqlAlterTableAdd) SqlImmutableNodes.validate(original);
+        assertThat(validated).isNotSameAs(original);
+        assertThat(validated.getColumnPositions().get(1))
+                .isSameAs(original.getColumnPositions().get(1));
+        assertThat(columnAt(original, 0).getType().getNullable()).isTrue();
+        assertThat(columnAt(validated, 0).getType().getNullable()).isFalse();
+
+        assertThatThrownBy(
+                        () ->
+                                SqlImmutableNodes.validate(
+                                        parse(
+                                                "ALTER TABLE t ADD (a INT PRIMARY KEY NOT ENFORCED,"
+                                                        + " PRIMARY KEY (a) NOT ENFORCED)")))
+                .isInstanceOf(SqlValidateException.class)
+                .hasMessageContaining("Duplicate primary key definition");
+    }
+
+    @Test
+    void testImmutableAst() throws Exception {
+        final SqlNodeList statements =
+                parseList(
+                        CREATE_TABLE
+                                + ";\nINSERT INTO t VALUES (1, 'x', 2), (3, 'y', 4)"
+                                + ";\nDROP TABLE t");
+        final SqlRegularColumn column = column((SqlCreateTable) statements.get(0), 0);
+        assertThat(column.isFrozen()).isTrue();
+        assertThatThrownBy(() -> column.setType(column.getType().withNullable(false)))
+                .isInstanceOf(UnsupportedOperationException.class)
+                .hasMessage("Cannot change the type of an immutable SqlRegularColumn");
+
+        final RichSqlInsert insert = (RichSqlInsert) statements.get(1);
+        assertThat(insert.isFrozen()).isTrue();
+        // the compact VALUES source has been materialized when freezing
+        assertThat(insert.getCompactSource()).isNull();
+        assertThatThrownBy(() -> insert.setOperand(2, insert.getSource()))
+                .isInstanceOf(UnsupportedOperationException.class);
+
+        final SqlDropTable drop = (SqlDropTable) statements.get(2);
+        assertThatThrownBy(() -> drop.setIfExists(true))
+                .isInstanceOf(UnsupportedOperationException.class);
+
+        // the default factory still returns mutable statements
+        final SqlDropTable mutableDrop = (SqlDropTable) parse("DROP TABLE t");
+        mutableDrop.setIfExists(true);
+        assertThat(mutableDrop.getIfExists()).isTrue();
+    }
+
+    @Test
+    void testImmutableAstOfDeepTrees() throws Exception {
+        final StringBuilder orChain = new StringBuilder("INSERT INTO t SELECT * FROM s WHERE a = 0");
+        for (int i = 1; i < 10_000; i++) {
+            orChain.append(" OR a = ").append(i);
+        }
+        final RichSqlInsert insert = (RichSqlInsert) parseList(orChain.toString()).get(0);
+        assertThat(insert.isFrozen()).isTrue();
+
+        final StringBuilder union = new StringBuilder("INSERT INTO t SELECT 0 FROM s");
+        for (int i = 1; i < 5_000; i++) {
+            union.append(" UNION ALL SELECT ").append(i).append(" FROM s");
+        }
+        final RichSqlInsert unionInsert = (RichSqlInsert) parseList(union.toString()).get(0);
+        assertThat(unionInsert.isFrozen()).isTrue();
+    }
+
+    private static SqlRegularColumn column(SqlCreateTable createTable, int index) {
+        return (SqlRegularColumn) createTable.getColumnList().get(index);
+    }
+
+    private static SqlRegularColumn columnAt(SqlAlterTableAdd alterTable, int index) {
+        return (SqlRegularColumn)
+                ((SqlTableColumnPosition) alterTable.getColumnPositions().get(index)).getColumn();
+    }
+
+    private static SqlNode parse(String sql) throws SqlParseException {
+        return SqlParser.create(sql, config(FlinkSqlParserImpl.FACTORY)).parseStmt();
+    }
+
+    private static SqlNodeList parseList(String sql) throws SqlParseException {
+        return SqlParser.create(sql, config(FlinkSqlParserImpl.IMMUTABLE_AST_FACTORY))
+                .parseStmtList();
+    }
+
+    private static SqlParser.Config config(SqlParserImplFactory factory) {
+        return SqlParser.config().withParserFactory(factory);
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.sql.parser;
+
+import org.apache.flink.sql.parser.ddl.SqlCreateTable;
+import org.apache.flink.sql.parser.ddl.SqlTableColumn.SqlRegularColumn;
+import org.apache.flink.sql.parser.dml.SqlExecute;
+import org.apache.flink.sql.parser.dml.SqlStatementSet;
+import org.apache.flink.sql.parser.impl.FlinkSqlParserImpl;
+
+import org.apache.calcite.sql.SqlDataTypeSpec;
+import org.apache.calcite.sql.SqlNode;
+import org.apache.calcite.sql.parser.SqlParseException;
+import org.apache.calcite.sql.parser.SqlParser;
+import org.apache.calcite.sql.util.SqlBasicVisitor;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/** Tests for the operand lists of the DDL nodes and for walking trees of them. */
+class SqlNodeTraversalTest {
+
+    private static final int COLUMNS = 200;
+
+    @Test
+    void testOperandListsAreReused() throws SqlParseException {
+        final SqlCreateTable createTable = (SqlCreateTable) parse(createTableSql());
+        assertThat(createTable.getOperandList()).isSameAs(createTable.getOperandList());
+
+        final SqlRegularColumn column = (SqlRegularColumn) createTable.getColumnList().get(0);
+        final List<SqlNode> operands = column.getOperandList();
+        assertThat(column.getOperandList()).isSameAs(operands);
+        final SqlDataTypeSpec type = column.getType().withNullable(false);
+        column.setType(type);
+        assertThat(column.getOperandList()).isNotSameAs(operands).contains(type);
+
+        final SqlExecute execute =
+                (SqlExecute)
+                        parse(
+                                "EXECUTE STATEMENT SET BEGIN INSERT INTO a SELECT 1; "
+                                        + "INSERT INTO b SELECT 2; END");
+        final SqlStatementSet statementSet = (SqlStatementSet) execute.getStatement();
+        final List<SqlNode> inserts = statementSet.getOperandList();
+        assertThat(inserts).containsExactlyElementsOf(statementSet.getInserts());
+        statementSet.setOperand(0, statementSet.getInserts().get(1));
+        assertThat(inserts).containsExactlyElementsOf(statementSet.getInserts());
+    }
+
+    @Test
+    void testWalkDoesNotAllocate() throws SqlParseException {
+        final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        assumeTrue(threadBean instanceof com.sun.management.ThreadMXBean);
+        final com.sun.management.ThreadMXBean allocationBean =
+                (com.sun.management.ThreadMXBean) threadBean;
+        assumeTrue(allocationBean.isThreadAllocatedMemoryEnabled());
+
+        final SqlNode createTable = parse(createTableSql());
+        final SqlBasicVisitor<Void> visitor = new SqlBasicVisitor<Void>() {};
+        for (int i = 0; i < 20_000; i++) {
+            createTable.accept(visitor);
+        }
+        final long threadId = Thread.currentThread().getId();
+        final int walks = 1_000;
+        final long before = allocationBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < walks; i++) {
+            createTable.accept(visitor);
+        }
+        final long bytesPerWalk =
+                (allocationBean.getThreadAllocatedBytes(threadId) - before) / walks;
+        // a list or iterator per column would take several kilobytes per walk
+        assertThat(bytesPerWalk).isLessThan(COLUMNS);
+    }
+
+    private static String createTableSql() {
+        final StringBuilder sql = new StringBuilder("CREATE TABLE t (\n");
+        for (int i = 0; i < COLUMNS; i++) {
+            sql.append("  c").append(i).append(" INT COMMENT 'column ").append(i).append("',\n");
+        }
+        return sql.append("  m STRING METADATA VIRTUAL,\n")
+                .append("  ts TIMESTAMP(3),\n")
+                .append("  WATERMARK FOR ts AS ts,\n")
+                .append("  PRIMARY KEY (c0) NOT ENFORCED\n")
+                .append(") DISTRIBUTED BY HASH(c1) INTO 4 BUCKETS\n")
+                .append("PARTITIONED BY (c2)\n")
+                .append("WITH ('connector' = 'kafka', 'topic' = 't')")
+                .toString();
+    }
+
+    private static SqlNode parse(String sql) throws SqlParseException {
+        return SqlParser.create(
+                        sql, SqlParser.config().withParserFactory(FlinkSqlParserImpl.FACTORY))
+                .parseStmt();
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.sql.parser;
+
+import org.apache.flink.sql.parser.ddl.SqlCreateTableAs;
+import org.apache.flink.sql.parser.error.SqlValidateException;
+import org.apache.flink.sql.parser.impl.FlinkSqlParserImpl;
+import org.apache.flink.sql.parser.validate.FlinkSqlConformance;
+
+import org.apache.calcite.avatica.util.Casing;
+import org.apache.calcite.avatica.util.Quoting;
+import org.apache.calcite.sql.SqlNode;
+import org.apache.calcite.sql.parser.SqlParseException;
+import org.apache.calcite.sql.parser.SqlParser;
+import org.apache.calcite.sql.pretty.SqlPrettyWriter;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** Tests for the Flight Recorder events of {@link SqlParserEvents}. */
+class SqlParserEventsTest {
+
+    private static final String PARSE = "org.apache.flink.sql.parser.Parse";
+    private static final String VALIDATE = "org.apache.flink.sql.parser.Validate";
+    private static final String UNPARSE = "org.apache.flink.sql.parser.Unparse";
+
+    private static final SqlParser.Config CONFIG =
+            SqlParser.config()
+                    .withParserFactory(FlinkSqlParserImpl.FACTORY)
+                    .withQuoting(Quoting.BACK_TICK)
+                    .withUnquotedCasing(Casing.UNCHANGED)
+                    .withConformance(FlinkSqlConformance.DEFAULT);
+
+    private static final String CTAS = "CREATE TABLE t WITH ('k' = 'v') AS SELECT a FROM s";
+
+    @TempDir Path tempDir;
+
+    @Test
+    void testEvents() throws Exception {
+        final List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable(PARSE);
+            recording.enable(VALIDATE);
+            recording.enable(UNPARSE);
+            recording.start();
+            final SqlNode node = SqlParser.create(CTAS, CONFIG).parseStmt();
+            ((ExtendedSqlNode) node).validate();
+            node.toString();
+            recording.stop();
+            events = read(recording);
+        }
+
+        assertThat(events)
+                .extracting(e -> e.getEventType().getName())
+                .containsExactly(PARSE, VALIDATE, UNPARSE);
+        for (RecordedEvent event : events) {
+            assertThat(event.getString("statementKind")).isEqualTo("CREATE_TABLE");
+            assertThat(event.getString("statementClass"))
+                    .isEqualTo(SqlCreateTableAs.class.getSimpleName());
+            assertThat(event.getLong("nodeCount")).isGreaterThan(1);
+            assertThat(event.getString("outcome")).isEqualTo("SUCCESS");
+        }
+        assertThat(events.get(0).getLong("inputLength")).isEqualTo(CTAS.length());
+    }
+
+    @Test
+    void testImmutableValidation() throws Exception {
+        final SqlNode node = SqlParser.create(CTAS, CONFIG).parseStmt();
+        final List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable(VALIDATE);
+            recording.start();
+            SqlImmutableNodes.validate(node);
+            ((ExtendedSqlNode) node).validateImmutable();
+            recording.stop();
+            events = read(recording);
+        }
+
+        // one event per validation, although the implementations call each other
+        assertThat(events).hasSize(2);
+        for (RecordedEvent event : events) {
+            assertThat(event.getString("statementClass"))
+                    .isEqualTo(SqlCreateTableAs.class.getSimpleName());
+            assertThat(event.getString("outcome")).isEqualTo("SUCCESS");
+        }
+    }
+
+    @Test
+    void testFailedValidationAndUnparse() throws Exception {
+        final SqlNode node =
+                SqlParser.create("CREATE TEMPORARY TABLE t AS SELECT a FROM s", CONFIG)
+                        .parseStmt();
+        final List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable(VALIDATE);
+            recording.enable(UNPARSE);
+            recording.start();
+            assertThatThrownBy(() -> SqlImmutableNodes.validate(node))
+                    .isInstanceOf(SqlValidateException.class);
+            assertThatThrownBy(
+                            () ->
+                                    node.unparse(
+                                            new SqlPrettyWriter() {
+                                                @Override
+                                                public void keyword(String s) {
+                                                    throw new IllegalStateException(s);
+                                                }
+                                            },
+                                            0,
+                                            0))
+                    .isInstanceOf(IllegalStateException.class);
+            recording.stop();
+            events = read(recording);
+        }
+
+        assertThat(events)
+                .extracting(e -> e.getEventType().getName())
+                .containsExactly(VALIDATE, UNPARSE);
+        for (RecordedEvent event : events) {
+            assertThat(event.getString("statementClass"))
+                    .isEqualTo(SqlCreateTableAs.class.getSimpleName());
+            assertThat(event.getString("outcome")).isEqualTo("FAILURE");
+        }
+    }
+
+    @Test
+    void testFailedParse() throws Exception {
+        final List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable(PARSE);
+            recording.start();
+            assertThatThrownBy(() -> SqlParser.create("SELECT FROM t", CONFIG).parseStmt())
+                    .isInstanceOf(SqlParseException.class);
+            recording.stop();
+            events = read(recording);
+        }
+
+        assertThat(events).hasSize(1);
+        final RecordedEvent event = events.get(0);
+        assertThat(event.getString("statementKind")).isNull();
+        assertThat(event.getLong("nodeCount")).isZero();
+        assertThat(event.getString("outcome")).isEqualTo("FAILURE");
+    }
+
+    @Test
+    void testDisabledByDefault() throws Exception {
+        final List<RecordedEvent> events;
+        try (Recording recording = new Recording(Configuration.getConfiguration("profile"))) {
+            recording.start();
+            final SqlNode node = SqlParser.create(CTAS, CONFIG).parseStmt();
+            ((ExtendedSqlNode) node).validate();
+            node.toString();
+            recording.stop();
+            events = read(recording);
+        }
+
+        assertThat(events).isEmpty();
+    }
+
+    /** Returns the events of this class in the recording. */
+    private List<RecordedEvent> read(Recording recording) throws Exception {
+        final Path file = tempDir.resolve("parser.jfr");
+        recording.dump(file);
+        return RecordingFile.readAllEvents(file).stream()
+                .filter(e -> e.getEventType().getName().startsWith("org.apache.flink.sql.parser."))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.sql.parser;
+
+import org.apache.flink.sql.parser.ddl.SqlCreateTable;
+import org.apache.flink.sql.parser.ddl.SqlTableOption;
+import org.apache.flink.sql.parser.ddl.SqlTableColumn.SqlRegularColumn;
+import org.apache.flink.sql.parser.impl.FlinkSqlParserImpl;
+
+import org.apache.calcite.sql.SqlNode;
+import org.apache.calcite.sql.parser.SqlParseException;
+import org.apache.calcite.sql.parser.SqlParser;
+import org.apache.calcite.sql.parser.SqlParserImplFactory;
+import org.apache.calcite.util.Litmus;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Tests for {@link SqlStructuralKey} and {@link SqlNodeInterner}. */
+class SqlStructuralKeyTest {
+
+    private static final String CREATE_TABLE =
+            "CREATE TABLE t (\n"
+                    + "  a BIGINT PRIMARY KEY NOT ENFORCED,\n"
+                    + "  b ROW<x INT, y ARRAY<STRING>>,\n"
+                    + "  c AS a + 1,\n"
+                    + "  WATERMARK FOR a AS a\n"
+                    + ") DISTRIBUTED BY HASH(a) INTO 4 BUCKETS\n"
+                    + "WITH ('connector' = 'kafka')";
+
+    @Test
+    void testPositionInsensitive() throws SqlParseException {
+        final SqlNode node1 = parse(CREATE_TABLE);
+        final SqlNode node2 = parse("\n\n   " + CREATE_TABLE.replace("\n", "\n    "));
+        assertThat(SqlStructuralKey.of(node1)).isEqualTo(SqlStructuralKey.of(node2));
+        assertThat(SqlStructuralKey.of(node1)).hasSameHashCodeAs(SqlStructuralKey.of(node2));
+
+        final SqlNode other = parse(CREATE_TABLE.replace("x INT", "x BIGINT"));
+        assertThat(SqlStructuralKey.of(node1)).isNotEqualTo(SqlStructuralKey.of(other));
+    }
+
+    @Test
+    void testStateOutsideOfOperands() throws SqlParseException {
+        final SqlNode table = parse(CREATE_TABLE);
+        final SqlNode temporaryTable =
+                parse(CREATE_TABLE.replace("CREATE TABLE", "CREATE TEMPORARY TABLE"));
+        final SqlNode ifNotExists = parse(CREATE_TABLE.replace("TABLE t", "TABLE IF NOT EXISTS t"));
+        final SqlNode otherDistribution = parse(CREATE_TABLE.replace("4 BUCKETS", "8 BUCKETS"));
+        // none of these differences is visible in the operands
+        assertThat(table.equalsDeep(temporaryTable, Litmus.IGNORE)).isTrue();
+        assertThat(table.equalsDeep(ifNotExists, Litmus.IGNORE)).isTrue();
+        assertThat(table.equalsDeep(otherDistribution, Litmus.IGNORE)).isTrue();
+
+        assertThat(SqlStructuralKey.structurallyEqual(table, temporaryTable)).isFalse();
+        assertThat(SqlStructuralKey.structurallyEqual(table, ifNotExists)).isFalse();
+        assertThat(SqlStructuralKey.structurallyEqual(table, otherDistribution)).isFalse();
+    }
+
+    @Test
+    void testLazyNodes() throws SqlParseException {
+        final String ctas = "CREATE TABLE t WITH ('k' = 'v') AS SELECT a, b FROM s WHERE a > 1";
+        final SqlNode deferred = parse(ctas, FlinkSqlParserImpl.DEFERRED_AS_QUERY_FACTORY);
+        assertThat(SqlStructuralKey.of(deferred)).isEqualTo(SqlStructuralKey.of(parse(ctas)));
+
+        final String largeValue = repeat("x''y", 2_000);
+        final String withLargeOption = "CREATE TABLE t (a INT) WITH ('k' = '" + largeValue + "')";
+        assertThat(SqlStructuralKey.of(parse(withLargeOption)))
+                .isEqualTo(SqlStructuralKey.of(parse(withLargeOption)));
+
+        final String insert = "INSERT INTO t VALUES (1, 'a'), (2, 'b')";
+        assertThat(SqlStructuralKey.of(parse(insert)))
+                .isEqualTo(SqlStructuralKey.of(parse(insert)));
+    }
+
+    @Test
+    void testDeepTrees() throws SqlParseException {
+        final String orChain =
+                "INSERT INTO t SELECT * FROM s WHERE a = 0" + join(10_000, " OR a = ");
+        final String unionAll = "SELECT 0" + join(5_000, " UNION ALL SELECT ");
+        for (String sql : new String[] {orChain, unionAll}) {
+            final SqlStructuralKey key = SqlStructuralKey.of(parse(sql));
+            assertThat(key).isEqualTo(SqlStructuralKey.of(parse(sql)));
+            assertThat(key).hasSameHashCodeAs(SqlStructuralKey.of(parse(sql)));
+            assertThat(key).isNotEqualTo(SqlStructuralKey.of(parse(sql + "0")));
+        }
+    }
+
+    @Test
+    void testHashConsing() throws SqlParseException {
+        final SqlNodeInterner interner = new SqlNodeInterner();
+        final SqlParserImplFactory factory = FlinkSqlParserImpl.hashConsingFactory(interner, true);
+        final SqlCreateTable table1 = (SqlCreateTable) parse(CREATE_TABLE, factory);
+        final SqlCreateTable table2 =
+                (SqlCreateTable) parse(CREATE_TABLE.replace("TABLE t", "TABLE u"), factory);
+
+        final SqlRegularColumn column1 = (SqlRegularColumn) table1.getColumnList().get(1);
+        final SqlRegularColumn column2 = (SqlRegularColumn) table2.getColumnList().get(1);
+        assertThat(column1).isNotSameAs(column2);
+        assertThat(column1.getType()).isSameAs(column2.getType());
+        assertThat(table1.getPropertyList().get(0)).isSameAs(table2.getPropertyList().get(0));
+
+        final SqlCreateTable plain = (SqlCreateTable) parse(CREATE_TABLE);
+        assertThat(((SqlRegularColumn) plain.getColumnList().get(1)).getType())
+                .isNotSameAs(column1.getType());
+    }
+
+    @Test
+    void testHashConsingKeepsPositionsOfDataTypesByDefault() throws SqlParseException {
+        final SqlParserImplFactory factory =
+                FlinkSqlParserImpl.hashConsingFactory(new SqlNodeInterner());
+        final SqlCreateTable table1 = (SqlCreateTable) parse(CREATE_TABLE, factory);
+        final SqlCreateTable table2 = (SqlCreateTable) parse("\n" + CREATE_TABLE, factory);
+
+        final SqlRegularColumn column1 = (SqlRegularColumn) table1.getColumnList().get(1);
+        final SqlRegularColumn column2 = (SqlRegularColumn) table2.getColumnList().get(1);
+        assertThat(column2.getType()).isNotSameAs(column1.getType());
+        assertThat(column2.getType().getParserPosition().getLineNum())
+                .isEqualTo(column1.getType().getParserPosition().getLineNum() + 1);
+        assertThat(table1.getPropertyList().get(0)).isSameAs(table2.getPropertyList().get(0));
+    }
+
+    @Test
+    void testHashConsingDoesNotUnescapeLargeOptions() throws SqlParseException {
+        final SqlParserImplFactory factory =
+                FlinkSqlParserImpl.hashConsingFactory(new SqlNodeInterner());
+        final String sql = "CREATE TABLE t (a INT) WITH ('k' = '" + repeat("x''y", 2_000) + "')";
+        final SqlTableOption option1 =
+                (SqlTableOption) ((SqlCreateTable) parse(sql, factory)).getPropertyList().get(0);
+        final SqlTableOption option2 =
+                (SqlTableOption) ((SqlCreateTable) parse(sql, factory)).getPropertyList().get(0);
+
+        assertThat(option2).isSameAs(option1);
+        assertThat(((SqlLazyCharStringLiteral) option1.getValue()).isUnescaped()).isFalse();
+    }
+
+    private static String join(int n, String separator) {
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 1; i <= n; i++) {
+            builder.append(separator).append(i);
+        }
+        return builder.toString();
+    }
+
+    private static String repeat(String s, int times) {
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < times; i++) {
+            builder.append(s);
+        }
+        return builder.toString();
+    }
+
+    private static SqlNode parse(String sql) throws SqlParseException {
+        return parse(sql, FlinkSqlParserImpl.FACTORY);
+    }
+
+    private static SqlNode parse(String sql, SqlParserImplFactory factory)
+            throws SqlParseException {
+        return SqlParser.create(sql, SqlParser.config().withParserFactory(factory)).parseStmt();
+    }
+}
@@ -22,10 +22,14 @@ import org.apache.flink.sql.parser.impl.FlinkSqlParserImpl;
 import org.apache.flink.sql.parser.impl.ParseException;
 import org.apache.flink.sql.parser.validate.FlinkSqlConformance;
 
+import org.apache.calcite.avatica.util.Casing;
 import org.apache.calcite.config.Lex;
+import org.apache.calcite.runtime.CalciteContextException;
 import org.apache.calcite.sql.SqlIdentifier;
 import org.apache.calcite.sql.parser.SqlAbstractParserImpl;
+import org.apache.calcite.sql.parser.SqlParser;
 import org.apache.calcite.util.SourceStringReader;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -36,6 +40,7 @@ import java.util.stream.Stream;
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.params.provider.Arguments.of;
 
 /** Tests for parsing a Table API specific SqlIdentifier. */
@@ -70,6 +75,100 @@ class TableApiIdentifierParsingTest {
         assertThat(sqlIdentifier.names).isEqualTo(expectedParsedIdentifier);
     }
 
+    static Stream<String> identifiers() {
+        return Stream.of(
+                "tbl",
+                "Tbl",
+                "array",
+                "cat.db.tbl",
+                "cat.db.Array",
+                "`cat.db`.table",
+                "`Ta``ble`",
+                "`c``at`.`d``b`.`ta``ble`",
+                "db.`my table`",
+                "`db`.tbl_1",
+                "cat . db",
+                "cat.db.tbl.col",
+                "a$b.c",
+                "db.\"tbl\"",
+                "db.`tbl");
+    }
+
+    @ParameterizedTest(name = "Parsing: {0}")
+    @MethodSource("identifiers")
+    void testTableApiIdentifierParserMatchesGrammar(String stringIdentifier) {
+        for (Casing quotedCasing : Casing.values()) {
+            SqlParser.Config config = createParserConfig().withQuotedCasing(quotedCasing);
+            TableApiIdentifierParser identifierParser = new TableApiIdentifierParser(config);
+
+            SqlIdentifier expected;
+            try {
+                FlinkSqlParserImpl parser = createFlinkParser(stringIdentifier);
+                parser.setQuotedCasing(quotedCasing);
+                expected = parser.TableApiIdentifier();
+            } catch (Throwable t) {
+                assertThatThrownBy(() -> identifierParser.parseIdentifier(stringIdentifier))
+                        .isInstanceOf(t.getClass());
+                continue;
+            }
+            // parse twice to also cover the cached result
+            for (int i = 0; i < 2; i++) {
+                SqlIdentifier actual = parseIdentifier(identifierParser, stringIdentifier);
+                assertThat(actual.names).isEqualTo(expected.names);
+                assertThat(actual.getParserPosition()).isEqualTo(expected.getParserPosition());
+                for (int j = 0; j < expected.names.size(); j++) {
+                    assertThat(actual.getComponentParserPosition(j))
+                            .isEqualTo(expected.getComponentParserPosition(j));
+                    assertThat(actual.getComponentParserPosition(j).isQuoted())
+                            .isEqualTo(expected.getComponentParserPosition(j).isQuoted());
+                }
+            }
+        }
+    }
+
+    @Test
+    void testTableApiIdentifierParserIdentifierMaxLength() {
+        TableApiIdentifierParser identifierParser =
+                new TableApiIdentifierParser(createParserConfig().withIdentifierMaxLength(3));
+
+        assertThat(parseIdentifier(identifierParser, "cat.`db`").names)
+                .isEqualTo(asList("cat", "db"));
+        assertThatThrownBy(() -> identifierParser.parseIdentifier("cat.tbl1"))
+                .isInstanceOf(CalciteContextException.class)
+                .hasMessageContaining("Length of identifier 'tbl1' must be less than or equal to 3");
+        assertThatThrownBy(() -> identifierParser.parseIdentifier("`tbl1`"))
+                .isInstanceOf(CalciteContextException.class)
+                .hasMessageContaining("Length of identifier 'tbl1' must be less than or equal to 3");
+    }
+
+    @Test
+    void testTableApiIdentifierParserReturnsCopies() {
+        TableApiIdentifierParser identifierParser =
+                new TableApiIdentifierParser(createParserConfig());
+
+        SqlIdentifier first = parseIdentifier(identifierParser, "cat.db.tbl");
+        first.setNames(singletonList("changed"), null);
+
+        assertThat(parseIdentifier(identifierParser, "cat.db.tbl").names)
+                .isEqualTo(asList("cat", "db", "tbl"));
+    }
+
+    private static SqlIdentifier parseIdentifier(
+            TableApiIdentifierParser identifierParser, String identifier) {
+        try {
+            return identifierParser.parseIdentifier(identifier);
+        } catch (ParseException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private static SqlParser.Config createParserConfig() {
+        return SqlParser.config()
+                .withLex(Lex.JAVA)
+                .withIdentifierMaxLength(256)
+                .withConformance(FlinkSqlConformance.DEFAULT);
+    }
+
     private FlinkSqlParserImpl createFlinkParser(String expr) {
         SourceStringReader reader = new SourceStringReader(expr);
         FlinkSqlParserImpl parser =
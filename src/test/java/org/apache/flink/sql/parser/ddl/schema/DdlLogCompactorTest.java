@@ -0,0 +1,209 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.flink.sql.parser.ddl.schema;
+
+import org.apache.flink.sql.parser.impl.FlinkSqlParserImpl;
+
+import org.apache.calcite.avatica.util.Casing;
+import org.apache.calcite.sql.SqlNode;
+import org.apache.calcite.sql.parser.SqlParseException;
+import org.apache.calcite.sql.parser.SqlParser;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Tests for {@link DdlLogCompactor}. */
+class DdlLogCompactorTest {
+
+    @Test
+    void testFoldAlterIntoCreate() throws Exception {
+        assertThat(
+                        compact(
+                                "CREATE TABLE t (a INT, b STRING) WITH ('connector' = 'kafka');",
+                                "ALTER TABLE t ADD c BIGINT;",
+                                "ALTER TABLE t DROP b;",
+                                "ALTER TABLE t SET ('topic' = 'x');",
+                                "ALTER TABLE t RENAME TO t2;",
+                                "ALTER TABLE t2 ADD PRIMARY KEY (a) NOT ENFORCED;"))
+                .containsExactly(
+                        "CREATE TABLE `t2` (\n"
+                                + "  `a` INTEGER NOT NULL,\n"
+                                + "  `c` BIGINT,\n"
+                                + "  PRIMARY KEY (`a`) NOT ENFORCED\n"
+                                + ") WITH (\n"
+                                + "  'connector' = 'kafka',\n"
+                                + "  'topic' = 'x'\n"
+                                + ")");
+    }
+
+    @Test
+    void testCreateAndDropDisappear() throws Exception {
+        assertThat(
+                        compact(
+                                "CREATE TABLE t (a INT);",
+                                "SET 'table.local-time-zone' = 'UTC';",
+                                "CREATE TABLE u (a INT);",
+                                "ALTER TABLE t ADD b INT;",
+                                "CREATE FUNCTION f AS 'org.example.F';",
+                                "DROP TABLE t;",
+                                "DROP FUNCTION f;",
+                                "RESET 'table.local-time-zone';"))
+                .containsExactly(
+                        "SET 'table.local-time-zone' = 'UTC'",
+                        "CREATE TABLE `u` (\n  `a` INTEGER\n)",
+                        "RESET 'table.local-time-zone'");
+    }
+
+    @Test
+    void testMergeOptions() throws Exception {
+        assertThat(
+                        compact(
+                                "CREATE TABLE t (a INT) WITH ('connector' = 'kafka');",
+                                "ALTER TABLE t COMPACT;",
+                                "ALTER TABLE t SET ('topic' = 'x', 'format' = 'csv');",
+                                "ALTER TABLE t ADD b INT;",
+                                "ALTER TABLE t SET ('topic' = 'y');",
+                                "ALTER TABLE t RESET ('format');",
+                                "ALTER TABLE t SET ('scan' = 'earliest');"))
+                .containsExactly(
+                        "CREATE TABLE `t` (\n  `a` INTEGER\n) WITH (\n  'connector' = 'kafka'\n)",
+                        "ALTER TABLE `t` COMPACT",
+                        "ALTER TABLE `t` SET (\n  'topic' = 'y'\n)",
+                        "ALTER TABLE `t` ADD (\n  `b` INTEGER\n)",
+                        "ALTER TABLE `t` RESET (\n  'format'\n)",
+                        "ALTER TABLE `t` SET (\n  'scan' = 'earliest'\n)");
+    }
+
+    @Test
+    void testNamesAreResolvedAgainstCurrentDatabase() throws Exception {
+        assertThat(
+                        compact(
+                                "USE db1;",
+                                "CREATE TABLE t (a INT);",
+                                "USE db2;",
+                                "DROP TABLE t;",
+                                "DROP TABLE db1.t;"))
+                .containsExactly("USE `db1`", "USE `db2`", "DROP TABLE `t`");
+    }
+
+    @Test
+    void testUnknownStatementsAreBarriers() throws Exception {
+        final String[] log = {
+            "CREATE TABLE t (a INT);",
+            "CREATE VIEW v AS SELECT * FROM t;",
+            "ALTER TABLE t ADD b INT;",
+            "DROP TABLE t;"
+        };
+        assertThat(compact(log)).hasSize(4);
+
+        // a function might be used by an expression, so it must exist before it
+        assertThat(
+                        compact(
+                                "CREATE TABLE t (a INT);",
+                                "CREATE FUNCTION f AS 'org.example.F';",
+                                "ALTER TABLE t ADD c AS f(a);",
+                                "DROP FUNCTION f;"))
+                .hasSize(4);
+    }
+
+    @Test
+    void testObjectsThatMayExistBeforeBarriers() throws Exception {
+        // the table may still exist, the CREATE TABLE IF NOT EXISTS may do nothing
+        assertThat(
+                        compact(
+                                "CREATE TABLE t (a INT);",
+                                "CREATE VIEW v AS SELECT a FROM t;",
+                                "CREATE TABLE IF NOT EXISTS t (a INT);",
+                                "ALTER TABLE t ADD b STRING;"))
+                .hasSize(4)
+                .last()
+                .asString()
+                .startsWith("ALTER TABLE `t` ADD");
+        assertThat(
+                        compact(
+                                "CREATE TABLE t (a INT);",
+                                "CREATE VIEW v AS SELECT a FROM t;",
+                                "CREATE TABLE IF NOT EXISTS t (a INT);",
+                                "DROP TABLE t;"))
+                .hasSize(4);
+        // a CREATE TABLE of a name that was used before may fail
+        assertThat(
+                        compact(
+                                "CREATE TABLE t (a INT);",
+                                "CREATE VIEW v AS SELECT a FROM t;",
+                                "CREATE TABLE t (a INT);",
+                                "DROP TABLE t;"))
+                .hasSize(4);
+        assertThat(
+                        compact(
+                                "CREATE FUNCTION f AS 'org.example.F';",
+                                "CREATE VIEW v AS SELECT 1;",
+                                "CREATE FUNCTION IF NOT EXISTS f AS 'org.example.F';",
+                                "DROP FUNCTION f;"))
+                .hasSize(4);
+
+        // without a barrier, the table does not exist before
+        assertThat(
+                        compact(
+                                "CREATE TABLE IF NOT EXISTS t (a INT);",
+                                "ALTER TABLE t ADD b STRING;"))
+                .hasSize(1);
+        // a new name after a barrier is still folded
+        assertThat(
+                        compact(
+                                "CREATE VIEW v AS SELECT 1;",
+                                "CREATE TABLE t (a INT);",
+                                "ALTER TABLE t ADD b STRING;",
+                                "DROP TABLE t;"))
+                .hasSize(1);
+    }
+
+    @Test
+    void testIncrementalAppend() throws Exception {
+        final DdlLogCompactor compactor = new DdlLogCompactor();
+        compactor.appendAll(parse("CREATE TABLE t (a INT);"));
+        assertThat(compactor.size()).isOne();
+        compactor.appendAll(parse("ALTER TABLE t ADD b INT;"));
+        assertThat(compactor.size()).isOne();
+        assertThat(compactor.getStatements().get(0).toString())
+                .isEqualTo("CREATE TABLE `t` (\n  `a` INTEGER,\n  `b` INTEGER\n)");
+        compactor.appendAll(parse("DROP TABLE t;"));
+        assertThat(compactor.getStatements()).isEmpty();
+    }
+
+    private static List<String> compact(String... statements) throws SqlParseException {
+        final DdlLogCompactor compactor = new DdlLogCompactor();
+        compactor.appendAll(parse(String.join("\n", statements)));
+        return compactor.getStatements().stream()
+                .map(SqlNode::toString)
+                .collect(Collectors.toList());
+    }
+
+    private static List<SqlNode> parse(String sql) throws SqlParseException {
+        final SqlParser.Config config =
+                SqlParser.config()
+                        .withParserFactory(FlinkSqlParserImpl.FACTORY)
+                        .withUnquotedCasing(Casing.UNCHANGED);
+        return SqlParser.create(sql, config).parseStmtList();
+    }
+}
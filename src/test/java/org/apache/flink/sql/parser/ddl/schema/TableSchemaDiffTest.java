@@ -0,0 +1,235 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.sql.parser.ddl.schema;
+
+import org.apache.flink.sql.parser.ddl.SqlAlterTable;
+import org.apache.flink.sql.parser.ddl.SqlCreateTable;
+import org.apache.flink.sql.parser.error.SqlValidateException;
+import org.apache.flink.sql.parser.impl.FlinkSqlParserImpl;
+
+import org.apache.calcite.avatica.util.Casing;
+import org.apache.calcite.sql.parser.SqlParseException;
+import org.apache.calcite.sql.parser.SqlParser;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** Tests for {@link TableSchemaDiff}. */
+class TableSchemaDiffTest {
+
+    private static final String[] TYPES = {"INT", "BIGINT", "STRING", "DOUBLE", "DATE"};
+
+    @Test
+    void testNoChanges() throws Exception {
+        final String sql =
+                "CREATE TABLE t (a INT, b STRING, PRIMARY KEY (a) NOT ENFORCED)"
+                        + " WITH ('connector' = 'kafka')";
+        assertThat(diff(sql, sql)).isEmpty();
+    }
+
+    @Test
+    void testColumnChanges() throws Exception {
+        final String from =
+                "CREATE TABLE t (a INT, b STRING, c BIGINT, d DOUBLE, e DATE)"
+                        + " WITH ('connector' = 'kafka', 'topic' = 'x', 'format' = 'csv')";
+        final String to =
+                "CREATE TABLE t (a INT, c BIGINT, b STRING, d2 DOUBLE, n INT, e TIMESTAMP(3))"
+                        + " WITH ('connector' = 'kafka', 'topic' = 'y', 'scan' = 'earliest')";
+        assertThat(diff(from, to))
+                .containsExactly(
+                        "ALTER TABLE `t` RENAME `d` TO `d2`",
+                        "ALTER TABLE `t` MODIFY (\n  `b` STRING AFTER `c`\n)",
+                        "ALTER TABLE `t` ADD (\n  `n` INTEGER AFTER `d2`\n)",
+                        "ALTER TABLE `t` MODIFY (\n  `e` TIMESTAMP(3)\n)",
+                        "ALTER TABLE `t` SET (\n  'topic' = 'y',\n  'scan' = 'earliest'\n)",
+                        "ALTER TABLE `t` RESET (\n  'format'\n)");
+        assertRoundTrip(from, to);
+    }
+
+    @Test
+    void testConstraintChanges() throws Exception {
+        final String from =
+                "CREATE TABLE t (a INT, b INT, ts TIMESTAMP(3), PRIMARY KEY (a) NOT ENFORCED,"
+                        + " WATERMARK FOR ts AS ts) DISTRIBUTED BY HASH(a) INTO 2 BUCKETS";
+        // the primary key grows, the watermark changes, the distribution is removed
+        final String to =
+                "CREATE TABLE t (a INT, b INT, ts TIMESTAMP(3), PRIMARY KEY (a, b) NOT ENFORCED,"
+                        + " WATERMARK FOR ts AS ts - INTERVAL '1' SECOND)";
+        assertThat(diff(from, to))
+                .containsExactly(
+                        "ALTER TABLE `t` DROP DISTRIBUTION",
+                        "ALTER TABLE `t` MODIFY (\n"
+                                + "  PRIMARY KEY (`a`, `b`) NOT ENFORCED,\n"
+                                + "  WATERMARK FOR `ts` AS `ts` - INTERVAL '1' SECOND\n"
+                                + ")");
+        assertRoundTrip(from, to);
+
+        // the primary key shrinks, the rowtime column is renamed
+        final String shrunk =
+                "CREATE TABLE t (a INT, b INT, ts2 TIMESTAMP(3), PRIMARY KEY (b) NOT ENFORCED,"
+                        + " WATERMARK FOR ts2 AS ts2) DISTRIBUTED BY HASH(a) INTO 2 BUCKETS";
+        assertThat(diff(from, shrunk))
+                .containsExactly(
+                        "ALTER TABLE `t` DROP PRIMARY KEY",
+                        "ALTER TABLE `t` DROP WATERMARK",
+                        "ALTER TABLE `t` RENAME `ts` TO `ts2`",
+                        // no longer NOT NULL without the primary key
+                        "ALTER TABLE `t` MODIFY (\n  `a` INTEGER\n)",
+                        "ALTER TABLE `t` ADD (\n"
+                                + "  PRIMARY KEY (`b`) NOT ENFORCED,\n"
+                                + "  WATERMARK FOR `ts2` AS `ts2`\n"
+                                + ")");
+        assertRoundTrip(from, shrunk);
+    }
+
+    @Test
+    void testComputedColumnChanges() throws Exception {
+        // b uses c, which is dropped while b is kept
+        final String from = "CREATE TABLE t (a INT, c INT, b AS a + c)";
+        final String to = "CREATE TABLE t (a INT, b AS a + 1)";
+        assertThat(diff(from, to))
+                .containsExactly(
+                        "ALTER TABLE `t` DROP (\n  `b`\n)",
+                        "ALTER TABLE `t` DROP (\n  `c`\n)",
+                        "ALTER TABLE `t` ADD (\n  `b` AS `a` + 1 AFTER `a`\n)");
+        assertRoundTrip(from, to);
+
+        // b uses a, which is renamed, and d uses b
+        final String renamed = "CREATE TABLE t (a INT, b AS a + 1, d AS b * 2)";
+        final String to2 = "CREATE TABLE t (x INT, b AS x + 1, d AS b * 2)";
+        assertThat(diff(renamed, to2))
+                .containsExactly(
+                        "ALTER TABLE `t` DROP (\n  `b`,\n  `d`\n)",
+                        "ALTER TABLE `t` RENAME `a` TO `x`",
+                        "ALTER TABLE `t` ADD (\n  `b` AS `x` + 1 AFTER `x`,\n  `d` AS `b` * 2 AFTER `b`\n)");
+        assertRoundTrip(renamed, to2);
+
+        // the watermark uses a column that is renamed, the computed rowtime column uses it too
+        final String watermarked =
+                "CREATE TABLE t (a BIGINT, ts AS TO_TIMESTAMP_LTZ(a, 3), d INT,"
+                        + " WATERMARK FOR ts AS ts - d * INTERVAL '1' SECOND)";
+        final String to3 =
+                "CREATE TABLE t (a BIGINT, ts AS TO_TIMESTAMP_LTZ(a, 3), e INT,"
+                        + " WATERMARK FOR ts AS ts - e * INTERVAL '1' SECOND)";
+        assertThat(diff(watermarked, to3))
+                .containsExactly(
+                        "ALTER TABLE `t` DROP WATERMARK",
+                        "ALTER TABLE `t` RENAME `d` TO `e`",
+                        "ALTER TABLE `t` ADD (\n"
+                                + "  WATERMARK FOR `ts` AS `ts` - `e` * INTERVAL '1' SECOND\n"
+                                + ")");
+        assertRoundTrip(watermarked, to3);
+    }
+
+    @Test
+    void testUnsupportedChanges() {
+        assertThatThrownBy(
+                        () ->
+                                diff(
+                                        "CREATE TABLE t (a INT, b INT) PARTITIONED BY (a)",
+                                        "CREATE TABLE t (a INT, b INT) PARTITIONED BY (b)"))
+                .isInstanceOf(SqlValidateException.class)
+                .hasMessage(
+                        "The partition keys of a table cannot be changed by ALTER TABLE"
+                                + " statements.");
+    }
+
+    @Test
+    void testRandomChanges() throws Exception {
+        final Random random = new Random(7);
+        for (int round = 0; round < 200; round++) {
+            final List<String> columns = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                columns.add("c" + i + " " + TYPES[random.nextInt(TYPES.length)]);
+            }
+            final List<String> changed = new ArrayList<>(columns);
+            final Map<String, String> newNames = new HashMap<>();
+            Collections.shuffle(changed, random);
+            for (int i = 0; i < changed.size(); i++) {
+                final String[] column = changed.get(i).split(" ");
+                switch (random.nextInt(6)) {
+                    case 0:
+                        changed.set(i, "r" + column[0] + " " + column[1]);
+                        newNames.put(column[0], "r" + column[0]);
+                        break;
+                    case 1:
+                        changed.set(i, column[0] + " " + TYPES[random.nextInt(TYPES.length)]);
+                        break;
+                    case 2:
+                        changed.remove(i--);
+                        newNames.put(column[0], null);
+                        break;
+                    case 3:
+                        changed.add(i++, "n" + i + " " + TYPES[random.nextInt(TYPES.length)]);
+                        break;
+                    default:
+                }
+            }
+            // computed columns that use two of the columns, or whatever is left of them
+            for (int i = 0; i < 2; i++) {
+                final String left = "c" + random.nextInt(8);
+                final String right = "c" + random.nextInt(8);
+                columns.add("k" + i + " AS " + left + " + " + right);
+                final String newLeft = newNames.getOrDefault(left, left);
+                final String newRight = newNames.getOrDefault(right, right);
+                if (newLeft != null && newRight != null) {
+                    changed.add("k" + i + " AS " + newLeft + " + " + newRight);
+                } else if (newLeft != null || newRight != null) {
+                    changed.add("k" + i + " AS " + (newLeft != null ? newLeft : newRight) + " + 1");
+                }
+            }
+            assertRoundTrip(createTable(columns), createTable(changed));
+        }
+    }
+
+    private static String createTable(List<String> columns) {
+        return "CREATE TABLE t (" + String.join(", ", columns) + ")";
+    }
+
+    private static void assertRoundTrip(String from, String to) throws Exception {
+        final TableSchemaModel expected = TableSchemaModel.of(parse(to));
+        final TableSchemaModel actual =
+                TableSchemaModel.of(parse(from))
+                        .applyAll(TableSchemaDiff.diff(parse(from), parse(to)));
+        assertThat(actual.toString()).as(from + "\n" + to).isEqualTo(expected.toString());
+    }
+
+    private static List<String> diff(String from, String to) throws Exception {
+        return TableSchemaDiff.diff(parse(from), parse(to)).stream()
+                .map(SqlAlterTable::toString)
+                .collect(Collectors.toList());
+    }
+
+    private static SqlCreateTable parse(String sql) throws SqlParseException {
+        final SqlParser.Config config =
+                SqlParser.config()
+                        .withParserFactory(FlinkSqlParserImpl.FACTORY)
+                        .withUnquotedCasing(Casing.UNCHANGED);
+        return (SqlCreateTable) SqlParser.create(sql, config).parseStmt();
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.sql.parser.ddl.schema;
+
+import org.apache.flink.sql.parser.ddl.SqlAlterTable;
+import org.apache.flink.sql.parser.ddl.SqlCreateTable;
+import org.apache.flink.sql.parser.ddl.SqlTableColumn.SqlRegularColumn;
+import org.apache.flink.sql.parser.error.SqlValidateException;
+import org.apache.flink.sql.parser.impl.FlinkSqlParserImpl;
+
+import org.apache.calcite.avatica.util.Casing;
+import org.apache.calcite.sql.SqlNode;
+import org.apache.calcite.sql.parser.SqlParseException;
+import org.apache.calcite.sql.parser.SqlParser;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+/** Tests for {@link TableSchemaModel}. */
+class TableSchemaModelTest {
+
+    private static final String CREATE_TABLE =
+            "CREATE TABLE t (\n"
+                    + "  a INT PRIMARY KEY NOT ENFORCED,\n"
+                    + "  b STRING,\n"
+                    + "  c AS b || 'x',\n"
+                    + "  ts TIMESTAMP(3),\n"
+                    + "  WATERMARK FOR ts AS ts\n"
+                    + ") PARTITIONED BY (b)\n"
+                    + "WITH ('connector' = 'kafka', 'topic' = 'x')";
+
+    @Test
+    void testApplyAlterTable() throws Exception {
+        final TableSchemaModel model =
+                TableSchemaModel.of((SqlCreateTable) parse(CREATE_TABLE))
+                        .applyAll(
+                                alter(
+                                        "ALTER TABLE t ADD (d INT FIRST, e BIGINT AFTER a,"
+                                                + " f AS a + 1)",
+                                        "ALTER TABLE t MODIFY (b VARCHAR(10) AFTER e)",
+                                        "ALTER TABLE t DROP (d, f)",
+                                        "ALTER TABLE t RENAME a TO id",
+                                        "ALTER TABLE t DROP WATERMARK",
+                                        "ALTER TABLE t ADD WATERMARK FOR ts AS ts - INTERVAL '1'"
+                                                + " SECOND",
+                                        "ALTER TABLE t DROP PRIMARY KEY",
+                                        "ALTER TABLE t ADD PRIMARY KEY (id, e) NOT ENFORCED",
+                                        "ALTER TABLE t SET ('topic' = 'y', 'format' = 'json')",
+                                        "ALTER TABLE t RESET ('connector')",
+                                        "ALTER TABLE t ADD DISTRIBUTION BY HASH(e) INTO 4"
+                                                + " BUCKETS"));
+
+        assertThat(model.getColumnNames()).containsExactly("id", "e", "b", "c", "ts");
+        assertThat(model.indexOfColumn("b")).isEqualTo(2);
+        assertThat(model.getOptions())
+                .containsExactly(entry("topic", "y"), entry("format", "json"));
+
+        final SqlCreateTable expected =
+                (SqlCreateTable)
+                        parse(
+                                "CREATE TABLE t (\n"
+                                        + "  id INT,\n"
+                                        + "  e BIGINT,\n"
+                                        + "  b VARCHAR(10),\n"
+                                        + "  c AS b || 'x',\n"
+                                        + "  ts TIMESTAMP(3),\n"
+                                        + "  PRIMARY KEY (id, e) NOT ENFORCED,\n"
+                                        + "  WATERMARK FOR ts AS ts - INTERVAL '1' SECOND\n"
+                                        + ") DISTRIBUTED BY HASH(e) INTO 4 BUCKETS\n"
+                                        + "PARTITIONED BY (b)\n"
+                                        + "WITH ('topic' = 'y', 'format' = 'json')");
+        expected.validate();
+        assertThat(model.toSqlCreateTable().toString()).isEqualTo(expected.toString());
+    }
+
+    @Test
+    void testStructuralSharing() throws Exception {
+        final TableSchemaModel model = TableSchemaModel.of((SqlCreateTable) parse(CREATE_TABLE));
+        final String before = model.toString();
+        final TableSchemaModel altered =
+                model.apply(alter("ALTER TABLE t MODIFY (b BIGINT FIRST)").get(0));
+
+        assertThat(model.toString()).isEqualTo(before);
+        assertThat(model.getColumnNames()).containsExactly("a", "b", "c", "ts");
+        assertThat(altered.getColumnNames()).containsExactly("b", "a", "c", "ts");
+        assertThat(altered.getColumn("a")).containsSame(model.getColumn("a").get());
+        assertThat(altered.getColumn("ts")).containsSame(model.getColumn("ts").get());
+        // the primary key column has been made NOT NULL
+        assertThat(((SqlRegularColumn) model.getColumn("a").get()).getType().getNullable())
+                .isFalse();
+    }
+
+    @Test
+    void testInvalidAlterTable() throws Exception {
+        final TableSchemaModel model = TableSchemaModel.of((SqlCreateTable) parse(CREATE_TABLE));
+        assertInvalid(model, "ALTER TABLE t ADD b INT", "Column `b` already exists in the table.");
+        assertInvalid(
+                model,
+                "ALTER TABLE t ADD x INT AFTER y",
+                "Referenced column `y` by 'AFTER' does not exist in the table.");
+        assertInvalid(
+                model, "ALTER TABLE t MODIFY x INT", "Column `x` does not exist in the table.");
+        assertInvalid(
+                model,
+                "ALTER TABLE t DROP a",
+                "Column `a` is used by the primary key and cannot be dropped.");
+        assertInvalid(model, "ALTER TABLE t DROP ts", "Column `ts` is used by the watermark.");
+        assertInvalid(
+                model,
+                "ALTER TABLE t RENAME b TO x",
+                "Column `b` is used by the computed column `c`.");
+        assertInvalid(
+                model, "ALTER TABLE t DROP (b, c)", "Column `b` is used by the partition keys.");
+        assertInvalid(
+                model.applyAll(alter("ALTER TABLE t ADD (x INT, y AS x + 1)")),
+                "ALTER TABLE t DROP x",
+                "Column `x` is used by the computed column `y`.");
+        assertInvalid(
+                model.applyAll(
+                        alter(
+                                "ALTER TABLE t ADD x INT",
+                                "ALTER TABLE t DROP WATERMARK",
+                                "ALTER TABLE t ADD WATERMARK FOR ts AS ts - x * INTERVAL '1'"
+                                        + " SECOND")),
+                "ALTER TABLE t RENAME x TO y",
+                "Column `x` is used by the watermark.");
+        assertInvalid(
+                model,
+                "ALTER TABLE t ADD WATERMARK FOR ts AS ts",
+                "The table already defines a watermark.");
+        assertInvalid(
+                model,
+                "ALTER TABLE t DROP DISTRIBUTION",
+                "The table does not define a distribution.");
+        assertInvalid(
+                model,
+                "ALTER TABLE t ADD PRIMARY KEY (c) NOT ENFORCED",
+                "The table already defines a primary key.");
+        assertInvalid(
+                model.apply(alter("ALTER TABLE t DROP PRIMARY KEY").get(0)),
+                "ALTER TABLE t ADD PRIMARY KEY (c) NOT ENFORCED",
+                "Primary key column `c` is not a physical column.");
+    }
+
+    @Test
+    void testOrderedMap() {
+        final Random random = new Random(42);
+        final List<String> expected = new ArrayList<>();
+        PersistentOrderedMap<String> map = PersistentOrderedMap.empty();
+        for (int i = 0; i < 2_000; i++) {
+            final String name = "c" + random.nextInt(300);
+            final int op = random.nextInt(4);
+            if (op == 0 && !expected.isEmpty()) {
+                expected.remove(name);
+                map = map.remove(name);
+            } else if (op == 1) {
+                expected.remove(name);
+                expected.add(0, name);
+                map = map.putFirst(name, name);
+            } else if (op == 2 && !expected.isEmpty()) {
+                // mostly right after the first entry, to exhaust the gaps between order keys
+                final String after =
+                        expected.get(random.nextInt(10) == 0 ? expected.size() - 1 : 0);
+                if (!after.equals(name)) {
+                    expected.remove(name);
+                    expected.add(expected.indexOf(after) + 1, name);
+                    map = map.putAfter(after, name, name);
+                }
+            } else if (!expected.contains(name)) {
+                expected.add(name);
+                map = map.put(name, name);
+            }
+            assertThat(map.size()).isEqualTo(expected.size());
+        }
+        assertThat(map.names()).isEqualTo(expected);
+        assertThat(map.values()).isEqualTo(expected);
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(map.indexOf(expected.get(i))).isEqualTo(i);
+        }
+        assertThat(map.indexOf("unknown")).isEqualTo(-1);
+    }
+
+    private static void assertInvalid(TableSchemaModel model, String sql, String message)
+            throws SqlParseException {
+        final SqlAlterTable alterTable = alter(sql).get(0);
+        assertThatThrownBy(() -> model.apply(alterTable))
+                .isInstanceOf(SqlValidateException.class)
+                .hasMessageStartingWith(message);
+    }
+
+    private static List<SqlAlterTable> alter(String... sqls) throws SqlParseException {
+        final List<SqlAlterTable> alterTables = new ArrayList<>();
+        for (String sql : Arrays.asList(sqls)) {
+            alterTables.add((SqlAlterTable) parse(sql));
+        }
+        return alterTables;
+    }
+
+    private static SqlNode parse(String sql) throws SqlParseException {
+        final SqlParser.Config config =
+                SqlParser.config()
+                        .withParserFactory(FlinkSqlParserImpl.FACTORY)
+                        .withUnquotedCasing(Casing.UNCHANGED);
+        return SqlParser.create(sql, config).parseStmt();
+    }
+}